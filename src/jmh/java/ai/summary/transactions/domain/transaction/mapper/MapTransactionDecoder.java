@@ -1,18 +1,25 @@
 package ai.summary.transactions.domain.transaction.mapper;
 
-import java.util.Map;
-import java.time.LocalDateTime;
-
 import ai.summary.transactions.domain.transaction.model.Merchant;
 import ai.summary.transactions.domain.transaction.model.Transaction;
-import org.mapstruct.Mapper;
 
-@Mapper(componentModel = "jsr330")
-public interface OpenSearchTransactionMapper {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cópia da conversão que o {@code OpenSearchTransactionMapper} fazia antes do {@link TransactionDocumentDeserializer}:
+ * o _source chega como Map e cada campo é convertido a partir de {@code toString()}. Existe só como referência para o
+ * {@link TransactionDecodeBenchmark}.
+ */
+final class MapTransactionDecoder {
+
+    private MapTransactionDecoder() {
+    }
 
-    // Método para converter de objeto OpenSearch para Transaction
     @SuppressWarnings("unchecked")
-    default Transaction fromOpenSearchObject(Object source) {
+    static Transaction fromOpenSearchObject(Object source) {
         if (source == null) {
             return null;
         }
@@ -21,10 +28,9 @@ public interface OpenSearchTransactionMapper {
             Map<String, Object> sourceMap = (Map<String, Object>) source;
 
             return new Transaction(
-                    sourceMap.get("id") != null ? java.util.UUID.fromString(sourceMap.get("id").toString()) : null,
+                    sourceMap.get("id") != null ? UUID.fromString(sourceMap.get("id").toString()) : null,
                     sourceMap.get("date") != null ? LocalDateTime.parse(sourceMap.get("date").toString()) : null,
-                    sourceMap.get("amount") != null ? new java.math.BigDecimal(sourceMap.get("amount").toString())
-                            : null,
+                    sourceMap.get("amount") != null ? new BigDecimal(sourceMap.get("amount").toString()) : null,
                     (String) sourceMap.get("description"),
                     sourceMap.get("merchant") != null ? fromMerchantMap((Map<String, Object>) sourceMap.get("merchant"))
                             : null);
@@ -33,12 +39,7 @@ public interface OpenSearchTransactionMapper {
         throw new IllegalArgumentException("Cannot convert object to Transaction: " + source.getClass());
     }
 
-    // Método auxiliar para converter mapa de merchant para objeto Merchant
-    default Merchant fromMerchantMap(Map<String, Object> merchantMap) {
-        if (merchantMap == null) {
-            return null;
-        }
-
+    private static Merchant fromMerchantMap(Map<String, Object> merchantMap) {
         return new Merchant(
                 (String) merchantMap.get("name"),
                 (String) merchantMap.get("category"));
@@ -0,0 +1,121 @@
+package ai.summary.transactions.domain.transaction.mapper;
+
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura de uma página de busca com o _source convertido via Map (como era antes) e lido direto para
+ * {@link Transaction} pelo {@link TransactionDocumentDeserializer}. Os dois lados usam o mesmo JacksonJsonpMapper do
+ * cliente, então a diferença é só a conversão dos hits.
+ * Uso: {@code mvn -Pbenchmark test-compile exec:exec} ou, para ver a alocação por operação,
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="TransactionDecodeBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionDecodeBenchmark {
+
+    @Param({"100", "1000"})
+    private int hits;
+
+    private String response;
+    private JacksonJsonpMapper mapMapper;
+    private JacksonJsonpMapper directMapper;
+    private JsonpDeserializer<SearchResponse<Object>> mapDeserializer;
+    private JsonpDeserializer<SearchResponse<Transaction>> directDeserializer;
+
+    @Setup
+    public void setUp() {
+        response = searchResponse(hits);
+
+        mapMapper = new JacksonJsonpMapper(objectMapper());
+        mapDeserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(Object.class));
+
+        var objectMapper = objectMapper();
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(Transaction.class, new TransactionDocumentDeserializer()));
+
+        directMapper = new JacksonJsonpMapper(objectMapper);
+        directDeserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(Transaction.class));
+    }
+
+    @Benchmark
+    public List<Transaction> mapSource() {
+        try (var parser = mapMapper.jsonProvider().createParser(new StringReader(response))) {
+            return mapDeserializer.deserialize(parser, mapMapper).hits().hits().stream()
+                    .map(Hit::source)
+                    .map(MapTransactionDecoder::fromOpenSearchObject)
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public List<Transaction> directSource() {
+        try (var parser = directMapper.jsonProvider().createParser(new StringReader(response))) {
+            return directDeserializer.deserialize(parser, directMapper).hits().hits().stream()
+                    .map(Hit::source)
+                    .toList();
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        // Mesma configuração do OpenSearchClientFactory
+        var objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+
+    private static String searchResponse(int hits) {
+        var json = new StringBuilder(hits * 300)
+                .append("{\"took\":3,\"timed_out\":false,")
+                .append("\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},")
+                .append("\"hits\":{\"total\":{\"value\":").append(hits).append(",\"relation\":\"eq\"},")
+                .append("\"max_score\":null,\"hits\":[");
+
+        var date = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+        for (var i = 0; i < hits; i++) {
+            var id = UUID.nameUUIDFromBytes(Integer.toString(i).getBytes());
+
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"_index\":\"transactions-2025.01\",\"_id\":\"").append(id).append("\",")
+                    .append("\"_score\":null,\"_source\":{")
+                    .append("\"id\":\"").append(id).append("\",")
+                    .append("\"date\":\"").append(date.plusMinutes(i * 37L)).append("\",")
+                    .append("\"amount\":").append(BigDecimal.valueOf(1_000 + i * 731L, 2)).append(",")
+                    .append("\"description\":\"Compra parcelada ").append(i).append("\",")
+                    .append("\"merchant\":{\"name\":\"Mercado Livre\",\"category\":\"E-commerce\"}},")
+                    .append("\"sort\":[").append(i).append("]}");
+        }
+
+        return json.append("]}}").toString();
+    }
+}
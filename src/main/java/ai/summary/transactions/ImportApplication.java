@@ -0,0 +1,32 @@
+package ai.summary.transactions;
+
+import ai.summary.transactions.domain.transaction.importer.TransactionCsvImporter;
+import io.micronaut.context.ApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importa um arquivo CSV de transações sem subir o servidor HTTP.
+ * Uso: {@code java -cp ai-summary-transactions.jar ai.summary.transactions.ImportApplication transactions.csv}
+ */
+public class ImportApplication {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ImportApplication <file.csv>");
+            System.exit(1);
+        }
+
+        try (var context = ApplicationContext.run();
+                var reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            var result = context.getBean(TransactionCsvImporter.class).importCsv(reader);
+
+            System.out.printf("Rows: %d, imported: %d, rejected lines: %d, failed: %d, took: %d ms (%.1f rows/s)%n",
+                    result.rows(), result.imported(), result.rejected(), result.failed(), result.took(),
+                    result.rowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ai.summary.transactions;
+
+import ai.summary.transactions.domain.transaction.TransactionAsyncService;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import io.micronaut.context.ApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compara a listagem de transações pelo caminho bloqueante, com uma thread parada por requisição em andamento como os
+ * controllers faziam antes, e pelo caminho assíncrono que os controllers usam hoje. As duas rodadas mantêm o mesmo
+ * número de requisições em andamento e mostram vazão, latência e o pico de threads da JVM.
+ * Uso: {@code java -cp ai-summary-transactions.jar ai.summary.transactions.ListingLoadBenchmarkApplication
+ * [concurrency] [requests]}
+ */
+public class ListingLoadBenchmarkApplication {
+
+    private static final int WARM_UP_REQUESTS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 2) {
+            System.err.println("Usage: ListingLoadBenchmarkApplication [concurrency] [requests]");
+            System.exit(1);
+        }
+
+        var concurrency = args.length > 0 ? Math.max(1, Integer.parseInt(args[0])) : 200;
+        var requests = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 10_000;
+        var filter = new TransactionFilter(null, null, null, null, null, null, null);
+
+        try (var context = ApplicationContext.run()) {
+            var transactionService = context.getBean(TransactionService.class);
+            var transactionAsyncService = context.getBean(TransactionAsyncService.class);
+
+            // Rodada assíncrona primeiro: o pool da rodada bloqueante inflaria o pico de threads
+            Supplier<CompletableFuture<?>> async = () ->
+                    transactionAsyncService.findPage(filter, TransactionSort.DATE_DESC, PAGE_SIZE, 0, null);
+
+            run(concurrency, WARM_UP_REQUESTS, async);
+            print("async", concurrency, requests, async);
+
+            try (var executor = Executors.newFixedThreadPool(concurrency)) {
+                Supplier<CompletableFuture<?>> blocking = () -> CompletableFuture.supplyAsync(() ->
+                        transactionService.findPage(filter, TransactionSort.DATE_DESC, PAGE_SIZE, 0, null), executor);
+
+                run(concurrency, WARM_UP_REQUESTS, blocking);
+                print("blocking", concurrency, requests, blocking);
+            }
+        }
+    }
+
+    private static void print(String name, int concurrency, int requests, Supplier<CompletableFuture<?>> call)
+            throws InterruptedException {
+        var threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        var startedAt = System.nanoTime();
+        var round = run(concurrency, requests, call);
+        var seconds = (System.nanoTime() - startedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Arrays.sort(round.latencies());
+
+        System.out.printf("%s: %d requests, %d in flight, %.0f req/s, p50: %.2f ms, p99: %.2f ms, errors: %d, "
+                        + "peak threads: %d%n", name, requests, concurrency, requests / seconds,
+                percentile(round.latencies(), 0.50), percentile(round.latencies(), 0.99), round.errors(),
+                threads.getPeakThreadCount());
+    }
+
+    private static Round run(int concurrency, int requests, Supplier<CompletableFuture<?>> call)
+            throws InterruptedException {
+        var latencies = new long[requests];
+        var errors = new AtomicInteger();
+        var inFlight = new Semaphore(concurrency);
+        var done = new CountDownLatch(requests);
+
+        for (var i = 0; i < requests; i++) {
+            var index = i;
+            inFlight.acquire();
+
+            var startedAt = System.nanoTime();
+            call.get().whenComplete((result, error) -> {
+                latencies[index] = System.nanoTime() - startedAt;
+
+                if (error != null) {
+                    errors.incrementAndGet();
+                }
+
+                inFlight.release();
+                done.countDown();
+            });
+        }
+
+        done.await();
+        return new Round(latencies, errors.get());
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        var index = Math.max(0, (int) Math.ceil(percentile * sortedLatencies.length) - 1);
+        return sortedLatencies[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private record Round(long[] latencies, int errors) {
+    }
+}
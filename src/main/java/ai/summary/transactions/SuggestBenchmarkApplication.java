@@ -0,0 +1,108 @@
+package ai.summary.transactions;
+
+import ai.summary.transactions.domain.transaction.TransactionAsyncService;
+import ai.summary.transactions.domain.transaction.importer.TransactionCsvImporter;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import io.micronaut.context.ApplicationContext;
+import org.opensearch.client.opensearch.OpenSearchClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a latência das sugestões de comerciantes e descrições sem subir o servidor HTTP. Com {@code copies} maior que
+ * zero o CSV é importado esse número de vezes antes da medição: a massa de teste de 1.000 linhas com 1000 cópias vira
+ * 1 milhão de transações.
+ * Uso: {@code java -cp ai-summary-transactions.jar ai.summary.transactions.SuggestBenchmarkApplication
+ * transactions.csv [copies] [queries]}
+ */
+public class SuggestBenchmarkApplication {
+
+    private static final int WARM_UP_QUERIES = 500;
+    private static final int SUGGESTION_SIZE = 5;
+    private static final int MAX_PREFIX_LENGTH = 4;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: SuggestBenchmarkApplication <file.csv> [copies] [queries]");
+            System.exit(1);
+        }
+
+        var file = Path.of(args[0]);
+        var copies = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        var queries = args.length > 2 ? Math.max(1, Integer.parseInt(args[2])) : 10_000;
+
+        try (var context = ApplicationContext.run()) {
+            var importer = context.getBean(TransactionCsvImporter.class);
+
+            for (var copy = 1; copy <= copies; copy++) {
+                try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    var result = importer.importCsv(reader);
+                    System.out.printf("Copy %d/%d: imported %d rows in %d ms%n", copy, copies, result.imported(),
+                            result.took());
+                }
+            }
+
+            // As sugestões só enxergam o que o refresh já publicou
+            var readAlias = context.getBean(TransactionIndices.class).readAlias();
+            context.getBean(OpenSearchClient.class).indices().refresh(refresh -> refresh.index(readAlias));
+
+            var prefixes = prefixes(file);
+            var transactionAsyncService = context.getBean(TransactionAsyncService.class);
+
+            for (var i = 0; i < WARM_UP_QUERIES; i++) {
+                transactionAsyncService.suggest(prefixes.get(i % prefixes.size()), SUGGESTION_SIZE).join();
+            }
+
+            var latencies = new long[queries];
+
+            for (var i = 0; i < queries; i++) {
+                var startedAt = System.nanoTime();
+                transactionAsyncService.suggest(prefixes.get(i % prefixes.size()), SUGGESTION_SIZE).join();
+                latencies[i] = System.nanoTime() - startedAt;
+            }
+
+            Arrays.sort(latencies);
+
+            System.out.printf("Queries: %d, prefixes: %d, p50: %.2f ms, p95: %.2f ms, p99: %.2f ms, max: %.2f ms%n",
+                    queries, prefixes.size(), percentile(latencies, 0.50), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), percentile(latencies, 1.0));
+        }
+    }
+
+    // Prefixos de 1 a 4 letras dos comerciantes e descrições do próprio CSV, como alguém digitando
+    private static List<String> prefixes(Path file) throws IOException {
+        var prefixes = new LinkedHashSet<String>();
+
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.skip(1)
+                    .map(line -> line.split(","))
+                    .filter(columns -> columns.length == 5)
+                    .flatMap(columns -> Arrays.stream(new String[] { columns[2], columns[3] }))
+                    .map(String::strip)
+                    .forEach(value -> {
+                        for (var length = 1; length <= Math.min(MAX_PREFIX_LENGTH, value.length()); length++) {
+                            prefixes.add(value.substring(0, length).toLowerCase());
+                        }
+                    });
+        }
+
+        if (prefixes.isEmpty()) {
+            throw new IllegalArgumentException("No merchants or descriptions found in " + file);
+        }
+
+        return new ArrayList<>(prefixes);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        var index = Math.max(0, (int) Math.ceil(percentile * sortedLatencies.length) - 1);
+        return sortedLatencies[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,5 +1,6 @@
 package ai.summary.transactions.application;
 
+import ai.summary.transactions.domain.ai.cache.AiResponseCache;
 import ai.summary.transactions.domain.ai.summary.AITransactionSummaryService;
 
 import java.time.LocalDate;
@@ -16,12 +17,14 @@ public class AISummaryTransactionApp {
 
     private final AITransactionSummaryService aiTransactionSummaryService;
     private final AITransactionInsightsService aiTransactionInsightsService;
+    private final AiResponseCache aiResponseCache;
 
     public String processByList(String question) {
         try {
             log.info("Processing AI transaction question: {}", question);
 
-            var summary = aiTransactionSummaryService.summarizeTransactions(question);
+            var summary = aiResponseCache.question(question,
+                    () -> aiTransactionSummaryService.summarizeTransactions(question));
             log.info("AI transaction summary processed successfully");
             log.info("AI transaction summary: {}", summary);
 
@@ -35,7 +38,8 @@ public class AISummaryTransactionApp {
         try {
             log.info("Processing AI transaction insights: {}", scenario);
 
-            var insights = aiTransactionInsightsService.generateInsights(scenario, startDate, endDate);
+            var insights = aiResponseCache.insights(scenario, startDate, endDate,
+                    () -> aiTransactionInsightsService.generateInsights(scenario, startDate, endDate));
             log.info("AI transaction insights processed successfully");
             log.info("AI transaction insights: {}", insights);
 
@@ -1,17 +1,42 @@
 package ai.summary.transactions.application;
 
+import ai.summary.transactions.domain.transaction.TransactionAsyncService;
 import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.TransactionTaskService;
+import ai.summary.transactions.domain.transaction.exporter.TransactionExporter;
+import ai.summary.transactions.domain.transaction.importer.TransactionCsvImporter;
 import ai.summary.transactions.domain.transaction.mapper.TransactionMapper;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.ExportFormat;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import ai.summary.transactions.model.BulkTransactionsResponse;
 import ai.summary.transactions.model.CreateTransactionRequest;
+import ai.summary.transactions.model.ExportTransactionsFormatParameter;
+import ai.summary.transactions.model.GetAllTransactions200Response;
+import ai.summary.transactions.model.GetAllTransactionsSortParameter;
+import ai.summary.transactions.model.GetTransactionAggregationsIntervalParameter;
+import ai.summary.transactions.model.ImportTransactionsResponse;
+import ai.summary.transactions.model.SpendingAggregationsResponse;
 import ai.summary.transactions.model.TransactionApiResponse;
+import ai.summary.transactions.model.TransactionSuggestionsResponse;
+import ai.summary.transactions.model.TransactionTaskResponse;
+import ai.summary.transactions.model.TransactionTaskStatusResponse;
 import ai.summary.transactions.model.UpdateTransactionRequest;
+import io.micronaut.json.JsonMapper;
 import jakarta.inject.Singleton;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Singleton
@@ -19,76 +44,190 @@ import java.util.Optional;
 public class CrudTransactionApp {
 
     private final TransactionService transactionService;
+    private final TransactionAsyncService transactionAsyncService;
+    private final TransactionTaskService transactionTaskService;
     private final TransactionMapper transactionMapper;
+    private final TransactionCsvImporter transactionCsvImporter;
+    private final TransactionExporter transactionExporter;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
 
-    public Optional<List<TransactionApiResponse>> findByFilters(LocalDate startDate, LocalDate endDate, int limit,
-            int offset) {
+    public CompletableFuture<Optional<GetAllTransactions200Response>> findPage(TransactionFilter filter,
+            GetAllTransactionsSortParameter sort, int limit, int offset, String cursor) {
         try {
-            var domainTransactions = transactionService.findByFilters(startDate, endDate, limit, offset);
+            var transactionSort = switch (sort) {
+                case DATE_DESC -> TransactionSort.DATE_DESC;
+                case DATE_ASC -> TransactionSort.DATE_ASC;
+                case AMOUNT_DESC -> TransactionSort.AMOUNT_DESC;
+                case AMOUNT_ASC -> TransactionSort.AMOUNT_ASC;
+            };
+
+            var page = transactionAsyncService.findPage(filter, transactionSort, limit, offset, cursor);
+
+            // Página e total saem em paralelo; o total costuma vir do cache
+            var total = transactionAsyncService.count(filter);
+
+            return page
+                    .thenCombine(total, (transactionPage, count) -> {
+                        var apiTransactions = transactionMapper.toApi(transactionPage.transactions());
+
+                        var response = new GetAllTransactions200Response()
+                                .transactions(apiTransactions)
+                                .total(count)
+                                .limit(limit)
+                                .offset(offset)
+                                .cursor(transactionPage.cursor());
+
+                        return Optional.of(response);
+                    });
+        } catch (Exception exception) {
+            log.error("Error retrieving transactions with filters", exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to retrieve transactions", exception));
+        }
+    }
+
+    public SpendingAggregationsResponse aggregate(LocalDate startDate, LocalDate endDate,
+            GetTransactionAggregationsIntervalParameter interval, int size) {
+        try {
+            var aggregationInterval = switch (interval) {
+                case DAY -> AggregationInterval.DAY;
+                case WEEK -> AggregationInterval.WEEK;
+                case MONTH -> AggregationInterval.MONTH;
+            };
 
-            if (domainTransactions.isEmpty()) {
-                return Optional.empty();
-            }
+            var spendingAggregation = transactionService.aggregate(startDate, endDate, aggregationInterval, size);
 
-            var apiTransactions = transactionMapper.toApi(domainTransactions.get());
-            return Optional.of(apiTransactions);
+            return transactionMapper.toApi(spendingAggregation);
         } catch (Exception exception) {
-            log.error("Error retrieving transactions with filters", exception);
-            throw new RuntimeException("Failed to retrieve transactions", exception);
+            log.error("Error aggregating transactions", exception);
+            throw new RuntimeException("Failed to aggregate transactions", exception);
+        }
+    }
+
+    public CompletableFuture<TransactionSuggestionsResponse> suggest(String prefix, int size) {
+        try {
+            return transactionAsyncService.suggest(prefix, size)
+                    .thenApply(transactionMapper::toApi);
+        } catch (Exception exception) {
+            log.error("Error suggesting transactions for prefix: {}", prefix, exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to suggest transactions", exception));
         }
     }
 
-    public Optional<TransactionApiResponse> getById(String id) {
+    public CompletableFuture<TransactionTaskResponse> startDelete(TransactionFilter filter, Float requestsPerSecond) {
         try {
-            var domainTransaction = transactionService.getById(id);
+            return transactionTaskService.deleteByFilter(filter, requestsPerSecond)
+                    .thenApply(taskId -> new TransactionTaskResponse().taskId(taskId));
+        } catch (Exception exception) {
+            log.error("Error starting delete task", exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to start delete task", exception));
+        }
+    }
 
-            if (domainTransaction.isEmpty()) {
-                return Optional.empty();
-            }
+    public CompletableFuture<TransactionTaskResponse> startRecategorize(TransactionFilter filter, String category,
+            Float requestsPerSecond) {
+        try {
+            return transactionTaskService.recategorize(filter, category, requestsPerSecond)
+                    .thenApply(taskId -> new TransactionTaskResponse().taskId(taskId));
+        } catch (Exception exception) {
+            log.error("Error starting recategorize task", exception);
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Failed to start recategorize task", exception));
+        }
+    }
+
+    public CompletableFuture<Optional<TransactionTaskStatusResponse>> getTask(String taskId) {
+        try {
+            return transactionTaskService.status(taskId)
+                    .thenApply(status -> status.map(transactionMapper::toApi));
+        } catch (Exception exception) {
+            log.error("Error retrieving task with id: {}", taskId, exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to retrieve task", exception));
+        }
+    }
 
-            var apiTransaction = transactionMapper.toApi(domainTransaction.get());
-            return Optional.of(apiTransaction);
+    public CompletableFuture<Optional<Versioned<TransactionApiResponse>>> getById(String id) {
+        try {
+            return transactionAsyncService.getById(id)
+                    .thenApply(domainTransaction -> domainTransaction.map(this::toApi));
         } catch (Exception exception) {
             log.error("Error retrieving transaction with id: {}", id, exception);
-            throw new RuntimeException("Failed to retrieve transaction", exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to retrieve transaction", exception));
         }
     }
 
-    public TransactionApiResponse create(CreateTransactionRequest createTransactionRequest) {
+    public CompletableFuture<TransactionApiResponse> create(CreateTransactionRequest createTransactionRequest,
+            String idempotencyKey) {
         try {
             var domainTransaction = transactionMapper.toDomain(createTransactionRequest);
-            var createdTransaction = transactionService.create(domainTransaction);
 
-            return transactionMapper.toApi(createdTransaction);
+            return transactionAsyncService.create(domainTransaction, idempotencyKey)
+                    .thenApply(transactionMapper::toApi);
         } catch (Exception exception) {
             log.error("Error creating transaction", exception);
-            throw new RuntimeException("Failed to create transaction", exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to create transaction", exception));
+        }
+    }
+
+    public BulkTransactionsResponse bulkCreate(InputStream body) {
+        try (body) {
+            // Os itens são lidos conforme o ingester consome, sem montar o payload inteiro em memória
+            var items = TransactionBulkReader.read(body, jsonMapper, validator, transactionMapper);
+            var bulkResult = transactionService.bulkCreate(items);
+
+            return transactionMapper.toApi(bulkResult);
+        } catch (Exception exception) {
+            log.error("Error creating transactions in bulk", exception);
+            throw new RuntimeException("Failed to create transactions in bulk", exception);
+        }
+    }
+
+    public ImportTransactionsResponse importCsv(InputStream csv) {
+        try (var reader = new InputStreamReader(csv, StandardCharsets.UTF_8)) {
+            var importResult = transactionCsvImporter.importCsv(reader);
+
+            return transactionMapper.toApi(importResult);
+        } catch (Exception exception) {
+            log.error("Error importing transactions from CSV", exception);
+            throw new RuntimeException("Failed to import transactions", exception);
         }
     }
 
-    public Optional<TransactionApiResponse> update(String id,
-            UpdateTransactionRequest updateTransactionRequest) {
+    public InputStream export(LocalDate startDate, LocalDate endDate, ExportTransactionsFormatParameter format) {
         try {
-            var domainTransaction = transactionMapper.toDomain(updateTransactionRequest);
-            var updatedTransaction = transactionService.update(id, domainTransaction);
+            var exportFormat = format == ExportTransactionsFormatParameter.CSV ? ExportFormat.CSV
+                    : ExportFormat.NDJSON;
 
-            if (updatedTransaction.isEmpty()) {
-                return Optional.empty();
-            }
+            return transactionExporter.export(startDate, endDate, exportFormat);
+        } catch (Exception exception) {
+            log.error("Error exporting transactions", exception);
+            throw new RuntimeException("Failed to export transactions", exception);
+        }
+    }
 
-            return Optional.of(transactionMapper.toApi(updatedTransaction.get()));
+    public CompletableFuture<Optional<Versioned<TransactionApiResponse>>> update(String id,
+            UpdateTransactionRequest updateTransactionRequest, String expectedVersion) {
+        try {
+            var domainTransaction = transactionMapper.toDomain(updateTransactionRequest);
+
+            return transactionAsyncService.update(id, domainTransaction, expectedVersion)
+                    .thenApply(updatedTransaction -> updatedTransaction.map(this::toApi));
         } catch (Exception exception) {
             log.error("Error updating transaction with id: {}", id, exception);
-            throw new RuntimeException("Failed to update transaction", exception);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to update transaction", exception));
         }
     }
 
-    public void delete(String id) {
+    public CompletableFuture<Void> delete(String id) {
         try {
-            transactionService.delete(id);
+            return transactionAsyncService.delete(id);
         } catch (Exception e) {
             log.error("Error deleting transaction with id: {}", id, e);
-            throw new RuntimeException("Failed to delete transaction", e);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to delete transaction", e));
         }
     }
+
+    private Versioned<TransactionApiResponse> toApi(Versioned<Transaction> transaction) {
+        return new Versioned<>(transactionMapper.toApi(transaction.value()), transaction.version());
+    }
 }
@@ -0,0 +1,186 @@
+package ai.summary.transactions.application;
+
+import ai.summary.transactions.domain.transaction.mapper.TransactionMapper;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.model.CreateTransactionRequest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micronaut.json.JsonMapper;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lê o corpo de {@code POST /transactions/bulk} sob demanda, um item por vez, para que o primeiro lote siga ao
+ * OpenSearch antes de o corpo terminar de chegar. Um corpo que começa com {@code [} é um array JSON; qualquer
+ * outro é NDJSON. Itens malformados ou inválidos viram {@link BulkItem#rejected} e a leitura continua, exceto num
+ * array JSON quebrado, em que não há como achar o próximo item e o resto do corpo é descartado.
+ */
+final class TransactionBulkReader implements Iterator<BulkItem> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BufferedReader reader;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final TransactionMapper transactionMapper;
+    private final JsonParser arrayParser;
+
+    private long position;
+    private BulkItem next;
+    private boolean finished;
+
+    private TransactionBulkReader(BufferedReader reader, JsonMapper jsonMapper, Validator validator,
+            TransactionMapper transactionMapper) throws IOException {
+        this.reader = reader;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.transactionMapper = transactionMapper;
+        this.arrayParser = startsWithArray(reader) ? openArray(reader) : null;
+    }
+
+    /**
+     * Itens do corpo na ordem em que chegam. Um corpo que nem começa como JSON lança
+     * {@link IllegalArgumentException} antes de qualquer item ser lido.
+     */
+    static Stream<BulkItem> read(InputStream body, JsonMapper jsonMapper, Validator validator,
+            TransactionMapper transactionMapper) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        var items = new TransactionBulkReader(reader, jsonMapper, validator, transactionMapper);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = arrayParser != null ? nextFromArray() : nextFromLines();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            finished = next == null;
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public BulkItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var item = next;
+        next = null;
+        return item;
+    }
+
+    private BulkItem nextFromLines() throws IOException {
+        String line;
+
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+
+        return line == null ? null : toItem(position++, line);
+    }
+
+    private BulkItem nextFromArray() throws IOException {
+        var itemPosition = position++;
+
+        try {
+            var token = arrayParser.nextToken();
+
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                arrayParser.skipChildren();
+                return BulkItem.rejected(itemPosition, "Expected a transaction object");
+            }
+
+            // Só o objeto atual é copiado; o restante do array continua no stream
+            var json = new StringWriter();
+
+            try (var generator = JSON_FACTORY.createGenerator(json)) {
+                generator.copyCurrentStructure(arrayParser);
+            }
+
+            return toItem(itemPosition, json.toString());
+        } catch (JsonProcessingException exception) {
+            finished = true;
+            return BulkItem.rejected(itemPosition, "Malformed JSON, the rest of the payload was ignored: "
+                    + exception.getOriginalMessage());
+        }
+    }
+
+    private BulkItem toItem(long itemPosition, String json) {
+        CreateTransactionRequest createTransactionRequest;
+
+        try {
+            createTransactionRequest = jsonMapper.readValue(json, CreateTransactionRequest.class);
+        } catch (IOException exception) {
+            return BulkItem.rejected(itemPosition, "Malformed transaction");
+        }
+
+        if (createTransactionRequest == null) {
+            return BulkItem.rejected(itemPosition, "Expected a transaction object");
+        }
+
+        var violations = validator.validate(createTransactionRequest);
+
+        if (!violations.isEmpty()) {
+            return BulkItem.rejected(itemPosition, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        return BulkItem.of(itemPosition, transactionMapper.toDomain(createTransactionRequest));
+    }
+
+    private static boolean startsWithArray(BufferedReader reader) throws IOException {
+        int character;
+
+        do {
+            reader.mark(1);
+            character = reader.read();
+        } while (character != -1 && Character.isWhitespace(character));
+
+        if (character == -1) {
+            return false;
+        }
+
+        reader.reset();
+
+        if (character != '[' && character != '{') {
+            throw new IllegalArgumentException("Bulk payload must be a JSON array or NDJSON");
+        }
+
+        return character == '[';
+    }
+
+    private static JsonParser openArray(BufferedReader reader) throws IOException {
+        var parser = JSON_FACTORY.createParser(reader);
+        parser.nextToken();
+        return parser;
+    }
+}
@@ -9,10 +9,13 @@ import java.time.LocalDate;
 import ai.summary.transactions.application.AISummaryTransactionApp;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Controller
@@ -22,7 +25,8 @@ public class AiTransactionsControllerImpl implements AiTransactionsApi {
     private final AISummaryTransactionApp aiTransactionApplication;
 
     @Override
-    public HttpResponse<@Valid AIResultResponse> processAITransactionSummary(
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@Valid AIResultResponse>> processAITransactionSummary(
             @NotNull LocalDate startDate, @NotNull LocalDate endDate,
             @NotNull @Valid ProcessAITransactionSummaryRequest processAITransactionSummaryRequest) {
         try {
@@ -31,27 +35,28 @@ public class AiTransactionsControllerImpl implements AiTransactionsApi {
 
             var response = new AIResultResponse().result(summary);
 
-            return HttpResponse.ok(response);
+            return Mono.just(HttpResponse.ok(response));
         } catch (Exception exception) {
             log.error("Error processing AI transaction with startDate {}: endDate {}: {}",
                     startDate, endDate, processAITransactionSummaryRequest.getQuestion(), exception);
-            return HttpResponse.serverError();
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
     @Override
-    public HttpResponse<@Valid AIResultResponse> getAITransactionInsights(
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@Valid AIResultResponse>> getAITransactionInsights(
             @NotNull GetAITransactionInsightsScenarioParameter scenario, @NotNull LocalDate startDate,
             @NotNull LocalDate endDate) {
         try {
             var insights = aiTransactionApplication.processByInsights(scenario.getValue(), startDate, endDate);
             var response = new AIResultResponse().result(insights);
 
-            return HttpResponse.ok(response);
+            return Mono.just(HttpResponse.ok(response));
         } catch (Exception exception) {
             log.error("Error processing AI transaction insights. Scenario: {}, Start Date: {}, End Date: {}",
                     scenario, startDate, endDate, exception);
-            return HttpResponse.serverError();
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
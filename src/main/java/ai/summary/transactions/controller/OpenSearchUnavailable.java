@@ -0,0 +1,43 @@
+package ai.summary.transactions.controller;
+
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport.CircuitBreakerOpenException;
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport.ReadTimeoutException;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Com o disjuntor aberto ou a leitura passando do read-timeout o OpenSearch está indisponível só por um tempo: a
+ * resposta é 503 com {@code Retry-After}, para o cliente tentar de novo depois em vez de tratar como erro interno.
+ */
+final class OpenSearchUnavailable {
+
+    private static final Duration READ_TIMEOUT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private OpenSearchUnavailable() {
+    }
+
+    static <T> HttpResponse<T> orElse(Throwable error, HttpResponse<T> otherwise) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CircuitBreakerOpenException exception) {
+                return serviceUnavailable(exception.retryAfter());
+            }
+
+            if (cause instanceof ReadTimeoutException) {
+                return serviceUnavailable(READ_TIMEOUT_RETRY_AFTER);
+            }
+        }
+
+        return otherwise;
+    }
+
+    private static <T> HttpResponse<T> serviceUnavailable(Duration retryAfter) {
+        // Retry-After é em segundos inteiros, arredondado para cima
+        var seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+
+        return HttpResponse.<T>status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+}
@@ -1,17 +1,43 @@
 package ai.summary.transactions.controller;
 
+import ai.summary.transactions.model.BulkTransactionsResponse;
 import ai.summary.transactions.model.CreateTransactionRequest;
+import ai.summary.transactions.model.DeleteTransactionsTaskRequest;
+import ai.summary.transactions.model.ExportTransactionsFormatParameter;
 import ai.summary.transactions.model.GetAllTransactions200Response;
+import ai.summary.transactions.model.GetAllTransactionsSortParameter;
+import ai.summary.transactions.model.GetTransactionAggregationsIntervalParameter;
+import ai.summary.transactions.model.ImportTransactionsResponse;
+import ai.summary.transactions.model.RecategorizeTransactionsTaskRequest;
+import ai.summary.transactions.model.SpendingAggregationsResponse;
 import ai.summary.transactions.model.TransactionApiResponse;
+import ai.summary.transactions.model.TransactionSuggestionsResponse;
+import ai.summary.transactions.model.TransactionTaskResponse;
+import ai.summary.transactions.model.TransactionTaskStatusResponse;
 import ai.summary.transactions.model.UpdateTransactionRequest;
 import ai.summary.transactions.application.CrudTransactionApp;
+import ai.summary.transactions.domain.transaction.IdempotencyKeyReusedException;
+import ai.summary.transactions.domain.transaction.TransactionConflictException;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.multipart.CompletedFileUpload;
+import io.micronaut.http.server.types.files.FileCustomizableResponseType;
+import io.micronaut.http.server.types.files.StreamedFile;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Slf4j
@@ -19,90 +45,248 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class TransactionsControllerImpl implements TransactionsApi {
 
+    private static final MediaType TEXT_CSV = MediaType.of("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.of("application/x-ndjson");
+
     private final CrudTransactionApp transactionsCrudApplication;
 
     @Override
-    public HttpResponse<@Valid GetAllTransactions200Response> getAllTransactions(Integer limit,
+    public Mono<HttpResponse<@Valid GetAllTransactions200Response>> getAllTransactions(Integer limit,
             Integer offset,
-            LocalDate startDate, LocalDate endDate) {
-        try {
-            var finalLimit = limit != null ? limit : 20;
-            var finalOffset = offset != null ? offset : 0;
+            LocalDate startDate, LocalDate endDate, String cursor, String merchant, String category,
+            BigDecimal minAmount, BigDecimal maxAmount, String description, GetAllTransactionsSortParameter sort) {
+        var finalLimit = limit != null ? limit : 20;
+        var finalOffset = offset != null ? offset : 0;
+        var finalSort = sort != null ? sort : GetAllTransactionsSortParameter.DATE_DESC;
+        var filter = new TransactionFilter(startDate, endDate, merchant, category, minAmount, maxAmount,
+                description);
 
-            var apiTransactions = transactionsCrudApplication.findByFilters(startDate, endDate, finalLimit,
-                    finalOffset);
+        return Mono.fromFuture(() -> transactionsCrudApplication.findPage(filter, finalSort, finalLimit,
+                        finalOffset, cursor))
+                .<HttpResponse<GetAllTransactions200Response>>map(response -> response.isEmpty()
+                        ? HttpResponse.notFound()
+                        : HttpResponse.ok(response.get()))
+                .onErrorResume(exception -> {
+                    if (exception.getCause() instanceof IllegalArgumentException) {
+                        log.warn("Invalid filters or cursor received: {}", exception.getCause().getMessage());
+                        return Mono.just(HttpResponse.badRequest());
+                    }
 
-            if (apiTransactions.isEmpty()) {
-                return HttpResponse.notFound();
-            }
+                    log.error("Error retrieving all transactions", exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
 
-            var response = new GetAllTransactions200Response()
-                    .transactions(apiTransactions.get())
-                    .total(apiTransactions.get().size())
-                    .limit(finalLimit)
-                    .offset(finalOffset);
+    @Override
+    public Mono<HttpResponse<@Valid TransactionApiResponse>> createTransaction(
+            @NotNull @Valid CreateTransactionRequest createTransactionRequest, String idempotencyKey) {
+        return Mono.fromFuture(() -> transactionsCrudApplication.create(createTransactionRequest, idempotencyKey))
+                .<HttpResponse<TransactionApiResponse>>map(HttpResponse::created)
+                .onErrorResume(exception -> {
+                    if (exception instanceof IdempotencyKeyReusedException) {
+                        log.warn("Idempotency key reused with a different transaction: {}", idempotencyKey);
+                        return Mono.just(HttpResponse.status(HttpStatus.UNPROCESSABLE_ENTITY));
+                    }
+
+                    log.error("Error creating transaction", exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.badRequest()));
+                });
+    }
 
-            return HttpResponse.ok(response);
+    @Override
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@Valid BulkTransactionsResponse>> bulkCreateTransactions(@NotNull InputStream body) {
+        try {
+            var bulkResponse = transactionsCrudApplication.bulkCreate(body);
+            return Mono.just(HttpResponse.ok(bulkResponse));
         } catch (Exception exception) {
-            log.error("Error retrieving all transactions", exception);
-            return HttpResponse.serverError();
+            if (exception.getCause() instanceof IllegalArgumentException) {
+                log.warn("Invalid bulk payload received: {}", exception.getCause().getMessage());
+                return Mono.just(HttpResponse.badRequest());
+            }
+
+            log.error("Error creating transactions in bulk", exception);
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
     @Override
-    public HttpResponse<@Valid TransactionApiResponse> createTransaction(
-            @NotNull @Valid CreateTransactionRequest createTransactionRequest) {
-        try {
-            var apiTransaction = transactionsCrudApplication.create(createTransactionRequest);
-            return HttpResponse.created(apiTransaction);
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@Valid ImportTransactionsResponse>> importTransactions(
+            @NotNull CompletedFileUpload file) {
+        try (var csv = file.getInputStream()) {
+            var importResponse = transactionsCrudApplication.importCsv(csv);
+            return Mono.just(HttpResponse.ok(importResponse));
         } catch (Exception exception) {
-            log.error("Error creating transaction", exception);
-            return HttpResponse.badRequest();
+            log.error("Error importing transactions from file: {}", file.getFilename(), exception);
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
     @Override
-    public HttpResponse<@Valid TransactionApiResponse> getTransactionById(@NotNull String id) {
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@NotNull FileCustomizableResponseType>> exportTransactions(LocalDate startDate,
+            LocalDate endDate, ExportTransactionsFormatParameter format) {
         try {
-            var apiTransaction = transactionsCrudApplication.getById(id);
+            var finalFormat = format != null ? format : ExportTransactionsFormatParameter.NDJSON;
+            var mediaType = finalFormat == ExportTransactionsFormatParameter.CSV ? TEXT_CSV : APPLICATION_NDJSON;
 
-            if (apiTransaction.isEmpty()) {
-                return HttpResponse.notFound();
-            }
+            var export = transactionsCrudApplication.export(startDate, endDate, finalFormat);
 
-            return HttpResponse.ok(apiTransaction.get());
+            // Sem tamanho conhecido a resposta sai com chunked encoding
+            return Mono.just(HttpResponse.ok(new StreamedFile(export, mediaType)
+                    .attach("transactions." + finalFormat.getValue())));
         } catch (Exception exception) {
-            log.error("Error retrieving transaction with id: {}", id, exception);
-            return HttpResponse.serverError();
+            log.error("Error exporting transactions", exception);
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
     @Override
-    public HttpResponse<@Valid TransactionApiResponse> updateTransaction(@NotNull String id,
-            @NotNull @Valid UpdateTransactionRequest updateTransactionRequest) {
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public Mono<HttpResponse<@Valid SpendingAggregationsResponse>> getTransactionAggregations(LocalDate startDate,
+            LocalDate endDate, GetTransactionAggregationsIntervalParameter interval, Integer size) {
         try {
-            var apiTransaction = transactionsCrudApplication.update(id, updateTransactionRequest);
+            var finalInterval = interval != null ? interval : GetTransactionAggregationsIntervalParameter.MONTH;
+            var finalSize = size != null ? size : 10;
 
-            if (apiTransaction.isEmpty()) {
-                return HttpResponse.notFound();
-            }
-
-            return HttpResponse.ok(apiTransaction.get());
+            var aggregations = transactionsCrudApplication.aggregate(startDate, endDate, finalInterval, finalSize);
+            return Mono.just(HttpResponse.ok(aggregations));
         } catch (Exception exception) {
-            log.error("Error updating transaction with id: {}", id, exception);
-            return HttpResponse.serverError();
+            log.error("Error aggregating transactions", exception);
+            return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
         }
     }
 
     @Override
-    public HttpResponse<Void> deleteTransaction(@NotNull String id) {
-        try {
-            transactionsCrudApplication.delete(id);
-            return HttpResponse.noContent();
-        } catch (Exception exception) {
-            log.error("Error deleting transaction with id: {}", id, exception);
-            return HttpResponse.serverError();
+    public Mono<HttpResponse<@Valid TransactionSuggestionsResponse>> getTransactionSuggestions(
+            @NotNull String prefix, Integer size) {
+        var finalSize = size != null ? size : 5;
+
+        return Mono.fromFuture(() -> transactionsCrudApplication.suggest(prefix, finalSize))
+                .<HttpResponse<TransactionSuggestionsResponse>>map(HttpResponse::ok)
+                .onErrorResume(exception -> {
+                    log.error("Error suggesting transactions for prefix: {}", prefix, exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<@Valid TransactionTaskResponse>> startDeleteTransactionsTask(
+            @NotNull @Valid DeleteTransactionsTaskRequest request) {
+        var filter = new TransactionFilter(request.getStartDate(), request.getEndDate(), request.getMerchant(),
+                request.getCategory(), request.getMinAmount(), request.getMaxAmount(), request.getDescription());
+
+        return Mono.fromFuture(() -> transactionsCrudApplication.startDelete(filter, request.getRequestsPerSecond()))
+                .<HttpResponse<TransactionTaskResponse>>map(task -> HttpResponse.accepted().body(task))
+                .onErrorResume(exception -> {
+                    if (exception.getCause() instanceof IllegalArgumentException) {
+                        log.warn("Invalid delete task received: {}", exception.getCause().getMessage());
+                        return Mono.just(HttpResponse.badRequest());
+                    }
+
+                    log.error("Error starting delete task", exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<@Valid TransactionTaskResponse>> startRecategorizeTransactionsTask(
+            @NotNull @Valid RecategorizeTransactionsTaskRequest request) {
+        var filter = new TransactionFilter(request.getStartDate(), request.getEndDate(), request.getMerchant(), null,
+                null, null, null);
+
+        return Mono.fromFuture(() -> transactionsCrudApplication.startRecategorize(filter, request.getCategory(),
+                        request.getRequestsPerSecond()))
+                .<HttpResponse<TransactionTaskResponse>>map(task -> HttpResponse.accepted().body(task))
+                .onErrorResume(exception -> {
+                    if (exception.getCause() instanceof IllegalArgumentException) {
+                        log.warn("Invalid recategorize task received: {}", exception.getCause().getMessage());
+                        return Mono.just(HttpResponse.badRequest());
+                    }
+
+                    log.error("Error starting recategorize task", exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<@Valid TransactionTaskStatusResponse>> getTransactionTask(@NotNull String taskId) {
+        return Mono.fromFuture(() -> transactionsCrudApplication.getTask(taskId))
+                .<HttpResponse<TransactionTaskStatusResponse>>map(status -> status.isEmpty()
+                        ? HttpResponse.notFound()
+                        : HttpResponse.ok(status.get()))
+                .onErrorResume(exception -> {
+                    log.error("Error retrieving task with id: {}", taskId, exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<@Valid TransactionApiResponse>> getTransactionById(@NotNull String id) {
+        return Mono.fromFuture(() -> transactionsCrudApplication.getById(id))
+                .<HttpResponse<TransactionApiResponse>>map(apiTransaction -> apiTransaction.isEmpty()
+                        ? HttpResponse.notFound()
+                        : withETag(apiTransaction.get()))
+                .onErrorResume(exception -> {
+                    log.error("Error retrieving transaction with id: {}", id, exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<@Valid TransactionApiResponse>> updateTransaction(@NotNull String id,
+            @NotNull @Valid UpdateTransactionRequest updateTransactionRequest, String ifMatch) {
+        return Mono.fromFuture(() -> transactionsCrudApplication.update(id, updateTransactionRequest,
+                        version(ifMatch)))
+                .<HttpResponse<TransactionApiResponse>>map(apiTransaction -> apiTransaction.isEmpty()
+                        ? HttpResponse.notFound()
+                        : withETag(apiTransaction.get()))
+                .onErrorResume(exception -> {
+                    if (exception instanceof TransactionConflictException) {
+                        log.warn("Conflicting update for transaction with id: {}", id);
+                        return Mono.just(HttpResponse.status(HttpStatus.CONFLICT));
+                    }
+
+                    if (exception.getCause() instanceof IllegalArgumentException) {
+                        log.warn("Invalid If-Match received: {}", ifMatch);
+                        return Mono.just(HttpResponse.badRequest());
+                    }
+
+                    log.error("Error updating transaction with id: {}", id, exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    @Override
+    public Mono<HttpResponse<Void>> deleteTransaction(@NotNull String id) {
+        // O future de delete completa com null, por isso a resposta é montada no then e não no map
+        return Mono.fromFuture(() -> transactionsCrudApplication.delete(id))
+                .then(Mono.<HttpResponse<Void>>fromSupplier(HttpResponse::noContent))
+                .onErrorResume(exception -> {
+                    log.error("Error deleting transaction with id: {}", id, exception);
+                    return Mono.just(OpenSearchUnavailable.orElse(exception, HttpResponse.serverError()));
+                });
+    }
+
+    private static HttpResponse<TransactionApiResponse> withETag(Versioned<TransactionApiResponse> transaction) {
+        return HttpResponse.ok(transaction.value())
+                .header(HttpHeaders.ETAG, "\"" + transaction.version() + "\"");
+    }
+
+    private static String version(String ifMatch) {
+        // "*" aceita qualquer versão existente, o mesmo que não enviar o cabeçalho
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        var etag = ifMatch.trim();
+
+        if (etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
         }
+
+        return etag;
     }
 
 }
@@ -0,0 +1,66 @@
+package ai.summary.transactions.core.cluster;
+
+import org.apache.hc.core5.http.HttpHost;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converte a lista de hosts da configuração e os endereços publicados pelos nós do cluster em {@link HttpHost}.
+ */
+public final class OpenSearchHosts {
+
+    private OpenSearchHosts() {
+    }
+
+    /**
+     * Aceita entradas separadas por vírgula no formato {@code host}, {@code host:porta} ou {@code scheme://host:porta}.
+     * Sem entradas, usa o host e a porta únicos da configuração.
+     */
+    public static List<HttpHost> parse(String hosts, String scheme, String defaultHost, int defaultPort) {
+        if (hosts == null || hosts.isBlank()) {
+            return List.of(new HttpHost(scheme, defaultHost, defaultPort));
+        }
+
+        return Arrays.stream(hosts.split(","))
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .map(host -> toHttpHost(host, scheme, defaultPort))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * O {@code publish_address} vem como {@code ip:porta} ou {@code hostname/ip:porta} quando o nó publica um nome.
+     */
+    public static HttpHost fromPublishAddress(String publishAddress, String scheme, int defaultPort) {
+        var slash = publishAddress.indexOf('/');
+
+        if (slash > 0) {
+            var port = publishAddress.substring(publishAddress.lastIndexOf(':') + 1);
+            return new HttpHost(scheme, publishAddress.substring(0, slash), Integer.parseInt(port));
+        }
+
+        return toHttpHost(publishAddress.substring(slash + 1), scheme, defaultPort);
+    }
+
+    private static HttpHost toHttpHost(String address, String scheme, int defaultPort) {
+        if (address.contains("://")) {
+            var uri = URI.create(address);
+            return new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort() == -1 ? defaultPort : uri.getPort());
+        }
+
+        // IPv6 vem entre colchetes, o último ':' só separa a porta depois do ']'
+        var colon = address.lastIndexOf(':');
+        var hasPort = colon > 0 && colon > address.lastIndexOf(']');
+        var hostname = hasPort ? address.substring(0, colon) : address;
+        var port = hasPort ? Integer.parseInt(address.substring(colon + 1)) : defaultPort;
+
+        if (hostname.startsWith("[") && hostname.endsWith("]")) {
+            hostname = hostname.substring(1, hostname.length() - 1);
+        }
+
+        return new HttpHost(scheme, hostname, port);
+    }
+}
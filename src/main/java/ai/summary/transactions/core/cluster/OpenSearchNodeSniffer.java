@@ -0,0 +1,74 @@
+package ai.summary.transactions.core.cluster;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.NodeRole;
+import org.opensearch.client.opensearch.nodes.NodesInfoRequest;
+import org.opensearch.client.opensearch.nodes.info.NodeInfo;
+import org.opensearch.client.opensearch.nodes.info.NodesInfoMetric;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Descobre periodicamente os nós HTTP do cluster via {@code _nodes/http} e atualiza o transporte. Desligado por
+ * padrão: o endereço publicado pelos nós precisa ser alcançável de onde o serviço roda.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+@Requires(property = "opensearch.sniff.enabled", value = "true")
+public class OpenSearchNodeSniffer {
+
+    private final OpenSearchClient openSearchClient;
+    private final OpenSearchNodesTransport openSearchNodesTransport;
+    private final OpenSearchConfig openSearchConfig;
+
+    @Scheduled(fixedDelay = "${opensearch.sniff.interval:5m}", initialDelay = "${opensearch.sniff.initial-delay:10s}")
+    void sniff() {
+        try {
+            var nodes = discoverNodes();
+
+            if (nodes.isEmpty()) {
+                // Mantém os nós atuais em vez de ficar sem nenhum
+                log.warn("Node discovery returned no HTTP nodes, keeping {}", openSearchNodesTransport.nodes());
+                return;
+            }
+
+            openSearchNodesTransport.updateNodes(nodes);
+        } catch (Exception exception) {
+            log.error("Error discovering OpenSearch nodes", exception);
+        }
+    }
+
+    public List<Node> discoverNodes() throws IOException {
+        var request = NodesInfoRequest.of(info -> info.metric(NodesInfoMetric.Http));
+        var response = openSearchClient.nodes().info(request);
+
+        return response.nodes().values().stream()
+                .filter(node -> node.http() != null && node.http().publishAddress() != null)
+                .map(this::toNode)
+                .toList();
+    }
+
+    private Node toNode(NodeInfo info) {
+        var host = OpenSearchHosts.fromPublishAddress(info.http().publishAddress(), openSearchConfig.getScheme(),
+                openSearchConfig.getPort());
+
+        // Com os papéis preenchidos o seletor do transporte consegue pular os cluster managers dedicados
+        Set<String> roles = info.roles() == null ? Set.of() : info.roles().stream()
+                .map(NodeRole::jsonValue)
+                .collect(Collectors.toSet());
+
+        return new Node(host, Set.of(host), info.name(), info.version(), new Node.Roles(roles), Map.of());
+    }
+}
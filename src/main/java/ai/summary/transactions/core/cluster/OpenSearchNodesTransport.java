@@ -0,0 +1,108 @@
+package ai.summary.transactions.core.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.HttpHost;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transporte que delega para o transporte do httpclient5 montado sobre a lista atual de nós. O round-robin e o
+ * afastamento dos nós que falham ficam com o transporte delegado; aqui só se troca a lista quando a descoberta
+ * encontra outro conjunto de nós, já que o cliente do OpenSearch não permite alterar os nós de um transporte criado.
+ */
+@Slf4j
+public class OpenSearchNodesTransport implements OpenSearchTransport {
+
+    private final Function<List<Node>, OpenSearchTransport> transportFactory;
+    private final Duration closeDelay;
+
+    private volatile List<Node> nodes;
+    private volatile OpenSearchTransport delegate;
+
+    public OpenSearchNodesTransport(List<Node> nodes, Function<List<Node>, OpenSearchTransport> transportFactory,
+                                    Duration closeDelay) {
+        this.transportFactory = transportFactory;
+        this.closeDelay = closeDelay;
+        this.nodes = List.copyOf(nodes);
+        this.delegate = transportFactory.apply(this.nodes);
+    }
+
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Recria o transporte quando os hosts mudam. Devolve {@code false} quando não há o que trocar.
+     */
+    public synchronized boolean updateNodes(List<Node> discovered) {
+        if (discovered.isEmpty() || hosts(discovered).equals(hosts(nodes))) {
+            return false;
+        }
+
+        var previous = delegate;
+        nodes = List.copyOf(discovered);
+        delegate = transportFactory.apply(nodes);
+
+        log.info("OpenSearch nodes updated to {}", hosts(nodes));
+
+        // O transporte antigo só fecha depois do timeout de resposta, para não cortar requisições em andamento
+        CompletableFuture.runAsync(() -> closeQuietly(previous),
+                CompletableFuture.delayedExecutor(closeDelay.toMillis(), TimeUnit.MILLISECONDS));
+
+        return true;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(RequestT request,
+                                                                  Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+                                                                  TransportOptions options) throws IOException {
+        return delegate.performRequest(request, endpoint, options);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        return delegate.performRequestAsync(request, endpoint, options);
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private static Set<HttpHost> hosts(List<Node> nodes) {
+        return nodes.stream()
+                .map(Node::getHost)
+                .collect(Collectors.toSet());
+    }
+
+    private static void closeQuietly(OpenSearchTransport transport) {
+        try {
+            transport.close();
+        } catch (Exception exception) {
+            log.warn("Error closing previous OpenSearch transport", exception);
+        }
+    }
+}
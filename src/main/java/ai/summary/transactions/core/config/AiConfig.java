@@ -6,6 +6,8 @@ import io.micronaut.context.annotation.Value;
 
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
+
 @Getter
 @Singleton
 public class AiConfig {
@@ -19,4 +21,49 @@ public class AiConfig {
     @Value("${langchain4j.open-ai.chat-model.temperature}")
     private Double temperature;
 
+    @Value("${langchain4j.open-ai.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${ai.http.connect-timeout:5s}")
+    private Duration httpConnectTimeout;
+
+    @Value("${ai.http.read-timeout:60s}")
+    private Duration httpReadTimeout;
+
+    @Value("${ai.warm-up:false}")
+    private boolean warmUp;
+
+    @Value("${ai.tool.max-tokens:2500}")
+    private int toolMaxTokens;
+
+    @Value("${ai.tool.json-sample-every:100}")
+    private int toolJsonSampleEvery;
+
+    @Value("${ai.map-reduce.chunk-size:100}")
+    private int mapReduceChunkSize;
+
+    @Value("${ai.map-reduce.max-chunks:24}")
+    private int mapReduceMaxChunks;
+
+    @Value("${ai.map-reduce.concurrency:8}")
+    private int mapReduceConcurrency;
+
+    @Value("${ai.map-reduce.timeout:45s}")
+    private Duration mapReduceTimeout;
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${ai.cache.size:1000}")
+    private long cacheSize;
+
+    @Value("${ai.cache.ttl:24h}")
+    private Duration cacheTtl;
+
+    @Value("${ai.cache.shared:false}")
+    private boolean cacheShared;
+
+    @Value("${ai.cache.index:ai-responses}")
+    private String cacheIndex;
+
 }
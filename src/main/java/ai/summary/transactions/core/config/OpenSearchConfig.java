@@ -5,6 +5,8 @@ import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
 import lombok.Getter;
 
+import java.time.Duration;
+
 @Getter
 @Singleton
 public class OpenSearchConfig {
@@ -18,13 +20,136 @@ public class OpenSearchConfig {
     @Value("${opensearch.scheme:http}")
     private String scheme;
 
+    @Value("${opensearch.hosts:}")
+    private String hosts;
+
     @Value("${opensearch.index.transactions:transactions}")
     private String transactionsIndex;
 
+    @Value("${opensearch.index.shards:1}")
+    private int indexShards;
+
+    @Value("${opensearch.index.replicas:1}")
+    private int indexReplicas;
+
     @Value("${opensearch.username:admin}")
     private String username;
 
     @Value("${opensearch.password:}")
     private String password;
 
+    @Value("${opensearch.http.max-connections:50}")
+    private int httpMaxConnections;
+
+    @Value("${opensearch.http.max-connections-per-route:50}")
+    private int httpMaxConnectionsPerRoute;
+
+    @Value("${opensearch.http.connect-timeout:2s}")
+    private Duration httpConnectTimeout;
+
+    @Value("${opensearch.http.response-timeout:30s}")
+    private Duration httpResponseTimeout;
+
+    @Value("${opensearch.http.pool-timeout:5s}")
+    private Duration httpPoolTimeout;
+
+    @Value("${opensearch.http.keep-alive:60s}")
+    private Duration httpKeepAlive;
+
+    @Value("${opensearch.http.compression:true}")
+    private boolean httpCompression;
+
+    @Value("${opensearch.http.preemptive-auth:true}")
+    private boolean httpPreemptiveAuth;
+
+    @Value("${opensearch.resilience.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${opensearch.resilience.max-retries:1}")
+    private int maxRetries;
+
+    @Value("${opensearch.resilience.retry-backoff:50ms}")
+    private Duration retryBackoff;
+
+    @Value("${opensearch.resilience.retry-max-backoff:1s}")
+    private Duration retryMaxBackoff;
+
+    @Value("${opensearch.resilience.breaker-failure-threshold:20}")
+    private int breakerFailureThreshold;
+
+    @Value("${opensearch.resilience.breaker-open-duration:10s}")
+    private Duration breakerOpenDuration;
+
+    @Value("${opensearch.resilience.hedge-enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${opensearch.resilience.hedge-min-delay:10ms}")
+    private Duration hedgeMinDelay;
+
+    @Value("${opensearch.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+
+    @Value("${opensearch.bulk.batch-bytes:5242880}")
+    private long bulkBatchBytes;
+
+    @Value("${opensearch.bulk.max-in-flight:4}")
+    private int bulkMaxInFlight;
+
+    @Value("${opensearch.bulk.max-reported-failures:1000}")
+    private int bulkMaxReportedFailures;
+
+    @Value("${opensearch.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    @Value("${opensearch.write-behind.batch-size:500}")
+    private int writeBehindBatchSize;
+
+    @Value("${opensearch.write-behind.linger:5ms}")
+    private Duration writeBehindLinger;
+
+    @Value("${opensearch.write-behind.capacity:10000}")
+    private int writeBehindCapacity;
+
+    @Value("${opensearch.write-behind.max-in-flight:4}")
+    private int writeBehindMaxInFlight;
+
+    @Value("${opensearch.pagination.pit-keep-alive:5m}")
+    private String paginationPitKeepAlive;
+
+    @Value("${opensearch.pagination.count-cache-ttl:5m}")
+    private Duration countCacheTtl;
+
+    @Value("${opensearch.pagination.count-cache-size:1000}")
+    private long countCacheSize;
+
+    @Value("${opensearch.cache.transaction-size:10000}")
+    private long transactionCacheSize;
+
+    @Value("${opensearch.cache.transaction-ttl:1m}")
+    private Duration transactionCacheTtl;
+
+    @Value("${opensearch.cache.query-size:1000}")
+    private long queryCacheSize;
+
+    @Value("${opensearch.cache.query-closed-ttl:5m}")
+    private Duration queryCacheClosedTtl;
+
+    @Value("${opensearch.cache.query-open-ttl:30s}")
+    private Duration queryCacheOpenTtl;
+
+    @Value("${opensearch.export.page-size:1000}")
+    private int exportPageSize;
+
+    @Value("${opensearch.tasks.slices:auto}")
+    private String taskSlices;
+
+    @Value("${opensearch.tasks.requests-per-second:1000}")
+    private float taskRequestsPerSecond;
+
+    @Value("${opensearch.tasks.poll-interval:5s}")
+    private Duration taskPollInterval;
+
+    @Value("${opensearch.tasks.poll-max-failures:10}")
+    private int taskPollMaxFailures;
+
 }
@@ -0,0 +1,35 @@
+package ai.summary.transactions.core.factory;
+
+import ai.summary.transactions.core.config.AiConfig;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpClient;
+
+/**
+ * Cliente HTTP compartilhado pelos modelos da OpenAI.
+ * <p>
+ * O tamanho do pool e o keep-alive do {@link HttpClient} não têm setter: o JDK lê
+ * {@code jdk.httpclient.connectionPoolSize} e {@code jdk.httpclient.keepalive.timeout} uma vez, ao carregar a classe
+ * do pool. Por isso eles são passados com {@code -D} na subida da JVM ({@code mn.jvmArgs} no {@code pom.xml} ou
+ * {@code JAVA_TOOL_OPTIONS}), e não por aqui.
+ */
+@Factory
+@RequiredArgsConstructor
+public class AiHttpClientFactory {
+
+    private final AiConfig aiConfig;
+
+    @Bean
+    @Singleton
+    public JdkHttpClientBuilder aiHttpClientBuilder() {
+        // HTTP/2 multiplexa as perguntas simultâneas numa mesma conexão TLS com a OpenAI
+        return new JdkHttpClientBuilder()
+                .httpClientBuilder(HttpClient.newBuilder().version(HttpClient.Version.HTTP_2))
+                .connectTimeout(aiConfig.getHttpConnectTimeout())
+                .readTimeout(aiConfig.getHttpReadTimeout());
+    }
+}
@@ -1,24 +1,46 @@
 package ai.summary.transactions.core.factory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Primary;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
-import org.apache.hc.core5.http.HttpHost;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
-import org.apache.hc.client5.http.impl.auth.BasicAuthCache;
-import org.apache.hc.client5.http.impl.auth.BasicScheme;
-import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
 import org.opensearch.client.transport.httpclient5.ApacheHttpClient5TransportBuilder;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+import org.opensearch.client.transport.httpclient5.internal.NodeSelector;
 
+import ai.summary.transactions.core.cluster.OpenSearchHosts;
+import ai.summary.transactions.core.cluster.OpenSearchNodesTransport;
 import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport;
+import ai.summary.transactions.domain.transaction.mapper.TransactionDocumentDeserializer;
+import ai.summary.transactions.domain.transaction.model.Transaction;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Slf4j
 @Factory
 @RequiredArgsConstructor
 public class OpenSearchClientFactory {
@@ -27,48 +49,123 @@ public class OpenSearchClientFactory {
 
     @Bean
     @Singleton
-    public OpenSearchClient openSearchClient() {
+    public OpenSearchClient openSearchClient(OpenSearchTransport openSearchTransport) {
+        return new OpenSearchClient(openSearchTransport);
+    }
+
+    @Bean
+    @Singleton
+    public OpenSearchAsyncClient openSearchAsyncClient(OpenSearchTransport openSearchTransport) {
+        // Mesmo transporte do cliente síncrono: um único pool de conexões, o I/O já é assíncrono no httpclient5
+        return new OpenSearchAsyncClient(openSearchTransport);
+    }
+
+    @Bean(preDestroy = "close")
+    @Singleton
+    public PoolingAsyncClientConnectionManager openSearchConnectionManager() {
+        // Sem limites explícitos o httpclient5 abre no máximo 10 conexões por host e enfileira o resto
+        var connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(openSearchConfig.getHttpConnectTimeout()))
+                .setSocketTimeout(Timeout.of(openSearchConfig.getHttpResponseTimeout()))
+                .setTimeToLive(TimeValue.of(openSearchConfig.getHttpKeepAlive()))
+                .build();
+
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(openSearchConfig.getHttpMaxConnections())
+                .setMaxConnPerRoute(openSearchConfig.getHttpMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean(preDestroy = "close")
+    @Singleton
+    public OpenSearchNodesTransport openSearchTransport(PoolingAsyncClientConnectionManager connectionManager) {
         // Configurar Jackson com suporte ao Java 8 time
         var objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
+        // Documentos de transação são lidos direto para o record, sem passar por Map
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(Transaction.class, new TransactionDocumentDeserializer()));
+
         // Criar JacksonJsonpMapper com ObjectMapper configurado
         var jsonpMapper = new JacksonJsonpMapper(objectMapper);
 
-        var httpHost = new HttpHost(openSearchConfig.getScheme(), openSearchConfig.getHost(),
-                openSearchConfig.getPort());
+        var nodes = OpenSearchHosts.parse(openSearchConfig.getHosts(), openSearchConfig.getScheme(),
+                        openSearchConfig.getHost(), openSearchConfig.getPort()).stream()
+                .map(Node::new)
+                .toList();
+
+        return new OpenSearchNodesTransport(nodes,
+                currentNodes -> buildTransport(currentNodes, jsonpMapper, connectionManager),
+                openSearchConfig.getHttpResponseTimeout());
+    }
+
+    @Bean
+    @Primary
+    @Singleton
+    public ResilientOpenSearchTransport resilientOpenSearchTransport(OpenSearchNodesTransport nodesTransport) {
+        // Os clientes recebem este transporte; o de nós continua sendo fechado pelo próprio bean
+        return new ResilientOpenSearchTransport(nodesTransport, openSearchConfig);
+    }
+
+    private ApacheHttpClient5Transport buildTransport(List<Node> nodes, JacksonJsonpMapper jsonpMapper,
+                                                      PoolingAsyncClientConnectionManager connectionManager) {
+        var keepAlive = TimeValue.of(openSearchConfig.getHttpKeepAlive());
 
-        var transportBuilder = ApacheHttpClient5TransportBuilder.builder(httpHost)
-                .setMapper(jsonpMapper);
+        // Com vários nós o transporte faz round-robin e afasta com backoff os nós que falham até voltarem a responder.
+        // Com compressão o transporte envia o corpo em gzip e pede Accept-Encoding: gzip nas respostas
+        var transportBuilder = ApacheHttpClient5TransportBuilder.builder(nodes.toArray(Node[]::new))
+                .setMapper(jsonpMapper)
+                .setNodeSelector(NodeSelector.SKIP_DEDICATED_CLUSTER_MANAGERS)
+                .setFailureListener(new ApacheHttpClient5Transport.FailureListener() {
+                    @Override
+                    public void onFailure(Node node) {
+                        log.warn("OpenSearch node {} failed and was marked dead", node.getHost());
+                    }
+                })
+                .setCompressionEnabled(openSearchConfig.isHttpCompression())
+                .setRequestConfigCallback(requestConfigBuilder -> requestConfigBuilder
+                        .setConnectionRequestTimeout(Timeout.of(openSearchConfig.getHttpPoolTimeout()))
+                        .setResponseTimeout(Timeout.of(openSearchConfig.getHttpResponseTimeout())));
 
         // Adicionar autenticação se nome de usuário e senha estiverem configurados
         var username = openSearchConfig.getUsername();
         var password = openSearchConfig.getPassword();
+        var hasCredentials = username != null && password != null && !username.isEmpty() && !password.isEmpty();
 
-        // Configurar autenticação se credenciais forem fornecidas
-        if (username != null && password != null && !username.isEmpty() && !password.isEmpty()) {
-            // Criar provedor de credenciais
-            var credentialsProvider = new BasicCredentialsProvider();
-            credentialsProvider.setCredentials(
-                    new AuthScope(httpHost),
-                    new UsernamePasswordCredentials(username, password.toCharArray()));
-
-            // Criar cache de autenticação
-            var authCache = new BasicAuthCache();
-            authCache.put(httpHost, new BasicScheme());
-
-            // Criar contexto HTTP
-            var context = HttpClientContext.create();
-            context.setAuthCache(authCache);
-            context.setCredentialsProvider(credentialsProvider);
-
-            transportBuilder.setHttpClientConfigCallback(
-                    httpClientBuilder -> httpClientBuilder
-                            .setDefaultCredentialsProvider(credentialsProvider));
+        if (hasCredentials && openSearchConfig.isHttpPreemptiveAuth()) {
+            // Envia as credenciais já na primeira requisição, evitando a ida e volta do 401
+            var token = Base64.getEncoder()
+                    .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+            transportBuilder.setDefaultHeaders(new Header[] {
+                    new BasicHeader(HttpHeaders.AUTHORIZATION, "Basic " + token)
+            });
         }
 
-        var transport = transportBuilder.build();
-        return new OpenSearchClient(transport);
+        transportBuilder.setHttpClientConfigCallback(httpClientBuilder -> {
+            // O pool é um bean compartilhado: sobrevive à troca de transporte quando os nós mudam
+            httpClientBuilder
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    .setKeepAliveStrategy((response, context) -> keepAlive)
+                    .evictIdleConnections(keepAlive);
+
+            // Configurar autenticação se credenciais forem fornecidas
+            if (hasCredentials) {
+                // Escopo sem host: as mesmas credenciais valem para todos os nós, inclusive os descobertos
+                var credentialsProvider = new BasicCredentialsProvider();
+                credentialsProvider.setCredentials(
+                        new AuthScope(null, -1),
+                        new UsernamePasswordCredentials(username, password.toCharArray()));
+
+                httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+            }
+
+            return httpClientBuilder;
+        });
+
+        return transportBuilder.build();
     }
 }
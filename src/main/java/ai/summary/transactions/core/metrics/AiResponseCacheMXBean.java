@@ -0,0 +1,17 @@
+package ai.summary.transactions.core.metrics;
+
+/**
+ * Acertos e tamanho do cache de respostas do modelo, publicados via JMX.
+ */
+public interface AiResponseCacheMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getSharedHitCount();
+
+    double getHitRatio();
+
+    long getSize();
+}
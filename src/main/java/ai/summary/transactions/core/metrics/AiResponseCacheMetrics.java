@@ -0,0 +1,52 @@
+package ai.summary.transactions.core.metrics;
+
+import ai.summary.transactions.domain.ai.cache.AiResponseCache;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expõe os contadores do {@link AiResponseCache} como MBean {@code ai.summary.transactions:type=AiResponseCache}.
+ * Acertos do nível local não contam os do compartilhado, que aparecem em {@code SharedHitCount}.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class AiResponseCacheMetrics implements AiResponseCacheMXBean, ApplicationEventListener<ServerStartupEvent> {
+
+    static final String OBJECT_NAME = "ai.summary.transactions:type=AiResponseCache";
+
+    private final AiResponseCache aiResponseCache;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        MBeanRegistrar.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public long getHitCount() {
+        return aiResponseCache.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return aiResponseCache.missCount();
+    }
+
+    @Override
+    public long getSharedHitCount() {
+        return aiResponseCache.sharedHitCount();
+    }
+
+    @Override
+    public double getHitRatio() {
+        var hits = aiResponseCache.hitCount() + aiResponseCache.sharedHitCount();
+        var total = aiResponseCache.hitCount() + aiResponseCache.missCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public long getSize() {
+        return aiResponseCache.size();
+    }
+}
@@ -0,0 +1,17 @@
+package ai.summary.transactions.core.metrics;
+
+/**
+ * Tokens devolvidos pelas tools do assistente, comparados ao JSON equivalente, publicados via JMX.
+ */
+public interface AiToolOutputMXBean {
+
+    long getCallCount();
+
+    long getTokenCount();
+
+    long getJsonTokenCount();
+
+    double getTokenSavingRatio();
+
+    long getTruncatedCount();
+}
@@ -0,0 +1,52 @@
+package ai.summary.transactions.core.metrics;
+
+import ai.summary.transactions.domain.ai.tools.output.ToolTokenCounter;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expõe os contadores do {@link ToolTokenCounter} como MBean {@code ai.summary.transactions:type=AiToolOutput}.
+ * Muitas respostas truncadas indicam um orçamento pequeno para os períodos que os clientes consultam.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class AiToolOutputMetrics implements AiToolOutputMXBean, ApplicationEventListener<ServerStartupEvent> {
+
+    static final String OBJECT_NAME = "ai.summary.transactions:type=AiToolOutput";
+
+    private final ToolTokenCounter toolTokenCounter;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        MBeanRegistrar.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public long getCallCount() {
+        return toolTokenCounter.callCount();
+    }
+
+    @Override
+    public long getTokenCount() {
+        return toolTokenCounter.tokenCount();
+    }
+
+    @Override
+    public long getJsonTokenCount() {
+        return toolTokenCounter.jsonTokenCount();
+    }
+
+    @Override
+    public double getTokenSavingRatio() {
+        // Só as chamadas da amostra têm as duas medidas
+        var json = toolTokenCounter.jsonTokenCount();
+        return json == 0 ? 0 : 1 - (double) toolTokenCounter.sampledTokenCount() / json;
+    }
+
+    @Override
+    public long getTruncatedCount() {
+        return toolTokenCounter.truncatedCount();
+    }
+}
@@ -0,0 +1,30 @@
+package ai.summary.transactions.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registra os MBeans das métricas no servidor da plataforma. Uma falha só é registrada em log, porque métrica
+ * indisponível não impede a subida.
+ */
+@Slf4j
+final class MBeanRegistrar {
+
+    private MBeanRegistrar() {
+    }
+
+    static void register(Object mbean, String objectName) {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(objectName);
+
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (Exception exception) {
+            log.warn("Could not register metrics {}", objectName, exception);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ai.summary.transactions.core.metrics;
+
+/**
+ * Ocupação do pool de conexões com o OpenSearch, publicada via JMX.
+ */
+public interface OpenSearchPoolMXBean {
+
+    int getLeased();
+
+    int getPending();
+
+    int getAvailable();
+
+    int getMax();
+}
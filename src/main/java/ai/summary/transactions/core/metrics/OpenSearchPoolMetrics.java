@@ -0,0 +1,46 @@
+package ai.summary.transactions.core.metrics;
+
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+
+/**
+ * Expõe as estatísticas do pool do transporte do OpenSearch como MBean
+ * {@code ai.summary.transactions:type=OpenSearchConnectionPool}. Pending acima de zero indica requisições
+ * esperando conexão livre.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class OpenSearchPoolMetrics implements OpenSearchPoolMXBean, ApplicationEventListener<ServerStartupEvent> {
+
+    static final String OBJECT_NAME = "ai.summary.transactions:type=OpenSearchConnectionPool";
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        MBeanRegistrar.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public int getLeased() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    @Override
+    public int getPending() {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    @Override
+    public int getAvailable() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    @Override
+    public int getMax() {
+        return connectionManager.getTotalStats().getMax();
+    }
+}
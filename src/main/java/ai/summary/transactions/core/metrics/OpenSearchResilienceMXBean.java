@@ -0,0 +1,23 @@
+package ai.summary.transactions.core.metrics;
+
+/**
+ * Retentativas, timeouts, leituras de cobertura e estado do disjuntor das chamadas ao OpenSearch, publicados via JMX.
+ */
+public interface OpenSearchResilienceMXBean {
+
+    long getRetryCount();
+
+    long getTimeoutCount();
+
+    long getHedgeCount();
+
+    long getHedgeWinCount();
+
+    double getHedgeDelayMillis();
+
+    String getCircuitBreakerState();
+
+    long getCircuitBreakerOpenCount();
+
+    long getCircuitBreakerRejectedCount();
+}
@@ -0,0 +1,70 @@
+package ai.summary.transactions.core.metrics;
+
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expõe os contadores do {@link ResilientOpenSearchTransport} como MBean
+ * {@code ai.summary.transactions:type=OpenSearchResilience}. Muitas leituras de cobertura vencendo indicam um nó lento
+ * respondendo parte das buscas.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class OpenSearchResilienceMetrics implements OpenSearchResilienceMXBean,
+        ApplicationEventListener<ServerStartupEvent> {
+
+    static final String OBJECT_NAME = "ai.summary.transactions:type=OpenSearchResilience";
+
+    private final ResilientOpenSearchTransport resilientOpenSearchTransport;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        MBeanRegistrar.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public long getRetryCount() {
+        return resilientOpenSearchTransport.retryCount();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return resilientOpenSearchTransport.timeoutCount();
+    }
+
+    @Override
+    public long getHedgeCount() {
+        return resilientOpenSearchTransport.hedgeCount();
+    }
+
+    @Override
+    public long getHedgeWinCount() {
+        return resilientOpenSearchTransport.hedgeWinCount();
+    }
+
+    @Override
+    public double getHedgeDelayMillis() {
+        var delay = resilientOpenSearchTransport.hedgeDelayNanos();
+        return delay < 0 ? -1 : delay / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String getCircuitBreakerState() {
+        return resilientOpenSearchTransport.circuitBreaker().state().name();
+    }
+
+    @Override
+    public long getCircuitBreakerOpenCount() {
+        return resilientOpenSearchTransport.circuitBreaker().openCount();
+    }
+
+    @Override
+    public long getCircuitBreakerRejectedCount() {
+        return resilientOpenSearchTransport.circuitBreaker().rejectedCount();
+    }
+}
@@ -0,0 +1,17 @@
+package ai.summary.transactions.core.metrics;
+
+/**
+ * Efetividade do cache de transações por ID, publicada via JMX.
+ */
+public interface TransactionCacheMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getSize();
+}
@@ -0,0 +1,50 @@
+package ai.summary.transactions.core.metrics;
+
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expõe as estatísticas do {@link TransactionCache} como MBean {@code ai.summary.transactions:type=TransactionCache}.
+ * Despejos crescendo junto com as faltas indicam um cache pequeno demais para o conjunto de transações quentes.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class TransactionCacheMetrics implements TransactionCacheMXBean, ApplicationEventListener<ServerStartupEvent> {
+
+    static final String OBJECT_NAME = "ai.summary.transactions:type=TransactionCache";
+
+    private final TransactionCache transactionCache;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        MBeanRegistrar.register(this, OBJECT_NAME);
+    }
+
+    @Override
+    public long getHitCount() {
+        return transactionCache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return transactionCache.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return transactionCache.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return transactionCache.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return transactionCache.size();
+    }
+}
@@ -0,0 +1,44 @@
+package ai.summary.transactions.core.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Últimas latências de leitura, de onde sai o percentil usado como atraso da leitura de cobertura. O percentil é
+ * recalculado a cada {@code RECOMPUTE_EVERY} amostras para não ordenar a janela em toda requisição.
+ */
+class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 100;
+
+    private final long[] samples;
+    private final double percentile;
+
+    private int next;
+    private int count;
+    private long recorded;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+
+        if (++recorded % RECOMPUTE_EVERY == 0) {
+            var sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * Percentil atual em nanossegundos, ou {@code -1} enquanto não há amostras suficientes.
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,107 @@
+package ai.summary.transactions.core.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor por falhas seguidas: depois de {@code failureThreshold} falhas de transporte ou respostas 5xx ele abre e
+ * recusa as chamadas durante {@code openDuration}, sem ocupar conexões com um cluster que não responde. Passado esse
+ * tempo uma única chamada de teste decide se ele fecha ou volta a abrir. Com limite zero fica sempre fechado.
+ */
+@Slf4j
+public class OpenSearchCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long openCount;
+    private long rejectedCount;
+
+    public OpenSearchCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    OpenSearchCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Diz se a chamada pode seguir. Toda chamada liberada precisa informar o resultado em {@link #onSuccess()} ou
+     * {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+
+        rejectedCount++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("OpenSearch circuit breaker closed");
+        }
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failureThreshold > 0
+                && consecutiveFailures >= failureThreshold)) {
+            log.warn("OpenSearch circuit breaker opened after {} consecutive failures", consecutiveFailures);
+            state = State.OPEN;
+            openedAt = nanoTime.getAsLong();
+            trialInFlight = false;
+            openCount++;
+        }
+    }
+
+    /**
+     * Tempo até o disjuntor aberto liberar a chamada de teste; zero quando ele não está aberto.
+     */
+    public synchronized Duration retryAfter() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofNanos(Math.max(0, openNanos - (nanoTime.getAsLong() - openedAt)));
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized long openCount() {
+        return openCount;
+    }
+
+    public synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+}
@@ -0,0 +1,362 @@
+package ai.summary.transactions.core.resilience;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.core.CountRequest;
+import org.opensearch.client.opensearch.core.GetRequest;
+import org.opensearch.client.opensearch.core.MgetRequest;
+import org.opensearch.client.opensearch.core.MsearchRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportException;
+import org.opensearch.client.transport.TransportOptions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Transporte que protege as chamadas ao OpenSearch para os dois clientes, síncrono e assíncrono:
+ * <ul>
+ *     <li>leituras têm prazo próprio ({@code read-timeout}), menor que o timeout de resposta do HTTP;</li>
+ *     <li>leituras que falham por transporte, 429 ou 502/503/504 são repetidas com backoff exponencial e jitter;</li>
+ *     <li>leituras pontuais (get e busca por id) sem resposta depois do p95 recente do mesmo tipo ganham uma segunda
+ *     requisição, vale a que chegar antes;</li>
+ *     <li>o {@link OpenSearchCircuitBreaker} recusa tudo enquanto o cluster falha seguidamente.</li>
+ * </ul>
+ * Escritas não são repetidas nem duplicadas: passam só pelo disjuntor. O transporte do httpclient5 por baixo já
+ * tenta os outros nós quando uma conexão falha ou um nó responde 502/503/504, então cada tentativa daqui pode passar
+ * por todos os nós; por isso o padrão é repetir uma vez só.
+ */
+@Slf4j
+public class ResilientOpenSearchTransport implements OpenSearchTransport {
+
+    private static final int LATENCY_SAMPLES = 1000;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final OpenSearchTransport delegate;
+    private final OpenSearchCircuitBreaker circuitBreaker;
+    private final Duration readTimeout;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final long retryMaxBackoffMillis;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayNanos;
+    // Uma janela por tipo de leitura pontual: uma busca lenta não empurra o atraso de um get para cima
+    private final LatencyWindow getLatencies = new LatencyWindow(LATENCY_SAMPLES, HEDGE_PERCENTILE);
+    private final LatencyWindow idSearchLatencies = new LatencyWindow(LATENCY_SAMPLES, HEDGE_PERCENTILE);
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public ResilientOpenSearchTransport(OpenSearchTransport delegate, OpenSearchConfig openSearchConfig) {
+        this.delegate = delegate;
+        this.circuitBreaker = new OpenSearchCircuitBreaker(openSearchConfig.getBreakerFailureThreshold(),
+                openSearchConfig.getBreakerOpenDuration());
+        this.readTimeout = openSearchConfig.getReadTimeout();
+        this.maxRetries = Math.max(0, openSearchConfig.getMaxRetries());
+        this.retryBackoffMillis = Math.max(1, openSearchConfig.getRetryBackoff().toMillis());
+        this.retryMaxBackoffMillis = Math.max(retryBackoffMillis, openSearchConfig.getRetryMaxBackoff().toMillis());
+        this.hedgeEnabled = openSearchConfig.isHedgeEnabled();
+        this.hedgeMinDelayNanos = openSearchConfig.getHedgeMinDelay().toNanos();
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(RequestT request,
+                                                                  Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+                                                                  TransportOptions options) throws IOException {
+        try {
+            return performRequestAsync(request, endpoint, options).get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new TransportException("Interrupted while waiting for OpenSearch");
+        } catch (ExecutionException exception) {
+            // Mesmas exceções que o transporte síncrono lançaria
+            var cause = unwrap(exception);
+
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        Supplier<CompletableFuture<ResponseT>> call = () -> delegate.performRequestAsync(request, endpoint, options);
+
+        if (!isRead(request, endpoint)) {
+            return guarded(call);
+        }
+
+        var latencies = hedgeEnabled ? pointReadLatencies(request) : null;
+        return withRetries(() -> guarded(() -> withTimeout(latencies != null ? hedged(call, latencies) : call.get())),
+                0);
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public OpenSearchCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public long retryCount() {
+        return retries.sum();
+    }
+
+    public long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Atraso atual da leitura de cobertura das buscas por id, as leituras pontuais da API, ou {@code -1} enquanto não
+     * há latências suficientes para o p95.
+     */
+    public long hedgeDelayNanos() {
+        return hedgeDelayNanos(idSearchLatencies);
+    }
+
+    private long hedgeDelayNanos(LatencyWindow latencies) {
+        var percentile = latencies.percentileNanos();
+        return percentile < 0 ? -1 : Math.max(hedgeMinDelayNanos, percentile);
+    }
+
+    private LatencyWindow pointReadLatencies(Object request) {
+        if (request instanceof GetRequest) {
+            return getLatencies;
+        }
+
+        if (request instanceof SearchRequest search && search.query() != null && search.query().isIds()) {
+            return idSearchLatencies;
+        }
+
+        // Buscas por filtro e agregações custam caro para o cluster, duplicá-las pioraria justamente o nó lento
+        return null;
+    }
+
+    private <T> CompletableFuture<T> withRetries(Supplier<CompletableFuture<T>> attempt, int retry) {
+        return attempt.get().exceptionallyCompose(error -> {
+            var cause = unwrap(error);
+
+            if (retry >= maxRetries || !isRetryable(cause)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            // Full jitter: as instâncias não voltam todas ao mesmo tempo para o nó que acabou de falhar
+            var backoff = Math.min(retryMaxBackoffMillis, retryBackoffMillis << Math.min(retry, 20));
+            var delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+            retries.increment();
+            log.debug("Retrying OpenSearch read in {} ms after: {}", delay, cause.toString());
+
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> withRetries(attempt, retry + 1));
+        });
+    }
+
+    private <T> CompletableFuture<T> guarded(Supplier<CompletableFuture<T>> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CircuitBreakerOpenException(circuitBreaker.retryAfter()));
+        }
+
+        CompletableFuture<T> future;
+
+        try {
+            future = call.get();
+        } catch (RuntimeException exception) {
+            future = CompletableFuture.failedFuture(exception);
+        }
+
+        return future.whenComplete((response, error) -> {
+            if (error != null && isFailure(unwrap(error))) {
+                circuitBreaker.onFailure();
+            } else {
+                // 4xx é resposta do cluster, não sinal de que ele está fora
+                circuitBreaker.onSuccess();
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future) {
+        return future.copy()
+                .orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    if (!(unwrap(error) instanceof TimeoutException)) {
+                        return CompletableFuture.failedFuture(unwrap(error));
+                    }
+
+                    timeouts.increment();
+                    return CompletableFuture.failedFuture(new ReadTimeoutException(readTimeout));
+                });
+    }
+
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> call, LatencyWindow latencies) {
+        var delay = hedgeDelayNanos(latencies);
+        var first = timed(call, latencies);
+
+        if (delay < 0) {
+            return first;
+        }
+
+        var result = new CompletableFuture<T>();
+        var pending = new AtomicInteger(1);
+        var answered = new AtomicBoolean();
+        first.whenComplete((response, error) -> settle(result, pending, answered, response, error, false));
+
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            // Nó em GC ou fila cheia: uma segunda leitura tende a cair em outra réplica e responder antes
+            pending.incrementAndGet();
+            hedges.increment();
+            timed(call, latencies).whenComplete((response, error) ->
+                    settle(result, pending, answered, response, error, true));
+        });
+
+        return result;
+    }
+
+    private <T> CompletableFuture<T> timed(Supplier<CompletableFuture<T>> call, LatencyWindow latencies) {
+        var startedAt = System.nanoTime();
+
+        try {
+            return call.get().whenComplete((response, error) -> {
+                if (error == null) {
+                    latencies.record(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private <T> void settle(CompletableFuture<T> result, AtomicInteger pending, AtomicBoolean answered, T response,
+            Throwable error, boolean hedge) {
+        if (error == null) {
+            // A vitória é contada antes de completar, quem espera o resultado já vê o contador atualizado
+            if (answered.compareAndSet(false, true)) {
+                if (hedge) {
+                    hedgeWins.increment();
+                }
+
+                result.complete(response);
+            }
+        } else if (pending.decrementAndGet() == 0) {
+            // Só falha quando nenhuma das leituras em andamento pode mais responder
+            result.completeExceptionally(unwrap(error));
+        }
+    }
+
+    private static <RequestT> boolean isRead(RequestT request, Endpoint<RequestT, ?, ?> endpoint) {
+        if (request instanceof SearchRequest || request instanceof GetRequest || request instanceof CountRequest
+                || request instanceof MgetRequest || request instanceof MsearchRequest) {
+            return true;
+        }
+
+        var method = endpoint.method(request);
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof CircuitBreakerOpenException) {
+            return false;
+        }
+
+        if (error instanceof OpenSearchException exception) {
+            var status = exception.status();
+            return status == 429 || status == 502 || status == 503 || status == 504;
+        }
+
+        return error instanceof IOException;
+    }
+
+    private static boolean isFailure(Throwable error) {
+        if (error instanceof OpenSearchException exception) {
+            return exception.status() >= 500;
+        }
+
+        return error instanceof IOException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        var cause = error;
+
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause;
+    }
+
+    /**
+     * O disjuntor está aberto e a chamada nem chegou ao OpenSearch. {@link #retryAfter()} é o tempo até ele liberar
+     * a próxima chamada de teste.
+     */
+    public static class CircuitBreakerOpenException extends TransportException {
+
+        private final Duration retryAfter;
+
+        public CircuitBreakerOpenException(Duration retryAfter) {
+            super("OpenSearch circuit breaker is open");
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration retryAfter() {
+            return retryAfter;
+        }
+    }
+
+    /**
+     * A leitura passou do {@code read-timeout} sem resposta do OpenSearch.
+     */
+    public static class ReadTimeoutException extends TransportException {
+
+        public ReadTimeoutException(Duration readTimeout) {
+            super("OpenSearch read timed out after " + readTimeout.toMillis() + " ms");
+        }
+    }
+}
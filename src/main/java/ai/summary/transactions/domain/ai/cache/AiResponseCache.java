@@ -0,0 +1,164 @@
+package ai.summary.transactions.domain.ai.cache;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Respostas do modelo para perguntas e insights. A chave junta o texto normalizado, o período e a marca dos dados
+ * ({@link TransactionService#fingerprint}): qualquer transação gravada no período muda a chave, então uma resposta
+ * guardada nunca descreve dados antigos. Perguntas não têm período explícito ("este mês"), por isso levam o dia atual
+ * e a marca de todos os meses; insights de um período encerrado valem enquanto os dados dele não mudam.
+ * <p>
+ * Perguntas iguais que chegam juntas esperam a mesma chamada ao modelo. A resposta em andamento fica no cache como
+ * um future, então nenhum lock do mapa é segurado durante a chamada.
+ * <p>
+ * Com {@code ai.cache.shared} as respostas também vão para o {@link AiResponseStore}, e uma réplica aproveita o que
+ * outra já calculou.
+ */
+@Slf4j
+@Singleton
+public class AiResponseCache {
+
+    private final TransactionService transactionService;
+    private final AiResponseStore aiResponseStore;
+    private final AiConfig aiConfig;
+    private final AsyncCache<String, String> responses;
+
+    private final LongAdder sharedHits = new LongAdder();
+
+    public AiResponseCache(TransactionService transactionService, AiResponseStore aiResponseStore, AiConfig aiConfig) {
+        this.transactionService = transactionService;
+        this.aiResponseStore = aiResponseStore;
+        this.aiConfig = aiConfig;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(aiConfig.getCacheSize())
+                .expireAfterWrite(aiConfig.getCacheTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public String question(String question, Supplier<String> compute) {
+        return cached(() -> String.join("|", aiConfig.getModelName(), "question", LocalDate.now().toString(),
+                normalize(question), transactionService.fingerprint(null, null)), compute);
+    }
+
+    public String insights(String scenario, LocalDate startDate, LocalDate endDate, Supplier<String> compute) {
+        return cached(() -> {
+            // Um período que chega até hoje ainda recebe transações e o modelo fala em "até agora"
+            var today = LocalDate.now();
+            var day = endDate == null || !endDate.isBefore(today) ? today.toString() : "";
+
+            return String.join("|", aiConfig.getModelName(), "insights", normalize(scenario),
+                    String.valueOf(startDate), String.valueOf(endDate), day,
+                    transactionService.fingerprint(startDate, endDate));
+        }, compute);
+    }
+
+    public long hitCount() {
+        return responses.synchronous().stats().hitCount();
+    }
+
+    public long missCount() {
+        return responses.synchronous().stats().missCount();
+    }
+
+    public long sharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    public long size() {
+        return responses.synchronous().estimatedSize();
+    }
+
+    private String cached(Supplier<String> keySupplier, Supplier<String> compute) {
+        if (!aiConfig.isCacheEnabled()) {
+            return compute.get();
+        }
+
+        String key;
+
+        try {
+            key = keySupplier.get();
+        } catch (Exception exception) {
+            // Sem a marca dos dados não há como saber se uma resposta guardada ainda vale
+            log.warn("Could not compute AI response cache key, skipping cache", exception);
+            return compute.get();
+        }
+
+        // Só quem criou o future calcula; os demais esperam a mesma resposta
+        var created = new CompletableFuture<String>();
+        var response = responses.get(key, (ignored, executor) -> created);
+
+        if (response == created) {
+            try {
+                created.complete(load(key, compute));
+            } catch (RuntimeException | Error exception) {
+                // O cache descarta o future que falhou, e a próxima pergunta tenta de novo
+                created.completeExceptionally(exception);
+                throw exception;
+            }
+        }
+
+        try {
+            return response.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw exception;
+        }
+    }
+
+    private String load(String key, Supplier<String> compute) {
+        var id = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+
+        if (aiConfig.isCacheShared()) {
+            var shared = aiResponseStore.get(id, key);
+
+            if (shared.isPresent()) {
+                sharedHits.increment();
+                return shared.get();
+            }
+        }
+
+        var response = compute.get();
+
+        if (response == null || response.isBlank()) {
+            // Resposta vazia não fica guardada: quem esperava recebe a mesma, a próxima pergunta chama o modelo
+            responses.synchronous().invalidate(key);
+            return response;
+        }
+
+        if (aiConfig.isCacheShared()) {
+            aiResponseStore.put(id, key, response);
+        }
+
+        return response;
+    }
+
+    // Diferenças de caixa, espaços e pontuação final não mudam a resposta
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        return text.strip()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s?!.]+$", "");
+    }
+}
@@ -0,0 +1,13 @@
+package ai.summary.transactions.domain.ai.cache;
+
+import java.time.Instant;
+
+/**
+ * Resposta guardada no nível compartilhado. A chave completa fica junto para descartar colisões do id.
+ */
+public record AiResponseDocument(
+        String key,
+        String response,
+        Instant expiresAt) {
+
+}
@@ -0,0 +1,123 @@
+package ai.summary.transactions.domain.ai.cache;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.mapping.DynamicMapping;
+import org.opensearch.client.opensearch.core.DeleteByQueryRequest;
+import org.opensearch.client.opensearch.core.GetRequest;
+import org.opensearch.client.opensearch.core.IndexRequest;
+import org.opensearch.client.opensearch.indices.CreateIndexRequest;
+import org.opensearch.client.opensearch.indices.ExistsRequest;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Nível compartilhado do {@link AiResponseCache}: respostas guardadas num índice do OpenSearch para que as réplicas
+ * aproveitem as respostas umas das outras. Falhas aqui só fazem a resposta ser recalculada.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class AiResponseStore implements ApplicationEventListener<ServerStartupEvent> {
+
+    private final OpenSearchClient openSearchClient;
+    private final OpenSearchConfig openSearchConfig;
+    private final AiConfig aiConfig;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        if (!aiConfig.isCacheShared()) {
+            return;
+        }
+
+        try {
+            createIndex();
+        } catch (Exception exception) {
+            // Não impede a subida, o índice seria criado com mapeamento dinâmico na primeira resposta
+            log.error("Error creating AI response cache index {}", aiConfig.getCacheIndex(), exception);
+        }
+    }
+
+    public void createIndex() throws IOException {
+        var index = aiConfig.getCacheIndex();
+
+        if (openSearchClient.indices().exists(ExistsRequest.of(exists -> exists.index(index))).value()) {
+            return;
+        }
+
+        // Só a expiração é indexada, para a limpeza; chave e resposta ficam apenas no _source
+        openSearchClient.indices().create(CreateIndexRequest.of(create -> create
+                .index(index)
+                .settings(settings -> settings
+                        .numberOfShards(1)
+                        .numberOfReplicas(openSearchConfig.getIndexReplicas()))
+                .mappings(mappings -> mappings
+                        .dynamic(DynamicMapping.False)
+                        .properties("expiresAt", p -> p.date(d -> d)))));
+        log.info("AI response cache index {} created", index);
+    }
+
+    public Optional<String> get(String id, String key) {
+        try {
+            var response = openSearchClient.get(GetRequest.of(get -> get
+                    .index(aiConfig.getCacheIndex())
+                    .id(id)), AiResponseDocument.class);
+            var document = response.source();
+
+            if (!response.found() || document == null || !key.equals(document.key())
+                    || document.expiresAt().isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(document.response());
+        } catch (IOException | OpenSearchException exception) {
+            log.warn("Could not read shared AI response {}", id, exception);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String id, String key, String response) {
+        try {
+            var document = new AiResponseDocument(key, response, Instant.now().plus(aiConfig.getCacheTtl()));
+
+            openSearchClient.index(IndexRequest.of(index -> index
+                    .index(aiConfig.getCacheIndex())
+                    .id(id)
+                    .document(document)));
+        } catch (IOException | OpenSearchException exception) {
+            log.warn("Could not store shared AI response {}", id, exception);
+        }
+    }
+
+    @Scheduled(fixedDelay = "${ai.cache.purge-interval:1h}", initialDelay = "${ai.cache.purge-interval:1h}")
+    void purgeExpired() {
+        if (!aiConfig.isCacheShared()) {
+            return;
+        }
+
+        try {
+            var response = openSearchClient.deleteByQuery(DeleteByQueryRequest.of(delete -> delete
+                    .index(aiConfig.getCacheIndex())
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
+                    .query(query -> query.range(range -> range
+                            .field("expiresAt")
+                            .lt(JsonData.of(Instant.now().toString()))))));
+
+            log.info("Purged {} expired AI responses", response.deleted());
+        } catch (Exception exception) {
+            log.error("Error purging expired AI responses", exception);
+        }
+    }
+}
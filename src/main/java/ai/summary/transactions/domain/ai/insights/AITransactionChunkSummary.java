@@ -0,0 +1,18 @@
+package ai.summary.transactions.domain.ai.insights;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+
+public interface AITransactionChunkSummary {
+
+        @SystemMessage(fromResource = "prompts/ai-transaction-chunk-summary.md")
+        @UserMessage("""
+                        Trecho de {{startDate}} a {{endDate}} de um período maior.
+
+                        {{data}}
+                        """)
+        String summarizeChunk(@V("startDate") String startDate,
+                        @V("endDate") String endDate,
+                        @V("data") String data);
+}
@@ -14,4 +14,20 @@ public interface AITransactionInsights {
         String generateInsights(@V("scenario") String scenario,
                         @V("startDate") String startDate,
                         @V("endDate") String endDate);
+
+        @SystemMessage(fromResource = "prompts/ai-transaction-insights.md")
+        @UserMessage("""
+                        Minha fatura está no cenário {{scenario}}, com data inicial {{startDate}} e data final {{endDate}}.
+                        Forneça um resumo das transações que ocorrem nesse período.
+
+                        O período tem transações demais para uma única lista e foi dividido em trechos, já resumidos
+                        abaixo. Use getSpendingSummary do período inteiro para os totais, combine os destaques dos
+                        trechos e não chame getTransactions.
+
+                        {{partials}}
+                        """)
+        String combineInsights(@V("scenario") String scenario,
+                        @V("startDate") String startDate,
+                        @V("endDate") String endDate,
+                        @V("partials") String partials);
 }
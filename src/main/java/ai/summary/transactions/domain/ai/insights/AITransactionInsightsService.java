@@ -1,44 +1,192 @@
 package ai.summary.transactions.domain.ai.insights;
 
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import ai.summary.transactions.core.config.AiConfig;
-import ai.summary.transactions.domain.ai.insights.AITransactionInsightsService;
 import ai.summary.transactions.domain.ai.tools.impl.ReferenceDateToolImpl;
 import ai.summary.transactions.domain.ai.tools.impl.TransactionToolImpl;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.openai.OpenAiChatModel;
-import lombok.RequiredArgsConstructor;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import dev.langchain4j.service.AiServices;
 import jakarta.inject.Singleton;
 
+/**
+ * Modelo e assistente criados uma única vez: o modelo carrega o cliente HTTP com as conexões já abertas e o proxy do
+ * {@link AiServices} é montado por reflexão, caro demais para refazer a cada pergunta.
+ * <p>
+ * Períodos com mais transações do que cabem numa lista da tool são divididos em trechos pelo histograma diário. Cada
+ * trecho é resumido em paralelo em virtual threads, com limite de chamadas simultâneas e prazo por requisição, e os
+ * resumos parciais são combinados numa última chamada que busca os totais exatos do período. Cada trecho é lido
+ * inteiro, mesmo quando passa do limite da lista da tool.
+ */
 @Slf4j
 @Singleton
-@RequiredArgsConstructor
-public class AITransactionInsightsService {
+public class AITransactionInsightsService implements ApplicationEventListener<ServerStartupEvent> {
+
+    // Resumos parciais curtos: cada um vira parte do prompt da combinação
+    private static final int CHUNK_MAX_OUTPUT_TOKENS = 300;
 
     private final AiConfig aiConfig;
-    private final ReferenceDateToolImpl referenceDateTool;
+    private final TransactionService transactionService;
     private final TransactionToolImpl transactionTool;
+    private final ChatModel chatModel;
+    private final AITransactionInsights assistant;
+    private final AITransactionChunkSummary chunkSummarizer;
 
-    public String generateInsights(String scenario, LocalDate startDate, LocalDate endDate) {
+    public AITransactionInsightsService(AiConfig aiConfig, JdkHttpClientBuilder aiHttpClientBuilder,
+            ReferenceDateToolImpl referenceDateTool, TransactionToolImpl transactionTool,
+            TransactionService transactionService) {
+        this.aiConfig = aiConfig;
+        this.transactionService = transactionService;
+        this.transactionTool = transactionTool;
 
-        var chatModel = OpenAiChatModel.builder()
+        this.chatModel = OpenAiChatModel.builder()
+                .httpClientBuilder(aiHttpClientBuilder)
+                .baseUrl(aiConfig.getBaseUrl())
                 .apiKey(aiConfig.getApiKey())
                 .modelName(aiConfig.getModelName())
                 .temperature(aiConfig.getTemperature())
                 .build();
 
-        var assistant = AiServices.builder(AITransactionInsights.class)
+        this.assistant = AiServices.builder(AITransactionInsights.class)
                 .chatModel(chatModel)
                 .tools(referenceDateTool, transactionTool)
                 .build();
 
-        var insights = assistant.generateInsights(scenario, startDate.toString(), endDate.toString());
+        // Os dados do trecho vão na própria mensagem: sem tools, uma única ida ao modelo por trecho. Sem retentativas:
+        // trecho que falha entra com os números do histograma, e uma chamada interrompida no prazo não volta a sair
+        this.chunkSummarizer = AiServices.builder(AITransactionChunkSummary.class)
+                .chatModel(OpenAiChatModel.builder()
+                        .httpClientBuilder(aiHttpClientBuilder)
+                        .baseUrl(aiConfig.getBaseUrl())
+                        .apiKey(aiConfig.getApiKey())
+                        .modelName(aiConfig.getModelName())
+                        .temperature(aiConfig.getTemperature())
+                        .maxTokens(CHUNK_MAX_OUTPUT_TOKENS)
+                        .maxRetries(0)
+                        .build())
+                .build();
+    }
+
+    public String generateInsights(String scenario, LocalDate startDate, LocalDate endDate) {
+        var days = transactionService.aggregate(startDate, endDate, AggregationInterval.DAY, 1);
+        var chunkSize = Math.max(1, aiConfig.getMapReduceChunkSize());
+
+        String insights;
+
+        if (days.count() <= chunkSize) {
+            insights = assistant.generateInsights(scenario, startDate.toString(), endDate.toString());
+        } else {
+            // Trechos maiores quando o limite de trechos estoura: o prazo depende de quantas rodadas de chamadas há
+            var maxChunks = Math.max(1, aiConfig.getMapReduceMaxChunks());
+            var size = Math.max(chunkSize, Math.ceilDiv(days.count(), maxChunks));
+            var chunks = PeriodChunk.plan(startDate, endDate, days.overTime(), size);
+
+            while (chunks.size() > maxChunks) {
+                size += Math.max(1, size / 10);
+                chunks = PeriodChunk.plan(startDate, endDate, days.overTime(), size);
+            }
+
+            log.info("Summarizing {} transactions in {} chunks", days.count(), chunks.size());
+
+            var partials = summarizeChunks(chunks);
+            insights = assistant.combineInsights(scenario, startDate.toString(), endDate.toString(), partials);
+        }
 
         log.info("insights: {}", insights);
 
         return insights;
     }
 
+    private String summarizeChunks(List<PeriodChunk> chunks) {
+        var permits = new Semaphore(Math.max(1, aiConfig.getMapReduceConcurrency()));
+        var deadline = System.nanoTime() + aiConfig.getMapReduceTimeout().toNanos();
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        try {
+            var futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> summarizeChunk(chunk, permits), executor)
+                            .exceptionally(error -> {
+                                log.warn("Could not summarize chunk {}..{}", chunk.startDate(), chunk.endDate(),
+                                        error);
+                                return fallback(chunk);
+                            })
+                            // Trecho sem resposta no prazo entra só com os números do histograma
+                            .completeOnTimeout(fallback(chunk), Math.max(0, deadline - System.nanoTime()),
+                                    TimeUnit.NANOSECONDS))
+                    .toList();
+
+            return IntStream.range(0, chunks.size())
+                    .mapToObj(index -> "Trecho " + (index + 1) + " (" + chunks.get(index).startDate() + " a "
+                            + chunks.get(index).endDate() + "):\n" + futures.get(index).join())
+                    .collect(Collectors.joining("\n\n"));
+        } finally {
+            // Interrompe os trechos que passaram do prazo, inclusive os que ainda esperavam vaga
+            executor.shutdownNow();
+        }
+    }
+
+    private String summarizeChunk(PeriodChunk chunk, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to summarize chunk", exception);
+        }
+
+        try {
+            // O trecho inteiro: a lista da tool para em 100 transações e trechos crescem quando passam do limite
+            var data = transactionTool.getSpendingSummary(chunk.startDate(), chunk.endDate()) + "\n"
+                    + transactionTool.getAllTransactions(chunk.startDate(), chunk.endDate());
+
+            return chunkSummarizer.summarizeChunk(chunk.startDate().toString(), chunk.endDate().toString(), data);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static String fallback(PeriodChunk chunk) {
+        var total = chunk.total().setScale(2, RoundingMode.HALF_UP).toPlainString();
+        return chunk.count() + " transações, total R$ " + total + " (resumo detalhado indisponível)";
+    }
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        if (!aiConfig.isWarmUp()) {
+            return;
+        }
+
+        // Abre a conexão e o TLS antes da primeira pergunta sem atrasar a subida. Desligado por padrão: a API não tem
+        // chamada gratuita que passe pelo cliente do modelo, então cada subida paga um completion de um token
+        Thread.ofVirtual().name("ai-warm-up").start(() -> {
+            try {
+                chatModel.chat(ChatRequest.builder()
+                        .messages(UserMessage.from("ping"))
+                        .maxOutputTokens(1)
+                        .build());
+                log.info("AI chat model connection warmed up");
+            } catch (Exception exception) {
+                // Sem aquecimento a primeira pergunta só paga o handshake
+                log.warn("Could not warm up AI chat model connection", exception);
+            }
+        });
+    }
+
 }
@@ -0,0 +1,47 @@
+package ai.summary.transactions.domain.ai.insights;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+
+/**
+ * Trecho contínuo de um período grande, com a quantidade e o total já conhecidos pelo histograma diário.
+ */
+public record PeriodChunk(
+        LocalDate startDate,
+        LocalDate endDate,
+        long count,
+        BigDecimal total) {
+
+    /**
+     * Junta dias consecutivos em trechos de até {@code maxTransactions} transações. Um dia sozinho acima do limite
+     * vira um trecho próprio; o primeiro e o último trecho cobrem as bordas do período mesmo sem transações.
+     */
+    public static List<PeriodChunk> plan(LocalDate startDate, LocalDate endDate, List<SpendingBucket> days,
+            long maxTransactions) {
+        var chunks = new ArrayList<PeriodChunk>();
+        var chunkStart = startDate;
+        var count = 0L;
+        var total = BigDecimal.ZERO;
+
+        for (var day : days) {
+            var date = LocalDate.parse(day.key());
+
+            if (count > 0 && count + day.count() > maxTransactions) {
+                chunks.add(new PeriodChunk(chunkStart, date.minusDays(1), count, total));
+                chunkStart = date;
+                count = 0;
+                total = BigDecimal.ZERO;
+            }
+
+            count += day.count();
+            total = day.total() == null ? total : total.add(day.total());
+        }
+
+        chunks.add(new PeriodChunk(chunkStart, endDate, count, total));
+        return chunks;
+    }
+}
@@ -0,0 +1,44 @@
+package ai.summary.transactions.domain.ai.tools;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+
+/**
+ * Números do período já calculados pelo OpenSearch para o modelo, no lugar da lista completa de transações.
+ */
+public record SpendingSummary(
+        LocalDate startDate,
+        LocalDate endDate,
+        long count,
+        BigDecimal total,
+        BigDecimal average,
+        List<SpendingBucket> byCategory,
+        List<SpendingBucket> topMerchants,
+        List<LargestTransaction> largestTransactions,
+        AggregationInterval curveInterval,
+        List<SpendingBucket> spendingCurve) {
+
+    public record LargestTransaction(
+            LocalDate date,
+            BigDecimal amount,
+            String description,
+            String merchant,
+            String category) {
+
+        public static LargestTransaction from(Transaction transaction) {
+            var merchant = transaction.merchant();
+
+            return new LargestTransaction(
+                    transaction.date() == null ? null : transaction.date().toLocalDate(),
+                    transaction.amount(),
+                    transaction.description(),
+                    merchant == null ? null : merchant.name(),
+                    merchant == null ? null : merchant.category());
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package ai.summary.transactions.domain.ai.tools;
 
 import java.time.LocalDate;
-import java.util.List;
-import ai.summary.transactions.domain.transaction.model.Transaction;
 import dev.langchain4j.agent.tool.P;
 import dev.langchain4j.agent.tool.Tool;
 
@@ -11,13 +9,31 @@ public interface TransactionTool {
     @Tool("""
             Essa é a lista de transações bancárias e deve ser usada para responder a pergunta do cliente.
             Use esta tool quando precisar buscar transações financeiras do período especificado.
-            Retorna uma lista de transações contendo informações como valor, data, descrição e categoria.
+            Retorna uma tabela de transações (data, valor, comerciante e descrição) com um dicionário de comerciantes e
+            categorias. Em períodos grandes as transações mais antigas são resumidas por categoria ao final.
 
             IMPORTANTE: Sempre será fornecido as datas de início e fim do período desejado pelo cliente.
             - O formato das datas será YYYY-MM-DD (ex: 2024-01-15)
             - A data inicial (startDate) deve ser anterior ou igual à data final (endDate)
             """)
-    List<Transaction> getTransactions(
+    String getTransactions(
             @P("Data inicial do período para busca das transações. Formato: YYYY-MM-DD (ex: 2024-01-01).") LocalDate startDate,
-            @P("Data final do período para busca das transações. Formato: YYYY-MM-DD (ex: 2024-01-31).") LocalDate endDate);
+            @P("Data final do período para busca das transações. Formato: YYYY-MM-DD (ex: 2024-01-31).") LocalDate endDate,
+            @P(value = "Informe true apenas se precisar do id de cada transação.", required = false)
+            Boolean includeIds);
+
+    @Tool("""
+            Resumo dos gastos do período já calculado no servidor e deve ser a primeira opção para responder o cliente.
+            Retorna, em tabelas de texto, quantidade, total e média de gastos; total, quantidade e média por categoria;
+            os principais comerciantes; as maiores transações e a curva de gastos (por dia, ou semana/mês em períodos
+            longos).
+            Use getTransactions apenas quando precisar de transações individuais que não aparecem neste resumo.
+
+            IMPORTANTE: Sempre será fornecido as datas de início e fim do período desejado pelo cliente.
+            - O formato das datas será YYYY-MM-DD (ex: 2024-01-15)
+            - A data inicial (startDate) deve ser anterior ou igual à data final (endDate)
+            """)
+    String getSpendingSummary(
+            @P("Data inicial do período do resumo. Formato: YYYY-MM-DD (ex: 2024-01-01).") LocalDate startDate,
+            @P("Data final do período do resumo. Formato: YYYY-MM-DD (ex: 2024-01-31).") LocalDate endDate);
 }
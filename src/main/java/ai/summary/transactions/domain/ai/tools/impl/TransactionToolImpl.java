@@ -1,12 +1,18 @@
 package ai.summary.transactions.domain.ai.tools.impl;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 
+import ai.summary.transactions.domain.ai.tools.SpendingSummary;
 import ai.summary.transactions.domain.ai.tools.TransactionTool;
+import ai.summary.transactions.domain.ai.tools.output.CompactToolOutputEncoder;
 import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,17 +22,79 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TransactionToolImpl implements TransactionTool {
 
+    private static final int TRANSACTIONS_LIMIT = 100;
+    private static final int SUMMARY_BUCKETS = 10;
+    private static final int LARGEST_TRANSACTIONS = 5;
+    private static final long DAILY_CURVE_MAX_DAYS = 62;
+    private static final long WEEKLY_CURVE_MAX_DAYS = 366;
+
     private final TransactionService transactionService;
+    private final CompactToolOutputEncoder compactToolOutputEncoder;
 
     @Override
-    public List<Transaction> getTransactions(LocalDate startDate, LocalDate endDate) {
+    public String getTransactions(LocalDate startDate, LocalDate endDate, Boolean includeIds) {
         log.info("Getting transactions for startDate: {} and endDate: {}", startDate, endDate);
 
-        var transactions = transactionService.findByFilters(startDate, endDate, 100, 0)
+        var filter = TransactionFilter.period(startDate, endDate);
+        var transactions = transactionService.findByFilters(filter, TransactionSort.DATE_DESC, TRANSACTIONS_LIMIT, 0)
                 .orElse(Collections.emptyList());
 
         log.info("Transactions found: {}", transactions.size());
 
-        return transactions;
+        // Na lista cheia o modelo é avisado de que os totais não saem dela
+        var capped = transactions.size() >= TRANSACTIONS_LIMIT;
+        return compactToolOutputEncoder.transactions(startDate, endDate, transactions,
+                Boolean.TRUE.equals(includeIds), capped);
+    }
+
+    /**
+     * Todas as transações do período, sem o limite de {@link #getTransactions}. Não é uma tool: serve aos resumos de
+     * trecho, que passam de 100 transações quando o número de trechos estoura. As mais antigas que não cabem no limite
+     * de tokens continuam resumidas por categoria pelo encoder.
+     */
+    public String getAllTransactions(LocalDate startDate, LocalDate endDate) {
+        log.info("Getting all transactions for startDate: {} and endDate: {}", startDate, endDate);
+
+        List<Transaction> transactions;
+
+        try (var stream = transactionService.streamByFilters(startDate, endDate)) {
+            transactions = stream.toList();
+        }
+
+        log.info("Transactions found: {}", transactions.size());
+
+        return compactToolOutputEncoder.transactions(startDate, endDate, transactions, false, false);
+    }
+
+    @Override
+    public String getSpendingSummary(LocalDate startDate, LocalDate endDate) {
+        log.info("Getting spending summary for startDate: {} and endDate: {}", startDate, endDate);
+
+        // Curva diária até dois meses; em períodos maiores semanal ou mensal para a resposta continuar pequena
+        var interval = curveInterval(startDate, endDate);
+        var aggregation = transactionService.aggregate(startDate, endDate, interval, SUMMARY_BUCKETS);
+
+        var filter = TransactionFilter.period(startDate, endDate);
+        var largest = transactionService.findByFilters(filter, TransactionSort.AMOUNT_DESC, LARGEST_TRANSACTIONS, 0)
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(SpendingSummary.LargestTransaction::from)
+                .toList();
+
+        log.info("Spending summary computed over {} transactions", aggregation.count());
+
+        return compactToolOutputEncoder.spendingSummary(new SpendingSummary(startDate, endDate, aggregation.count(),
+                aggregation.total(), aggregation.average(), aggregation.byCategory(), aggregation.byMerchant(), largest,
+                interval, aggregation.overTime()));
+    }
+
+    private static AggregationInterval curveInterval(LocalDate startDate, LocalDate endDate) {
+        var days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        if (days <= DAILY_CURVE_MAX_DAYS) {
+            return AggregationInterval.DAY;
+        }
+
+        return days <= WEEKLY_CURVE_MAX_DAYS ? AggregationInterval.WEEK : AggregationInterval.MONTH;
     }
 }
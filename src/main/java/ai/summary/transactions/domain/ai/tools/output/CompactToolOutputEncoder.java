@@ -0,0 +1,195 @@
+package ai.summary.transactions.domain.ai.tools.output;
+
+import ai.summary.transactions.domain.ai.tools.SpendingSummary;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Codifica as respostas das tools como tabelas de texto: uma linha de cabeçalho e uma linha por registro, comerciantes
+ * e categorias num dicionário, datas sem horário e ids só quando pedidos. Transações que não cabem no orçamento de
+ * tokens saem da tabela e viram uma linha de resumo por categoria.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class CompactToolOutputEncoder {
+
+    static final String TRANSACTIONS_TOOL = "getTransactions";
+    static final String SPENDING_SUMMARY_TOOL = "getSpendingSummary";
+
+    private static final int OMITTED_CATEGORIES = 5;
+    // Reserva para a linha que resume as transações cortadas
+    private static final int OMITTED_RESERVE_TOKENS = 80;
+
+    private final ToolTokenCounter toolTokenCounter;
+
+    /**
+     * @param capped a busca parou no limite de transações e o período tem outras além destas
+     */
+    public String transactions(LocalDate startDate, LocalDate endDate, List<Transaction> transactions,
+            boolean includeIds, boolean capped) {
+        var header = "period: " + startDate + ".." + endDate + "\n"
+                + "transactions: " + transactions.size() + " (most recent first)\n"
+                + (capped ? "limit: the period has more transactions than listed; use getSpendingSummary for totals\n"
+                        : "");
+        var merchantsHeader = "merchants (id|name|category):\n";
+        var rowsHeader = includeIds
+                ? "transactions (id|date|amount|merchant|description):\n"
+                : "transactions (date|amount|merchant|description):\n";
+        var budget = toolTokenCounter.maxTokens() - OMITTED_RESERVE_TOKENS
+                - toolTokenCounter.count(header + merchantsHeader + rowsHeader);
+
+        Map<String, String> merchantIds = new HashMap<>();
+        var dictionary = new StringBuilder();
+        var rows = new StringBuilder();
+        var used = 0;
+        var kept = 0;
+
+        for (var transaction : transactions) {
+            var merchant = merchantEntry(transaction.merchant());
+            var merchantId = merchantIds.get(merchant);
+            var entry = "";
+
+            if (merchantId == null) {
+                merchantId = "m" + (merchantIds.size() + 1);
+                entry = merchantId + "|" + merchant + "\n";
+            }
+
+            var row = row(transaction, merchantId, includeIds);
+            var cost = toolTokenCounter.count(row) + toolTokenCounter.count(entry);
+
+            if (used + cost > budget) {
+                break;
+            }
+
+            if (!entry.isEmpty()) {
+                merchantIds.put(merchant, merchantId);
+                dictionary.append(entry);
+            }
+
+            rows.append(row);
+            used += cost;
+            kept++;
+        }
+
+        var output = new StringBuilder(header)
+                .append(merchantsHeader).append(dictionary)
+                .append(rowsHeader).append(rows);
+        var omitted = transactions.subList(kept, transactions.size());
+
+        if (!omitted.isEmpty()) {
+            output.append(omitted(omitted));
+        }
+
+        var encoded = output.toString();
+        toolTokenCounter.report(TRANSACTIONS_TOOL, encoded, transactions, !omitted.isEmpty());
+
+        return encoded;
+    }
+
+    public String spendingSummary(SpendingSummary summary) {
+        var output = new StringBuilder()
+                .append("period: ").append(summary.startDate()).append("..").append(summary.endDate()).append('\n')
+                .append("count|total|average\n")
+                .append(summary.count()).append('|').append(amount(summary.total())).append('|')
+                .append(amount(summary.average())).append('\n');
+
+        appendBuckets(output, "by category (category|count|total|average)", summary.byCategory());
+        appendBuckets(output, "top merchants (merchant|count|total|average)", summary.topMerchants());
+
+        output.append("largest transactions (date|amount|merchant|category|description):\n");
+        summary.largestTransactions().forEach(transaction -> output
+                .append(transaction.date()).append('|')
+                .append(amount(transaction.amount())).append('|')
+                .append(text(transaction.merchant())).append('|')
+                .append(text(transaction.category())).append('|')
+                .append(text(transaction.description())).append('\n'));
+
+        var interval = summary.curveInterval().name().toLowerCase();
+        output.append("spending by ").append(interval).append(" (start|count|total):\n");
+        summary.spendingCurve().forEach(bucket -> output
+                .append(bucket.key()).append('|')
+                .append(bucket.count()).append('|')
+                .append(amount(bucket.total())).append('\n'));
+
+        var encoded = output.toString();
+        toolTokenCounter.report(SPENDING_SUMMARY_TOOL, encoded, summary, false);
+
+        return encoded;
+    }
+
+    private static String row(Transaction transaction, String merchantId, boolean includeIds) {
+        var row = new StringBuilder();
+
+        if (includeIds) {
+            row.append(transaction.id()).append('|');
+        }
+
+        // Horário raramente muda a resposta e custa vários tokens por linha
+        var date = transaction.date() == null ? null : transaction.date().toLocalDate();
+
+        return row.append(date == null ? "" : date).append('|')
+                .append(amount(transaction.amount())).append('|')
+                .append(merchantId).append('|')
+                .append(text(transaction.description())).append('\n')
+                .toString();
+    }
+
+    private static String omitted(List<Transaction> omitted) {
+        var byCategory = omitted.stream().collect(Collectors.groupingBy(
+                transaction -> Optional.ofNullable(transaction.merchant()).map(Merchant::category).orElse("-"),
+                Collectors.reducing(BigDecimal.ZERO, CompactToolOutputEncoder::amountOrZero, BigDecimal::add)));
+        var total = byCategory.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        var categories = byCategory.entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder()))
+                .limit(OMITTED_CATEGORIES)
+                .map(entry -> text(entry.getKey()) + " " + amount(entry.getValue()))
+                .collect(Collectors.joining(", "));
+
+        return "omitted: " + omitted.size() + " older transactions, total " + amount(total)
+                + "; by category: " + categories + "; use getSpendingSummary for the period totals\n";
+    }
+
+    private static void appendBuckets(StringBuilder output, String header, List<SpendingBucket> buckets) {
+        output.append(header).append(":\n");
+        buckets.forEach(bucket -> output
+                .append(text(bucket.key())).append('|')
+                .append(bucket.count()).append('|')
+                .append(amount(bucket.total())).append('|')
+                .append(amount(bucket.average())).append('\n'));
+    }
+
+    private static String merchantEntry(Merchant merchant) {
+        if (merchant == null) {
+            return "-|-";
+        }
+
+        return text(merchant.name()) + "|" + text(merchant.category());
+    }
+
+    private static BigDecimal amountOrZero(Transaction transaction) {
+        return transaction.amount() == null ? BigDecimal.ZERO : transaction.amount();
+    }
+
+    private static String amount(BigDecimal value) {
+        return value == null ? "" : value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    // O separador e quebras de linha dentro de um campo desalinhariam a tabela
+    private static String text(String value) {
+        return value == null ? "" : value.replace('|', '/').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,143 @@
+package ai.summary.transactions.domain.ai.tools.output;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.domain.ai.tools.SpendingSummary;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import dev.langchain4j.model.TokenCountEstimator;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenCountEstimator;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.serde.annotation.SerdeImport;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta localmente, com o tokenizer do modelo configurado, os tokens devolvidos pelas tools e, numa amostra das
+ * chamadas, quantos o mesmo resultado custaria no JSON que o LangChain4j geraria, para acompanhar a economia do formato
+ * compacto. Serializar o resultado inteiro custa caro, então o JSON só é medido a cada
+ * {@code ai.tool.json-sample-every} chamadas, ou em todas com o log em debug.
+ */
+@Slf4j
+@Singleton
+@SerdeImport(Transaction.class)
+@SerdeImport(Merchant.class)
+@SerdeImport(SpendingSummary.class)
+@SerdeImport(SpendingSummary.LargestTransaction.class)
+@SerdeImport(SpendingBucket.class)
+public class ToolTokenCounter {
+
+    private final TokenCountEstimator estimator;
+    private final JsonMapper jsonMapper;
+    private final int maxTokens;
+    private final int jsonSampleEvery;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder sampledTokens = new LongAdder();
+    private final LongAdder jsonTokens = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+
+    public ToolTokenCounter(AiConfig aiConfig, JsonMapper jsonMapper) {
+        this.estimator = estimator(aiConfig.getModelName());
+        this.jsonMapper = jsonMapper;
+        this.maxTokens = aiConfig.getToolMaxTokens();
+        this.jsonSampleEvery = aiConfig.getToolJsonSampleEvery();
+    }
+
+    /**
+     * Orçamento de tokens de uma resposta de tool.
+     */
+    public int maxTokens() {
+        return maxTokens;
+    }
+
+    public int count(String text) {
+        return text.isEmpty() ? 0 : estimator.estimateTokenCountInText(text);
+    }
+
+    /**
+     * Registra uma resposta de tool já codificada. {@code raw} é o que a tool devolveria sem o formato compacto.
+     */
+    public void report(String tool, String output, Object raw, boolean wasTruncated) {
+        var outputTokens = count(output);
+
+        calls.increment();
+        tokens.add(outputTokens);
+
+        if (wasTruncated) {
+            truncated.increment();
+        }
+
+        if (!sampled()) {
+            log.info("Tool {} returned {} tokens, truncated: {}", tool, outputTokens, wasTruncated);
+            return;
+        }
+
+        var rawTokens = jsonTokens(raw);
+
+        if (rawTokens > 0) {
+            sampledTokens.add(outputTokens);
+            jsonTokens.add(rawTokens);
+        }
+
+        log.info("Tool {} returned {} tokens (JSON would be {} tokens), truncated: {}", tool, outputTokens, rawTokens,
+                wasTruncated);
+    }
+
+    public long callCount() {
+        return calls.sum();
+    }
+
+    public long tokenCount() {
+        return tokens.sum();
+    }
+
+    /**
+     * Tokens do formato compacto só nas chamadas em que o JSON também foi medido.
+     */
+    public long sampledTokenCount() {
+        return sampledTokens.sum();
+    }
+
+    /**
+     * Tokens que o JSON custaria nas chamadas da amostra.
+     */
+    public long jsonTokenCount() {
+        return jsonTokens.sum();
+    }
+
+    public long truncatedCount() {
+        return truncated.sum();
+    }
+
+    private boolean sampled() {
+        return log.isDebugEnabled()
+                || jsonSampleEvery > 0 && sequence.getAndIncrement() % jsonSampleEvery == 0;
+    }
+
+    private int jsonTokens(Object raw) {
+        try {
+            return count(jsonMapper.writeValueAsString(raw));
+        } catch (Exception exception) {
+            // Só a comparação fica de fora, a resposta da tool segue normalmente
+            log.debug("Could not estimate JSON tokens for tool output", exception);
+            return 0;
+        }
+    }
+
+    private static TokenCountEstimator estimator(String modelName) {
+        try {
+            return new OpenAiTokenCountEstimator(modelName);
+        } catch (RuntimeException exception) {
+            // Modelo desconhecido pelo jtokkit, como um endpoint compatível: o tokenizer do gpt-4o-mini é próximo
+            log.warn("No local tokenizer for model {}, estimating tool tokens with gpt-4o-mini", modelName);
+            return new OpenAiTokenCountEstimator(OpenAiChatModelName.GPT_4_O_MINI);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ai.summary.transactions.domain.transaction;
+
+/**
+ * A chave de idempotência já criou uma transação com outros dados.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
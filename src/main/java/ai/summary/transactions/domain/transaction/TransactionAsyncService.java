@@ -0,0 +1,45 @@
+package ai.summary.transactions.domain.transaction;
+
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import ai.summary.transactions.domain.transaction.model.TransactionSuggestions;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caminho de CRUD sem bloqueio: as chamadas ao OpenSearch não prendem a thread que atende a requisição.
+ */
+public interface TransactionAsyncService {
+
+    CompletableFuture<Optional<Versioned<Transaction>>> getById(String id);
+
+    CompletableFuture<TransactionPage> findPage(TransactionFilter filter, TransactionSort sort, int limit, int offset,
+            String cursor);
+
+    /**
+     * Total exato de transações que atendem ao filtro, reaproveitado entre as páginas até a próxima escrita.
+     */
+    CompletableFuture<Long> count(TransactionFilter filter);
+
+    /**
+     * Comerciantes e descrições distintos que começam com o prefixo, para a busca enquanto o usuário digita.
+     */
+    CompletableFuture<TransactionSuggestions> suggest(String prefix, int size);
+
+    /**
+     * Com {@code idempotencyKey} o ID vem da chave e a gravação não sobrescreve: repetir a criação com a mesma chave
+     * devolve a transação gravada na primeira vez em vez de criar outra.
+     */
+    CompletableFuture<Transaction> create(Transaction transaction, String idempotencyKey);
+
+    /**
+     * Atualiza só os campos informados. Com {@code expectedVersion} a atualização falha com
+     * {@link TransactionConflictException} se a transação mudou desde aquela versão.
+     */
+    CompletableFuture<Optional<Versioned<Transaction>>> update(String id, Transaction changes, String expectedVersion);
+
+    CompletableFuture<Void> delete(String id);
+}
@@ -0,0 +1,11 @@
+package ai.summary.transactions.domain.transaction;
+
+/**
+ * A transação mudou desde a versão informada pelo cliente.
+ */
+public class TransactionConflictException extends RuntimeException {
+
+    public TransactionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,19 +1,34 @@
 package ai.summary.transactions.domain.transaction;
 
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.BulkResult;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionService {
 
-    Optional<Transaction> getById(String id);
+    Optional<List<Transaction>> findByFilters(TransactionFilter filter, TransactionSort sort, int limit, int offset);
 
-    Optional<List<Transaction>> findByFilters(LocalDate startDate, LocalDate endDate, int limit, int offset);
+    TransactionPage findPage(TransactionFilter filter, TransactionSort sort, int limit, int offset, String cursor);
 
-    Transaction create(Transaction transaction);
+    Stream<Transaction> streamByFilters(LocalDate startDate, LocalDate endDate);
 
-    Optional<Transaction> update(String id, Transaction transaction);
+    SpendingAggregation aggregate(LocalDate startDate, LocalDate endDate, AggregationInterval interval, int size);
 
-    void delete(String id);
+    /**
+     * Marca barata dos dados do período: muda sempre que uma transação dos meses do período é gravada, alterada ou
+     * removida. Datas nulas cobrem todos os meses. Só lê: {@link #findByFilters} confere a mesma marca antes de usar
+     * o seu cache.
+     */
+    String fingerprint(LocalDate startDate, LocalDate endDate);
+
+    BulkResult bulkCreate(Stream<BulkItem> items);
 }
@@ -0,0 +1,26 @@
+package ai.summary.transactions.domain.transaction;
+
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionTaskStatus;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Alterações em massa executadas como tarefas do OpenSearch: a requisição devolve o id da tarefa assim que ela é
+ * aceita e o andamento é consultado depois pelo {@link #status(String)}.
+ */
+public interface TransactionTaskService {
+
+    /**
+     * Remove as transações que atendem ao filtro. Um filtro vazio é recusado para não apagar tudo por engano.
+     */
+    CompletableFuture<String> deleteByFilter(TransactionFilter filter, Float requestsPerSecond);
+
+    /**
+     * Troca a categoria do comerciante em todas as transações que atendem ao filtro.
+     */
+    CompletableFuture<String> recategorize(TransactionFilter filter, String category, Float requestsPerSecond);
+
+    CompletableFuture<Optional<TransactionTaskStatus>> status(String taskId);
+}
@@ -0,0 +1,235 @@
+package ai.summary.transactions.domain.transaction.bulk;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.BulkItemFailure;
+import ai.summary.transactions.domain.transaction.model.BulkResult;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionBulkIngester {
+
+    // Metadados da ação + campos fixos (id, date, amount e nomes das chaves JSON)
+    private static final long FIXED_DOCUMENT_BYTES = 200;
+    private static final int REJECTED_STATUS = 400;
+
+    private final OpenSearchClient openSearchClient;
+    private final OpenSearchConfig openSearchConfig;
+    private final TransactionIndices transactionIndices;
+    private final TransactionCountCache transactionCountCache;
+    private final TransactionCache transactionCache;
+    private final TransactionQueryCache transactionQueryCache;
+
+    public BulkResult ingest(Stream<BulkItem> items) {
+        var startedAt = System.nanoTime();
+        var progress = new Progress(openSearchConfig.getBulkMaxReportedFailures());
+        var inFlight = new Semaphore(Math.max(1, openSearchConfig.getBulkMaxInFlight()));
+        var batchSize = Math.max(1, openSearchConfig.getBulkBatchSize());
+        var batchBytes = openSearchConfig.getBulkBatchBytes();
+
+        var submitted = false;
+
+        try {
+            // O fechamento do executor espera os lotes em andamento, então o finally vem depois de todas as escritas
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var batch = new Batch(batchSize);
+                var iterator = items.iterator();
+
+                while (iterator.hasNext()) {
+                    var item = iterator.next();
+
+                    if (item.rejection() != null) {
+                        // Rejeitado na leitura: conta como falha do item sem passar pelo OpenSearch
+                        progress.total.incrementAndGet();
+                        progress.failed(new BulkItemFailure(item.position(), null, REJECTED_STATUS,
+                                item.rejection()));
+                        continue;
+                    }
+
+                    batch.add(item.position(), withId(item.transaction()));
+
+                    if (batch.size() >= batchSize || (batchBytes > 0 && batch.bytes >= batchBytes)) {
+                        submitted = true;
+                        submit(executor, inFlight, batch, progress);
+                        batch = new Batch(batchSize);
+                    }
+                }
+
+                if (batch.size() > 0) {
+                    submitted = true;
+                    submit(executor, inFlight, batch, progress);
+                }
+            }
+        } finally {
+            if (submitted) {
+                // Vale também quando a leitura falha no meio ou um lote fica sem resposta: o que já foi enviado
+                // pode estar gravado. Um lote costuma cobrir vários meses, mais simples descartar todas as
+                // contagens e consultas; IDs informados podem sobrescrever transações, então o cache por ID também
+                transactionCountCache.invalidateAll();
+                transactionCache.invalidateAll();
+                transactionQueryCache.invalidateAll();
+            }
+        }
+
+        var took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        var result = progress.toResult(took);
+
+        log.info("Bulk ingest finished: {} transactions, {} created, {} failed in {} ms",
+                result.total(), result.created(), result.failed(), took);
+
+        return result;
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, Batch batch, Progress progress) {
+        // Bloqueia o produtor enquanto houver lotes demais aguardando o OpenSearch
+        inFlight.acquireUninterruptibly();
+        progress.total.addAndGet(batch.size());
+
+        executor.submit(() -> {
+            try {
+                send(batch, progress);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void send(Batch batch, Progress progress) {
+        try {
+            var response = openSearchClient.bulk(BulkRequest.of(bulk -> bulk.operations(batch.operations)));
+            var items = response.items();
+
+            for (var i = 0; i < items.size(); i++) {
+                var item = items.get(i);
+
+                if (item.error() != null) {
+                    progress.failed(new BulkItemFailure(batch.positions[i], item.id(), item.status(),
+                            item.error().reason()));
+                } else {
+                    progress.created.incrementAndGet();
+                }
+            }
+        } catch (Exception exception) {
+            log.error("Error sending bulk batch starting at position {}", batch.positions[0], exception);
+
+            for (var i = 0; i < batch.ids.size(); i++) {
+                progress.failed(new BulkItemFailure(batch.positions[i], batch.ids.get(i), 500,
+                        exception.getMessage()));
+            }
+        }
+    }
+
+    private Transaction withId(Transaction transaction) {
+        if (transaction.id() != null) {
+            return transaction;
+        }
+
+        return new Transaction(
+                UUID.randomUUID(),
+                transaction.date(),
+                transaction.amount(),
+                transaction.description(),
+                transaction.merchant());
+    }
+
+    private final class Batch {
+
+        private final long[] positions;
+        private final List<BulkOperation> operations;
+        private final List<String> ids;
+        private long bytes;
+
+        private Batch(int capacity) {
+            this.positions = new long[capacity];
+            this.operations = new ArrayList<>(capacity);
+            this.ids = new ArrayList<>(capacity);
+        }
+
+        private void add(long position, Transaction transaction) {
+            var id = transaction.id().toString();
+            positions[operations.size()] = position;
+
+            operations.add(BulkOperation.of(operation -> operation.index(index -> index
+                    .index(transactionIndices.writeIndex(transaction.date()))
+                    .id(id)
+                    .document(transaction))));
+            ids.add(id);
+            bytes += estimateSizeInBytes(transaction);
+        }
+
+        private int size() {
+            return operations.size();
+        }
+
+        // Estimativa barata para evitar serializar o documento duas vezes
+        private long estimateSizeInBytes(Transaction transaction) {
+            var size = FIXED_DOCUMENT_BYTES;
+
+            if (transaction.description() != null) {
+                size += transaction.description().length();
+            }
+
+            if (transaction.merchant() != null) {
+                size += transaction.merchant().name() != null ? transaction.merchant().name().length() : 0;
+                size += transaction.merchant().category() != null ? transaction.merchant().category().length() : 0;
+            }
+
+            return size;
+        }
+    }
+
+    private static final class Progress {
+
+        private final int maxReportedFailures;
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicInteger reportedFailures = new AtomicInteger();
+        private final ConcurrentLinkedQueue<BulkItemFailure> failures = new ConcurrentLinkedQueue<>();
+
+        private Progress(int maxReportedFailures) {
+            this.maxReportedFailures = maxReportedFailures;
+        }
+
+        private void failed(BulkItemFailure failure) {
+            failed.incrementAndGet();
+
+            if (reportedFailures.incrementAndGet() <= maxReportedFailures) {
+                failures.add(failure);
+            }
+        }
+
+        private BulkResult toResult(long took) {
+            var sortedFailures = failures.stream()
+                    .sorted(Comparator.comparingLong(BulkItemFailure::position))
+                    .toList();
+
+            return new BulkResult(total.get(), created.get(), failed.get(), took, sortedFailures);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package ai.summary.transactions.domain.transaction.bulk;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agrupa criações avulsas em requisições {@code _bulk}: cada transação entra numa fila limitada e o lote segue para o
+ * OpenSearch quando atinge {@code batch-size} ou quando a primeira transação do lote esperou {@code linger}. O future
+ * de cada transação completa com o próprio item da resposta, então quem chama só responde depois da confirmação.
+ * Desligado por padrão; com a fila cheia ou o serviço parando a transação é recusada e o chamador grava sozinho.
+ */
+@Slf4j
+@Singleton
+public class TransactionWriteBuffer {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final OpenSearchAsyncClient openSearchAsyncClient;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Semaphore inFlight;
+    private final Thread flusher;
+    // Enfileirar lê e parar escreve: nenhuma transação entra depois de o flusher ver o serviço parando
+    private final ReadWriteLock state = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+
+    public TransactionWriteBuffer(OpenSearchAsyncClient openSearchAsyncClient, OpenSearchConfig openSearchConfig) {
+        this.openSearchAsyncClient = openSearchAsyncClient;
+        this.enabled = openSearchConfig.isWriteBehindEnabled();
+        this.batchSize = Math.max(1, openSearchConfig.getWriteBehindBatchSize());
+        this.lingerNanos = openSearchConfig.getWriteBehindLinger().toNanos();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, openSearchConfig.getWriteBehindCapacity()));
+        this.inFlight = new Semaphore(Math.max(1, openSearchConfig.getWriteBehindMaxInFlight()));
+        this.running = enabled;
+        this.flusher = enabled ? Thread.ofVirtual().name("transaction-write-buffer").start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileira a indexação da transação. Falha com {@link RejectedExecutionException} quando a fila está cheia ou o
+     * serviço está parando.
+     */
+    public CompletableFuture<BulkResponseItem> add(String index, String id, Transaction transaction) {
+        return enqueue(BulkOperation.of(operation -> operation.index(indexing -> indexing
+                .index(index)
+                .id(id)
+                .document(transaction))));
+    }
+
+    /**
+     * Como {@link #add}, mas com {@code op_type=create}: se o id já existe o item volta com status 409 em vez de
+     * sobrescrever o documento.
+     */
+    public CompletableFuture<BulkResponseItem> create(String index, String id, Transaction transaction) {
+        return enqueue(BulkOperation.of(operation -> operation.create(creating -> creating
+                .index(index)
+                .id(id)
+                .document(transaction))));
+    }
+
+    private CompletableFuture<BulkResponseItem> enqueue(BulkOperation operation) {
+        var write = new PendingWrite(operation, new CompletableFuture<>());
+
+        state.readLock().lock();
+
+        try {
+            if (!running || !queue.offer(write)) {
+                return CompletableFuture.failedFuture(
+                        new RejectedExecutionException("Transaction write buffer is full"));
+            }
+        } finally {
+            state.readLock().unlock();
+        }
+
+        return write.result();
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+
+        // Para de aceitar e deixa o flusher esvaziar a fila antes de o cliente do OpenSearch fechar
+        state.writeLock().lock();
+
+        try {
+            running = false;
+        } finally {
+            state.writeLock().unlock();
+        }
+
+        if (!flusher.join(Duration.ofSeconds(10))) {
+            log.warn("Transaction write buffer did not drain in time, rejecting the pending writes");
+        }
+
+        rejectRemaining();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                var batch = new ArrayList<PendingWrite>(batchSize);
+                batch.add(first);
+
+                var deadline = System.nanoTime() + lingerNanos;
+
+                // Ao parar não espera o linger: leva o que já está na fila e envia
+                while (batch.size() < batchSize && running) {
+                    var wait = Math.min(deadline - System.nanoTime(), POLL_NANOS);
+                    var next = queue.poll(wait, TimeUnit.NANOSECONDS);
+
+                    if (next != null) {
+                        batch.add(next);
+                    } else if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+
+                if (!running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                flush(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        rejectRemaining();
+    }
+
+    private void rejectRemaining() {
+        // Só sobra algo aqui se o flusher foi interrompido ou não terminou a tempo; o chamador não pode ficar
+        // esperando para sempre
+        var remaining = new ArrayList<PendingWrite>();
+        queue.drainTo(remaining);
+        remaining.forEach(write -> write.result().completeExceptionally(
+                new RejectedExecutionException("Transaction write buffer stopped")));
+    }
+
+    private void flush(List<PendingWrite> batch) throws InterruptedException {
+        // Limita os lotes aguardando o OpenSearch; enquanto isso a fila continua enchendo o próximo
+        inFlight.acquire();
+
+        var bulkRequest = BulkRequest.of(bulk -> bulk.operations(batch.stream().map(PendingWrite::operation).toList()));
+
+        try {
+            openSearchAsyncClient.bulk(bulkRequest)
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+
+                        if (error != null) {
+                            log.error("Error flushing {} buffered transactions", batch.size(), error);
+                            batch.forEach(write -> write.result().completeExceptionally(error));
+                            return;
+                        }
+
+                        var items = response.items();
+
+                        for (var i = 0; i < batch.size(); i++) {
+                            batch.get(i).result().complete(items.get(i));
+                        }
+                    });
+        } catch (Exception exception) {
+            inFlight.release();
+            log.error("Error flushing {} buffered transactions", batch.size(), exception);
+            batch.forEach(write -> write.result().completeExceptionally(exception));
+        }
+    }
+
+    private record PendingWrite(BulkOperation operation, CompletableFuture<BulkResponseItem> result) {
+
+    }
+}
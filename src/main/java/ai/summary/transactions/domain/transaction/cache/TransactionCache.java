@@ -0,0 +1,85 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.inject.Singleton;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transações lidas por ID, com a versão usada no ETag. A busca por ID só enxerga o que o refresh já publicou, então
+ * as escritas deste serviço gravam o resultado aqui em vez de apenas remover a entrada: uma leitura logo depois de
+ * uma escrita devolveria o documento antigo e o guardaria até o TTL. Escritas de outras instâncias só aparecem
+ * depois do TTL.
+ */
+@Singleton
+public class TransactionCache {
+
+    private final Cache<String, Optional<Versioned<Transaction>>> transactions;
+
+    // Muda a cada escrita: uma leitura iniciada antes dela não sobrescreve o valor novo
+    private final AtomicLong generation = new AtomicLong();
+
+    public TransactionCache(OpenSearchConfig openSearchConfig) {
+        // O Caffeine despeja por W-TinyLFU: varreduras de IDs lidos uma única vez não expulsam as transações quentes
+        this.transactions = Caffeine.newBuilder()
+                .maximumSize(openSearchConfig.getTransactionCacheSize())
+                .expireAfterWrite(openSearchConfig.getTransactionCacheTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Vazio quando o ID não está em cache. O valor de dentro é o próprio resultado da busca por ID: vazio para uma
+     * transação removida por este serviço.
+     */
+    public Optional<Optional<Versioned<Transaction>>> get(String id) {
+        return Optional.ofNullable(transactions.getIfPresent(id));
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda uma transação lida do OpenSearch, desde que nenhuma escrita tenha acontecido desde {@code readAt}.
+     */
+    public void putRead(String id, Versioned<Transaction> transaction, long readAt) {
+        if (generation.get() == readAt) {
+            transactions.asMap().putIfAbsent(id, Optional.of(transaction));
+        }
+    }
+
+    public void putWritten(String id, Versioned<Transaction> transaction) {
+        generation.incrementAndGet();
+        transactions.put(id, Optional.of(transaction));
+    }
+
+    public void putDeleted(String id) {
+        generation.incrementAndGet();
+        transactions.put(id, Optional.empty());
+    }
+
+    public void invalidate(String id) {
+        generation.incrementAndGet();
+        transactions.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        transactions.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return transactions.stats();
+    }
+
+    public long size() {
+        return transactions.estimatedSize();
+    }
+}
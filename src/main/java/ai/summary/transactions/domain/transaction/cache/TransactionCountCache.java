@@ -0,0 +1,57 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total exato de transações por filtro da listagem, para a listagem não refazer a contagem a cada página.
+ * Escritas deste serviço invalidam os intervalos afetados; as de outras instâncias só aparecem depois do TTL.
+ */
+@Singleton
+public class TransactionCountCache {
+
+    private final Cache<TransactionFilter, Long> counts;
+
+    // Muda a cada invalidação: uma contagem iniciada antes de uma escrita não é guardada
+    private final AtomicLong generation = new AtomicLong();
+
+    public TransactionCountCache(OpenSearchConfig openSearchConfig) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(openSearchConfig.getCountCacheSize())
+                .expireAfterWrite(openSearchConfig.getCountCacheTtl())
+                .build();
+    }
+
+    public OptionalLong get(TransactionFilter filter) {
+        var count = counts.getIfPresent(filter.normalized());
+        return count != null ? OptionalLong.of(count) : OptionalLong.empty();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(TransactionFilter filter, long count, long countedAt) {
+        if (generation.get() == countedAt) {
+            counts.put(filter.normalized(), count);
+        }
+    }
+
+    public void invalidate(LocalDateTime date) {
+        generation.incrementAndGet();
+        // Só o período é comparado: remover um filtro que não casaria com a transação custa apenas uma recontagem
+        counts.asMap().keySet().removeIf(filter -> filter.covers(date));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+}
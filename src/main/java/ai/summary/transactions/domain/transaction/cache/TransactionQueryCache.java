@@ -0,0 +1,120 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.inject.Singleton;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resultado das consultas por filtro. Um período já encerrado, como a fatura fechada, só muda quando alguém grava
+ * uma transação retroativa, então fica em cache por {@code closed-ttl}; períodos que ainda recebem transações ficam
+ * só por {@code open-ttl}. Escritas deste serviço removem as consultas cujo período contém a data escrita; as de
+ * outras instâncias e da linha de comando aparecem quando a entrada expira, por isso os dois prazos são curtos, ou
+ * antes, quando a marca dos índices do período passada a {@link #validate} muda.
+ */
+@Singleton
+public class TransactionQueryCache {
+
+    private final Cache<Key, List<Transaction>> results;
+
+    // Última marca vista de cada período consultado, limitada como os resultados
+    private final Cache<Period, String> markers;
+
+    // Muda a cada invalidação: uma consulta iniciada antes de uma escrita não é guardada
+    private final AtomicLong generation = new AtomicLong();
+
+    public TransactionQueryCache(OpenSearchConfig openSearchConfig) {
+        var closedTtl = openSearchConfig.getQueryCacheClosedTtl().toNanos();
+        var openTtl = openSearchConfig.getQueryCacheOpenTtl().toNanos();
+
+        this.results = Caffeine.newBuilder()
+                .maximumSize(openSearchConfig.getQueryCacheSize())
+                .expireAfter(new Expiry<Key, List<Transaction>>() {
+
+                    @Override
+                    public long expireAfterCreate(Key key, List<Transaction> value, long currentTime) {
+                        return isClosed(key.filter()) ? closedTtl : openTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, List<Transaction> value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, List<Transaction> value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.markers = Caffeine.newBuilder()
+                .maximumSize(openSearchConfig.getQueryCacheSize())
+                .build();
+    }
+
+    /**
+     * Compara a marca dos índices do período com a última vista e, se mudou, remove as consultas que se sobrepõem ao
+     * período. Um período ainda sem marca só a registra: as consultas dele só entram no cache depois da validação.
+     */
+    public void validate(LocalDate startDate, LocalDate endDate, String marker) {
+        var previous = markers.asMap().put(new Period(startDate, endDate), marker);
+
+        if (previous != null && !previous.equals(marker)) {
+            invalidate(startDate, endDate);
+        }
+    }
+
+    public Optional<List<Transaction>> get(TransactionFilter filter, TransactionSort sort, int limit, int offset) {
+        return Optional.ofNullable(results.getIfPresent(new Key(filter.normalized(), sort, limit, offset)));
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(TransactionFilter filter, TransactionSort sort, int limit, int offset,
+            List<Transaction> transactions, long queriedAt) {
+        if (generation.get() == queriedAt) {
+            results.put(new Key(filter.normalized(), sort, limit, offset), List.copyOf(transactions));
+        }
+    }
+
+    public void invalidate(LocalDateTime date) {
+        generation.incrementAndGet();
+        results.asMap().keySet().removeIf(key -> key.filter().covers(date));
+    }
+
+    public void invalidate(LocalDate startDate, LocalDate endDate) {
+        generation.incrementAndGet();
+        results.asMap().keySet().removeIf(key -> key.filter().overlaps(startDate, endDate));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    private static boolean isClosed(TransactionFilter filter) {
+        return filter.endDate() != null && filter.endDate().isBefore(LocalDate.now());
+    }
+
+    private record Key(TransactionFilter filter, TransactionSort sort, int limit, int offset) {
+
+    }
+
+    private record Period(LocalDate startDate, LocalDate endDate) {
+
+    }
+}
@@ -0,0 +1,78 @@
+package ai.summary.transactions.domain.transaction.exporter;
+
+import ai.summary.transactions.domain.transaction.model.Transaction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Renderiza as transações sob demanda, uma linha por vez, conforme o servidor consome a resposta.
+ */
+class TransactionExportInputStream extends InputStream {
+
+    @FunctionalInterface
+    interface LineFormatter {
+        byte[] format(Transaction transaction) throws IOException;
+    }
+
+    private final Stream<Transaction> transactions;
+    private final Iterator<Transaction> iterator;
+    private final LineFormatter lineFormatter;
+    private byte[] buffer;
+    private int position;
+
+    TransactionExportInputStream(Stream<Transaction> transactions, byte[] header, LineFormatter lineFormatter) {
+        this.transactions = transactions;
+        this.iterator = transactions.iterator();
+        this.lineFormatter = lineFormatter;
+        this.buffer = header;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        var read = 0;
+
+        // Junta várias linhas no mesmo chunk em vez de devolver uma linha por chamada
+        while (read < length && fill()) {
+            var count = Math.min(length - read, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset + read, count);
+            position += count;
+            read += count;
+        }
+
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+        transactions.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (position >= buffer.length) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+
+            buffer = lineFormatter.format(iterator.next());
+            position = 0;
+        }
+
+        return true;
+    }
+}
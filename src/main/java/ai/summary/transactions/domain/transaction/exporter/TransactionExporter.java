@@ -0,0 +1,74 @@
+package ai.summary.transactions.domain.transaction.exporter;
+
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.mapper.TransactionMapper;
+import ai.summary.transactions.domain.transaction.model.ExportFormat;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Exporta transações em NDJSON (mesmo formato da API) ou CSV (mesmo layout aceito pelo importador).
+ * O conteúdo é gerado página a página durante a escrita da resposta, mantendo o uso de memória constante.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionExporter {
+
+    private static final String CSV_HEADER = "date,amount,description,merchant_name,merchant_category\n";
+
+    private final TransactionService transactionService;
+    private final TransactionMapper transactionMapper;
+    private final JsonMapper jsonMapper;
+
+    public InputStream export(LocalDate startDate, LocalDate endDate, ExportFormat format) {
+        var transactions = transactionService.streamByFilters(startDate, endDate);
+
+        log.info("Exporting transactions from {} to {} as {}", startDate, endDate, format);
+
+        if (format == ExportFormat.CSV) {
+            return new TransactionExportInputStream(transactions, CSV_HEADER.getBytes(StandardCharsets.UTF_8),
+                    transaction -> toCsvLine(transaction).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return new TransactionExportInputStream(transactions, new byte[0], transaction -> {
+            var json = jsonMapper.writeValueAsBytes(transactionMapper.toApi(transaction));
+            var line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        });
+    }
+
+    private String toCsvLine(Transaction transaction) {
+        var merchant = transaction.merchant();
+
+        return String.join(",",
+                transaction.date() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(transaction.date()) : "",
+                transaction.amount() != null ? transaction.amount().toPlainString() : "",
+                escape(transaction.description()),
+                escape(merchant != null ? merchant.name() : null),
+                escape(merchant != null ? merchant.category() : null)) + "\n";
+    }
+
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
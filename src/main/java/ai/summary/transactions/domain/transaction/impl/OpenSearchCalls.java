@@ -0,0 +1,35 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import org.opensearch.client.opensearch._types.OpenSearchException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Chamadas ao {@code OpenSearchAsyncClient} compartilhadas pelos serviços assíncronos de transações.
+ */
+final class OpenSearchCalls {
+
+    private OpenSearchCalls() {
+    }
+
+    static <T> CompletableFuture<T> call(OpenSearchCall<T> call) {
+        try {
+            return call.execute();
+        } catch (IOException | OpenSearchException exception) {
+            // Falhas ao montar a requisição chegam como exceção síncrona, o chamador só lida com o future
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    @FunctionalInterface
+    interface OpenSearchCall<T> {
+
+        CompletableFuture<T> execute() throws IOException;
+    }
+}
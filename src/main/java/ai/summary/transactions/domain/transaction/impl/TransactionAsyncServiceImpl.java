@@ -0,0 +1,626 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.IdempotencyKeyReusedException;
+import ai.summary.transactions.domain.transaction.TransactionAsyncService;
+import ai.summary.transactions.domain.transaction.TransactionConflictException;
+import ai.summary.transactions.domain.transaction.bulk.TransactionWriteBuffer;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import ai.summary.transactions.domain.transaction.model.TransactionSuggestions;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpType;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.Result;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.CreatePitResponse;
+import org.opensearch.client.opensearch.core.DeletePitRequest;
+import org.opensearch.client.opensearch.core.DeleteRequest;
+import org.opensearch.client.opensearch.core.GetRequest;
+import org.opensearch.client.opensearch.core.IndexRequest;
+import org.opensearch.client.opensearch.core.IndexResponse;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.UpdateRequest;
+import org.opensearch.client.opensearch.core.UpdateResponse;
+import org.opensearch.client.opensearch.core.search.CompletionSuggestOption;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Suggest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Leituras e escritas de transações atendidas pela API, encadeadas sobre o {@link OpenSearchAsyncClient}: nenhuma
+ * thread fica parada esperando o OpenSearch, as continuações rodam quando a resposta chega. O
+ * {@link TransactionServiceImpl} fica com o que já roda fora do event loop: exportação, bulk e as ferramentas da IA.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionAsyncServiceImpl implements TransactionAsyncService {
+
+    // Sem If-Match a atualização parcial ainda é atômica no shard, conflitos com outras escritas são reaplicados
+    private static final int UPDATE_RETRY_ON_CONFLICT = 3;
+
+    private final OpenSearchAsyncClient openSearchAsyncClient;
+    private final OpenSearchConfig openSearchConfig;
+    private final TransactionIndices transactionIndices;
+    private final TransactionCountCache transactionCountCache;
+    private final TransactionCache transactionCache;
+    private final TransactionQueryCache transactionQueryCache;
+    private final TransactionWriteBuffer transactionWriteBuffer;
+
+    @Override
+    public CompletableFuture<Optional<Versioned<Transaction>>> getById(String id) {
+        var cached = transactionCache.get(id);
+
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        var generation = transactionCache.generation();
+
+        return findHit(id)
+                .thenApply(hit -> {
+                    if (hit.isEmpty()) {
+                        log.warn("Transaction with id {} not found", id);
+                        return Optional.<Versioned<Transaction>>empty();
+                    }
+
+                    var transaction = new Versioned<>(hit.get().source(), TransactionVersion.of(hit.get()).encode());
+                    transactionCache.putRead(id, transaction, generation);
+                    return Optional.of(transaction);
+                })
+                .exceptionally(error -> {
+                    log.error("Error retrieving transaction with id: {}", id, error);
+                    throw new RuntimeException("Failed to retrieve transaction", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<TransactionPage> findPage(TransactionFilter filter, TransactionSort sort, int limit,
+            int offset, String cursor) {
+        // Cursor ou filtro inválido é erro do cliente, não do OpenSearch
+        var previous = cursor != null ? TransactionCursor.decode(cursor, filter, sort) : null;
+        var query = TransactionQueries.filter(filter);
+        var indices = transactionIndices.readIndices(filter.startDate(), filter.endDate());
+        CompletableFuture<PageSearch> search;
+
+        if (previous == null) {
+            search = search(TransactionQueries.firstPage(indices, query, sort, limit, offset))
+                    .thenApply(response -> new PageSearch(response, null));
+        } else if (previous.pitId() != null) {
+            search = searchAfterWithPit(indices, query, sort, limit, previous, previous.pitId(), false);
+        } else {
+            // O PIT só é aberto quando o cursor é seguido: primeiras páginas abandonadas não deixam PIT aberto
+            search = openPit().thenCompose(pitId -> pitId != null
+                    ? searchAfterWithPit(indices, query, sort, limit, previous, pitId, true)
+                    : searchAfterWithoutPit(indices, query, sort, limit, previous));
+        }
+
+        return search
+                .thenApply(page -> toPage(page, filter, sort, limit))
+                .exceptionally(error -> {
+                    log.error("Error retrieving transactions page", error);
+                    throw new RuntimeException("Failed to retrieve transactions", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Long> count(TransactionFilter filter) {
+        var cached = transactionCountCache.get(filter);
+
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.getAsLong());
+        }
+
+        var generation = transactionCountCache.generation();
+
+        // Sem track_total_hits o OpenSearch para de contar em 10.000 e o total vira um limite inferior
+        var searchRequest = SearchRequest.of(count -> count
+                .index(transactionIndices.readIndices(filter.startDate(), filter.endDate()))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(TransactionQueries.filter(filter))
+                .size(0)
+                .trackTotalHits(track -> track.enabled(true)));
+
+        return search(searchRequest)
+                .thenApply(response -> {
+                    var total = response.hits().total().value();
+                    transactionCountCache.put(filter, total, generation);
+                    return total;
+                })
+                .exceptionally(error -> {
+                    log.error("Error counting transactions", error);
+                    throw new RuntimeException("Failed to count transactions", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<TransactionSuggestions> suggest(String prefix, int size) {
+        // size(0) e _source reduzido ao id: o cliente exige o _source em cada opção, mas só o texto sugerido é usado
+        var searchRequest = SearchRequest.of(suggest -> suggest
+                .index(transactionIndices.readIndices(null, null))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .size(0)
+                .source(source -> source.filter(filter -> filter.includes(TransactionQueries.ID_SORT_FIELD)))
+                .suggest(TransactionQueries.suggest(prefix, size)));
+
+        return search(searchRequest)
+                .thenApply(response -> new TransactionSuggestions(
+                        suggestions(response, TransactionQueries.MERCHANT_SUGGESTION),
+                        suggestions(response, TransactionQueries.DESCRIPTION_SUGGESTION)))
+                .exceptionally(error -> {
+                    log.error("Error suggesting transactions for prefix: {}", prefix, error);
+                    throw new RuntimeException("Failed to suggest transactions", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Transaction> create(Transaction transaction, String idempotencyKey) {
+        // Gerar ID se não fornecido; com chave de idempotência a repetição gera o mesmo ID
+        var idempotent = idempotencyKey != null;
+        var transactionId = transaction.id() != null ? transaction.id().toString()
+                : idempotent ? idempotentId(idempotencyKey).toString()
+                : UUID.randomUUID().toString();
+
+        var transactionWithId = new Transaction(
+                UUID.fromString(transactionId),
+                transaction.date(),
+                transaction.amount(),
+                transaction.description(),
+                transaction.merchant());
+
+        var index = transactionIndices.writeIndex(transactionWithId.date());
+
+        // Uma tentativa anterior com outra data está no índice de outro mês, onde o op_type=create não a enxerga
+        var previous = idempotent
+                ? findHit(transactionId)
+                : CompletableFuture.completedFuture(Optional.<Hit<Transaction>>empty());
+
+        return previous
+                .thenCompose(hit -> hit.isPresent()
+                        ? CompletableFuture.completedFuture(
+                                replayed(transactionWithId, hit.get().source(), TransactionVersion.of(hit.get())))
+                        : insert(index, transactionWithId, idempotent))
+                .exceptionally(error -> {
+                    if (OpenSearchCalls.unwrap(error) instanceof IdempotencyKeyReusedException exception) {
+                        throw exception;
+                    }
+
+                    log.error("Error creating transaction", error);
+                    throw new RuntimeException("Failed to create transaction", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    private CompletableFuture<Transaction> insert(String index, Transaction transaction, boolean idempotent) {
+        var id = transaction.id().toString();
+
+        return write(index, id, transaction, idempotent)
+                .thenApply(version -> {
+                    log.info("Transaction created/updated with id: {}", id);
+                    transactionCountCache.invalidate(transaction.date());
+                    transactionQueryCache.invalidate(transaction.date());
+                    transactionCache.putWritten(id, new Versioned<>(transaction, version.encode()));
+                    return transaction;
+                })
+                .exceptionallyCompose(error -> idempotent && isConflict(OpenSearchCalls.unwrap(error))
+                        ? replay(index, transaction)
+                        : CompletableFuture.failedFuture(error));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Versioned<Transaction>>> update(String id, Transaction changes,
+            String expectedVersion) {
+        // Versão inválida é erro do cliente, não do OpenSearch
+        var expected = expectedVersion != null ? TransactionVersion.decode(expectedVersion) : null;
+
+        // A versão informada já diz o índice do documento; sem ela é preciso descobrir em qual mês ele está
+        var located = expected != null
+                ? CompletableFuture.completedFuture(Optional.of(expected))
+                : findHit(id).thenApply(hit -> hit.map(TransactionVersion::of));
+
+        return located
+                .thenCompose(current -> {
+                    if (current.isEmpty()) {
+                        log.warn("Transaction with id {} not found for update", id);
+                        return CompletableFuture.completedFuture(Optional.<Versioned<Transaction>>empty());
+                    }
+
+                    var currentIndex = current.get().index();
+
+                    var updateRequest = UpdateRequest.<Transaction, Map<String, Object>>of(u -> {
+                        u.index(currentIndex)
+                                .id(id)
+                                .doc(partialDocument(changes))
+                                .source(source -> source.fetch(true));
+
+                        if (expected != null) {
+                            return u.ifSeqNo(expected.seqNo()).ifPrimaryTerm(expected.primaryTerm());
+                        }
+
+                        return u.retryOnConflict(UPDATE_RETRY_ON_CONFLICT);
+                    });
+
+                    return OpenSearchCalls.call(() -> openSearchAsyncClient.update(updateRequest, Transaction.class))
+                            .thenCompose(response -> moveIfMonthChanged(id, response))
+                            .thenApply(updated -> {
+                                log.info("Transaction updated with id: {}", id);
+                                transactionCache.putWritten(id, updated);
+
+                                // A data antiga não é conhecida quando a versão dispensa a busca
+                                if (changes.date() != null) {
+                                    transactionCountCache.invalidateAll();
+                                    transactionQueryCache.invalidateAll();
+                                } else {
+                                    transactionQueryCache.invalidate(updated.value().date());
+                                }
+
+                                return Optional.of(updated);
+                            });
+                })
+                .exceptionally(error -> {
+                    if (OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception) {
+                        // Conflito ou documento sumido: a versão em cache pode ser justamente a desatualizada
+                        transactionCache.invalidate(id);
+
+                        if (exception.status() == 409) {
+                            log.warn("Transaction with id {} changed since version {}", id, expectedVersion);
+                            throw new TransactionConflictException("Transaction was modified concurrently",
+                                    exception);
+                        }
+
+                        if (exception.status() == 404) {
+                            // A versão apontava para um documento ou índice que não existe mais
+                            log.warn("Transaction with id {} not found for update", id);
+                            return Optional.empty();
+                        }
+                    }
+
+                    log.error("Error updating transaction with id: {}", id, error);
+                    throw new RuntimeException("Failed to update transaction", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        return findHit(id)
+                .thenCompose(hit -> {
+                    if (hit.isEmpty()) {
+                        log.warn("Transaction with id {} not found for deletion", id);
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+
+                    var deleteRequest = DeleteRequest.of(transaction -> transaction
+                            .index(hit.get().index())
+                            .id(id));
+
+                    return OpenSearchCalls.call(() -> openSearchAsyncClient.delete(deleteRequest))
+                            .thenAccept(response -> {
+                                if (response.result() == Result.Deleted) {
+                                    log.info("Transaction deleted with id: {}", id);
+                                    transactionCountCache.invalidate(hit.get().source().date());
+                                    transactionQueryCache.invalidate(hit.get().source().date());
+                                    transactionCache.putDeleted(id);
+                                } else if (response.result() == Result.NotFound) {
+                                    log.warn("Transaction with id {} not found for deletion", id);
+                                    transactionCache.putDeleted(id);
+                                } else {
+                                    throw new RuntimeException("Failed to delete transaction");
+                                }
+                            });
+                })
+                .exceptionally(error -> {
+                    log.error("Error deleting transaction with id: {}", id, error);
+                    throw new RuntimeException("Failed to delete transaction", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    private CompletableFuture<Versioned<Transaction>> moveIfMonthChanged(String id,
+            UpdateResponse<Transaction> response) {
+        var updated = response.get().source();
+        var currentIndex = response.index();
+        var targetIndex = transactionIndices.writeIndex(updated.date());
+
+        if (targetIndex.equals(currentIndex)) {
+            var version = new TransactionVersion(currentIndex, response.seqNo(), response.primaryTerm());
+            return CompletableFuture.completedFuture(new Versioned<>(updated, version.encode()));
+        }
+
+        // A data mudou de mês: grava no índice novo e remove a cópia antiga, desde que ninguém a alterou no meio
+        var indexRequest = IndexRequest.of(i -> i
+                .index(targetIndex)
+                .id(id)
+                .document(updated));
+
+        var deleteRequest = DeleteRequest.of(previous -> previous
+                .index(currentIndex)
+                .id(id)
+                .ifSeqNo(response.seqNo())
+                .ifPrimaryTerm(response.primaryTerm()));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.index(indexRequest))
+                .thenCompose(indexed -> OpenSearchCalls.call(() -> openSearchAsyncClient.delete(deleteRequest))
+                        .thenApply(deleted -> new Versioned<>(updated,
+                                new TransactionVersion(targetIndex, indexed.seqNo(), indexed.primaryTerm())
+                                        .encode()))
+                        .exceptionallyCompose(error -> undoMove(id, targetIndex, indexed, error)));
+    }
+
+    /**
+     * A cópia antiga mudou depois da atualização: a cópia nova é removida para não ficarem as duas, e o conflito segue
+     * para o cliente reler a transação. Só remove a cópia nova se ela ainda é a que este movimento gravou.
+     */
+    private CompletableFuture<Versioned<Transaction>> undoMove(String id, String targetIndex, IndexResponse indexed,
+            Throwable error) {
+        if (!(OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception) || exception.status() != 409) {
+            return CompletableFuture.failedFuture(error);
+        }
+
+        log.warn("Transaction with id {} changed while moving to {}, removing the new copy", id, targetIndex);
+
+        // A atualização no índice antigo já foi aplicada, então contagens e listagens em cache estão velhas
+        transactionCountCache.invalidateAll();
+        transactionQueryCache.invalidateAll();
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.delete(DeleteRequest.of(moved -> moved
+                .index(targetIndex)
+                .id(id)
+                .ifSeqNo(indexed.seqNo())
+                .ifPrimaryTerm(indexed.primaryTerm()))))
+                .handle((deleted, undoError) -> {
+                    if (undoError != null) {
+                        log.error("Failed to remove the new copy of transaction {} from {}", id, targetIndex,
+                                undoError);
+                    }
+
+                    return null;
+                })
+                .thenCompose(ignored -> CompletableFuture.failedFuture(error));
+    }
+
+    /**
+     * Com {@code create} a gravação usa {@code op_type=create} e falha com status 409 se o ID já existe no índice.
+     */
+    private CompletableFuture<TransactionVersion> write(String index, String id, Transaction transaction,
+            boolean create) {
+        if (!transactionWriteBuffer.isEnabled()) {
+            return indexDirectly(index, id, transaction, create);
+        }
+
+        var buffered = create
+                ? transactionWriteBuffer.create(index, id, transaction)
+                : transactionWriteBuffer.add(index, id, transaction);
+
+        return buffered
+                .thenApply(item -> {
+                    if (item.error() != null) {
+                        // Mesmo erro da gravação direta, para o conflito ser tratado igual nos dois caminhos
+                        throw new OpenSearchException(ErrorResponse.of(error -> error
+                                .error(item.error())
+                                .status(item.status())));
+                    }
+
+                    return new TransactionVersion(item.index(), item.seqNo(), item.primaryTerm());
+                })
+                .exceptionallyCompose(error -> {
+                    if (!(OpenSearchCalls.unwrap(error) instanceof RejectedExecutionException)) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+
+                    // Fila cheia: grava sozinho em vez de recusar a transação
+                    return indexDirectly(index, id, transaction, create);
+                });
+    }
+
+    private CompletableFuture<TransactionVersion> indexDirectly(String index, String id, Transaction transaction,
+            boolean create) {
+        var indexRequest = IndexRequest.of(i -> i
+                .index(index)
+                .id(id)
+                .opType(create ? OpType.Create : OpType.Index)
+                .document(transaction));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.index(indexRequest))
+                .thenApply(response -> {
+                    if (response.result() != Result.Created && response.result() != Result.Updated) {
+                        throw new RuntimeException("Failed to create transaction");
+                    }
+
+                    return new TransactionVersion(response.index(), response.seqNo(), response.primaryTerm());
+                });
+    }
+
+    private CompletableFuture<Transaction> replay(String index, Transaction requested) {
+        // O get é em tempo real, enxerga a primeira gravação mesmo antes do refresh
+        var getRequest = GetRequest.of(get -> get
+                .index(index)
+                .id(requested.id().toString()));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.get(getRequest, Transaction.class))
+                .thenApply(response -> {
+                    if (!response.found()) {
+                        throw new RuntimeException("Idempotent transaction was deleted during retry");
+                    }
+
+                    var version = new TransactionVersion(response.index(), response.seqNo(), response.primaryTerm());
+                    return replayed(requested, response.source(), version);
+                });
+    }
+
+    /**
+     * A repetição só devolve a transação gravada se o corpo é o mesmo; com outros dados a chave foi reaproveitada
+     * por engano, e devolver a primeira transação esconderia isso do cliente.
+     */
+    private Transaction replayed(Transaction requested, Transaction stored, TransactionVersion version) {
+        var id = requested.id().toString();
+
+        if (!samePayload(requested, stored)) {
+            log.warn("Idempotency key of transaction {} reused with a different payload", id);
+            throw new IdempotencyKeyReusedException("Idempotency key was already used for another transaction");
+        }
+
+        log.info("Transaction with id {} already created for this idempotency key", id);
+        transactionCache.putWritten(id, new Versioned<>(stored, version.encode()));
+        return stored;
+    }
+
+    private static UUID idempotentId(String idempotencyKey) {
+        return UUID.nameUUIDFromBytes(("transaction:" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean samePayload(Transaction requested, Transaction stored) {
+        // O valor volta do _source com a escala que foi enviada, 10.5 e 10.50 são o mesmo valor
+        var sameAmount = requested.amount() == null || stored.amount() == null
+                ? requested.amount() == stored.amount()
+                : requested.amount().compareTo(stored.amount()) == 0;
+
+        return sameAmount
+                && Objects.equals(requested.date(), stored.date())
+                && Objects.equals(requested.description(), stored.description())
+                && Objects.equals(requested.merchant(), stored.merchant());
+    }
+
+    private static boolean isConflict(Throwable error) {
+        return error instanceof OpenSearchException exception && exception.status() == 409;
+    }
+
+    private static Map<String, Object> partialDocument(Transaction changes) {
+        // Só os campos informados entram no doc parcial, o restante do documento fica como está
+        var document = new LinkedHashMap<String, Object>();
+
+        if (changes.date() != null) {
+            document.put("date", changes.date());
+        }
+
+        if (changes.amount() != null) {
+            document.put("amount", changes.amount());
+        }
+
+        if (changes.description() != null) {
+            document.put("description", changes.description());
+        }
+
+        if (changes.merchant() != null) {
+            document.put("merchant", changes.merchant());
+        }
+
+        return document;
+    }
+
+    private static List<String> suggestions(SearchResponse<Transaction> response, String name) {
+        // Cada shard elimina as próprias repetições, mas índices diferentes ainda podem devolver o mesmo texto
+        return response.suggest().getOrDefault(name, List.of()).stream()
+                .filter(Suggest::isCompletion)
+                .flatMap(suggest -> suggest.completion().options().stream())
+                .map(CompletionSuggestOption::text)
+                .distinct()
+                .toList();
+    }
+
+    private CompletableFuture<Optional<Hit<Transaction>>> findHit(String id) {
+        return search(TransactionQueries.byId(transactionIndices.readAlias(), id))
+                .thenApply(response -> response.hits().hits().stream().findFirst());
+    }
+
+    private TransactionPage toPage(PageSearch page, TransactionFilter filter, TransactionSort sort, int limit) {
+        var transactionPage = TransactionQueries.toPage(page.response().hits().hits(), page.pitId(), filter, sort,
+                limit);
+
+        if (transactionPage.cursor() == null) {
+            // Última página: libera o PIT sem esperar o keep-alive
+            closePit(page.pitId());
+        }
+
+        return transactionPage;
+    }
+
+    private CompletableFuture<PageSearch> searchAfterWithPit(List<String> indices, Query query, TransactionSort sort,
+            int limit, TransactionCursor previous, String pitId, boolean openedNow) {
+        var searchRequest = TransactionQueries.nextPage(pitId, openSearchConfig.getPaginationPitKeepAlive(), query,
+                sort, limit, previous);
+
+        return search(searchRequest)
+                .thenApply(response -> new PageSearch(response, response.pitId() != null ? response.pitId() : pitId))
+                .exceptionallyCompose(error -> {
+                    if (!(OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception)) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+
+                    // PIT expirado: segue sem snapshot, a ordenação estável mantém a posição
+                    log.warn("Point in time expired, continuing pagination without it: {}", exception.getMessage());
+
+                    if (openedNow) {
+                        closePit(pitId);
+                    }
+
+                    return searchAfterWithoutPit(indices, query, sort, limit, previous);
+                });
+    }
+
+    private CompletableFuture<PageSearch> searchAfterWithoutPit(List<String> indices, Query query,
+            TransactionSort sort, int limit, TransactionCursor previous) {
+        return search(TransactionQueries.nextPage(indices, query, sort, limit, previous))
+                .thenApply(response -> new PageSearch(response, null));
+    }
+
+    private CompletableFuture<String> openPit() {
+        var createPitRequest = TransactionQueries.createPit(transactionIndices.readAlias(),
+                openSearchConfig.getPaginationPitKeepAlive());
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.createPit(createPitRequest))
+                .thenApply(CreatePitResponse::pitId)
+                .exceptionallyCompose(error -> {
+                    if (!(OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception)) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+
+                    // Sem PIT o cursor ainda funciona, apenas sem snapshot consistente entre as páginas
+                    log.warn("Could not open point in time, paginating without it: {}", exception.getMessage());
+                    return CompletableFuture.completedFuture(null);
+                });
+    }
+
+    private void closePit(String pitId) {
+        if (pitId == null) {
+            return;
+        }
+
+        // Não espera a resposta: a página já pode ser devolvida ao cliente
+        OpenSearchCalls.call(() -> openSearchAsyncClient.deletePit(DeletePitRequest.of(pit -> pit.pitId(pitId))))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.warn("Could not delete point in time, it will expire after the keep-alive",
+                                OpenSearchCalls.unwrap(error));
+                    }
+                });
+    }
+
+    private CompletableFuture<SearchResponse<Transaction>> search(SearchRequest searchRequest) {
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.search(searchRequest, Transaction.class));
+    }
+
+    private record PageSearch(SearchResponse<Transaction> response, String pitId) {
+    }
+}
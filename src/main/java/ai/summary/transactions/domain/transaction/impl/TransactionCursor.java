@@ -0,0 +1,108 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import org.opensearch.client.opensearch._types.FieldValue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cursor opaco da listagem: id do point-in-time (quando houver), o hash dos filtros e da ordenação que geraram a
+ * página e os valores de ordenação do último hit, usados no search_after da próxima página.
+ */
+record TransactionCursor(String pitId, String listing, List<FieldValue> searchAfter) {
+
+    TransactionCursor(String pitId, TransactionFilter filter, TransactionSort sort, List<FieldValue> searchAfter) {
+        this(pitId, listing(filter, sort), searchAfter);
+    }
+
+    String encode() {
+        var content = new StringBuilder(pitId != null ? pitId : "").append('\n').append(listing);
+
+        for (var value : searchAfter) {
+            content.append('\n');
+
+            // Documento sem o campo ordenado (uma transação sem valor, por exemplo) volta com valor nulo
+            if (value.isNull()) {
+                content.append('N');
+            } else if (value.isBoolean()) {
+                content.append('B').append(value.booleanValue());
+            } else if (value.isLong()) {
+                content.append('L').append(value.longValue());
+            } else if (value.isDouble()) {
+                content.append('D').append(value.doubleValue());
+            } else if (value.isString()) {
+                content.append('S').append(value.stringValue());
+            } else {
+                throw new IllegalStateException("Unsupported sort value: " + value._kind());
+            }
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o cursor e confere se ele continua a mesma listagem; search_after com outros filtros ou outra ordenação
+     * pularia ou repetiria transações sem nenhum erro.
+     */
+    static TransactionCursor decode(String cursor, TransactionFilter filter, TransactionSort sort) {
+        var decoded = decode(cursor);
+
+        if (!decoded.listing().equals(listing(filter, sort))) {
+            throw new IllegalArgumentException("Cursor belongs to a listing with other filters or sort");
+        }
+
+        return decoded;
+    }
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            var lines = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", -1);
+            var searchAfter = new ArrayList<FieldValue>(lines.length - 2);
+
+            for (var i = 2; i < lines.length; i++) {
+                var value = lines[i].substring(1);
+
+                searchAfter.add(switch (lines[i].charAt(0)) {
+                    case 'L' -> FieldValue.of(Long.parseLong(value));
+                    case 'D' -> FieldValue.of(Double.parseDouble(value));
+                    case 'S' -> FieldValue.of(value);
+                    case 'N' -> FieldValue.NULL;
+                    case 'B' -> FieldValue.of(Boolean.parseBoolean(value));
+                    default -> throw new IllegalArgumentException("Unknown sort value type");
+                });
+            }
+
+            if (searchAfter.isEmpty()) {
+                throw new IllegalArgumentException("Cursor without sort values");
+            }
+
+            return new TransactionCursor(lines[0].isEmpty() ? null : lines[0], lines[1], searchAfter);
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid cursor", exception);
+        }
+    }
+
+    private static String listing(TransactionFilter filter, TransactionSort sort) {
+        // Valores de escala diferente (10 e 10.00) são o mesmo filtro
+        var content = Stream.of(sort, filter.startDate(), filter.endDate(), filter.merchant(), filter.category(),
+                        amount(filter.minAmount()), amount(filter.maxAmount()), filter.description())
+                .map(value -> Objects.toString(value, "\0"))
+                .collect(Collectors.joining("\n"));
+
+        return UUID.nameUUIDFromBytes(content.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String amount(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros().toPlainString() : null;
+    }
+}
@@ -0,0 +1,231 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOptions;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.query_dsl.Operator;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.CreatePitRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
+import org.opensearch.client.opensearch.core.search.Suggester;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas compartilhadas entre os caminhos síncrono e assíncrono do serviço de transações.
+ */
+final class TransactionQueries {
+
+    static final String ID_SORT_FIELD = "id";
+    static final String MERCHANT_SUGGESTION = "merchant";
+    static final String DESCRIPTION_SUGGESTION = "description";
+
+    private TransactionQueries() {
+    }
+
+    static Query dateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null) {
+            // Buscar transações no intervalo entre as duas datas
+            var startDateTime = startDate.atStartOfDay();
+            var endDateTime = endDate.atTime(LocalTime.MAX);
+
+            return Query.of(q -> q.range(range -> range
+                    .field("date")
+                    .gte(JsonData.of(startDateTime.toString()))
+                    .lte(JsonData.of(endDateTime.toString()))));
+        } else if (startDate != null) {
+            // Buscar transações a partir da data de início
+            var startDateTime = startDate.atStartOfDay();
+
+            return Query.of(q -> q.range(range -> range
+                    .field("date")
+                    .gte(JsonData.of(startDateTime.toString()))));
+        } else if (endDate != null) {
+            // Buscar transações até a data de fim
+            var endDateTime = endDate.atTime(LocalTime.MAX);
+
+            return Query.of(q -> q.range(range -> range
+                    .field("date")
+                    .lte(JsonData.of(endDateTime.toString()))));
+        }
+
+        // Buscar todas as transações se não houver filtro de data
+        return Query.of(q -> q.matchAll(m -> m));
+    }
+
+    static Query filter(TransactionFilter filter) {
+        if (filter.minAmount() != null && filter.maxAmount() != null
+                && filter.minAmount().compareTo(filter.maxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+
+        // Tudo em contexto de filtro: sem cálculo de score, e o OpenSearch pode reaproveitar cada cláusula do cache
+        // de queries do nó entre as requisições
+        var clauses = new ArrayList<Query>();
+
+        if (filter.startDate() != null || filter.endDate() != null) {
+            clauses.add(dateRange(filter.startDate(), filter.endDate()));
+        }
+
+        if (hasText(filter.merchant())) {
+            clauses.add(Query.of(q -> q.term(term -> term
+                    .field("merchant.name")
+                    .value(FieldValue.of(filter.merchant())))));
+        }
+
+        if (hasText(filter.category())) {
+            clauses.add(Query.of(q -> q.term(term -> term
+                    .field("merchant.category")
+                    .value(FieldValue.of(filter.category())))));
+        }
+
+        if (filter.minAmount() != null || filter.maxAmount() != null) {
+            clauses.add(Query.of(q -> q.range(range -> {
+                range.field("amount");
+
+                if (filter.minAmount() != null) {
+                    range.gte(JsonData.of(filter.minAmount()));
+                }
+
+                if (filter.maxAmount() != null) {
+                    range.lte(JsonData.of(filter.maxAmount()));
+                }
+
+                return range;
+            })));
+        }
+
+        if (hasText(filter.description())) {
+            // Todas as palavras informadas precisam aparecer na descrição
+            clauses.add(Query.of(q -> q.match(match -> match
+                    .field("description")
+                    .query(FieldValue.of(filter.description()))
+                    .operator(Operator.And))));
+        }
+
+        if (clauses.isEmpty()) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+
+        return Query.of(q -> q.bool(bool -> bool.filter(clauses)));
+    }
+
+    static SortOptions sort(TransactionSort sort) {
+        var field = switch (sort) {
+            case DATE_DESC, DATE_ASC -> "date";
+            case AMOUNT_DESC, AMOUNT_ASC -> "amount";
+        };
+        var order = sort == TransactionSort.DATE_ASC || sort == TransactionSort.AMOUNT_ASC
+                ? SortOrder.Asc
+                : SortOrder.Desc;
+
+        return SortOptions.of(options -> options.field(f -> f.field(field).order(order)));
+    }
+
+    static SearchRequest.Builder page(Query query, TransactionSort sort, int limit) {
+        // Desempate pelo id para que o search_after nunca pule nem repita documentos com o mesmo valor ordenado.
+        // O total vem da contagem em cache, as páginas não precisam contar os hits
+        return new SearchRequest.Builder()
+                .query(query)
+                .size(limit)
+                .trackTotalHits(track -> track.enabled(false))
+                .sort(sort(sort))
+                .sort(tiebreak -> tiebreak.field(f -> f.field(ID_SORT_FIELD).order(SortOrder.Asc)));
+    }
+
+    static SearchRequest firstPage(List<String> indices, Query query, TransactionSort sort, int limit, int offset) {
+        // Primeira página: from/size, limitado a offsets pequenos pelo contrato da API
+        return page(query, sort, limit)
+                .index(indices)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .from(offset)
+                .build();
+    }
+
+    static SearchRequest nextPage(String pitId, String keepAlive, Query query, TransactionSort sort, int limit,
+            TransactionCursor previous) {
+        return page(query, sort, limit)
+                .pit(Pit.of(pit -> pit.id(pitId).keepAlive(keepAlive)))
+                .searchAfter(previous.searchAfter())
+                .build();
+    }
+
+    static SearchRequest nextPage(List<String> indices, Query query, TransactionSort sort, int limit,
+            TransactionCursor previous) {
+        // Sem PIT: segue direto nos índices do período, a ordenação estável mantém a posição
+        return page(query, sort, limit)
+                .index(indices)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .searchAfter(previous.searchAfter())
+                .build();
+    }
+
+    static CreatePitRequest createPit(String readAlias, String keepAlive) {
+        // O PIT não aceita índices inexistentes, então usa o alias; o filtro de data descarta os shards de outros
+        // meses
+        return CreatePitRequest.of(pit -> pit
+                .index(readAlias)
+                .keepAlive(time -> time.time(keepAlive)));
+    }
+
+    /**
+     * Página com o cursor da próxima. A última página volta sem cursor, e quem buscou deve liberar o PIT.
+     */
+    static TransactionPage toPage(List<Hit<Transaction>> hits, String pitId, TransactionFilter filter,
+            TransactionSort sort, int limit) {
+        var transactions = hits.stream()
+                .map(Hit::source)
+                .collect(Collectors.toList());
+
+        if (hits.size() < limit) {
+            return new TransactionPage(transactions, null);
+        }
+
+        var nextCursor = new TransactionCursor(pitId, filter, sort, hits.get(hits.size() - 1).sort());
+        return new TransactionPage(transactions, nextCursor.encode());
+    }
+
+    static Suggester suggest(String prefix, int size) {
+        // skip_duplicates devolve cada texto uma vez, mesmo que ele se repita em milhares de transações
+        return Suggester.of(suggester -> suggester
+                .suggesters(MERCHANT_SUGGESTION, merchant -> merchant
+                        .prefix(prefix)
+                        .completion(completion -> completion
+                                .field("merchant.name.suggest")
+                                .size(size)
+                                .skipDuplicates(true)))
+                .suggesters(DESCRIPTION_SUGGESTION, description -> description
+                        .prefix(prefix)
+                        .completion(completion -> completion
+                                .field("description.suggest")
+                                .size(size)
+                                .skipDuplicates(true))));
+    }
+
+    static SearchRequest byId(String readAlias, String id) {
+        // O GET por id não funciona em um alias com vários índices, a busca por ids também informa o índice do documento
+        // e o seq_no/primary_term que formam a versão usada na atualização condicional
+        return SearchRequest.of(transactions -> transactions
+                .index(readAlias)
+                .query(q -> q.ids(ids -> ids.values(id)))
+                .seqNoPrimaryTerm(true)
+                .size(1));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
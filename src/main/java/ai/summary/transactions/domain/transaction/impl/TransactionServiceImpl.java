@@ -2,81 +2,99 @@ package ai.summary.transactions.domain.transaction.impl;
 
 import ai.summary.transactions.core.config.OpenSearchConfig;
 import ai.summary.transactions.domain.transaction.TransactionService;
-import ai.summary.transactions.domain.transaction.mapper.OpenSearchTransactionMapper;
+import ai.summary.transactions.domain.transaction.bulk.TransactionBulkIngester;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.BulkResult;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.opensearch.client.opensearch.OpenSearchClient;
-import org.opensearch.client.json.JsonData;
-import org.opensearch.client.opensearch._types.Result;
-import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.Level;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
+import org.opensearch.client.opensearch._types.aggregations.Aggregation;
+import org.opensearch.client.opensearch._types.aggregations.CalendarInterval;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch.core.*;
+import org.opensearch.client.opensearch.indices.stats.IndexShardStats;
+import org.opensearch.client.opensearch.indices.stats.IndicesStats;
+import org.opensearch.client.opensearch.indices.stats.IndicesStatsMetric;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final String AMOUNT_AGGREGATION = "amount";
+
     private final OpenSearchClient openSearchClient;
     private final OpenSearchConfig openSearchConfig;
-    private final OpenSearchTransactionMapper openSearchTransactionMapper;
+    private final TransactionBulkIngester transactionBulkIngester;
+    private final TransactionIndices transactionIndices;
+    private final TransactionQueryCache transactionQueryCache;
 
     @Override
-    public Optional<List<Transaction>> findByFilters(LocalDate startDate, LocalDate endDate, int limit, int offset) {
+    public Optional<List<Transaction>> findByFilters(TransactionFilter filter, TransactionSort sort, int limit,
+            int offset) {
         try {
-            Query query;
-
-            if (startDate != null && endDate != null) {
-                // Buscar transações no intervalo entre as duas datas
-                var startDateTime = startDate.atStartOfDay();
-                var endDateTime = endDate.atTime(LocalTime.MAX);
-
-                query = Query.of(q -> q.range(range -> range
-                        .field("date")
-                        .gte(JsonData.of(startDateTime.toString()))
-                        .lte(JsonData.of(endDateTime.toString()))));
-            } else if (startDate != null) {
-                // Buscar transações a partir da data de início
-                var startDateTime = startDate.atStartOfDay();
-
-                query = Query.of(q -> q.range(range -> range
-                        .field("date")
-                        .gte(JsonData.of(startDateTime.toString()))));
-            } else if (endDate != null) {
-                // Buscar transações até a data de fim
-                var endDateTime = endDate.atTime(LocalTime.MAX);
-
-                query = Query.of(q -> q.range(range -> range
-                        .field("date")
-                        .lte(JsonData.of(endDateTime.toString()))));
-            } else {
-                // Buscar todas as transações se não houver filtro de data
-                query = Query.of(q -> q.matchAll(m -> m));
+            // Gravações de outras instâncias e da linha de comando não limpam o cache: a marca dos meses do período
+            // diz se as consultas guardadas ainda valem
+            transactionQueryCache.validate(filter.startDate(), filter.endDate(),
+                    periodMarker(filter.startDate(), filter.endDate()));
+
+            var cached = transactionQueryCache.get(filter, sort, limit, offset);
+
+            if (cached.isPresent()) {
+                return cached;
             }
 
+            var generation = transactionQueryCache.generation();
+            var query = TransactionQueries.filter(filter);
+
             var searchRequest = SearchRequest.of(transactions -> transactions
-                    .index(openSearchConfig.getTransactionsIndex())
+                    .index(transactionIndices.readIndices(filter.startDate(), filter.endDate()))
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
                     .query(query)
                     .from(offset)
                     .size(limit)
-                    .sort(sort -> sort.field(
-                            f -> f.field("date").order(SortOrder.Desc))));
+                    .sort(TransactionQueries.sort(sort)));
 
-            var response = openSearchClient.search(searchRequest, Object.class);
+            var response = openSearchClient.search(searchRequest, Transaction.class);
+            var transactions = response.hits().hits().stream()
+                    .map(hit -> hit.source())
+                    .collect(Collectors.toList());
 
-            return Optional.of(response.hits().hits().stream()
-                    .map(hit -> openSearchTransactionMapper.fromOpenSearchObject(hit.source()))
-                    .collect(Collectors.toList()));
+            transactionQueryCache.put(filter, sort, limit, offset, transactions, generation);
+            return Optional.of(transactions);
         } catch (IOException exception) {
             log.error("Error retrieving transactions with filters", exception);
             throw new RuntimeException("Failed to retrieve transactions", exception);
@@ -84,117 +102,285 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public Optional<Transaction> getById(String id) {
-        try {
-            var getRequest = GetRequest.of(transactions -> transactions
-                    .index(openSearchConfig.getTransactionsIndex())
-                    .id(id));
+    public TransactionPage findPage(TransactionFilter filter, TransactionSort sort, int limit, int offset,
+            String cursor) {
+        // Cursor ou filtro inválido é erro do cliente, não do OpenSearch
+        var previous = cursor != null ? TransactionCursor.decode(cursor, filter, sort) : null;
+        var query = TransactionQueries.filter(filter);
 
-            var response = openSearchClient.get(getRequest, Object.class);
+        try {
+            var indices = transactionIndices.readIndices(filter.startDate(), filter.endDate());
+            String pitId = null;
+            SearchResponse<Transaction> response;
 
-            if (response.found()) {
-                return Optional.of(openSearchTransactionMapper.fromOpenSearchObject(response.source()));
+            if (previous == null) {
+                response = openSearchClient.search(TransactionQueries.firstPage(indices, query, sort, limit, offset),
+                        Transaction.class);
             } else {
-                log.warn("Transaction with id {} not found", id);
-                return Optional.empty();
+                // O PIT só é aberto quando o cursor é seguido: primeiras páginas abandonadas não deixam PIT aberto
+                var openedPit = previous.pitId() == null ? openPit() : null;
+                var currentPit = previous.pitId() != null ? previous.pitId() : openedPit;
+
+                if (currentPit == null) {
+                    response = searchAfterWithoutPit(indices, query, sort, limit, previous);
+                } else {
+                    try {
+                        var searchRequest = TransactionQueries.nextPage(currentPit,
+                                openSearchConfig.getPaginationPitKeepAlive(), query, sort, limit, previous);
+                        response = openSearchClient.search(searchRequest, Transaction.class);
+                        pitId = response.pitId() != null ? response.pitId() : currentPit;
+                    } catch (OpenSearchException exception) {
+                        // PIT expirado: segue sem snapshot, a ordenação estável mantém a posição
+                        log.warn("Point in time expired, continuing pagination without it: {}",
+                                exception.getMessage());
+                        closePit(openedPit);
+                        response = searchAfterWithoutPit(indices, query, sort, limit, previous);
+                    }
+                }
+            }
+
+            var page = TransactionQueries.toPage(response.hits().hits(), pitId, filter, sort, limit);
+
+            if (page.cursor() == null) {
+                // Última página: libera o PIT sem esperar o keep-alive
+                closePit(pitId);
             }
+
+            return page;
         } catch (IOException exception) {
-            log.error("Error retrieving transaction with id: {}", id, exception);
-            throw new RuntimeException("Failed to retrieve transaction", exception);
+            log.error("Error retrieving transactions page", exception);
+            throw new RuntimeException("Failed to retrieve transactions", exception);
         }
     }
 
     @Override
-    public Transaction create(Transaction transaction) {
+    public Stream<Transaction> streamByFilters(LocalDate startDate, LocalDate endDate) {
+        var pages = new PageIterator(startDate, endDate, Math.max(1, openSearchConfig.getExportPageSize()));
+
+        // Busca a primeira página já aqui para que falhas do OpenSearch apareçam antes do início da resposta
+        pages.hasNext();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .onClose(pages::close);
+    }
+
+    @Override
+    public SpendingAggregation aggregate(LocalDate startDate, LocalDate endDate, AggregationInterval interval,
+            int size) {
         try {
-            // Gerar ID se não fornecido
-            var transactionId = transaction.id() != null ? transaction.id().toString()
-                    : UUID.randomUUID().toString();
-
-            var transactionWithId = new Transaction(
-                    UUID.fromString(transactionId),
-                    transaction.date(),
-                    transaction.amount(),
-                    transaction.description(),
-                    transaction.merchant());
-
-            var indexRequest = IndexRequest.of(i -> i
-                    .index(openSearchConfig.getTransactionsIndex())
-                    .id(transactionId)
-                    .document(transactionWithId));
-
-            var response = openSearchClient.index(indexRequest);
-
-            if (response.result() == Result.Created || response.result() == Result.Updated) {
-                log.info("Transaction created/updated with id: {}", transactionId);
-                return transactionWithId;
-            } else {
-                throw new RuntimeException("Failed to create transaction");
-            }
+            var query = TransactionQueries.dateRange(startDate, endDate);
+            var calendarInterval = switch (interval) {
+                case DAY -> CalendarInterval.Day;
+                case WEEK -> CalendarInterval.Week;
+                case MONTH -> CalendarInterval.Month;
+            };
+
+            // size(0): apenas os números das agregações, nenhum documento é trafegado
+            var searchRequest = SearchRequest.of(transactions -> transactions
+                    .index(transactionIndices.readIndices(startDate, endDate))
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
+                    .query(query)
+                    .size(0)
+                    .aggregations(AMOUNT_AGGREGATION, amountStats())
+                    .aggregations("by_category", aggregation -> aggregation
+                            .terms(terms -> terms.field("merchant.category").size(size))
+                            .aggregations(AMOUNT_AGGREGATION, amountStats()))
+                    .aggregations("by_merchant", aggregation -> aggregation
+                            .terms(terms -> terms.field("merchant.name").size(size))
+                            .aggregations(AMOUNT_AGGREGATION, amountStats()))
+                    .aggregations("over_time", aggregation -> aggregation
+                            .dateHistogram(histogram -> histogram
+                                    .field("date")
+                                    .calendarInterval(calendarInterval)
+                                    .format("yyyy-MM-dd"))
+                            .aggregations(AMOUNT_AGGREGATION, amountStats())));
+
+            var response = openSearchClient.search(searchRequest, Transaction.class);
+            var aggregations = response.aggregations();
+            var stats = aggregations.get(AMOUNT_AGGREGATION).stats();
+
+            var byCategory = aggregations.get("by_category").sterms().buckets().array().stream()
+                    .map(bucket -> toBucket(bucket.key(), bucket.docCount(), bucket.aggregations()))
+                    .toList();
+            var byMerchant = aggregations.get("by_merchant").sterms().buckets().array().stream()
+                    .map(bucket -> toBucket(bucket.key(), bucket.docCount(), bucket.aggregations()))
+                    .toList();
+            var overTime = aggregations.get("over_time").dateHistogram().buckets().array().stream()
+                    .map(bucket -> toBucket(bucket.keyAsString(), bucket.docCount(), bucket.aggregations()))
+                    .toList();
+
+            return new SpendingAggregation(stats.count(), toAmount(stats.sum()), toAmount(stats.avg()),
+                    byCategory, byMerchant, overTime);
         } catch (IOException exception) {
-            log.error("Error creating transaction", exception);
-            throw new RuntimeException("Failed to create transaction", exception);
+            log.error("Error aggregating transactions", exception);
+            throw new RuntimeException("Failed to aggregate transactions", exception);
         }
     }
 
     @Override
-    public Optional<Transaction> update(String id, Transaction transaction) {
+    public String fingerprint(LocalDate startDate, LocalDate endDate) {
         try {
-            // Verificar se a transação existe
-            var existingTransaction = getById(id);
-            if (existingTransaction.isEmpty()) {
-                log.warn("Transaction with id {} not found for update", id);
-                return Optional.empty();
-            }
+            var count = openSearchClient.count(CountRequest.of(request -> request
+                    .index(transactionIndices.readIndices(startDate, endDate))
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
+                    .query(TransactionQueries.dateRange(startDate, endDate)))).count();
 
-            // Criar nova transação com o ID existente
-            var updatedTransaction = new Transaction(
-                    UUID.fromString(id),
-                    transaction.date() != null ? transaction.date() : existingTransaction.get().date(),
-                    transaction.amount() != null ? transaction.amount() : existingTransaction.get().amount(),
-                    transaction.description() != null ? transaction.description()
-                            : existingTransaction.get().description(),
-                    transaction.merchant() != null ? transaction.merchant() : existingTransaction.get().merchant());
-
-            var indexRequest = IndexRequest.of(i -> i
-                    .index(openSearchConfig.getTransactionsIndex())
-                    .id(id)
-                    .document(updatedTransaction));
-
-            var response = openSearchClient.index(indexRequest);
-
-            if (response.result() == Result.Updated || response.result() == Result.Created) {
-                log.info("Transaction updated with id: {}", id);
-                return Optional.of(updatedTransaction);
-            } else {
-                throw new RuntimeException("Failed to update transaction");
-            }
+            var marker = periodMarker(startDate, endDate);
+
+            return count + ":" + UUID.nameUUIDFromBytes(marker.getBytes(StandardCharsets.UTF_8));
         } catch (IOException exception) {
-            log.error("Error updating transaction with id: {}", id, exception);
-            throw new RuntimeException("Failed to update transaction", exception);
+            log.error("Error computing transactions fingerprint", exception);
+            throw new RuntimeException("Failed to compute transactions fingerprint", exception);
         }
     }
 
     @Override
-    public void delete(String id) {
+    public BulkResult bulkCreate(Stream<BulkItem> items) {
+        return transactionBulkIngester.ingest(items);
+    }
+
+    private Aggregation amountStats() {
+        return Aggregation.of(aggregation -> aggregation.stats(stats -> stats.field("amount")));
+    }
+
+    // Marca de cada mês do período, em ordem: um mês criado ou removido também muda o resultado
+    private String periodMarker(LocalDate startDate, LocalDate endDate) throws IOException {
+        var indices = transactionIndices.readIndices(startDate, endDate);
+        var allIndices = indices.contains(transactionIndices.readAlias());
+
+        // Stats não aceita ignore_unavailable: cada mês vai como padrão, que não falha quando o índice não existe
+        var patterns = allIndices ? indices : indices.stream().map(index -> index + "*").toList();
+        var stats = openSearchClient.indices().stats(request -> request
+                .index(patterns)
+                .metric(IndicesStatsMetric.Refresh)
+                .level(Level.Shards));
+
+        var markers = stats.indices().entrySet().stream()
+                .filter(entry -> allIndices || indices.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> indexMarker(entry.getValue()),
+                        (first, second) -> first, TreeMap::new));
+
+        return markers.entrySet().stream()
+                .map(entry -> entry.getKey() + "/" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    // max_seq_no sobe a cada gravação, alteração ou remoção no shard e o total de refreshes quando ela fica visível na
+    // busca; o uuid muda quando o índice é recriado
+    private static String indexMarker(IndicesStats stats) {
+        var shards = stats.shards().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(shard -> shard.getKey() + "=" + shard.getValue().stream()
+                        .map(TransactionServiceImpl::copyMarker)
+                        .sorted()
+                        .collect(Collectors.joining("|")))
+                .collect(Collectors.joining(";"));
+
+        return stats.uuid() + "/" + shards;
+    }
+
+    private static String copyMarker(IndexShardStats copy) {
+        var maxSeqNo = copy.seqNo() == null ? -1 : copy.seqNo().maxSeqNo();
+        var refreshes = copy.refresh() == null ? -1 : copy.refresh().externalTotal();
+
+        return maxSeqNo + "." + refreshes;
+    }
+
+    private SpendingBucket toBucket(String key, long count, Map<String, Aggregate> aggregations) {
+        var stats = aggregations.get(AMOUNT_AGGREGATION).stats();
+        return new SpendingBucket(key, count, toAmount(stats.sum()), toAmount(stats.avg()));
+    }
+
+    private BigDecimal toAmount(Double value) {
+        // Sem documentos o OpenSearch devolve média nula
+        if (value == null || value.isNaN() || value.isInfinite()) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private SearchResponse<Transaction> searchAfterWithoutPit(List<String> indices, Query query, TransactionSort sort,
+            int limit, TransactionCursor previous) throws IOException {
+        return openSearchClient.search(TransactionQueries.nextPage(indices, query, sort, limit, previous),
+                Transaction.class);
+    }
+
+    private String openPit() throws IOException {
         try {
-            var deleteRequest = DeleteRequest.of(transaction -> transaction
-                    .index(openSearchConfig.getTransactionsIndex())
-                    .id(id));
+            var createPitRequest = TransactionQueries.createPit(transactionIndices.readAlias(),
+                    openSearchConfig.getPaginationPitKeepAlive());
 
-            var response = openSearchClient.delete(deleteRequest);
+            var response = openSearchClient.createPit(createPitRequest);
 
-            if (response.result() == Result.Deleted) {
-                log.info("Transaction deleted with id: {}", id);
-            } else if (response.result() == Result.NotFound) {
-                log.warn("Transaction with id {} not found for deletion", id);
-            } else {
-                throw new RuntimeException("Failed to delete transaction");
-            }
-        } catch (IOException exception) {
-            log.error("Error deleting transaction with id: {}", id, exception);
-            throw new RuntimeException("Failed to delete transaction", exception);
+            return response.pitId();
+        } catch (OpenSearchException exception) {
+            // Sem PIT o cursor ainda funciona, apenas sem snapshot consistente entre as páginas
+            log.warn("Could not open point in time, paginating without it: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+    private void closePit(String pitId) {
+        if (pitId == null) {
+            return;
+        }
+
+        try {
+            openSearchClient.deletePit(DeletePitRequest.of(pit -> pit.pitId(pitId)));
+        } catch (IOException | OpenSearchException exception) {
+            log.warn("Could not delete point in time, it will expire after the keep-alive", exception);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Percorre todas as páginas do cursor mantendo em memória apenas a página atual.
+     */
+    private final class PageIterator implements Iterator<Transaction> {
+
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final int pageSize;
+        private Iterator<Transaction> current = Collections.emptyIterator();
+        private String cursor;
+        private boolean lastPage;
+
+        private PageIterator(LocalDate startDate, LocalDate endDate, int pageSize) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && !lastPage) {
+                var page = findPage(TransactionFilter.period(startDate, endDate), TransactionSort.DATE_DESC, pageSize,
+                        0, cursor);
+                current = page.transactions().iterator();
+                cursor = page.cursor();
+                lastPage = cursor == null;
+            }
+
+            return current.hasNext();
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return current.next();
+        }
+
+        // Exportação interrompida no meio: libera o PIT sem esperar o keep-alive
+        private void close() {
+            if (cursor != null) {
+                closePit(TransactionCursor.decode(cursor).pitId());
+                cursor = null;
+            }
+        }
+    }
+}
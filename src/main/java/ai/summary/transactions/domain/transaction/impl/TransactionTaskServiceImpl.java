@@ -0,0 +1,224 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.TransactionTaskService;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionTaskStatus;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._types.BuiltinScriptLanguage;
+import org.opensearch.client.opensearch._types.Conflicts;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.Refresh;
+import org.opensearch.client.opensearch._types.Slices;
+import org.opensearch.client.opensearch._types.SlicesCalculation;
+import org.opensearch.client.opensearch.core.DeleteByQueryRequest;
+import org.opensearch.client.opensearch.core.DeleteByQueryResponse;
+import org.opensearch.client.opensearch.core.UpdateByQueryRequest;
+import org.opensearch.client.opensearch.core.UpdateByQueryResponse;
+import org.opensearch.client.opensearch.tasks.GetTasksRequest;
+import org.opensearch.client.opensearch.tasks.GetTasksResponse;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Dispara {@code _delete_by_query} e {@code _update_by_query} com {@code wait_for_completion=false}: o OpenSearch
+ * guarda a tarefa e o resultado em {@code .tasks}, então o andamento sobrevive ao fim da requisição HTTP. As
+ * tarefas são fatiadas para paralelizar entre os shards e limitadas por {@code requests_per_second} para não
+ * disputar o cluster com as buscas.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionTaskServiceImpl implements TransactionTaskService {
+
+    private static final String RECATEGORIZE_SCRIPT = "ctx._source.merchant.category = params.category";
+
+    // Formato nodeId:número devolvido pelo OpenSearch; outros valores nem chegam a ser consultados
+    private static final Pattern TASK_ID = Pattern.compile("[^:\\s]+:\\d+");
+
+    // O intervalo entre consultas que falham para de dobrar em 64 vezes o normal
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final OpenSearchAsyncClient openSearchAsyncClient;
+    private final OpenSearchConfig openSearchConfig;
+    private final TransactionIndices transactionIndices;
+    private final TransactionCountCache transactionCountCache;
+    private final TransactionCache transactionCache;
+    private final TransactionQueryCache transactionQueryCache;
+
+    @Override
+    public CompletableFuture<String> deleteByFilter(TransactionFilter filter, Float requestsPerSecond) {
+        var query = TransactionQueries.filter(filter);
+
+        if (query.isMatchAll()) {
+            throw new IllegalArgumentException("At least one filter is required");
+        }
+
+        var deleteByQueryRequest = DeleteByQueryRequest.of(delete -> delete
+                .index(transactionIndices.readIndices(filter.startDate(), filter.endDate()))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(query)
+                .conflicts(Conflicts.Proceed)
+                .slices(slices())
+                .requestsPerSecond(requestsPerSecond(requestsPerSecond))
+                .refresh(Refresh.True)
+                .waitForCompletion(false));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.deleteByQuery(deleteByQueryRequest))
+                .thenApply(DeleteByQueryResponse::task)
+                .thenApply(this::started)
+                .exceptionally(error -> {
+                    log.error("Error starting delete task", error);
+                    throw new RuntimeException("Failed to start delete task", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> recategorize(TransactionFilter filter, String category, Float requestsPerSecond) {
+        var updateByQueryRequest = UpdateByQueryRequest.of(update -> update
+                .index(transactionIndices.readIndices(filter.startDate(), filter.endDate()))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(TransactionQueries.filter(filter))
+                .script(script -> script.inline(inline -> inline
+                        .lang(lang -> lang.builtin(BuiltinScriptLanguage.Painless))
+                        .source(RECATEGORIZE_SCRIPT)
+                        .params("category", JsonData.of(category))))
+                .conflicts(Conflicts.Proceed)
+                .slices(slices())
+                .requestsPerSecond(requestsPerSecond(requestsPerSecond))
+                .refresh(Refresh.True)
+                .waitForCompletion(false));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.updateByQuery(updateByQueryRequest))
+                .thenApply(UpdateByQueryResponse::task)
+                .thenApply(this::started)
+                .exceptionally(error -> {
+                    log.error("Error starting recategorize task", error);
+                    throw new RuntimeException("Failed to start recategorize task", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<TransactionTaskStatus>> status(String taskId) {
+        if (taskId == null || !TASK_ID.matcher(taskId).matches()) {
+            log.warn("Task with id {} not found", taskId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        var getTasksRequest = GetTasksRequest.of(task -> task.taskId(taskId));
+
+        return OpenSearchCalls.call(() -> openSearchAsyncClient.tasks().get(getTasksRequest))
+                .thenApply(response -> Optional.of(toStatus(taskId, response)))
+                .exceptionally(error -> {
+                    if (OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception
+                            && exception.status() == 404) {
+                        log.warn("Task with id {} not found", taskId);
+                        return Optional.empty();
+                    }
+
+                    log.error("Error retrieving task with id: {}", taskId, error);
+                    throw new RuntimeException("Failed to retrieve task", OpenSearchCalls.unwrap(error));
+                });
+    }
+
+    private String started(String taskId) {
+        // O que for lido durante a tarefa fica parcial; os caches são limpos de novo quando ela termina
+        invalidateCaches();
+        log.info("Started transactions task {}", taskId);
+        awaitCompletion(taskId, 0);
+        return taskId;
+    }
+
+    /**
+     * Acompanha a tarefa em segundo plano e limpa os caches quando ela termina, sem depender de alguém consultar o
+     * status. Cada falha seguida ao consultar dobra o intervalo até a próxima tentativa; depois de
+     * {@code opensearch.tasks.poll-max-failures} falhas o acompanhamento desiste e limpa os caches, como faz quando a
+     * tarefa sumiu.
+     */
+    private void awaitCompletion(String taskId, int failures) {
+        var backoff = 1L << Math.min(failures, MAX_BACKOFF_SHIFT);
+        var interval = openSearchConfig.getTaskPollInterval().multipliedBy(backoff);
+        var delay = CompletableFuture.delayedExecutor(interval.toMillis(), TimeUnit.MILLISECONDS);
+        var getTasksRequest = GetTasksRequest.of(task -> task.taskId(taskId));
+
+        CompletableFuture.runAsync(() -> { }, delay)
+                .thenCompose(ignored -> OpenSearchCalls.call(() -> openSearchAsyncClient.tasks().get(getTasksRequest)))
+                .whenComplete((response, error) -> {
+                    if (error == null && !response.completed()) {
+                        awaitCompletion(taskId, 0);
+                    } else if (error == null) {
+                        log.info("Transactions task {} completed", taskId);
+                        invalidateCaches();
+                    } else if (OpenSearchCalls.unwrap(error) instanceof OpenSearchException exception
+                            && exception.status() == 404) {
+                        log.warn("Transactions task {} is gone, clearing the caches", taskId);
+                        invalidateCaches();
+                    } else if (failures + 1 >= openSearchConfig.getTaskPollMaxFailures()) {
+                        log.warn("Giving up on transactions task {} after {} failed checks, clearing the caches",
+                                taskId, failures + 1, error);
+                        invalidateCaches();
+                    } else {
+                        log.warn("Could not check transactions task {}, retrying", taskId, error);
+                        awaitCompletion(taskId, failures + 1);
+                    }
+                });
+    }
+
+    private void invalidateCaches() {
+        transactionCountCache.invalidateAll();
+        transactionCache.invalidateAll();
+        transactionQueryCache.invalidateAll();
+    }
+
+    private TransactionTaskStatus toStatus(String taskId, GetTasksResponse response) {
+        var runningTimeMillis = TimeUnit.NANOSECONDS.toMillis(response.task().runningTimeInNanos());
+        var error = response.error() != null ? response.error().reason() : null;
+
+        if (response.completed() && response.response() != null) {
+            var result = response.response();
+            return new TransactionTaskStatus(taskId, true, result.total(), valueOf(result.updated()),
+                    result.deleted(), result.versionConflicts(), result.failures().size(), runningTimeMillis,
+                    error);
+        }
+
+        var status = response.task().status();
+
+        if (status == null) {
+            return new TransactionTaskStatus(taskId, response.completed(), 0, 0, 0, 0, 0, runningTimeMillis, error);
+        }
+
+        return new TransactionTaskStatus(taskId, response.completed(), valueOf(status.total()),
+                valueOf(status.updated()), valueOf(status.deleted()), valueOf(status.versionConflicts()), 0,
+                runningTimeMillis, error);
+    }
+
+    private Slices slices() {
+        var slices = openSearchConfig.getTaskSlices();
+
+        // "auto" deixa o OpenSearch criar uma fatia por shard
+        return "auto".equalsIgnoreCase(slices)
+                ? Slices.of(slice -> slice.calculation(SlicesCalculation.Auto))
+                : Slices.of(slice -> slice.count(Integer.parseInt(slices)));
+    }
+
+    private float requestsPerSecond(Float requested) {
+        return requested != null ? requested : openSearchConfig.getTaskRequestsPerSecond();
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+}
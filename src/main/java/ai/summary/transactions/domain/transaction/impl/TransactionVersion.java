@@ -0,0 +1,38 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import org.opensearch.client.opensearch.core.search.Hit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Versão opaca de uma transação: índice mensal onde o documento está e o par seq_no/primary_term usado nos
+ * if_seq_no/if_primary_term da atualização. Com o índice na versão a atualização condicional dispensa a busca.
+ */
+record TransactionVersion(String index, long seqNo, long primaryTerm) {
+
+    static TransactionVersion of(Hit<?> hit) {
+        return new TransactionVersion(hit.index(), hit.seqNo(), hit.primaryTerm());
+    }
+
+    String encode() {
+        var content = index + "\n" + seqNo + "\n" + primaryTerm;
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionVersion decode(String version) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(version), StandardCharsets.UTF_8).split("\n", -1);
+
+            if (parts.length != 3 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("Version must have index, seq_no and primary_term");
+            }
+
+            return new TransactionVersion(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid version", exception);
+        }
+    }
+}
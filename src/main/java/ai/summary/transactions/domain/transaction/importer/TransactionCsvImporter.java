@@ -0,0 +1,225 @@
+package ai.summary.transactions.domain.transaction.importer;
+
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.ImportResult;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+/**
+ * Importa transações no layout {@code date,amount,description,merchant_name,merchant_category}.
+ * Os registros são lidos sob demanda e enviados ao OpenSearch em lotes, mantendo o uso de memória constante. As
+ * falhas do resultado trazem a linha do arquivo onde o registro começa.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionCsvImporter {
+
+    private static final String HEADER = "date,amount,description,merchant_name,merchant_category";
+    private static final int COLUMNS = 5;
+
+    private final TransactionService transactionService;
+
+    public ImportResult importCsv(Reader reader) {
+        var startedAt = System.nanoTime();
+        var rejected = new AtomicLong();
+        var bufferedReader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+
+        // A posição de cada item é a linha do CSV onde o registro começa
+        var items = StreamSupport.stream(Spliterators.spliteratorUnknownSize(new CsvRecords(bufferedReader),
+                        Spliterator.ORDERED), false)
+                .map(record -> parseRecord(record, rejected))
+                .filter(Objects::nonNull);
+
+        var bulkResult = transactionService.bulkCreate(items);
+
+        var took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        var rows = bulkResult.total() + rejected.get();
+        var rowsPerSecond = took > 0 ? rows * 1000.0 / took : rows;
+
+        var result = new ImportResult(rows, bulkResult.created(), rejected.get(), bulkResult.failed(), took,
+                rowsPerSecond, bulkResult.failures());
+
+        log.info("CSV import finished: {} rows, {} imported, {} rejected lines, {} failed in {} ms ({} rows/s)",
+                result.rows(), result.imported(), result.rejected(), result.failed(), took,
+                String.format("%.1f", rowsPerSecond));
+
+        return result;
+    }
+
+    private BulkItem parseRecord(CsvRecord record, AtomicLong rejected) {
+        var columns = record.columns();
+
+        if (record.line() == 1 && String.join(",", columns).strip().equalsIgnoreCase(HEADER)) {
+            return null;
+        }
+
+        if (record.error() == null && columns.size() == 1 && columns.get(0).isBlank()) {
+            return null;
+        }
+
+        try {
+            if (record.error() != null) {
+                throw new IllegalArgumentException(record.error());
+            }
+
+            if (columns.size() != COLUMNS) {
+                throw new IllegalArgumentException("expected " + COLUMNS + " columns but found " + columns.size());
+            }
+
+            return BulkItem.of(record.line(), new Transaction(
+                    null,
+                    parseDate(columns.get(0)),
+                    new BigDecimal(columns.get(1).strip()),
+                    requireText(columns.get(2), "description"),
+                    new Merchant(
+                            requireText(columns.get(3), "merchant_name"),
+                            requireText(columns.get(4), "merchant_category"))));
+        } catch (RuntimeException exception) {
+            rejected.incrementAndGet();
+            log.debug("Rejected CSV record at line {}: {}", record.line(), exception.getMessage());
+            return null;
+        }
+    }
+
+    // Mesmo tratamento do endpoint: o horário é mantido e o fuso é descartado
+    private LocalDateTime parseDate(String value) {
+        var parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value.strip(), ZonedDateTime::from,
+                LocalDateTime::from);
+
+        return parsed instanceof ZonedDateTime zonedDateTime ? zonedDateTime.toLocalDateTime()
+                : (LocalDateTime) parsed;
+    }
+
+    private String requireText(String value, String column) {
+        var text = value.strip();
+
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException(column + " is empty");
+        }
+
+        return text;
+    }
+
+    private record CsvRecord(long line, List<String> columns, String error) {
+
+    }
+
+    /**
+     * Registros do CSV lidos caractere a caractere: um campo entre aspas pode conter vírgulas, aspas duplicadas e
+     * quebras de linha, então um registro pode ocupar mais de uma linha do arquivo.
+     */
+    private static final class CsvRecords implements Iterator<CsvRecord> {
+
+        private final BufferedReader reader;
+        private long line = 1;
+        private CsvRecord next;
+        private boolean finished;
+
+        private CsvRecords(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    next = read();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+
+                finished = next == null;
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public CsvRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var record = next;
+            next = null;
+            return record;
+        }
+
+        private CsvRecord read() throws IOException {
+            var startLine = line;
+            var columns = new ArrayList<String>(COLUMNS);
+            var current = new StringBuilder();
+            var quoted = false;
+            var character = reader.read();
+
+            if (character == -1) {
+                return null;
+            }
+
+            if (startLine == 1 && character == '\uFEFF') {
+                character = reader.read();
+            }
+
+            while (character != -1) {
+                if (quoted) {
+                    if (character == '"') {
+                        // Aspas duplicadas dentro de um campo entre aspas representam uma aspa literal
+                        reader.mark(1);
+
+                        if (reader.read() == '"') {
+                            current.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (character == '\n') {
+                            line++;
+                        }
+
+                        current.append((char) character);
+                    }
+                } else if (character == '"') {
+                    quoted = true;
+                } else if (character == ',') {
+                    columns.add(current.toString());
+                    current.setLength(0);
+                } else if (character == '\n') {
+                    line++;
+                    break;
+                } else if (character != '\r') {
+                    current.append((char) character);
+                }
+
+                character = reader.read();
+            }
+
+            columns.add(current.toString());
+            return new CsvRecord(startLine, columns, quoted ? "unterminated quoted field" : null);
+        }
+    }
+}
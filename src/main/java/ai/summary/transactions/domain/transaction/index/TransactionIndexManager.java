@@ -0,0 +1,249 @@
+package ai.summary.transactions.domain.transaction.index;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.BuiltinScriptLanguage;
+import org.opensearch.client.opensearch._types.Conflicts;
+import org.opensearch.client.opensearch._types.OpType;
+import org.opensearch.client.opensearch._types.Refresh;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.core.ReindexRequest;
+import org.opensearch.client.opensearch.indices.Alias;
+import org.opensearch.client.opensearch.indices.DeleteIndexRequest;
+import org.opensearch.client.opensearch.indices.ForcemergeRequest;
+import org.opensearch.client.opensearch.indices.GetIndexRequest;
+import org.opensearch.client.opensearch.indices.PutIndexTemplateRequest;
+import org.opensearch.client.opensearch.indices.PutIndicesSettingsRequest;
+import org.opensearch.client.opensearch.indices.PutMappingRequest;
+import org.opensearch.client.opensearch.indices.UpdateAliasesRequest;
+import org.opensearch.client.opensearch.tasks.GetTasksRequest;
+import org.opensearch.client.opensearch.tasks.TaskResponse;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instala o template dos índices mensais na subida do servidor, migra o índice único das versões anteriores, leva
+ * campos novos do mapeamento para os índices que já existem e compacta os meses que já fecharam.
+ * <p>
+ * Meses fechados passam só por force merge, sem shrink, de propósito. Cada mês tem {@code opensearch.index.shards}
+ * primários (um por padrão), então na configuração padrão não há o que reduzir. O shrink cria um índice com outro
+ * nome, e leituras, escritas e a migração acham cada mês pelo nome {@code transactions-YYYY-MM}. Para menos shards,
+ * reduza {@code opensearch.index.shards}: o template vale para os meses seguintes.
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class TransactionIndexManager implements ApplicationEventListener<ServerStartupEvent> {
+
+    // Documentos sem data vão para o mês corrente, como nas escritas normais
+    private static final String MIGRATION_SCRIPT = """
+            def date = ctx._source.date;
+            ctx._index = params.prefix + (date instanceof String && date.length() >= 7 ? date.substring(0, 7)
+                    : params.month);
+            """;
+    private static final long MIGRATION_POLL_INTERVAL_SECONDS = 1;
+
+    private final OpenSearchClient openSearchClient;
+    private final OpenSearchConfig openSearchConfig;
+    private final TransactionIndices transactionIndices;
+
+    @Override
+    public void onApplicationEvent(ServerStartupEvent event) {
+        try {
+            migrateLegacyIndex();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while migrating legacy transactions index", exception);
+        } catch (Exception exception) {
+            // O índice antigo é mantido; as escritas nos índices mensais falham até a migração terminar
+            log.error("Error migrating legacy transactions index", exception);
+        }
+
+        try {
+            installTemplate();
+        } catch (Exception exception) {
+            // Não impede a subida, os índices seriam criados com mapeamento dinâmico
+            log.error("Error installing transactions index template", exception);
+        }
+
+        try {
+            updateExistingMappings();
+        } catch (Exception exception) {
+            // Índices antigos continuam atendendo, só ficam sem os campos novos até serem reindexados
+            log.error("Error updating mappings of existing transactions indices", exception);
+        }
+    }
+
+    public void installTemplate() throws IOException {
+        putTemplate(true);
+    }
+
+    /**
+     * As versões anteriores gravavam tudo em um índice com o mesmo nome do alias de leitura. Enquanto ele existir, o
+     * alias não pode ser criado e os índices mensais também não. As transações são copiadas para os meses, o índice
+     * antigo é apagado e o alias ocupa o nome dele. Se a cópia falhar o índice antigo é mantido.
+     */
+    public void migrateLegacyIndex() throws IOException, InterruptedException {
+        var alias = transactionIndices.readAlias();
+        var existing = openSearchClient.indices().get(GetIndexRequest.of(get -> get
+                .index(alias)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)));
+
+        // Quando o nome já é o alias a resposta traz os índices mensais, não um índice com o próprio nome
+        if (!existing.result().containsKey(alias)) {
+            return;
+        }
+
+        log.warn("Index {} predates the monthly indices, moving its transactions into {}", alias,
+                transactionIndices.pattern());
+
+        // Instâncias antigas ainda no ar não podem escrever no índice durante a cópia
+        blockWrites(alias, true);
+
+        // Com o alias no template os índices mensais não seriam criados enquanto o índice antigo existir
+        putTemplate(false);
+
+        var prefix = alias + "-";
+        var currentIndex = transactionIndices.monthIndex(YearMonth.now());
+        var reindexRequest = ReindexRequest.of(reindex -> reindex
+                .source(source -> source.index(alias))
+                .dest(dest -> dest.index(currentIndex).opType(OpType.Create))
+                .script(script -> script.inline(inline -> inline
+                        .lang(lang -> lang.builtin(BuiltinScriptLanguage.Painless))
+                        .source(MIGRATION_SCRIPT)
+                        .params("prefix", JsonData.of(prefix))
+                        .params("month", JsonData.of(currentIndex.substring(prefix.length())))))
+                .conflicts(Conflicts.Proceed)
+                .refresh(Refresh.True)
+                .waitForCompletion(false));
+
+        var result = awaitTask(openSearchClient.reindex(reindexRequest).task());
+
+        // Conflito é documento que outra instância já copiou
+        if (!result.failures().isEmpty() || valueOf(result.created()) + result.versionConflicts() < result.total()) {
+            blockWrites(alias, false);
+            throw new IllegalStateException("Copied " + valueOf(result.created()) + " of " + result.total()
+                    + " transactions from legacy index " + alias + " with " + result.failures().size()
+                    + " failures, the index was kept");
+        }
+
+        openSearchClient.indices().delete(DeleteIndexRequest.of(delete -> delete.index(alias)));
+        openSearchClient.indices().updateAliases(UpdateAliasesRequest.of(update -> update
+                .actions(action -> action.add(add -> add.index(transactionIndices.pattern()).alias(alias)))));
+
+        log.info("Moved {} transactions from legacy index {} into monthly indices", result.total(), alias);
+    }
+
+    private void putTemplate(boolean withAlias) throws IOException {
+        var templateName = transactionIndices.readAlias() + "-template";
+
+        var request = PutIndexTemplateRequest.of(template -> template
+                .name(templateName)
+                .indexPatterns(transactionIndices.pattern())
+                .priority(100)
+                .template(mapping -> mapping
+                        .settings(settings -> settings
+                                .numberOfShards(openSearchConfig.getIndexShards())
+                                .numberOfReplicas(openSearchConfig.getIndexReplicas()))
+                        .mappings(mapping())
+                        .aliases(withAlias ? Map.of(transactionIndices.readAlias(), Alias.of(alias -> alias))
+                                : Map.of())));
+
+        openSearchClient.indices().putIndexTemplate(request);
+        log.info("Index template {} installed for {}", templateName, transactionIndices.pattern());
+    }
+
+    /**
+     * O template só vale para índices novos. Campos adicionados depois são incluídos nos índices existentes, mas os
+     * documentos antigos só passam a preenchê-los quando reindexados.
+     */
+    public void updateExistingMappings() throws IOException {
+        var request = PutMappingRequest.of(mapping -> mapping
+                .index(transactionIndices.pattern())
+                .allowNoIndices(true)
+                .ignoreUnavailable(true)
+                .properties(mapping().properties()));
+
+        openSearchClient.indices().putMapping(request);
+        log.info("Mappings of existing indices {} updated", transactionIndices.pattern());
+    }
+
+    public void forceMerge(YearMonth month) {
+        var index = transactionIndices.monthIndex(month);
+
+        try {
+            var request = ForcemergeRequest.of(forceMerge -> forceMerge
+                    .index(index)
+                    .maxNumSegments(1L)
+                    .ignoreUnavailable(true));
+
+            openSearchClient.indices().forcemerge(request);
+            log.info("Index {} force merged to a single segment", index);
+        } catch (IOException exception) {
+            log.error("Error force merging index {}", index, exception);
+            throw new RuntimeException("Failed to force merge transactions index", exception);
+        }
+    }
+
+    private void blockWrites(String index, boolean blocked) throws IOException {
+        openSearchClient.indices().putSettings(PutIndicesSettingsRequest.of(settings -> settings
+                .index(index)
+                .settings(indexSettings -> indexSettings.blocks(blocks -> blocks.write(blocked)))));
+    }
+
+    private TaskResponse awaitTask(String taskId) throws IOException, InterruptedException {
+        while (true) {
+            var response = openSearchClient.tasks().get(GetTasksRequest.of(task -> task.taskId(taskId)));
+
+            if (response.completed()) {
+                if (response.error() != null) {
+                    throw new IllegalStateException("Legacy index migration task " + taskId + " failed: "
+                            + response.error().reason());
+                }
+
+                return response.response();
+            }
+
+            TimeUnit.SECONDS.sleep(MIGRATION_POLL_INTERVAL_SECONDS);
+        }
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private static TypeMapping mapping() {
+        // Os subcampos completion guardam os valores em um FST em memória, o prefixo é resolvido sem varrer documentos
+        return TypeMapping.of(mappings -> mappings
+                .properties("id", p -> p.keyword(k -> k))
+                .properties("date", p -> p.date(d -> d.format("strict_date_optional_time||epoch_millis")))
+                .properties("amount", p -> p.scaledFloat(s -> s.scalingFactor(100.0)))
+                .properties("description", p -> p.text(t -> t
+                        .fields("suggest", suggest -> suggest.completion(c -> c))))
+                .properties("merchant", p -> p.object(o -> o
+                        .properties("name", name -> name.keyword(k -> k
+                                .fields("suggest", suggest -> suggest.completion(c -> c))))
+                        .properties("category", category -> category.keyword(k -> k)))));
+    }
+
+    @Scheduled(cron = "${opensearch.index.force-merge-cron:0 0 3 1 * *}")
+    void forceMergePreviousMonth() {
+        try {
+            // O mês anterior não recebe mais escritas regulares, pode ser reduzido a um segmento
+            forceMerge(YearMonth.now().minusMonths(1));
+        } catch (Exception exception) {
+            log.error("Error in scheduled force merge", exception);
+        }
+    }
+}
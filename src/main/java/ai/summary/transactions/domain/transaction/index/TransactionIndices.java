@@ -0,0 +1,57 @@
+package ai.summary.transactions.domain.transaction.index;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nomes dos índices mensais de transações ({@code transactions-YYYY-MM}) e do alias de leitura que agrupa todos.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class TransactionIndices {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final OpenSearchConfig openSearchConfig;
+
+    public String readAlias() {
+        return openSearchConfig.getTransactionsIndex();
+    }
+
+    public String pattern() {
+        return readAlias() + "-*";
+    }
+
+    public String monthIndex(YearMonth month) {
+        return readAlias() + "-" + month.format(MONTH_FORMAT);
+    }
+
+    public String writeIndex(LocalDateTime date) {
+        // Sem data o documento vai para o mês corrente
+        return monthIndex(YearMonth.from(date != null ? date : LocalDateTime.now()));
+    }
+
+    public List<String> readIndices(LocalDate startDate, LocalDate endDate) {
+        // Intervalo aberto ou invertido: consulta todos os meses pelo alias
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return List.of(readAlias());
+        }
+
+        var indices = new ArrayList<String>();
+        var lastMonth = YearMonth.from(endDate);
+
+        for (var month = YearMonth.from(startDate); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            indices.add(monthIndex(month));
+        }
+
+        return indices;
+    }
+}
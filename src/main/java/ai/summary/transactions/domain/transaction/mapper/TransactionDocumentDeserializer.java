@@ -0,0 +1,83 @@
+package ai.summary.transactions.domain.transaction.mapper;
+
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Converte o _source de um documento do OpenSearch diretamente em {@link Transaction}, lendo os tokens em uma
+ * única passada, sem materializar um Map intermediário.
+ */
+public class TransactionDocumentDeserializer extends StdDeserializer<Transaction> {
+
+    public TransactionDocumentDeserializer() {
+        super(Transaction.class);
+    }
+
+    @Override
+    public Transaction deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        UUID id = null;
+        LocalDateTime date = null;
+        BigDecimal amount = null;
+        String description = null;
+        Merchant merchant = null;
+
+        var token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "id" -> id = UUID.fromString(parser.getText());
+                case "date" -> date = LocalDateTime.parse(parser.getText());
+                case "amount" -> amount = value == JsonToken.VALUE_STRING ? new BigDecimal(parser.getText())
+                        : parser.getDecimalValue();
+                case "description" -> description = parser.getText();
+                case "merchant" -> merchant = readMerchant(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Transaction(id, date, amount, description, merchant);
+    }
+
+    private Merchant readMerchant(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String name = null;
+        String category = null;
+
+        for (var token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "name" -> name = parser.getText();
+                case "category" -> category = parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Merchant(name, category);
+    }
+}
@@ -6,9 +6,19 @@ import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import ai.summary.transactions.domain.transaction.model.BulkResult;
+import ai.summary.transactions.domain.transaction.model.ImportResult;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionSuggestions;
+import ai.summary.transactions.domain.transaction.model.TransactionTaskStatus;
+import ai.summary.transactions.model.BulkTransactionsResponse;
 import ai.summary.transactions.model.CreateTransactionRequest;
+import ai.summary.transactions.model.ImportTransactionsResponse;
+import ai.summary.transactions.model.SpendingAggregationsResponse;
 import ai.summary.transactions.model.TransactionApiResponse;
+import ai.summary.transactions.model.TransactionSuggestionsResponse;
+import ai.summary.transactions.model.TransactionTaskStatusResponse;
 import ai.summary.transactions.model.UpdateTransactionRequest;
 
 @Mapper(componentModel = "jsr330")
@@ -18,6 +28,16 @@ public interface TransactionMapper {
 
     List<TransactionApiResponse> toApi(List<Transaction> transactions);
 
+    BulkTransactionsResponse toApi(BulkResult bulkResult);
+
+    ImportTransactionsResponse toApi(ImportResult importResult);
+
+    SpendingAggregationsResponse toApi(SpendingAggregation spendingAggregation);
+
+    TransactionSuggestionsResponse toApi(TransactionSuggestions transactionSuggestions);
+
+    TransactionTaskStatusResponse toApi(TransactionTaskStatus transactionTaskStatus);
+
     @Mapping(target = "id", ignore = true)
     Transaction toDomain(CreateTransactionRequest createTransactionRequest);
 
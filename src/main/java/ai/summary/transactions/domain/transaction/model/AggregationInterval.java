@@ -0,0 +1,7 @@
+package ai.summary.transactions.domain.transaction.model;
+
+public enum AggregationInterval {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,19 @@
+package ai.summary.transactions.domain.transaction.model;
+
+/**
+ * Item de uma carga em lote com a posição dele na origem. Um item que não chegou a virar transação, por estar
+ * malformado ou inválido, leva só o motivo em {@code rejection} e aparece como falha no resultado.
+ */
+public record BulkItem(
+        long position,
+        Transaction transaction,
+        String rejection) {
+
+    public static BulkItem of(long position, Transaction transaction) {
+        return new BulkItem(position, transaction, null);
+    }
+
+    public static BulkItem rejected(long position, String rejection) {
+        return new BulkItem(position, null, rejection);
+    }
+}
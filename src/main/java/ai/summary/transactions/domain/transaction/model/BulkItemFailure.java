@@ -0,0 +1,9 @@
+package ai.summary.transactions.domain.transaction.model;
+
+public record BulkItemFailure(
+        long position,
+        String id,
+        int status,
+        String reason) {
+
+}
@@ -0,0 +1,12 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.util.List;
+
+public record BulkResult(
+        long total,
+        long created,
+        long failed,
+        long took,
+        List<BulkItemFailure> failures) {
+
+}
@@ -0,0 +1,6 @@
+package ai.summary.transactions.domain.transaction.model;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
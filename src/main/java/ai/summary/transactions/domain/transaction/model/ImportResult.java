@@ -0,0 +1,14 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.util.List;
+
+public record ImportResult(
+        long rows,
+        long imported,
+        long rejected,
+        long failed,
+        long took,
+        double rowsPerSecond,
+        List<BulkItemFailure> failures) {
+
+}
@@ -0,0 +1,14 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record SpendingAggregation(
+        long count,
+        BigDecimal total,
+        BigDecimal average,
+        List<SpendingBucket> byCategory,
+        List<SpendingBucket> byMerchant,
+        List<SpendingBucket> overTime) {
+
+}
@@ -0,0 +1,11 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.math.BigDecimal;
+
+public record SpendingBucket(
+        String key,
+        long count,
+        BigDecimal total,
+        BigDecimal average) {
+
+}
@@ -0,0 +1,58 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da listagem de transações. Campos nulos não restringem o resultado.
+ */
+public record TransactionFilter(
+        LocalDate startDate,
+        LocalDate endDate,
+        String merchant,
+        String category,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        String description) {
+
+    public static TransactionFilter period(LocalDate startDate, LocalDate endDate) {
+        return new TransactionFilter(startDate, endDate, null, null, null, null, null);
+    }
+
+    /**
+     * O mesmo filtro com os valores sem zeros à direita. {@link BigDecimal#equals} compara a escala, e 10 e 10.00
+     * devem cair na mesma entrada de cache.
+     */
+    public TransactionFilter normalized() {
+        return new TransactionFilter(startDate, endDate, merchant, category, stripped(minAmount), stripped(maxAmount),
+                description);
+    }
+
+    /**
+     * Se a data cai no período do filtro. Os demais campos não são comparados, então o resultado pode ser um falso
+     * positivo; data nula é tratada como dentro de qualquer período.
+     */
+    public boolean covers(LocalDateTime date) {
+        if (date == null) {
+            return true;
+        }
+
+        var day = date.toLocalDate();
+        return (startDate == null || !day.isBefore(startDate))
+                && (endDate == null || !day.isAfter(endDate));
+    }
+
+    /**
+     * Se o período do filtro tem algum dia em comum com o período informado. Datas nulas em qualquer dos dois não
+     * limitam aquele lado.
+     */
+    public boolean overlaps(LocalDate periodStart, LocalDate periodEnd) {
+        return (startDate == null || periodEnd == null || !startDate.isAfter(periodEnd))
+                && (endDate == null || periodStart == null || !endDate.isBefore(periodStart));
+    }
+
+    private static BigDecimal stripped(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros() : null;
+    }
+}
@@ -0,0 +1,8 @@
+package ai.summary.transactions.domain.transaction.model;
+
+public enum TransactionSort {
+    DATE_DESC,
+    DATE_ASC,
+    AMOUNT_DESC,
+    AMOUNT_ASC
+}
@@ -0,0 +1,9 @@
+package ai.summary.transactions.domain.transaction.model;
+
+import java.util.List;
+
+public record TransactionSuggestions(
+        List<String> merchants,
+        List<String> descriptions) {
+
+}
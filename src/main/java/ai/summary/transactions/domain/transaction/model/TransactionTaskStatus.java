@@ -0,0 +1,18 @@
+package ai.summary.transactions.domain.transaction.model;
+
+/**
+ * Progresso de uma tarefa em segundo plano do OpenSearch. Enquanto roda os contadores refletem o que as fatias já
+ * processaram; {@code error} só vem preenchido quando a tarefa falhou.
+ */
+public record TransactionTaskStatus(
+        String taskId,
+        boolean completed,
+        long total,
+        long updated,
+        long deleted,
+        long versionConflicts,
+        long failures,
+        long runningTimeMillis,
+        String error) {
+
+}
@@ -0,0 +1,10 @@
+package ai.summary.transactions.domain.transaction.model;
+
+/**
+ * Valor acompanhado da versão usada no controle de concorrência otimista, exposta aos clientes como ETag.
+ */
+public record Versioned<T>(
+        T value,
+        String version) {
+
+}
@@ -1,7 +1,9 @@
 package ai.summary.transactions.application;
 
+import ai.summary.transactions.domain.ai.cache.AiResponseCache;
 import ai.summary.transactions.domain.ai.insights.AITransactionInsightsService;
 import ai.summary.transactions.domain.ai.summary.AITransactionSummaryService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +12,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +33,9 @@ class AISummaryTransactionAppTest {
     @Mock
     private AITransactionInsightsService aiTransactionInsightsService;
 
+    @Mock
+    private AiResponseCache aiResponseCache;
+
     @InjectMocks
     private AISummaryTransactionApp aiSummaryTransactionApp;
 
@@ -36,6 +46,15 @@ class AISummaryTransactionAppTest {
     private final String EXPECTED_SUMMARY = "Suas despesas de alimentação em janeiro de 2024 totalizaram R$ 850,00.";
     private final String EXPECTED_INSIGHTS = "Baseado na análise, você gastou 25% a mais em alimentação comparado ao mês anterior.";
 
+    @BeforeEach
+    void setUp() {
+        // Sem resposta guardada: o cache só repassa para o serviço
+        lenient().when(aiResponseCache.question(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<String>>getArgument(1).get());
+        lenient().when(aiResponseCache.insights(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<String>>getArgument(3).get());
+    }
+
     @Test
     @DisplayName("Deve processar pergunta com sucesso e retornar resumo")
     void shouldProcessQuestionSuccessfullyAndReturnSummary() {
@@ -100,4 +119,32 @@ class AISummaryTransactionAppTest {
 
         verify(aiTransactionInsightsService).generateInsights(VALID_SCENARIO, START_DATE, END_DATE);
     }
+
+    @Test
+    @DisplayName("Deve retornar resposta do cache sem chamar o serviço de resumo")
+    void shouldReturnCachedSummaryWithoutCallingService() {
+        // Given
+        doReturn(EXPECTED_SUMMARY).when(aiResponseCache).question(any(), any());
+
+        // When
+        var result = aiSummaryTransactionApp.processByList(VALID_QUESTION);
+
+        // Then
+        assertThat(result).isEqualTo(EXPECTED_SUMMARY);
+        verifyNoInteractions(aiTransactionSummaryService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar insights do cache sem chamar o serviço de insights")
+    void shouldReturnCachedInsightsWithoutCallingService() {
+        // Given
+        doReturn(EXPECTED_INSIGHTS).when(aiResponseCache).insights(any(), any(), any(), any());
+
+        // When
+        var result = aiSummaryTransactionApp.processByInsights(VALID_SCENARIO, START_DATE, END_DATE);
+
+        // Then
+        assertThat(result).isEqualTo(EXPECTED_INSIGHTS);
+        verifyNoInteractions(aiTransactionInsightsService);
+    }
 }
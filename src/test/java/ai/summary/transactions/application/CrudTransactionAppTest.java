@@ -1,13 +1,29 @@
 package ai.summary.transactions.application;
 
+import ai.summary.transactions.domain.transaction.TransactionAsyncService;
 import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.TransactionTaskService;
 import ai.summary.transactions.domain.transaction.mapper.TransactionMapper;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.BulkResult;
 import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionPage;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import ai.summary.transactions.model.BulkTransactionsResponse;
 import ai.summary.transactions.model.CreateTransactionRequest;
+import ai.summary.transactions.model.GetAllTransactionsSortParameter;
+import ai.summary.transactions.model.GetTransactionAggregationsIntervalParameter;
 import ai.summary.transactions.model.MerchantApiResponse;
+import ai.summary.transactions.model.SpendingAggregationsResponse;
 import ai.summary.transactions.model.TransactionApiResponse;
 import ai.summary.transactions.model.UpdateTransactionRequest;
+import io.micronaut.json.JsonMapper;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,17 +32,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,17 +65,37 @@ class CrudTransactionAppTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionAsyncService transactionAsyncService;
+
+    @Mock
+    private TransactionTaskService transactionTaskService;
+
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private JsonMapper jsonMapper;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private CrudTransactionApp crudTransactionApp;
 
     private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
     private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
     private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final TransactionFilter FILTER = TransactionFilter.period(START_DATE, END_DATE);
+    private final TransactionFilter NO_FILTER = TransactionFilter.period(null, null);
+    private final TransactionSort SORT = TransactionSort.DATE_DESC;
+    private final GetAllTransactionsSortParameter API_SORT = GetAllTransactionsSortParameter.DATE_DESC;
     private final int LIMIT = 10;
     private final int OFFSET = 0;
+    private final String CURSOR = "Y3Vyc29y";
+    private final String NEXT_CURSOR = "cHJveGltbw";
+    private final long TOTAL = 1234L;
+    private final String VERSION = "dHJhbnNhY3Rpb25zLTIwMjQtMDEKNwox";
 
     private Transaction domainTransaction;
     private TransactionApiResponse apiTransaction;
@@ -75,61 +123,96 @@ class CrudTransactionAppTest {
     }
 
     @Test
-    @DisplayName("Deve buscar transações por filtros com sucesso")
+    @DisplayName("Deve buscar transações por filtros com o total do período")
     void shouldFindTransactionsByFiltersSuccessfully() {
         // Given
         var domainTransactions = List.of(domainTransaction);
         var apiTransactions = List.of(apiTransaction);
 
-        when(transactionService.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenReturn(Optional.of(domainTransactions));
+        when(transactionAsyncService.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.completedFuture(new TransactionPage(domainTransactions, null)));
+        when(transactionAsyncService.count(FILTER))
+                .thenReturn(CompletableFuture.completedFuture(TOTAL));
         when(transactionMapper.toApi(domainTransactions))
                 .thenReturn(apiTransactions);
 
         // When
-        var result = crudTransactionApp.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        var result = crudTransactionApp.findPage(FILTER, API_SORT, LIMIT, OFFSET, null).join();
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(1);
-        assertThat(result.get().get(0)).isEqualTo(apiTransaction);
-
-        verify(transactionService).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        assertThat(result.get().getTransactions()).hasSize(1);
+        assertThat(result.get().getTransactions().get(0)).isEqualTo(apiTransaction);
+        assertThat(result.get().getTotal()).isEqualTo(TOTAL);
+        assertThat(result.get().getLimit()).isEqualTo(LIMIT);
+        assertThat(result.get().getOffset()).isEqualTo(OFFSET);
+        assertThat(result.get().getCursor()).isNull();
+
+        verify(transactionAsyncService).findPage(FILTER, SORT, LIMIT, OFFSET, null);
         verify(transactionMapper).toApi(domainTransactions);
     }
 
     @Test
-    @DisplayName("Deve retornar Optional vazio quando não há transações")
-    void shouldReturnEmptyOptionalWhenNoTransactionsFound() {
+    @DisplayName("Deve repassar o cursor recebido e devolver o cursor da próxima página")
+    void shouldPassCursorAndReturnNextPageCursor() {
         // Given
-        when(transactionService.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenReturn(Optional.empty());
+        var domainTransactions = List.of(domainTransaction);
+        var apiTransactions = List.of(apiTransaction);
+
+        when(transactionAsyncService.findPage(FILTER, SORT, LIMIT, OFFSET, CURSOR))
+                .thenReturn(CompletableFuture.completedFuture(new TransactionPage(domainTransactions, NEXT_CURSOR)));
+        when(transactionAsyncService.count(FILTER))
+                .thenReturn(CompletableFuture.completedFuture(TOTAL));
+        when(transactionMapper.toApi(domainTransactions))
+                .thenReturn(apiTransactions);
 
         // When
-        var result = crudTransactionApp.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        var result = crudTransactionApp.findPage(FILTER, API_SORT, LIMIT, OFFSET, CURSOR).join();
 
         // Then
-        assertThat(result).isEmpty();
-        verify(transactionService).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        assertThat(result).isPresent();
+        assertThat(result.get().getCursor()).isEqualTo(NEXT_CURSOR);
+        verify(transactionAsyncService).findPage(FILTER, SORT, LIMIT, OFFSET, CURSOR);
+    }
+
+    @Test
+    @DisplayName("Deve agregar gastos convertendo o intervalo da API para o domínio")
+    void shouldAggregateSpendingConvertingInterval() {
+        // Given
+        var spendingAggregation = new SpendingAggregation(1, new BigDecimal("150.50"), new BigDecimal("150.50"),
+                List.of(), List.of(), List.of());
+        var aggregationsResponse = new SpendingAggregationsResponse().count(1L);
+
+        when(transactionService.aggregate(START_DATE, END_DATE, AggregationInterval.WEEK, LIMIT))
+                .thenReturn(spendingAggregation);
+        when(transactionMapper.toApi(spendingAggregation)).thenReturn(aggregationsResponse);
+
+        // When
+        var result = crudTransactionApp.aggregate(START_DATE, END_DATE,
+                GetTransactionAggregationsIntervalParameter.WEEK, LIMIT);
+
+        // Then
+        assertThat(result).isEqualTo(aggregationsResponse);
+        verify(transactionService).aggregate(START_DATE, END_DATE, AggregationInterval.WEEK, LIMIT);
     }
 
     @Test
     @DisplayName("Deve buscar transação por ID com sucesso")
     void shouldGetTransactionByIdSuccessfully() {
         // Given
-        when(transactionService.getById(TRANSACTION_ID))
-                .thenReturn(Optional.of(domainTransaction));
+        when(transactionAsyncService.getById(TRANSACTION_ID))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Optional.of(new Versioned<>(domainTransaction, VERSION))));
         when(transactionMapper.toApi(domainTransaction))
                 .thenReturn(apiTransaction);
 
         // When
-        var result = crudTransactionApp.getById(TRANSACTION_ID);
+        var result = crudTransactionApp.getById(TRANSACTION_ID).join();
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(apiTransaction);
+        assertThat(result).contains(new Versioned<>(apiTransaction, VERSION));
 
-        verify(transactionService).getById(TRANSACTION_ID);
+        verify(transactionAsyncService).getById(TRANSACTION_ID);
         verify(transactionMapper).toApi(domainTransaction);
     }
 
@@ -137,15 +220,15 @@ class CrudTransactionAppTest {
     @DisplayName("Deve retornar Optional vazio quando transação não existe")
     void shouldReturnEmptyOptionalWhenTransactionNotFound() {
         // Given
-        when(transactionService.getById(TRANSACTION_ID))
-                .thenReturn(Optional.empty());
+        when(transactionAsyncService.getById(TRANSACTION_ID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When
-        var result = crudTransactionApp.getById(TRANSACTION_ID);
+        var result = crudTransactionApp.getById(TRANSACTION_ID).join();
 
         // Then
         assertThat(result).isEmpty();
-        verify(transactionService).getById(TRANSACTION_ID);
+        verify(transactionAsyncService).getById(TRANSACTION_ID);
     }
 
     @Test
@@ -154,19 +237,19 @@ class CrudTransactionAppTest {
         // Given
         when(transactionMapper.toDomain(createRequest))
                 .thenReturn(domainTransaction);
-        when(transactionService.create(domainTransaction))
-                .thenReturn(domainTransaction);
+        when(transactionAsyncService.create(domainTransaction, null))
+                .thenReturn(CompletableFuture.completedFuture(domainTransaction));
         when(transactionMapper.toApi(domainTransaction))
                 .thenReturn(apiTransaction);
 
         // When
-        var result = crudTransactionApp.create(createRequest);
+        var result = crudTransactionApp.create(createRequest, null).join();
 
         // Then
         assertThat(result).isEqualTo(apiTransaction);
 
         verify(transactionMapper).toDomain(createRequest);
-        verify(transactionService).create(domainTransaction);
+        verify(transactionAsyncService).create(domainTransaction, null);
         verify(transactionMapper).toApi(domainTransaction);
     }
 
@@ -190,20 +273,20 @@ class CrudTransactionAppTest {
 
         when(transactionMapper.toDomain(updateRequest))
                 .thenReturn(domainTransaction);
-        when(transactionService.update(TRANSACTION_ID, domainTransaction))
-                .thenReturn(Optional.of(updatedDomainTransaction));
+        when(transactionAsyncService.update(TRANSACTION_ID, domainTransaction, VERSION))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Optional.of(new Versioned<>(updatedDomainTransaction, VERSION))));
         when(transactionMapper.toApi(updatedDomainTransaction))
                 .thenReturn(updatedApiTransaction);
 
         // When
-        var result = crudTransactionApp.update(TRANSACTION_ID, updateRequest);
+        var result = crudTransactionApp.update(TRANSACTION_ID, updateRequest, VERSION).join();
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(updatedApiTransaction);
+        assertThat(result).contains(new Versioned<>(updatedApiTransaction, VERSION));
 
         verify(transactionMapper).toDomain(updateRequest);
-        verify(transactionService).update(TRANSACTION_ID, domainTransaction);
+        verify(transactionAsyncService).update(TRANSACTION_ID, domainTransaction, VERSION);
         verify(transactionMapper).toApi(updatedDomainTransaction);
     }
 
@@ -213,17 +296,17 @@ class CrudTransactionAppTest {
         // Given
         when(transactionMapper.toDomain(updateRequest))
                 .thenReturn(domainTransaction);
-        when(transactionService.update(TRANSACTION_ID, domainTransaction))
-                .thenReturn(Optional.empty());
+        when(transactionAsyncService.update(TRANSACTION_ID, domainTransaction, VERSION))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When
-        var result = crudTransactionApp.update(TRANSACTION_ID, updateRequest);
+        var result = crudTransactionApp.update(TRANSACTION_ID, updateRequest, VERSION).join();
 
         // Then
         assertThat(result).isEmpty();
 
         verify(transactionMapper).toDomain(updateRequest);
-        verify(transactionService).update(TRANSACTION_ID, domainTransaction);
+        verify(transactionAsyncService).update(TRANSACTION_ID, domainTransaction, VERSION);
     }
 
     @Test
@@ -235,7 +318,7 @@ class CrudTransactionAppTest {
         crudTransactionApp.delete(TRANSACTION_ID);
 
         // Then
-        verify(transactionService).delete(TRANSACTION_ID);
+        verify(transactionAsyncService).delete(TRANSACTION_ID);
     }
 
     @Test
@@ -243,16 +326,17 @@ class CrudTransactionAppTest {
     void shouldThrowRuntimeExceptionWhenFindByFiltersFails() {
         // Given
         var exception = new RuntimeException("Erro de conexão com OpenSearch");
-        when(transactionService.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
+        when(transactionAsyncService.findPage(FILTER, SORT, LIMIT, OFFSET, null))
                 .thenThrow(exception);
 
         // When & Then
-        assertThatThrownBy(() -> crudTransactionApp.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> crudTransactionApp.findPage(FILTER, API_SORT, LIMIT, OFFSET, null).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .hasMessage("Failed to retrieve transactions")
                 .hasCause(exception);
 
-        verify(transactionService).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        verify(transactionAsyncService).findPage(FILTER, SORT, LIMIT, OFFSET, null);
     }
 
     @Test
@@ -260,16 +344,17 @@ class CrudTransactionAppTest {
     void shouldThrowRuntimeExceptionWhenGetByIdFails() {
         // Given
         var exception = new RuntimeException("Erro de conexão com OpenSearch");
-        when(transactionService.getById(TRANSACTION_ID))
+        when(transactionAsyncService.getById(TRANSACTION_ID))
                 .thenThrow(exception);
 
         // When & Then
-        assertThatThrownBy(() -> crudTransactionApp.getById(TRANSACTION_ID))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> crudTransactionApp.getById(TRANSACTION_ID).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .hasMessage("Failed to retrieve transaction")
                 .hasCause(exception);
 
-        verify(transactionService).getById(TRANSACTION_ID);
+        verify(transactionAsyncService).getById(TRANSACTION_ID);
     }
 
     @Test
@@ -279,17 +364,18 @@ class CrudTransactionAppTest {
         var exception = new RuntimeException("Erro ao salvar no OpenSearch");
         when(transactionMapper.toDomain(createRequest))
                 .thenReturn(domainTransaction);
-        when(transactionService.create(domainTransaction))
+        when(transactionAsyncService.create(domainTransaction, null))
                 .thenThrow(exception);
 
         // When & Then
-        assertThatThrownBy(() -> crudTransactionApp.create(createRequest))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> crudTransactionApp.create(createRequest, null).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .hasMessage("Failed to create transaction")
                 .hasCause(exception);
 
         verify(transactionMapper).toDomain(createRequest);
-        verify(transactionService).create(domainTransaction);
+        verify(transactionAsyncService).create(domainTransaction, null);
     }
 
     @Test
@@ -299,17 +385,18 @@ class CrudTransactionAppTest {
         var exception = new RuntimeException("Erro ao atualizar no OpenSearch");
         when(transactionMapper.toDomain(updateRequest))
                 .thenReturn(domainTransaction);
-        when(transactionService.update(TRANSACTION_ID, domainTransaction))
+        when(transactionAsyncService.update(TRANSACTION_ID, domainTransaction, VERSION))
                 .thenThrow(exception);
 
         // When & Then
-        assertThatThrownBy(() -> crudTransactionApp.update(TRANSACTION_ID, updateRequest))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> crudTransactionApp.update(TRANSACTION_ID, updateRequest, VERSION).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .hasMessage("Failed to update transaction")
                 .hasCause(exception);
 
         verify(transactionMapper).toDomain(updateRequest);
-        verify(transactionService).update(TRANSACTION_ID, domainTransaction);
+        verify(transactionAsyncService).update(TRANSACTION_ID, domainTransaction, VERSION);
     }
 
     @Test
@@ -317,15 +404,16 @@ class CrudTransactionAppTest {
     void shouldThrowRuntimeExceptionWhenDeleteFails() {
         // Given
         var exception = new RuntimeException("Erro ao deletar do OpenSearch");
-        doThrow(exception).when(transactionService).delete(TRANSACTION_ID);
+        doThrow(exception).when(transactionAsyncService).delete(TRANSACTION_ID);
 
         // When & Then
-        assertThatThrownBy(() -> crudTransactionApp.delete(TRANSACTION_ID))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> crudTransactionApp.delete(TRANSACTION_ID).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .hasMessage("Failed to delete transaction")
                 .hasCause(exception);
 
-        verify(transactionService).delete(TRANSACTION_ID);
+        verify(transactionAsyncService).delete(TRANSACTION_ID);
     }
 
     @Test
@@ -335,19 +423,21 @@ class CrudTransactionAppTest {
         var domainTransactions = List.of(domainTransaction);
         var apiTransactions = List.of(apiTransaction);
 
-        when(transactionService.findByFilters(null, null, LIMIT, OFFSET))
-                .thenReturn(Optional.of(domainTransactions));
+        when(transactionAsyncService.findPage(NO_FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.completedFuture(new TransactionPage(domainTransactions, null)));
+        when(transactionAsyncService.count(NO_FILTER))
+                .thenReturn(CompletableFuture.completedFuture(TOTAL));
         when(transactionMapper.toApi(domainTransactions))
                 .thenReturn(apiTransactions);
 
         // When
-        var result = crudTransactionApp.findByFilters(null, null, LIMIT, OFFSET);
+        var result = crudTransactionApp.findPage(NO_FILTER, API_SORT, LIMIT, OFFSET, null).join();
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(1);
+        assertThat(result.get().getTransactions()).hasSize(1);
 
-        verify(transactionService).findByFilters(null, null, LIMIT, OFFSET);
+        verify(transactionAsyncService).findPage(NO_FILTER, SORT, LIMIT, OFFSET, null);
         verify(transactionMapper).toApi(domainTransactions);
     }
 
@@ -370,20 +460,104 @@ class CrudTransactionAppTest {
                 apiMerchant);
         var apiTransactions = List.of(apiTransaction, secondApiTransaction);
 
-        when(transactionService.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenReturn(Optional.of(domainTransactions));
+        when(transactionAsyncService.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.completedFuture(new TransactionPage(domainTransactions, null)));
+        when(transactionAsyncService.count(FILTER))
+                .thenReturn(CompletableFuture.completedFuture(TOTAL));
         when(transactionMapper.toApi(domainTransactions))
                 .thenReturn(apiTransactions);
 
         // When
-        var result = crudTransactionApp.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        var result = crudTransactionApp.findPage(FILTER, API_SORT, LIMIT, OFFSET, null).join();
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(2);
-        assertThat(result.get()).containsExactly(apiTransaction, secondApiTransaction);
+        assertThat(result.get().getTransactions()).hasSize(2);
+        assertThat(result.get().getTransactions()).containsExactly(apiTransaction, secondApiTransaction);
 
-        verify(transactionService).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        verify(transactionAsyncService).findPage(FILTER, SORT, LIMIT, OFFSET, null);
         verify(transactionMapper).toApi(domainTransactions);
     }
+
+    @Test
+    @DisplayName("Deve criar transações em lote a partir de array JSON lido sob demanda")
+    void shouldBulkCreateTransactionsFromJsonArray() throws Exception {
+        // Given
+        var body = "[{\"description\":\"Compra 1\"}, {\"description\":\"Compra 2\"}]";
+        var bulkResult = new BulkResult(2, 2, 0, 5, List.of());
+        var bulkResponse = new BulkTransactionsResponse().total(2L).created(2L).failed(0L).took(5L);
+
+        when(jsonMapper.readValue(anyString(), eq(CreateTransactionRequest.class)))
+                .thenReturn(createRequest);
+        when(validator.validate(createRequest))
+                .thenReturn(Set.of());
+        when(transactionMapper.toDomain(createRequest))
+                .thenReturn(domainTransaction);
+        when(transactionService.bulkCreate(any()))
+                .thenAnswer(invocation -> {
+                    Stream<BulkItem> items = invocation.getArgument(0);
+                    assertThat(items).containsExactly(BulkItem.of(0, domainTransaction),
+                            BulkItem.of(1, domainTransaction));
+                    return bulkResult;
+                });
+        when(transactionMapper.toApi(bulkResult))
+                .thenReturn(bulkResponse);
+
+        // When
+        var result = crudTransactionApp.bulkCreate(stream(body));
+
+        // Then
+        assertThat(result).isEqualTo(bulkResponse);
+        verify(jsonMapper).readValue("{\"description\":\"Compra 1\"}", CreateTransactionRequest.class);
+        verify(jsonMapper).readValue("{\"description\":\"Compra 2\"}", CreateTransactionRequest.class);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar linhas em branco e rejeitar linhas malformadas do NDJSON")
+    void shouldBulkCreateTransactionsFromNdjsonRejectingMalformedLines() throws Exception {
+        // Given
+        var line = "{\"description\":\"Compra no supermercado\"}";
+        var bulkResult = new BulkResult(2, 1, 1, 5, List.of());
+        var bulkResponse = new BulkTransactionsResponse().total(2L).created(1L).failed(1L).took(5L);
+
+        when(jsonMapper.readValue(line, CreateTransactionRequest.class))
+                .thenReturn(createRequest);
+        when(jsonMapper.readValue("{invalido", CreateTransactionRequest.class))
+                .thenThrow(new IOException("Unexpected character"));
+        when(validator.validate(createRequest))
+                .thenReturn(Set.of());
+        when(transactionMapper.toDomain(createRequest))
+                .thenReturn(domainTransaction);
+        when(transactionService.bulkCreate(any()))
+                .thenAnswer(invocation -> {
+                    Stream<BulkItem> items = invocation.getArgument(0);
+                    assertThat(items).containsExactly(BulkItem.of(0, domainTransaction),
+                            BulkItem.rejected(1, "Malformed transaction"));
+                    return bulkResult;
+                });
+        when(transactionMapper.toApi(bulkResult))
+                .thenReturn(bulkResponse);
+
+        // When
+        var result = crudTransactionApp.bulkCreate(stream(line + "\n\n{invalido\n"));
+
+        // Then
+        assertThat(result).isEqualTo(bulkResponse);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar corpo que não é JSON sem enviar ao OpenSearch")
+    void shouldRejectBodyThatIsNotJson() {
+        // When & Then
+        assertThatThrownBy(() -> crudTransactionApp.bulkCreate(stream("date,amount\n")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Failed to create transactions in bulk")
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+
+        verify(transactionService, never()).bulkCreate(any());
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
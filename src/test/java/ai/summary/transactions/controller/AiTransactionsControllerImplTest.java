@@ -54,7 +54,7 @@ class AiTransactionsControllerImplTest {
 
         // When
         var response = aiTransactionsController.processAITransactionSummary(
-                START_DATE, END_DATE, processRequest);
+                START_DATE, END_DATE, processRequest).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -74,7 +74,7 @@ class AiTransactionsControllerImplTest {
 
         // When
         var response = aiTransactionsController.processAITransactionSummary(
-                START_DATE, END_DATE, processRequest);
+                START_DATE, END_DATE, processRequest).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -92,7 +92,7 @@ class AiTransactionsControllerImplTest {
 
         // When
         var response = aiTransactionsController.getAITransactionInsights(
-                scenarioParameter, START_DATE, END_DATE);
+                scenarioParameter, START_DATE, END_DATE).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -112,7 +112,7 @@ class AiTransactionsControllerImplTest {
 
         // When
         var response = aiTransactionsController.getAITransactionInsights(
-                scenarioParameter, START_DATE, END_DATE);
+                scenarioParameter, START_DATE, END_DATE).block();
 
         // Then
         assertThat(response).isNotNull();
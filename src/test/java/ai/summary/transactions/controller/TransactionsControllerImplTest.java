@@ -1,11 +1,31 @@
 package ai.summary.transactions.controller;
 
 import ai.summary.transactions.application.CrudTransactionApp;
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport.CircuitBreakerOpenException;
+import ai.summary.transactions.core.resilience.ResilientOpenSearchTransport.ReadTimeoutException;
+import ai.summary.transactions.domain.transaction.IdempotencyKeyReusedException;
+import ai.summary.transactions.domain.transaction.TransactionConflictException;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import ai.summary.transactions.model.BulkTransactionsResponse;
 import ai.summary.transactions.model.CreateTransactionRequest;
+import ai.summary.transactions.model.DeleteTransactionsTaskRequest;
+import ai.summary.transactions.model.ExportTransactionsFormatParameter;
+import ai.summary.transactions.model.GetAllTransactions200Response;
+import ai.summary.transactions.model.GetAllTransactionsSortParameter;
+import ai.summary.transactions.model.GetTransactionAggregationsIntervalParameter;
+import ai.summary.transactions.model.ImportTransactionsResponse;
 import ai.summary.transactions.model.MerchantApiResponse;
+import ai.summary.transactions.model.RecategorizeTransactionsTaskRequest;
+import ai.summary.transactions.model.SpendingAggregationsResponse;
 import ai.summary.transactions.model.TransactionApiResponse;
+import ai.summary.transactions.model.TransactionSuggestionsResponse;
+import ai.summary.transactions.model.TransactionTaskResponse;
 import ai.summary.transactions.model.UpdateTransactionRequest;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.multipart.CompletedFileUpload;
+import io.micronaut.http.server.types.files.StreamedFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,14 +34,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,8 +64,14 @@ class TransactionsControllerImplTest {
     private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
     private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
     private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final TransactionFilter FILTER = TransactionFilter.period(START_DATE, END_DATE);
+    private final GetAllTransactionsSortParameter SORT = GetAllTransactionsSortParameter.DATE_DESC;
     private final Integer LIMIT = 10;
     private final Integer OFFSET = 0;
+    private final String NEXT_CURSOR = "cHJveGltbw";
+    private final String VERSION = "dHJhbnNhY3Rpb25zLTIwMjQtMDEKNwox";
+    private final String ETAG = "\"" + VERSION + "\"";
+    private final String TASK_ID = "oTUltX4IQMOUUVeiohTt8A:12345";
 
     private TransactionApiResponse transactionResponse;
     private CreateTransactionRequest createRequest;
@@ -63,12 +95,12 @@ class TransactionsControllerImplTest {
     @DisplayName("Deve buscar todas as transações com sucesso")
     void shouldGetAllTransactionsSuccessfully() {
         // Given
-        var transactions = List.of(transactionResponse);
-        when(transactionsCrudApplication.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenReturn(Optional.of(transactions));
+        when(transactionsCrudApplication.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(page(LIMIT, OFFSET))));
 
         // When
-        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE);
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, null,
+                null, null, null, null, null, null).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -81,20 +113,21 @@ class TransactionsControllerImplTest {
         assertThat(responseBody.getTotal()).isEqualTo(1);
         assertThat(responseBody.getLimit()).isEqualTo(LIMIT);
         assertThat(responseBody.getOffset()).isEqualTo(OFFSET);
+        assertThat(responseBody.getCursor()).isEqualTo(NEXT_CURSOR);
 
-        verify(transactionsCrudApplication).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        verify(transactionsCrudApplication).findPage(FILTER, SORT, LIMIT, OFFSET, null);
     }
 
     @Test
     @DisplayName("Deve usar valores padrão quando limit e offset são nulos")
     void shouldUseDefaultValuesWhenLimitAndOffsetAreNull() {
         // Given
-        var transactions = List.of(transactionResponse);
-        when(transactionsCrudApplication.findByFilters(START_DATE, END_DATE, 20, 0))
-                .thenReturn(Optional.of(transactions));
+        when(transactionsCrudApplication.findPage(FILTER, SORT, 20, 0, null))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(page(20, 0))));
 
         // When
-        var response = transactionsController.getAllTransactions(null, null, START_DATE, END_DATE);
+        var response = transactionsController.getAllTransactions(null, null, START_DATE, END_DATE, null,
+                null, null, null, null, null, null).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -105,76 +138,348 @@ class TransactionsControllerImplTest {
         assertThat(responseBody.getLimit()).isEqualTo(20);
         assertThat(responseBody.getOffset()).isEqualTo(0);
 
-        verify(transactionsCrudApplication).findByFilters(START_DATE, END_DATE, 20, 0);
+        verify(transactionsCrudApplication).findPage(FILTER, SORT, 20, 0, null);
     }
 
     @Test
     @DisplayName("Deve retornar 404 quando não há transações")
     void shouldReturnNotFoundWhenNoTransactionsFound() {
         // Given
-        when(transactionsCrudApplication.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenReturn(Optional.empty());
+        when(transactionsCrudApplication.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When
-        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE);
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, null,
+                null, null, null, null, null, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.NOT_FOUND)).isZero();
 
-        verify(transactionsCrudApplication).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        verify(transactionsCrudApplication).findPage(FILTER, SORT, LIMIT, OFFSET, null);
     }
 
     @Test
     @DisplayName("Deve retornar erro 500 quando busca falha")
     void shouldReturnServerErrorWhenFindFails() {
         // Given
-        when(transactionsCrudApplication.findByFilters(START_DATE, END_DATE, LIMIT, OFFSET))
-                .thenThrow(new RuntimeException("Erro de conexão"));
+        when(transactionsCrudApplication.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
 
         // When
-        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE);
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, null,
+                null, null, null, null, null, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
 
-        verify(transactionsCrudApplication).findByFilters(START_DATE, END_DATE, LIMIT, OFFSET);
+        verify(transactionsCrudApplication).findPage(FILTER, SORT, LIMIT, OFFSET, null);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 503 com Retry-After quando o disjuntor do OpenSearch está aberto")
+    void shouldReturnServiceUnavailableWithRetryAfterWhenCircuitBreakerIsOpen() {
+        // Given
+        when(transactionsCrudApplication.findPage(FILTER, SORT, LIMIT, OFFSET, null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to retrieve transactions",
+                        new CircuitBreakerOpenException(Duration.ofMillis(4200)))));
+
+        // When
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, null,
+                null, null, null, null, null, null).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.SERVICE_UNAVAILABLE)).isZero();
+        assertThat(response.getHeaders().get(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 503 quando a leitura passa do read-timeout")
+    void shouldReturnServiceUnavailableWhenReadTimesOut() {
+        // Given
+        when(transactionsCrudApplication.getById(TRANSACTION_ID))
+                .thenReturn(CompletableFuture.failedFuture(new ReadTimeoutException(Duration.ofSeconds(10))));
+
+        // When
+        var response = transactionsController.getTransactionById(TRANSACTION_ID).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.SERVICE_UNAVAILABLE)).isZero();
+        assertThat(response.getHeaders().get(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o cursor é inválido")
+    void shouldReturnBadRequestWhenCursorIsInvalid() {
+        // Given
+        when(transactionsCrudApplication.findPage(FILTER, SORT, LIMIT, OFFSET, "invalido"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to retrieve transactions",
+                        new IllegalArgumentException("Invalid cursor"))));
+
+        // When
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, "invalido",
+                null, null, null, null, null, null).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.BAD_REQUEST)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve repassar os filtros e a ordenação da listagem")
+    void shouldPassFiltersAndSortToListing() {
+        // Given
+        var filter = new TransactionFilter(START_DATE, END_DATE, "Supermercado", "Alimentação",
+                new BigDecimal("10.00"), new BigDecimal("200.00"), "compra");
+
+        when(transactionsCrudApplication.findPage(filter, GetAllTransactionsSortParameter.AMOUNT_ASC, LIMIT, OFFSET,
+                null))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(page(LIMIT, OFFSET))));
+
+        // When
+        var response = transactionsController.getAllTransactions(LIMIT, OFFSET, START_DATE, END_DATE, null,
+                "Supermercado", "Alimentação", new BigDecimal("10.00"), new BigDecimal("200.00"), "compra",
+                GetAllTransactionsSortParameter.AMOUNT_ASC).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+
+        verify(transactionsCrudApplication).findPage(filter, GetAllTransactionsSortParameter.AMOUNT_ASC, LIMIT,
+                OFFSET, null);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as sugestões de comerciantes e descrições")
+    void shouldReturnSuggestions() {
+        // Given
+        var suggestions = new TransactionSuggestionsResponse()
+                .merchants(List.of("Mercado Livre"))
+                .descriptions(List.of("Mercado do mês"));
+
+        when(transactionsCrudApplication.suggest("merc", 5))
+                .thenReturn(CompletableFuture.completedFuture(suggestions));
+
+        // When
+        var response = transactionsController.getTransactionSuggestions("merc", null).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+        assertThat(response.body()).isEqualTo(suggestions);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a tarefa de remoção e devolver o ID da tarefa")
+    void shouldAcceptDeleteTaskAndReturnTaskId() {
+        // Given
+        var request = new DeleteTransactionsTaskRequest()
+                .endDate(END_DATE)
+                .category("Alimentação");
+        var filter = new TransactionFilter(null, END_DATE, null, "Alimentação", null, null, null);
+        var task = new TransactionTaskResponse().taskId(TASK_ID);
+
+        when(transactionsCrudApplication.startDelete(filter, null)).thenReturn(CompletableFuture.completedFuture(task));
+
+        // When
+        var response = transactionsController.startDeleteTransactionsTask(request).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.ACCEPTED)).isZero();
+        assertThat(response.body()).isEqualTo(task);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando a tarefa de remoção não tem filtros")
+    void shouldReturnBadRequestWhenDeleteTaskHasNoFilters() {
+        // Given
+        var filter = new TransactionFilter(null, null, null, null, null, null, null);
+
+        when(transactionsCrudApplication.startDelete(filter, null)).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Failed to start delete task",
+                        new IllegalArgumentException("At least one filter is required"))));
+
+        // When
+        var response = transactionsController.startDeleteTransactionsTask(new DeleteTransactionsTaskRequest())
+                .block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.BAD_REQUEST)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a recategorização filtrando pelo comerciante")
+    void shouldAcceptRecategorizationFilteringByMerchant() {
+        // Given
+        var request = new RecategorizeTransactionsTaskRequest("Mercado Livre", "E-commerce")
+                .requestsPerSecond(500f);
+        var filter = new TransactionFilter(null, null, "Mercado Livre", null, null, null, null);
+        var task = new TransactionTaskResponse().taskId(TASK_ID);
+
+        when(transactionsCrudApplication.startRecategorize(filter, "E-commerce", 500f))
+                .thenReturn(CompletableFuture.completedFuture(task));
+
+        // When
+        var response = transactionsController.startRecategorizeTransactionsTask(request).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.ACCEPTED)).isZero();
+        assertThat(response.body()).isEqualTo(task);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 quando a tarefa não existe")
+    void shouldReturnNotFoundWhenTaskDoesNotExist() {
+        // Given
+        when(transactionsCrudApplication.getTask(TASK_ID)).thenReturn(CompletableFuture.completedFuture(
+                Optional.empty()));
+
+        // When
+        var response = transactionsController.getTransactionTask(TASK_ID).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.NOT_FOUND)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve exportar transações em CSV como arquivo")
+    void shouldExportTransactionsAsCsvFile() {
+        // Given
+        var csv = new ByteArrayInputStream("date,amount\n".getBytes());
+        when(transactionsCrudApplication.export(START_DATE, END_DATE, ExportTransactionsFormatParameter.CSV))
+                .thenReturn(csv);
+
+        // When
+        var response = transactionsController.exportTransactions(START_DATE, END_DATE,
+                ExportTransactionsFormatParameter.CSV).block();
+
+        // Then
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+        assertThat(response.body()).isInstanceOf(StreamedFile.class);
+        assertThat(((StreamedFile) response.body()).getMediaType().toString()).isEqualTo("text/csv");
+        assertThat(((StreamedFile) response.body()).getInputStream()).isSameAs(csv);
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 500 quando exportação falha")
+    void shouldReturnServerErrorWhenExportFails() {
+        // Given
+        when(transactionsCrudApplication.export(START_DATE, END_DATE, ExportTransactionsFormatParameter.NDJSON))
+                .thenThrow(new RuntimeException("Failed to export transactions"));
+
+        // When
+        var response = transactionsController.exportTransactions(START_DATE, END_DATE, null).block();
+
+        // Then
+        assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retornar agregações de gastos com valores padrão")
+    void shouldReturnSpendingAggregationsWithDefaults() {
+        // Given
+        var aggregations = new SpendingAggregationsResponse().count(2L).total(new BigDecimal("301.00"));
+        when(transactionsCrudApplication.aggregate(START_DATE, END_DATE,
+                GetTransactionAggregationsIntervalParameter.MONTH, 10))
+                .thenReturn(aggregations);
+
+        // When
+        var response = transactionsController.getTransactionAggregations(START_DATE, END_DATE, null, null).block();
+
+        // Then
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+        assertThat(response.body()).isEqualTo(aggregations);
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 500 quando agregação falha")
+    void shouldReturnServerErrorWhenAggregationFails() {
+        // Given
+        when(transactionsCrudApplication.aggregate(START_DATE, END_DATE,
+                GetTransactionAggregationsIntervalParameter.DAY, 5))
+                .thenThrow(new RuntimeException("Failed to aggregate transactions"));
+
+        // When
+        var response = transactionsController.getTransactionAggregations(START_DATE, END_DATE,
+                GetTransactionAggregationsIntervalParameter.DAY, 5).block();
+
+        // Then
+        assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
     }
 
     @Test
     @DisplayName("Deve criar transação com sucesso")
     void shouldCreateTransactionSuccessfully() {
         // Given
-        when(transactionsCrudApplication.create(createRequest))
-                .thenReturn(transactionResponse);
+        when(transactionsCrudApplication.create(createRequest, null))
+                .thenReturn(CompletableFuture.completedFuture(transactionResponse));
 
         // When
-        var response = transactionsController.createTransaction(createRequest);
+        var response = transactionsController.createTransaction(createRequest, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.CREATED)).isZero();
         assertThat(response.body()).isEqualTo(transactionResponse);
 
-        verify(transactionsCrudApplication).create(createRequest);
+        verify(transactionsCrudApplication).create(createRequest, null);
+    }
+
+    @Test
+    @DisplayName("Deve repassar a chave de idempotência na criação")
+    void shouldPassIdempotencyKeyOnCreate() {
+        // Given
+        var idempotencyKey = "0f8fad5b-d9cb-469f-a165-70867728950e";
+        when(transactionsCrudApplication.create(createRequest, idempotencyKey))
+                .thenReturn(CompletableFuture.completedFuture(transactionResponse));
+
+        // When
+        var response = transactionsController.createTransaction(createRequest, idempotencyKey).block();
+
+        // Then
+        assertThat(response.getStatus().compareTo(HttpStatus.CREATED)).isZero();
+        assertThat(response.body()).isEqualTo(transactionResponse);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 quando a chave de idempotência já criou outra transação")
+    void shouldReturnUnprocessableEntityWhenIdempotencyKeyWasReused() {
+        // Given
+        var idempotencyKey = "0f8fad5b-d9cb-469f-a165-70867728950e";
+        when(transactionsCrudApplication.create(createRequest, idempotencyKey))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new IdempotencyKeyReusedException("Idempotency key was already used for another transaction")));
+
+        // When
+        var response = transactionsController.createTransaction(createRequest, idempotencyKey).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.UNPROCESSABLE_ENTITY)).isZero();
     }
 
     @Test
     @DisplayName("Deve retornar erro 400 quando criação falha")
     void shouldReturnBadRequestWhenCreateFails() {
         // Given
-        when(transactionsCrudApplication.create(createRequest))
-                .thenThrow(new RuntimeException("Dados inválidos"));
+        when(transactionsCrudApplication.create(createRequest, null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Dados inválidos")));
 
         // When
-        var response = transactionsController.createTransaction(createRequest);
+        var response = transactionsController.createTransaction(createRequest, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.BAD_REQUEST)).isZero();
 
-        verify(transactionsCrudApplication).create(createRequest);
+        verify(transactionsCrudApplication).create(createRequest, null);
     }
 
     @Test
@@ -182,15 +487,17 @@ class TransactionsControllerImplTest {
     void shouldGetTransactionByIdSuccessfully() {
         // Given
         when(transactionsCrudApplication.getById(TRANSACTION_ID))
-                .thenReturn(Optional.of(transactionResponse));
+                .thenReturn(CompletableFuture.completedFuture(
+                        Optional.of(new Versioned<>(transactionResponse, VERSION))));
 
         // When
-        var response = transactionsController.getTransactionById(TRANSACTION_ID);
+        var response = transactionsController.getTransactionById(TRANSACTION_ID).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
         assertThat(response.body()).isEqualTo(transactionResponse);
+        assertThat(response.getHeaders().get(HttpHeaders.ETAG)).isEqualTo(ETAG);
 
         verify(transactionsCrudApplication).getById(TRANSACTION_ID);
     }
@@ -200,10 +507,10 @@ class TransactionsControllerImplTest {
     void shouldReturnNotFoundWhenTransactionDoesNotExist() {
         // Given
         when(transactionsCrudApplication.getById(TRANSACTION_ID))
-                .thenReturn(Optional.empty());
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When
-        var response = transactionsController.getTransactionById(TRANSACTION_ID);
+        var response = transactionsController.getTransactionById(TRANSACTION_ID).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -217,10 +524,10 @@ class TransactionsControllerImplTest {
     void shouldReturnServerErrorWhenGetByIdFails() {
         // Given
         when(transactionsCrudApplication.getById(TRANSACTION_ID))
-                .thenThrow(new RuntimeException("Erro de conexão"));
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
 
         // When
-        var response = transactionsController.getTransactionById(TRANSACTION_ID);
+        var response = transactionsController.getTransactionById(TRANSACTION_ID).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -240,61 +547,98 @@ class TransactionsControllerImplTest {
                 "Compra atualizada",
                 merchantResponse);
 
-        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest))
-                .thenReturn(Optional.of(updatedResponse));
+        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest, VERSION))
+                .thenReturn(CompletableFuture.completedFuture(
+                        Optional.of(new Versioned<>(updatedResponse, "bm92YQ"))));
 
         // When
-        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest);
+        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest, ETAG).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
         assertThat(response.body()).isEqualTo(updatedResponse);
+        assertThat(response.getHeaders().get(HttpHeaders.ETAG)).isEqualTo("\"bm92YQ\"");
+
+        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest, VERSION);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 quando a transação mudou desde o If-Match")
+    void shouldReturnConflictWhenTransactionChangedSinceIfMatch() {
+        // Given
+        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest, VERSION))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new TransactionConflictException("Transaction was modified concurrently", null)));
+
+        // When
+        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest, ETAG).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.CONFLICT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o If-Match é inválido")
+    void shouldReturnBadRequestWhenIfMatchIsInvalid() {
+        // Given
+        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest, "não é uma versão"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to update transaction",
+                        new IllegalArgumentException("Invalid version"))));
+
+        // When
+        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest, "não é uma versão")
+                .block();
 
-        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest);
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.BAD_REQUEST)).isZero();
     }
 
     @Test
     @DisplayName("Deve retornar 404 quando transação para atualização não existe")
     void shouldReturnNotFoundWhenTransactionToUpdateDoesNotExist() {
         // Given
-        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest))
-                .thenReturn(Optional.empty());
+        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest, null))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When
-        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest);
+        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.NOT_FOUND)).isZero();
 
-        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest);
+        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest, null);
     }
 
     @Test
     @DisplayName("Deve retornar erro 500 quando atualização falha")
     void shouldReturnServerErrorWhenUpdateFails() {
         // Given
-        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest))
-                .thenThrow(new RuntimeException("Erro de conexão"));
+        when(transactionsCrudApplication.update(TRANSACTION_ID, updateRequest, null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
 
         // When
-        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest);
+        var response = transactionsController.updateTransaction(TRANSACTION_ID, updateRequest, null).block();
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
 
-        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest);
+        verify(transactionsCrudApplication).update(TRANSACTION_ID, updateRequest, null);
     }
 
     @Test
     @DisplayName("Deve deletar transação com sucesso")
     void shouldDeleteTransactionSuccessfully() {
-        // Given - não precisa configurar mock pois método é void
+        // Given
+        when(transactionsCrudApplication.delete(TRANSACTION_ID))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // When
-        var response = transactionsController.deleteTransaction(TRANSACTION_ID);
+        var response = transactionsController.deleteTransaction(TRANSACTION_ID).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -307,10 +651,11 @@ class TransactionsControllerImplTest {
     @DisplayName("Deve retornar erro 500 quando deleção falha")
     void shouldReturnServerErrorWhenDeleteFails() {
         // Given
-        doThrow(new RuntimeException("Erro de conexão")).when(transactionsCrudApplication).delete(TRANSACTION_ID);
+        when(transactionsCrudApplication.delete(TRANSACTION_ID))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
 
         // When
-        var response = transactionsController.deleteTransaction(TRANSACTION_ID);
+        var response = transactionsController.deleteTransaction(TRANSACTION_ID).block();
 
         // Then
         assertThat(response).isNotNull();
@@ -318,4 +663,107 @@ class TransactionsControllerImplTest {
 
         verify(transactionsCrudApplication).delete(TRANSACTION_ID);
     }
+
+    @Test
+    @DisplayName("Deve criar transações em lote com sucesso")
+    void shouldBulkCreateTransactionsSuccessfully() {
+        // Given
+        var body = new ByteArrayInputStream("[]".getBytes());
+        var bulkResponse = new BulkTransactionsResponse().total(1L).created(1L).failed(0L).took(5L);
+        when(transactionsCrudApplication.bulkCreate(body))
+                .thenReturn(bulkResponse);
+
+        // When
+        var response = transactionsController.bulkCreateTransactions(body).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+        assertThat(response.body()).isEqualTo(bulkResponse);
+
+        verify(transactionsCrudApplication).bulkCreate(body);
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 quando o corpo do lote não é JSON")
+    void shouldReturnBadRequestWhenBulkBodyIsNotJson() {
+        // Given
+        var body = new ByteArrayInputStream("date,amount".getBytes());
+        when(transactionsCrudApplication.bulkCreate(body))
+                .thenThrow(new RuntimeException("Failed to create transactions in bulk",
+                        new IllegalArgumentException("Bulk payload must be a JSON array or NDJSON")));
+
+        // When
+        var response = transactionsController.bulkCreateTransactions(body).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.BAD_REQUEST)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 500 quando o lote falha por erro do OpenSearch")
+    void shouldReturnServerErrorWhenBulkFailsOnOpenSearch() {
+        // Given
+        var body = new ByteArrayInputStream("[]".getBytes());
+        when(transactionsCrudApplication.bulkCreate(body))
+                .thenThrow(new RuntimeException("Failed to create transactions in bulk",
+                        new UncheckedIOException(new IOException("Connection reset"))));
+
+        // When
+        var response = transactionsController.bulkCreateTransactions(body).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve importar transações a partir de arquivo CSV")
+    void shouldImportTransactionsFromCsvFile() throws Exception {
+        // Given
+        var file = mock(CompletedFileUpload.class);
+        var importResponse = new ImportTransactionsResponse().rows(1L).imported(1L).rejected(0L).failed(0L);
+
+        when(file.getInputStream())
+                .thenReturn(new ByteArrayInputStream("date,amount\n".getBytes()));
+        when(transactionsCrudApplication.importCsv(any()))
+                .thenReturn(importResponse);
+
+        // When
+        var response = transactionsController.importTransactions(file).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.OK)).isZero();
+        assertThat(response.body()).isEqualTo(importResponse);
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 500 quando a importação falha")
+    void shouldReturnServerErrorWhenImportFails() throws Exception {
+        // Given
+        var file = mock(CompletedFileUpload.class);
+
+        when(file.getInputStream())
+                .thenReturn(new ByteArrayInputStream("date,amount\n".getBytes()));
+        when(transactionsCrudApplication.importCsv(any()))
+                .thenThrow(new RuntimeException("Failed to import transactions"));
+
+        // When
+        var response = transactionsController.importTransactions(file).block();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus().compareTo(HttpStatus.INTERNAL_SERVER_ERROR)).isZero();
+    }
+
+    private GetAllTransactions200Response page(int limit, int offset) {
+        return new GetAllTransactions200Response()
+                .transactions(List.of(transactionResponse))
+                .total(1L)
+                .limit(limit)
+                .offset(offset)
+                .cursor(NEXT_CURSOR);
+    }
 }
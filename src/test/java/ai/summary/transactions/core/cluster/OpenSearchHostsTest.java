@@ -0,0 +1,46 @@
+package ai.summary.transactions.core.cluster;
+
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OpenSearchHosts Tests")
+class OpenSearchHostsTest {
+
+    @Test
+    @DisplayName("Deve usar host e porta únicos quando a lista está vazia")
+    void shouldUseSingleHostWhenListIsEmpty() {
+        // When
+        var result = OpenSearchHosts.parse("", "http", "localhost", 9200);
+
+        // Then
+        assertThat(result).containsExactly(new HttpHost("http", "localhost", 9200));
+    }
+
+    @Test
+    @DisplayName("Deve interpretar a lista de hosts com e sem porta ou scheme")
+    void shouldParseHostListWithAndWithoutPortOrScheme() {
+        // When
+        var result = OpenSearchHosts.parse(" opensearch-node1:9200, opensearch-node2 ,https://search.local:9443,[::1]:9201",
+                "http", "localhost", 9200);
+
+        // Then
+        assertThat(result).containsExactly(
+                new HttpHost("http", "opensearch-node1", 9200),
+                new HttpHost("http", "opensearch-node2", 9200),
+                new HttpHost("https", "search.local", 9443),
+                new HttpHost("http", "::1", 9201));
+    }
+
+    @Test
+    @DisplayName("Deve converter o endereço publicado pelo nó com e sem hostname")
+    void shouldConvertPublishAddressWithAndWithoutHostname() {
+        // When & Then
+        assertThat(OpenSearchHosts.fromPublishAddress("172.18.0.3:9200", "http", 9200))
+                .isEqualTo(new HttpHost("http", "172.18.0.3", 9200));
+        assertThat(OpenSearchHosts.fromPublishAddress("opensearch-node2/172.18.0.3:9200", "http", 9200))
+                .isEqualTo(new HttpHost("http", "opensearch-node2", 9200));
+    }
+}
@@ -0,0 +1,103 @@
+package ai.summary.transactions.core.cluster;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.NodeRole;
+import org.opensearch.client.opensearch.nodes.NodesInfoRequest;
+import org.opensearch.client.opensearch.nodes.NodesInfoResponse;
+import org.opensearch.client.opensearch.nodes.OpenSearchNodesClient;
+import org.opensearch.client.opensearch.nodes.info.NodeInfo;
+import org.opensearch.client.opensearch.nodes.info.NodeInfoHttp;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OpenSearchNodeSniffer Tests")
+class OpenSearchNodeSnifferTest {
+
+    @Mock
+    private OpenSearchClient openSearchClient;
+
+    @Mock
+    private OpenSearchNodesTransport openSearchNodesTransport;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private OpenSearchNodesClient openSearchNodesClient;
+
+    @InjectMocks
+    private OpenSearchNodeSniffer openSearchNodeSniffer;
+
+    @Test
+    @DisplayName("Deve atualizar o transporte com os nós HTTP descobertos")
+    @SuppressWarnings("unchecked")
+    void shouldUpdateTransportWithDiscoveredHttpNodes() throws IOException {
+        // Given
+        var dataNode = nodeInfo("opensearch-node1", "172.18.0.2:9200", List.of(NodeRole.Data, NodeRole.ClusterManager));
+        var withoutHttp = mock(NodeInfo.class);
+        var response = mock(NodesInfoResponse.class);
+
+        when(openSearchConfig.getScheme()).thenReturn("http");
+        when(openSearchConfig.getPort()).thenReturn(9200);
+        when(openSearchClient.nodes()).thenReturn(openSearchNodesClient);
+        when(openSearchNodesClient.info(any(NodesInfoRequest.class))).thenReturn(response);
+        when(response.nodes()).thenReturn(Map.of("a", dataNode, "b", withoutHttp));
+
+        // When
+        openSearchNodeSniffer.sniff();
+
+        // Then
+        var nodesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(openSearchNodesTransport).updateNodes(nodesCaptor.capture());
+
+        var nodes = (List<Node>) nodesCaptor.getValue();
+        assertThat(nodes).hasSize(1);
+        assertThat(nodes.get(0).getHost()).isEqualTo(new HttpHost("http", "172.18.0.2", 9200));
+        assertThat(nodes.get(0).getName()).isEqualTo("opensearch-node1");
+        assertThat(nodes.get(0).getRoles().isData()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter os nós atuais quando a descoberta falha")
+    void shouldKeepCurrentNodesWhenDiscoveryFails() throws IOException {
+        // Given
+        when(openSearchClient.nodes()).thenReturn(openSearchNodesClient);
+        when(openSearchNodesClient.info(any(NodesInfoRequest.class)))
+                .thenThrow(new IOException("Erro de conexão com OpenSearch"));
+
+        // When
+        openSearchNodeSniffer.sniff();
+
+        // Then
+        verify(openSearchNodesTransport, never()).updateNodes(any());
+    }
+
+    private NodeInfo nodeInfo(String name, String publishAddress, List<NodeRole> roles) {
+        var info = mock(NodeInfo.class);
+        var http = mock(NodeInfoHttp.class);
+
+        when(info.http()).thenReturn(http);
+        when(http.publishAddress()).thenReturn(publishAddress);
+        when(info.name()).thenReturn(name);
+        when(info.roles()).thenReturn(roles);
+
+        return info;
+    }
+}
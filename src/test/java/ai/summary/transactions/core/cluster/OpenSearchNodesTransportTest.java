@@ -0,0 +1,68 @@
+package ai.summary.transactions.core.cluster;
+
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("OpenSearchNodesTransport Tests")
+class OpenSearchNodesTransportTest {
+
+    private final Node NODE_1 = new Node(new HttpHost("http", "opensearch-node1", 9200));
+    private final Node NODE_2 = new Node(new HttpHost("http", "opensearch-node2", 9200));
+
+    private List<List<Node>> createdWith;
+    private List<OpenSearchTransport> created;
+    private OpenSearchNodesTransport openSearchNodesTransport;
+
+    @BeforeEach
+    void setUp() {
+        createdWith = new ArrayList<>();
+        created = new ArrayList<>();
+        openSearchNodesTransport = new OpenSearchNodesTransport(List.of(NODE_1), nodes -> {
+            var transport = mock(OpenSearchTransport.class);
+            createdWith.add(nodes);
+            created.add(transport);
+            return transport;
+        }, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve recriar o transporte e fechar o anterior quando os nós mudam")
+    void shouldRebuildTransportAndClosePreviousWhenNodesChange() throws IOException {
+        // When
+        var updated = openSearchNodesTransport.updateNodes(List.of(NODE_1, NODE_2));
+
+        // Then
+        assertThat(updated).isTrue();
+        assertThat(openSearchNodesTransport.nodes()).containsExactly(NODE_1, NODE_2);
+        assertThat(createdWith).containsExactly(List.of(NODE_1), List.of(NODE_1, NODE_2));
+
+        verify(created.get(0), timeout(1000)).close();
+    }
+
+    @Test
+    @DisplayName("Deve manter o transporte quando os nós descobertos são os mesmos ou nenhum")
+    void shouldKeepTransportWhenDiscoveredNodesAreSameOrEmpty() {
+        // When
+        var sameNodes = openSearchNodesTransport.updateNodes(List.of(new Node(NODE_1.getHost())));
+        var noNodes = openSearchNodesTransport.updateNodes(List.of());
+
+        // Then
+        assertThat(sameNodes).isFalse();
+        assertThat(noNodes).isFalse();
+        assertThat(created).hasSize(1);
+    }
+}
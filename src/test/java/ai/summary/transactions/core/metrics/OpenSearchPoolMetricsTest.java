@@ -0,0 +1,64 @@
+package ai.summary.transactions.core.metrics;
+
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OpenSearchPoolMetrics Tests")
+class OpenSearchPoolMetricsTest {
+
+    private PoolingAsyncClientConnectionManager connectionManager;
+    private OpenSearchPoolMetrics openSearchPoolMetrics;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(7)
+                .build();
+        openSearchPoolMetrics = new OpenSearchPoolMetrics(connectionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(OpenSearchPoolMetrics.OBJECT_NAME);
+
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+
+        connectionManager.close();
+    }
+
+    @Test
+    @DisplayName("Deve refletir o tamanho configurado do pool sem conexões em uso")
+    void shouldReflectConfiguredPoolSizeWithoutLeasedConnections() {
+        // Then
+        assertThat(openSearchPoolMetrics.getMax()).isEqualTo(7);
+        assertThat(openSearchPoolMetrics.getLeased()).isZero();
+        assertThat(openSearchPoolMetrics.getPending()).isZero();
+        assertThat(openSearchPoolMetrics.getAvailable()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve publicar as estatísticas do pool via JMX na subida")
+    void shouldPublishPoolStatisticsThroughJmxOnStartup() throws Exception {
+        // When
+        openSearchPoolMetrics.onApplicationEvent(null);
+
+        // Then
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(OpenSearchPoolMetrics.OBJECT_NAME);
+
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat(server.getAttribute(name, "Max")).isEqualTo(7);
+    }
+}
@@ -0,0 +1,58 @@
+package ai.summary.transactions.core.metrics;
+
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionCacheMetrics Tests")
+class TransactionCacheMetricsTest {
+
+    @Mock
+    private TransactionCache transactionCache;
+
+    @InjectMocks
+    private TransactionCacheMetrics transactionCacheMetrics;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(TransactionCacheMetrics.OBJECT_NAME);
+
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve publicar acertos, faltas e despejos do cache via JMX na subida")
+    void shouldPublishCacheHitsMissesAndEvictionsThroughJmxOnStartup() throws Exception {
+        // Given
+        when(transactionCache.stats()).thenReturn(CacheStats.of(9, 1, 1, 0, 10, 2, 0));
+
+        // When
+        transactionCacheMetrics.onApplicationEvent(null);
+
+        // Then
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(TransactionCacheMetrics.OBJECT_NAME);
+
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat(server.getAttribute(name, "HitCount")).isEqualTo(9L);
+        assertThat(server.getAttribute(name, "MissCount")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "HitRate")).isEqualTo(0.9);
+        assertThat(server.getAttribute(name, "EvictionCount")).isEqualTo(2L);
+    }
+}
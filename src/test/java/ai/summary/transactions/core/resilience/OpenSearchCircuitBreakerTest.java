@@ -0,0 +1,106 @@
+package ai.summary.transactions.core.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OpenSearchCircuitBreaker Tests")
+class OpenSearchCircuitBreakerTest {
+
+    private final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Deve abrir depois das falhas seguidas e recusar as chamadas")
+    void shouldOpenAfterConsecutiveFailuresAndRejectCalls() {
+        // Given
+        var circuitBreaker = new OpenSearchCircuitBreaker(3, OPEN_DURATION, now::get);
+
+        // When
+        for (var i = 0; i < 3; i++) {
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+            circuitBreaker.onFailure();
+        }
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(OpenSearchCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.openCount()).isEqualTo(1);
+        assertThat(circuitBreaker.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve zerar a contagem quando uma chamada dá certo entre as falhas")
+    void shouldResetCountWhenCallSucceedsBetweenFailures() {
+        // Given
+        var circuitBreaker = new OpenSearchCircuitBreaker(3, OPEN_DURATION, now::get);
+
+        // When
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(OpenSearchCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Deve informar o tempo restante até a chamada de teste enquanto está aberto")
+    void shouldReportRemainingTimeUntilTrialWhileOpen() {
+        // Given
+        var circuitBreaker = new OpenSearchCircuitBreaker(1, OPEN_DURATION, now::get);
+        circuitBreaker.onFailure();
+
+        // When
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        // Then
+        assertThat(circuitBreaker.retryAfter()).isEqualTo(Duration.ofSeconds(6));
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.retryAfter()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve liberar uma única chamada de teste depois do tempo aberto e fechar se ela der certo")
+    void shouldAllowSingleTrialAfterOpenDurationAndCloseWhenItSucceeds() {
+        // Given
+        var circuitBreaker = new OpenSearchCircuitBreaker(1, OPEN_DURATION, now::get);
+        circuitBreaker.onFailure();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        // When
+        var trial = circuitBreaker.tryAcquire();
+        var concurrent = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        // Then
+        assertThat(trial).isTrue();
+        assertThat(concurrent).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(OpenSearchCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a abrir quando a chamada de teste falha")
+    void shouldReopenWhenTrialFails() {
+        // Given
+        var circuitBreaker = new OpenSearchCircuitBreaker(1, OPEN_DURATION, now::get);
+        circuitBreaker.onFailure();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        // When
+        circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure();
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(OpenSearchCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.openCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,203 @@
+package ai.summary.transactions.core.resilience;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.core.IndexRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResilientOpenSearchTransport Tests")
+class ResilientOpenSearchTransportTest {
+
+    @Mock
+    private OpenSearchTransport delegate;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private Endpoint<Object, String, Object> endpoint;
+
+    private final SearchRequest SEARCH = SearchRequest.of(search -> search.index("transactions"));
+    private final SearchRequest SEARCH_BY_ID = SearchRequest.of(search -> search
+            .index("transactions")
+            .query(query -> query.ids(ids -> ids.values("1"))));
+    private final IndexRequest<Map<String, Object>> INDEX = IndexRequest.of(index -> index
+            .index("transactions-2024-01")
+            .id("1")
+            .document(Map.of()));
+
+    @Test
+    @DisplayName("Deve repetir a leitura quando o OpenSearch responde 503")
+    void shouldRetryReadWhenOpenSearchAnswersServiceUnavailable() {
+        // Given
+        var transport = transport(20, Duration.ofSeconds(5), false);
+        when(delegate.performRequestAsync(eq(SEARCH), eq(endpoint), any()))
+                .thenReturn(CompletableFuture.failedFuture(status(503)))
+                .thenReturn(CompletableFuture.completedFuture("ok"));
+
+        // When
+        var response = transport.performRequestAsync((Object) SEARCH, endpoint, null).join();
+
+        // Then
+        assertThat(response).isEqualTo("ok");
+        assertThat(transport.retryCount()).isEqualTo(1);
+        verify(delegate, times(2)).performRequestAsync(eq(SEARCH), eq(endpoint), any());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir leitura que falhou por erro do cliente")
+    void shouldNotRetryReadThatFailedWithClientError() {
+        // Given
+        var transport = transport(20, Duration.ofSeconds(5), false);
+        when(delegate.performRequestAsync(eq(SEARCH), eq(endpoint), any()))
+                .thenReturn(CompletableFuture.failedFuture(status(400)));
+
+        // When & Then
+        assertThatThrownBy(() -> transport.performRequestAsync((Object) SEARCH, endpoint, null).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(OpenSearchException.class);
+        assertThat(transport.retryCount()).isZero();
+        assertThat(transport.circuitBreaker().state()).isEqualTo(OpenSearchCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir escritas e deve manter a IOException no cliente síncrono")
+    void shouldNotRetryWritesAndKeepIOExceptionOnSyncClient() {
+        // Given
+        var transport = transport(20, Duration.ofSeconds(5), false);
+        var failure = new TransportException("Connection refused");
+        when(endpoint.method(INDEX)).thenReturn("PUT");
+        when(delegate.performRequestAsync(eq(INDEX), eq(endpoint), any()))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+
+        // When & Then
+        assertThatThrownBy(() -> transport.performRequest((Object) INDEX, endpoint, null)).isSameAs(failure);
+        verify(delegate, times(1)).performRequestAsync(eq(INDEX), eq(endpoint), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar as chamadas sem chegar ao OpenSearch com o disjuntor aberto")
+    void shouldRejectCallsWithoutReachingOpenSearchWhenCircuitBreakerIsOpen() {
+        // Given
+        var transport = transport(1, Duration.ofSeconds(5), false);
+        transport.circuitBreaker().onFailure();
+
+        // When & Then
+        assertThatThrownBy(() -> transport.performRequestAsync((Object) SEARCH, endpoint, null).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResilientOpenSearchTransport.CircuitBreakerOpenException.class,
+                        exception -> assertThat(exception.retryAfter()).isPositive()
+                                .isLessThanOrEqualTo(Duration.ofSeconds(10)));
+        assertThat(transport.retryCount()).isZero();
+        verify(delegate, never()).performRequestAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a leitura que passa do read-timeout")
+    void shouldFailReadThatExceedsReadTimeout() {
+        // Given
+        var transport = transport(20, Duration.ofMillis(20), false);
+        when(delegate.performRequestAsync(eq(SEARCH), eq(endpoint), any()))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+
+        // When & Then
+        assertThatThrownBy(() -> transport.performRequestAsync((Object) SEARCH, endpoint, null).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ResilientOpenSearchTransport.ReadTimeoutException.class);
+        assertThat(transport.timeoutCount()).isEqualTo(3);
+        assertThat(transport.retryCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve disparar a leitura de cobertura quando a busca por id passa do p95")
+    void shouldSendHedgedReadWhenSearchByIdExceedsPercentile() {
+        // Given
+        var transport = transport(20, Duration.ofSeconds(5), true);
+        var calls = new AtomicInteger();
+        when(delegate.performRequestAsync(eq(SEARCH_BY_ID), eq(endpoint), any()))
+                .thenAnswer(invocation -> calls.incrementAndGet() == 101
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture("ok"));
+
+        for (var i = 0; i < 100; i++) {
+            transport.performRequestAsync((Object) SEARCH_BY_ID, endpoint, null).join();
+        }
+
+        // When
+        var response = transport.performRequestAsync((Object) SEARCH_BY_ID, endpoint, null)
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+
+        // Then
+        assertThat(response).isEqualTo("ok");
+        assertThat(transport.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(10).toNanos());
+        assertThat(transport.hedgeCount()).isEqualTo(1);
+        assertThat(transport.hedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve duplicar buscas por filtro, só leituras pontuais")
+    void shouldNotHedgeFilteredSearches() {
+        // Given
+        var transport = transport(20, Duration.ofSeconds(5), true);
+        when(delegate.performRequestAsync(eq(SEARCH), eq(endpoint), any()))
+                .thenReturn(CompletableFuture.completedFuture("ok"));
+
+        // When
+        for (var i = 0; i < 200; i++) {
+            transport.performRequestAsync((Object) SEARCH, endpoint, null).join();
+        }
+
+        // Then
+        assertThat(transport.hedgeDelayNanos()).isEqualTo(-1);
+        assertThat(transport.hedgeCount()).isZero();
+        verify(delegate, times(200)).performRequestAsync(eq(SEARCH), eq(endpoint), any());
+    }
+
+    private ResilientOpenSearchTransport transport(int failureThreshold, Duration readTimeout, boolean hedge) {
+        when(openSearchConfig.getBreakerFailureThreshold()).thenReturn(failureThreshold);
+        when(openSearchConfig.getBreakerOpenDuration()).thenReturn(Duration.ofSeconds(10));
+        when(openSearchConfig.getReadTimeout()).thenReturn(readTimeout);
+        when(openSearchConfig.getMaxRetries()).thenReturn(2);
+        when(openSearchConfig.getRetryBackoff()).thenReturn(Duration.ofMillis(1));
+        when(openSearchConfig.getRetryMaxBackoff()).thenReturn(Duration.ofMillis(5));
+        when(openSearchConfig.isHedgeEnabled()).thenReturn(hedge);
+        when(openSearchConfig.getHedgeMinDelay()).thenReturn(Duration.ofMillis(10));
+
+        return new ResilientOpenSearchTransport(delegate, openSearchConfig);
+    }
+
+    private static OpenSearchException status(int status) {
+        return new OpenSearchException(ErrorResponse.of(error -> error
+                .status(status)
+                .error(cause -> cause.type("error").reason("status " + status))));
+    }
+}
@@ -0,0 +1,214 @@
+package ai.summary.transactions.domain.ai.cache;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AiResponseCache Tests")
+class AiResponseCacheTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AiResponseStore aiResponseStore;
+
+    @Mock
+    private AiConfig aiConfig;
+
+    private final String SCENARIO = "Análise de gastos mensais";
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final String INSIGHTS = "Você gastou 25% a mais em alimentação.";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(aiConfig.getCacheSize()).thenReturn(100L);
+        when(aiConfig.getCacheTtl()).thenReturn(Duration.ofHours(1));
+        when(aiConfig.isCacheEnabled()).thenReturn(true);
+        when(aiConfig.getModelName()).thenReturn("gpt-4o-mini");
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a resposta para o mesmo cenário normalizado enquanto os dados não mudam")
+    void shouldReuseResponseForSameNormalizedScenarioWhileDataIsUnchanged() {
+        // Given
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a");
+
+        // When
+        var first = aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+        var second = aiResponseCache.insights("  análise de GASTOS   mensais? ", START_DATE, END_DATE,
+                this::generate);
+
+        // Then
+        assertThat(first).isEqualTo(INSIGHTS);
+        assertThat(second).isEqualTo(INSIGHTS);
+        assertThat(calls).hasValue(1);
+        assertThat(aiResponseCache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recalcular a resposta quando a marca dos dados do período muda")
+    void shouldRecomputeResponseWhenDataFingerprintChanges() {
+        // Given
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a", "11:b");
+
+        // When
+        aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+        aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+
+        // Then
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve usar a resposta do nível compartilhado sem chamar o modelo")
+    void shouldUseSharedResponseWithoutCallingModel() {
+        // Given
+        when(aiConfig.isCacheShared()).thenReturn(true);
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a");
+        when(aiResponseStore.get(anyString(), anyString())).thenReturn(Optional.of(INSIGHTS));
+
+        // When
+        var first = aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+        var second = aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+
+        // Then
+        assertThat(first).isEqualTo(INSIGHTS);
+        assertThat(second).isEqualTo(INSIGHTS);
+        assertThat(calls).hasValue(0);
+        assertThat(aiResponseCache.sharedHitCount()).isEqualTo(1);
+        verify(aiResponseStore, never()).put(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar no nível compartilhado a resposta calculada")
+    void shouldStoreComputedResponseInSharedTier() {
+        // Given
+        when(aiConfig.isCacheShared()).thenReturn(true);
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a");
+        when(aiResponseStore.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // When
+        var result = aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+
+        // Then
+        assertThat(result).isEqualTo(INSIGHTS);
+        verify(aiResponseStore).put(anyString(), anyString(), eq(INSIGHTS));
+    }
+
+    @Test
+    @DisplayName("Deve calcular sem cache quando a marca dos dados falha")
+    void shouldComputeWithoutCacheWhenFingerprintFails() {
+        // Given
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE))
+                .thenThrow(new RuntimeException("Failed to compute transactions fingerprint"));
+
+        // When
+        aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+        aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+
+        // Then
+        assertThat(calls).hasValue(2);
+        assertThat(aiResponseCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve chamar o modelo uma vez quando a mesma pergunta chega junta")
+    void shouldCallModelOnceWhenSameQuestionArrivesConcurrently() throws Exception {
+        // Given
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a");
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Supplier<String> slow = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            return INSIGHTS;
+        };
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            var first = executor.submit(() -> aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, slow));
+            started.await();
+            var second = executor.submit(() -> aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, slow));
+
+            // A segunda pergunta conta como acerto assim que encontra a resposta em andamento
+            while (aiResponseCache.hitCount() == 0) {
+                Thread.sleep(10);
+            }
+
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(INSIGHTS);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(INSIGHTS);
+            assertThat(calls).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha do modelo e chamar de novo na próxima pergunta")
+    void shouldPropagateModelFailureAndRetryOnNextQuestion() {
+        // Given
+        var aiResponseCache = new AiResponseCache(transactionService, aiResponseStore, aiConfig);
+        when(transactionService.fingerprint(START_DATE, END_DATE)).thenReturn("10:a");
+        Supplier<String> failing = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Model unavailable");
+        };
+
+        // When
+        assertThatThrownBy(() -> aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, failing))
+                .isInstanceOf(IllegalStateException.class);
+        var result = aiResponseCache.insights(SCENARIO, START_DATE, END_DATE, this::generate);
+
+        // Then
+        assertThat(result).isEqualTo(INSIGHTS);
+        assertThat(calls).hasValue(2);
+    }
+
+    private String generate() {
+        calls.incrementAndGet();
+        return INSIGHTS;
+    }
+}
@@ -0,0 +1,157 @@
+package ai.summary.transactions.domain.ai.insights;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.domain.ai.tools.impl.ReferenceDateToolImpl;
+import ai.summary.transactions.domain.ai.tools.impl.TransactionToolImpl;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AITransactionInsightsService Tests")
+class AITransactionInsightsServiceTest {
+
+    @Mock
+    private AiConfig aiConfig;
+
+    @Mock
+    private ReferenceDateToolImpl referenceDateTool;
+
+    @Mock
+    private TransactionToolImpl transactionTool;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private final String SCENARIO = "Análise de gastos mensais";
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final String INSIGHTS = "Você gastou 25% a mais em alimentação.";
+    private final String COMPLETION = """
+            {"id":"chatcmpl-1","object":"chat.completion","created":1,"model":"gpt-4o-mini",
+            "choices":[{"index":0,"message":{"role":"assistant","content":"%s"},"finish_reason":"stop"}],
+            "usage":{"prompt_tokens":1,"completion_tokens":1,"total_tokens":2}}
+            """.formatted(INSIGHTS);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch firstRequest = new CountDownLatch(1);
+
+    private HttpServer openAi;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Endpoint compatível com a OpenAI que responde todo completion com o mesmo texto
+        openAi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        openAi.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+            firstRequest.countDown();
+
+            var body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (var response = exchange.getResponseBody()) {
+                response.write(body);
+            }
+        });
+        openAi.start();
+
+        when(aiConfig.getBaseUrl()).thenReturn("http://127.0.0.1:" + openAi.getAddress().getPort() + "/v1");
+        when(aiConfig.getApiKey()).thenReturn("test-key");
+        when(aiConfig.getModelName()).thenReturn("gpt-4o-mini");
+        when(aiConfig.getTemperature()).thenReturn(0.7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openAi.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve montar o modelo e o assistente uma vez e reaproveitá-los entre perguntas")
+    void shouldBuildModelAndAssistantOnceAndReuseThemAcrossQuestions() {
+        // Given
+        var service = newService();
+        when(aiConfig.getMapReduceChunkSize()).thenReturn(100);
+        when(transactionService.aggregate(START_DATE, END_DATE, AggregationInterval.DAY, 1))
+                .thenReturn(aggregation(10));
+
+        // When
+        var first = service.generateInsights(SCENARIO, START_DATE, END_DATE);
+        var second = service.generateInsights(SCENARIO, START_DATE, END_DATE);
+
+        // Then
+        assertThat(first).isEqualTo(INSIGHTS);
+        assertThat(second).isEqualTo(INSIGHTS);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o modelo na subida quando o aquecimento está desligado")
+    void shouldSkipWarmUpWhenDisabled() throws InterruptedException {
+        // Given
+        var service = newService();
+        when(aiConfig.isWarmUp()).thenReturn(false);
+
+        // When
+        service.onApplicationEvent(mock(ServerStartupEvent.class));
+
+        // Then
+        assertThat(firstRequest.await(500, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(requests).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Deve abrir a conexão com o modelo na subida quando o aquecimento está ligado")
+    void shouldWarmUpConnectionOnStartupWhenEnabled() throws InterruptedException {
+        // Given
+        var service = newService();
+        when(aiConfig.isWarmUp()).thenReturn(true);
+
+        // When
+        service.onApplicationEvent(mock(ServerStartupEvent.class));
+
+        // Then
+        assertThat(firstRequest.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(requests).hasValue(1);
+    }
+
+    private AITransactionInsightsService newService() {
+        var httpClientBuilder = new JdkHttpClientBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .readTimeout(Duration.ofSeconds(5));
+
+        return new AITransactionInsightsService(aiConfig, httpClientBuilder, referenceDateTool, transactionTool,
+                transactionService);
+    }
+
+    private static SpendingAggregation aggregation(long count) {
+        return new SpendingAggregation(count, BigDecimal.TEN, BigDecimal.ONE, List.of(), List.of(), List.of());
+    }
+}
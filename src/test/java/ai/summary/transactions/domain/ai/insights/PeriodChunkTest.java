@@ -0,0 +1,69 @@
+package ai.summary.transactions.domain.ai.insights;
+
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PeriodChunk Tests")
+class PeriodChunkTest {
+
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 12, 31);
+
+    @Test
+    @DisplayName("Deve juntar dias consecutivos em trechos até o limite de transações cobrindo todo o período")
+    void shouldPackConsecutiveDaysIntoChunksCoveringThePeriod() {
+        // Given
+        var days = List.of(
+                day("2024-01-05", 40, "400.00"),
+                day("2024-02-10", 50, "500.00"),
+                day("2024-03-15", 30, "300.00"),
+                day("2024-07-01", 60, "600.00"));
+
+        // When
+        var chunks = PeriodChunk.plan(START_DATE, END_DATE, days, 100);
+
+        // Then
+        assertThat(chunks).containsExactly(
+                new PeriodChunk(START_DATE, LocalDate.of(2024, 3, 14), 90, new BigDecimal("900.00")),
+                new PeriodChunk(LocalDate.of(2024, 3, 15), END_DATE, 90, new BigDecimal("900.00")));
+    }
+
+    @Test
+    @DisplayName("Deve manter num trecho próprio o dia acima do limite")
+    void shouldKeepDayAboveLimitInItsOwnChunk() {
+        // Given
+        var days = List.of(
+                day("2024-01-05", 10, "100.00"),
+                day("2024-01-06", 150, "1500.00"),
+                day("2024-01-07", 10, "100.00"));
+
+        // When
+        var chunks = PeriodChunk.plan(START_DATE, END_DATE, days, 100);
+
+        // Then
+        assertThat(chunks).extracting(PeriodChunk::count).containsExactly(10L, 150L, 10L);
+        assertThat(chunks.get(1).startDate()).isEqualTo(LocalDate.of(2024, 1, 6));
+        assertThat(chunks.get(1).endDate()).isEqualTo(LocalDate.of(2024, 1, 6));
+    }
+
+    @Test
+    @DisplayName("Deve devolver um único trecho vazio quando não há transações")
+    void shouldReturnSingleEmptyChunkWithoutTransactions() {
+        // When
+        var chunks = PeriodChunk.plan(START_DATE, END_DATE, List.of(), 100);
+
+        // Then
+        assertThat(chunks).containsExactly(new PeriodChunk(START_DATE, END_DATE, 0, BigDecimal.ZERO));
+    }
+
+    private SpendingBucket day(String date, long count, String total) {
+        return new SpendingBucket(date, count, new BigDecimal(total), null);
+    }
+}
@@ -0,0 +1,180 @@
+package ai.summary.transactions.domain.ai.tools.impl;
+
+import ai.summary.transactions.domain.ai.tools.SpendingSummary;
+import ai.summary.transactions.domain.ai.tools.output.CompactToolOutputEncoder;
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingAggregation;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionToolImpl Tests")
+class TransactionToolImplTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private CompactToolOutputEncoder compactToolOutputEncoder;
+
+    @InjectMocks
+    private TransactionToolImpl transactionTool;
+
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final String ENCODED = "period: 2024-01-01..2024-01-31\n";
+    private final SpendingBucket BUCKET =
+            new SpendingBucket("Alimentação", 2, new BigDecimal("301.00"), new BigDecimal("150.50"));
+
+    @Test
+    @DisplayName("Deve montar o resumo de gastos com agregações e maiores transações")
+    void shouldBuildSpendingSummaryFromAggregationsAndLargestTransactions() {
+        // Given
+        var transaction = new Transaction(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("200.00"), "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação"));
+        var aggregation = new SpendingAggregation(2, new BigDecimal("301.00"), new BigDecimal("150.50"),
+                List.of(BUCKET), List.of(BUCKET), List.of(BUCKET));
+
+        when(transactionService.aggregate(START_DATE, END_DATE, AggregationInterval.DAY, 10)).thenReturn(aggregation);
+        when(transactionService.findByFilters(TransactionFilter.period(START_DATE, END_DATE),
+                TransactionSort.AMOUNT_DESC, 5, 0)).thenReturn(Optional.of(List.of(transaction)));
+        when(compactToolOutputEncoder.spendingSummary(any())).thenReturn(ENCODED);
+
+        // When
+        var encoded = transactionTool.getSpendingSummary(START_DATE, END_DATE);
+
+        // Then
+        var summaryCaptor = ArgumentCaptor.forClass(SpendingSummary.class);
+        verify(compactToolOutputEncoder).spendingSummary(summaryCaptor.capture());
+
+        var result = summaryCaptor.getValue();
+        assertThat(encoded).isEqualTo(ENCODED);
+        assertThat(result.count()).isEqualTo(2);
+        assertThat(result.total()).isEqualByComparingTo("301.00");
+        assertThat(result.byCategory()).containsExactly(BUCKET);
+        assertThat(result.topMerchants()).containsExactly(BUCKET);
+        assertThat(result.spendingCurve()).containsExactly(BUCKET);
+        assertThat(result.curveInterval()).isEqualTo(AggregationInterval.DAY);
+        assertThat(result.largestTransactions()).containsExactly(new SpendingSummary.LargestTransaction(
+                LocalDate.of(2024, 1, 15), new BigDecimal("200.00"), "Compra no supermercado",
+                "Supermercado ABC", "Alimentação"));
+    }
+
+    @Test
+    @DisplayName("Deve usar curva semanal ou mensal em períodos longos")
+    void shouldUseCoarserCurveForLongPeriods() {
+        // Given
+        var empty = new SpendingAggregation(0, BigDecimal.ZERO, BigDecimal.ZERO, List.of(), List.of(), List.of());
+        var halfYearEnd = LocalDate.of(2024, 6, 30);
+        var twoYearsEnd = LocalDate.of(2025, 12, 31);
+
+        when(transactionService.aggregate(eq(START_DATE), eq(halfYearEnd), eq(AggregationInterval.WEEK), anyInt()))
+                .thenReturn(empty);
+        when(transactionService.aggregate(eq(START_DATE), eq(twoYearsEnd), eq(AggregationInterval.MONTH), anyInt()))
+                .thenReturn(empty);
+        when(transactionService.findByFilters(any(), eq(TransactionSort.AMOUNT_DESC), anyInt(), eq(0)))
+                .thenReturn(Optional.empty());
+
+        // When
+        transactionTool.getSpendingSummary(START_DATE, halfYearEnd);
+        transactionTool.getSpendingSummary(START_DATE, twoYearsEnd);
+
+        // Then
+        var summaryCaptor = ArgumentCaptor.forClass(SpendingSummary.class);
+        verify(compactToolOutputEncoder, times(2)).spendingSummary(summaryCaptor.capture());
+
+        var halfYear = summaryCaptor.getAllValues().get(0);
+        var twoYears = summaryCaptor.getAllValues().get(1);
+        assertThat(halfYear.curveInterval()).isEqualTo(AggregationInterval.WEEK);
+        assertThat(twoYears.curveInterval()).isEqualTo(AggregationInterval.MONTH);
+        assertThat(twoYears.largestTransactions()).isEmpty();
+        verify(transactionService).aggregate(START_DATE, twoYearsEnd, AggregationInterval.MONTH, 10);
+    }
+
+    @Test
+    @DisplayName("Deve devolver as transações do período codificadas, sem ids por padrão")
+    void shouldReturnEncodedTransactionsWithoutIdsByDefault() {
+        // Given
+        var transactions = List.of(new Transaction(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("150.50"), "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação")));
+
+        when(transactionService.findByFilters(TransactionFilter.period(START_DATE, END_DATE),
+                TransactionSort.DATE_DESC, 100, 0)).thenReturn(Optional.of(transactions));
+        when(compactToolOutputEncoder.transactions(START_DATE, END_DATE, transactions, false, false))
+                .thenReturn(ENCODED);
+
+        // When
+        var result = transactionTool.getTransactions(START_DATE, END_DATE, null);
+
+        // Then
+        assertThat(result).isEqualTo(ENCODED);
+    }
+
+    @Test
+    @DisplayName("Deve avisar quando a busca de transações para no limite")
+    void shouldFlagTransactionsCappedAtTheLimit() {
+        // Given
+        var transaction = new Transaction(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("150.50"), "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação"));
+        var transactions = Collections.nCopies(100, transaction);
+
+        when(transactionService.findByFilters(TransactionFilter.period(START_DATE, END_DATE),
+                TransactionSort.DATE_DESC, 100, 0)).thenReturn(Optional.of(transactions));
+        when(compactToolOutputEncoder.transactions(START_DATE, END_DATE, transactions, true, true))
+                .thenReturn(ENCODED);
+
+        // When
+        var result = transactionTool.getTransactions(START_DATE, END_DATE, true);
+
+        // Then
+        assertThat(result).isEqualTo(ENCODED);
+    }
+
+    @Test
+    @DisplayName("Deve ler todas as transações do trecho, além do limite da tool")
+    void shouldReadEveryTransactionOfChunkBeyondToolLimit() {
+        // Given
+        var transaction = new Transaction(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("150.50"), "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação"));
+        var transactions = Collections.nCopies(250, transaction);
+
+        when(transactionService.streamByFilters(START_DATE, END_DATE)).thenReturn(transactions.stream());
+        when(compactToolOutputEncoder.transactions(START_DATE, END_DATE, transactions, false, false))
+                .thenReturn(ENCODED);
+
+        // When
+        var result = transactionTool.getAllTransactions(START_DATE, END_DATE);
+
+        // Then
+        assertThat(result).isEqualTo(ENCODED);
+        verify(transactionService, never()).findByFilters(any(), any(), anyInt(), anyInt());
+    }
+}
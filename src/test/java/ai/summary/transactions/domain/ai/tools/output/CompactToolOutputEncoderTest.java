@@ -0,0 +1,157 @@
+package ai.summary.transactions.domain.ai.tools.output;
+
+import ai.summary.transactions.core.config.AiConfig;
+import ai.summary.transactions.domain.ai.tools.SpendingSummary;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import io.micronaut.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CompactToolOutputEncoder Tests")
+class CompactToolOutputEncoderTest {
+
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final UUID TRANSACTION_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private final Merchant MERCHANT = new Merchant("Supermercado ABC", "Alimentação");
+
+    @Test
+    @DisplayName("Deve codificar transações em tabela com dicionário de comerciantes, sem ids e sem horário")
+    void shouldEncodeTransactionsAsTableWithMerchantDictionary() {
+        // Given
+        var counter = counter(1500);
+        var encoder = new CompactToolOutputEncoder(counter);
+        var transactions = List.of(
+                transaction(TRANSACTION_ID, 15, "150.5", "Compra no supermercado", MERCHANT),
+                transaction(UUID.randomUUID(), 10, "42.00", "Corrida", new Merchant("Uber", "Transporte")),
+                transaction(UUID.randomUUID(), 3, "20.00", "Compra no supermercado", MERCHANT));
+
+        // When
+        var result = encoder.transactions(START_DATE, END_DATE, transactions, false, false);
+
+        // Then
+        assertThat(result).contains(
+                "m1|Supermercado ABC|Alimentação\n",
+                "m2|Uber|Transporte\n",
+                "transactions (date|amount|merchant|description):\n",
+                "2024-01-15|150.50|m1|Compra no supermercado\n",
+                "2024-01-03|20.00|m1|Compra no supermercado\n");
+        assertThat(result).doesNotContain(TRANSACTION_ID.toString(), "T14:30", "omitted");
+        assertThat(counter.callCount()).isEqualTo(1);
+        assertThat(counter.tokenCount()).isPositive().isLessThan(counter.jsonTokenCount());
+        assertThat(counter.truncatedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve incluir ids quando pedidos")
+    void shouldIncludeIdsWhenRequested() {
+        // Given
+        var encoder = new CompactToolOutputEncoder(counter(1500));
+        var transactions = List.of(transaction(TRANSACTION_ID, 15, "150.50", "Compra no supermercado", MERCHANT));
+
+        // When
+        var result = encoder.transactions(START_DATE, END_DATE, transactions, true, false);
+
+        // Then
+        assertThat(result).contains(TRANSACTION_ID + "|2024-01-15|150.50|m1|Compra no supermercado\n");
+    }
+
+    @Test
+    @DisplayName("Deve cortar transações acima do orçamento e resumir as omitidas por categoria")
+    void shouldTruncateTransactionsOverBudgetAndSummarizeOmitted() {
+        // Given
+        var counter = counter(300);
+        var encoder = new CompactToolOutputEncoder(counter);
+        var transactions = IntStream.rangeClosed(1, 60)
+                .mapToObj(day -> transaction(UUID.randomUUID(), 1 + day % 28, "10.00", "Compra número " + day,
+                        MERCHANT))
+                .toList();
+
+        // When
+        var result = encoder.transactions(START_DATE, END_DATE, transactions, false, false);
+
+        // Then
+        var rows = result.lines().filter(line -> line.contains("|m1|")).count();
+        assertThat(rows).isPositive().isLessThan(60);
+        assertThat(result).contains("omitted: " + (60 - rows) + " older transactions, total "
+                + new BigDecimal("10.00").multiply(BigDecimal.valueOf(60 - rows)) + "; by category: Alimentação");
+        assertThat(counter.count(result)).isLessThanOrEqualTo(300);
+        assertThat(counter.truncatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve codificar o resumo de gastos em tabelas")
+    void shouldEncodeSpendingSummaryAsTables() {
+        // Given
+        var encoder = new CompactToolOutputEncoder(counter(1500));
+        var bucket = new SpendingBucket("Alimentação", 3, new BigDecimal("100"), new BigDecimal("33.3333"));
+        var largest = new SpendingSummary.LargestTransaction(LocalDate.of(2024, 1, 15), new BigDecimal("60.00"),
+                "Compra no supermercado", "Supermercado ABC", "Alimentação");
+        var summary = new SpendingSummary(START_DATE, END_DATE, 3, new BigDecimal("100"), new BigDecimal("33.3333"),
+                List.of(bucket), List.of(bucket), List.of(largest), AggregationInterval.DAY,
+                List.of(new SpendingBucket("2024-01-15", 3, new BigDecimal("100"), new BigDecimal("33.3333"))));
+
+        // When
+        var result = encoder.spendingSummary(summary);
+
+        // Then
+        assertThat(result).contains(
+                "period: 2024-01-01..2024-01-31\n",
+                "count|total|average\n3|100.00|33.33\n",
+                "by category (category|count|total|average):\nAlimentação|3|100.00|33.33\n",
+                "2024-01-15|60.00|Supermercado ABC|Alimentação|Compra no supermercado\n",
+                "spending by day (start|count|total):\n2024-01-15|3|100.00\n");
+    }
+
+    @Test
+    @DisplayName("Não deve serializar o resultado em JSON fora da amostra")
+    void shouldSkipJsonComparisonOutsideSample() {
+        // Given
+        var jsonMapper = mock(JsonMapper.class);
+        var counter = counter(1500, 0, jsonMapper);
+        var encoder = new CompactToolOutputEncoder(counter);
+
+        // When
+        encoder.transactions(START_DATE, END_DATE,
+                List.of(transaction(TRANSACTION_ID, 15, "150.5", "Compra no supermercado", MERCHANT)), false, false);
+
+        // Then
+        assertThat(counter.callCount()).isEqualTo(1);
+        assertThat(counter.tokenCount()).isPositive();
+        assertThat(counter.jsonTokenCount()).isZero();
+        verifyNoInteractions(jsonMapper);
+    }
+
+    private ToolTokenCounter counter(int maxTokens) {
+        return counter(maxTokens, 1, JsonMapper.createDefault());
+    }
+
+    private ToolTokenCounter counter(int maxTokens, int jsonSampleEvery, JsonMapper jsonMapper) {
+        var aiConfig = mock(AiConfig.class);
+        when(aiConfig.getModelName()).thenReturn("gpt-4o-mini");
+        when(aiConfig.getToolMaxTokens()).thenReturn(maxTokens);
+        when(aiConfig.getToolJsonSampleEvery()).thenReturn(jsonSampleEvery);
+
+        return new ToolTokenCounter(aiConfig, jsonMapper);
+    }
+
+    private Transaction transaction(UUID id, int day, String amount, String description, Merchant merchant) {
+        return new Transaction(id, LocalDateTime.of(2024, 1, day, 14, 30), new BigDecimal(amount), description,
+                merchant);
+    }
+}
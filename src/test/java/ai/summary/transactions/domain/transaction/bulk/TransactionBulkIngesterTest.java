@@ -0,0 +1,228 @@
+package ai.summary.transactions.domain.transaction.bulk;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.ErrorCause;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionBulkIngester Tests")
+class TransactionBulkIngesterTest {
+
+    @Mock
+    private OpenSearchClient openSearchClient;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private TransactionIndices transactionIndices;
+
+    @Mock
+    private TransactionCountCache transactionCountCache;
+
+    @Mock
+    private TransactionCache transactionCache;
+
+    @Mock
+    private TransactionQueryCache transactionQueryCache;
+
+    @InjectMocks
+    private TransactionBulkIngester transactionBulkIngester;
+
+    private final String INDEX_NAME = "transactions-2024-01";
+
+    @BeforeEach
+    void setUp() {
+        when(transactionIndices.writeIndex(any())).thenReturn(INDEX_NAME);
+        when(openSearchConfig.getBulkBatchSize()).thenReturn(2);
+        when(openSearchConfig.getBulkBatchBytes()).thenReturn(5_242_880L);
+        when(openSearchConfig.getBulkMaxInFlight()).thenReturn(2);
+        when(openSearchConfig.getBulkMaxReportedFailures()).thenReturn(10);
+    }
+
+    @Test
+    @DisplayName("Deve dividir as transações em lotes e contabilizar as criadas")
+    void shouldSplitTransactionsInBatchesAndCountCreated() throws IOException {
+        // Given
+        when(openSearchClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> successResponse(invocation.getArgument(0)));
+
+        // When
+        var result = transactionBulkIngester.ingest(transactions(5));
+
+        // Then
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.created()).isEqualTo(5);
+        assertThat(result.failed()).isZero();
+        assertThat(result.failures()).isEmpty();
+
+        verify(openSearchClient, times(3)).bulk(any(BulkRequest.class));
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve reportar falhas por item com a posição no payload")
+    void shouldReportItemFailuresWithPayloadPosition() throws IOException {
+        // Given
+        when(openSearchClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> {
+                    BulkRequest request = invocation.getArgument(0);
+                    var items = new ArrayList<BulkResponseItem>();
+                    items.add(item(request, 0, null));
+                    items.add(item(request, 1, ErrorCause.of(e -> e.type("mapper_parsing_exception")
+                            .reason("failed to parse field [amount]"))));
+                    return response(items);
+                });
+
+        // When
+        var result = transactionBulkIngester.ingest(transactions(2));
+
+        // Then
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.failures()).hasSize(1);
+        assertThat(result.failures().get(0).position()).isEqualTo(1);
+        assertThat(result.failures().get(0).status()).isEqualTo(400);
+        assertThat(result.failures().get(0).reason()).isEqualTo("failed to parse field [amount]");
+    }
+
+    @Test
+    @DisplayName("Deve marcar o lote inteiro como falho quando o OpenSearch não responde")
+    void shouldFailWholeBatchWhenOpenSearchIsUnavailable() throws IOException {
+        // Given
+        when(openSearchClient.bulk(any(BulkRequest.class)))
+                .thenThrow(new IOException("Erro de conexão com OpenSearch"));
+
+        // When
+        var result = transactionBulkIngester.ingest(transactions(3));
+
+        // Then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.created()).isZero();
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.failures())
+                .extracting(failure -> failure.position())
+                .containsExactly(0L, 1L, 2L);
+        // Sem resposta não há como saber se o OpenSearch aplicou o lote
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve limpar os caches quando a leitura falha depois de lotes enviados")
+    void shouldClearCachesWhenReadingFailsAfterBatchesWereSent() throws IOException {
+        // Given
+        when(openSearchClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> successResponse(invocation.getArgument(0)));
+        var items = Stream.concat(transactions(2), Stream.<BulkItem>generate(() -> {
+            throw new UncheckedIOException(new IOException("Connection reset"));
+        }).limit(1));
+
+        // When
+        assertThatThrownBy(() -> transactionBulkIngester.ingest(items))
+                .isInstanceOf(UncheckedIOException.class);
+
+        // Then
+        verify(openSearchClient).bulk(any(BulkRequest.class));
+        verify(transactionCountCache).invalidateAll();
+        verify(transactionCache).invalidateAll();
+        verify(transactionQueryCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve contar itens rejeitados na leitura como falhas sem enviá-los ao OpenSearch")
+    void shouldCountRejectedItemsAsFailuresWithoutSendingThem() throws IOException {
+        // Given
+        when(openSearchClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> successResponse(invocation.getArgument(0)));
+        var items = Stream.of(BulkItem.of(0, transaction(0)), BulkItem.rejected(1, "Malformed transaction"),
+                BulkItem.of(2, transaction(2)));
+
+        // When
+        var result = transactionBulkIngester.ingest(items);
+
+        // Then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.failures()).hasSize(1);
+        assertThat(result.failures().get(0).position()).isEqualTo(1);
+        assertThat(result.failures().get(0).status()).isEqualTo(400);
+        assertThat(result.failures().get(0).reason()).isEqualTo("Malformed transaction");
+
+        verify(openSearchClient, times(1)).bulk(any(BulkRequest.class));
+    }
+
+    private Stream<BulkItem> transactions(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> BulkItem.of(i, transaction(i)));
+    }
+
+    private Transaction transaction(int i) {
+        return new Transaction(null, LocalDateTime.of(2024, 1, 15, 14, 30), new BigDecimal("150.50"),
+                "Compra " + i, new Merchant("Supermercado ABC", "Alimentação"));
+    }
+
+    private BulkResponse successResponse(BulkRequest request) {
+        var items = new ArrayList<BulkResponseItem>();
+
+        for (var i = 0; i < request.operations().size(); i++) {
+            items.add(item(request, i, null));
+        }
+
+        return response(items);
+    }
+
+    private BulkResponseItem item(BulkRequest request, int position, ErrorCause error) {
+        var id = request.operations().get(position).index().id();
+
+        return BulkResponseItem.of(item -> item
+                .operationType(OperationType.Index)
+                .index(INDEX_NAME)
+                .id(id)
+                .status(error == null ? 201 : 400)
+                .error(error));
+    }
+
+    private BulkResponse response(List<BulkResponseItem> items) {
+        return BulkResponse.of(response -> response
+                .errors(items.stream().anyMatch(item -> item.error() != null))
+                .took(1)
+                .items(items));
+    }
+}
@@ -0,0 +1,154 @@
+package ai.summary.transactions.domain.transaction.bulk;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionWriteBuffer Tests")
+class TransactionWriteBufferTest {
+
+    @Mock
+    private OpenSearchAsyncClient openSearchAsyncClient;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    private TransactionWriteBuffer transactionWriteBuffer;
+
+    private final String INDEX_NAME = "transactions-2024-01";
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (transactionWriteBuffer != null) {
+            transactionWriteBuffer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar as criações em um único bulk e completar cada uma com o próprio item")
+    void shouldSendCreatesInSingleBulkAndCompleteEachWithItsOwnItem() throws IOException {
+        // Given
+        transactionWriteBuffer = transactionWriteBuffer(true, 2, Duration.ofSeconds(30));
+        when(openSearchAsyncClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0))));
+
+        // When
+        var first = transactionWriteBuffer.add(INDEX_NAME, "1", transaction());
+        var second = transactionWriteBuffer.add(INDEX_NAME, "2", transaction());
+
+        // Then
+        assertThat(first.orTimeout(5, TimeUnit.SECONDS).join().id()).isEqualTo("1");
+        assertThat(second.orTimeout(5, TimeUnit.SECONDS).join().id()).isEqualTo("2");
+
+        var bulkCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(openSearchAsyncClient).bulk(bulkCaptor.capture());
+        assertThat(bulkCaptor.getValue().operations()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote incompleto quando o linger acaba")
+    void shouldSendIncompleteBatchWhenLingerEnds() throws IOException {
+        // Given
+        transactionWriteBuffer = transactionWriteBuffer(true, 100, Duration.ofMillis(5));
+        when(openSearchAsyncClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0))));
+
+        // When
+        var item = transactionWriteBuffer.add(INDEX_NAME, "1", transaction()).orTimeout(5, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(item.index()).isEqualTo(INDEX_NAME);
+        assertThat(item.status()).isEqualTo(201);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a criação quando o modo write-behind está desligado")
+    void shouldRejectCreateWhenWriteBehindIsDisabled() {
+        // Given
+        transactionWriteBuffer = transactionWriteBuffer(false, 100, Duration.ofMillis(5));
+
+        // When & Then
+        assertThat(transactionWriteBuffer.isEnabled()).isFalse();
+        assertThatThrownBy(() -> transactionWriteBuffer.add(INDEX_NAME, "1", transaction()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o que já estava na fila ao parar e recusar as criações seguintes")
+    void shouldFlushQueuedWritesOnCloseAndRejectLaterOnes() throws IOException, InterruptedException {
+        // Given
+        transactionWriteBuffer = transactionWriteBuffer(true, 100, Duration.ofSeconds(30));
+        when(openSearchAsyncClient.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0))));
+        var queued = transactionWriteBuffer.add(INDEX_NAME, "1", transaction());
+
+        // When
+        transactionWriteBuffer.close();
+        var late = transactionWriteBuffer.add(INDEX_NAME, "2", transaction());
+
+        // Then
+        assertThat(queued.orTimeout(5, TimeUnit.SECONDS).join().id()).isEqualTo("1");
+        assertThatThrownBy(late::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private TransactionWriteBuffer transactionWriteBuffer(boolean enabled, int batchSize, Duration linger) {
+        when(openSearchConfig.isWriteBehindEnabled()).thenReturn(enabled);
+        when(openSearchConfig.getWriteBehindBatchSize()).thenReturn(batchSize);
+        when(openSearchConfig.getWriteBehindLinger()).thenReturn(linger);
+        when(openSearchConfig.getWriteBehindCapacity()).thenReturn(1000);
+        when(openSearchConfig.getWriteBehindMaxInFlight()).thenReturn(2);
+
+        return new TransactionWriteBuffer(openSearchAsyncClient, openSearchConfig);
+    }
+
+    private Transaction transaction() {
+        return new Transaction(UUID.randomUUID(), LocalDateTime.of(2024, 1, 15, 14, 30), new BigDecimal("150.50"),
+                "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação"));
+    }
+
+    private BulkResponse response(BulkRequest request) {
+        var items = request.operations().stream()
+                .map(operation -> BulkResponseItem.of(item -> item
+                        .operationType(OperationType.Index)
+                        .index(operation.index().index())
+                        .id(operation.index().id())
+                        .status(201)))
+                .toList();
+
+        return BulkResponse.of(response -> response.items(items).errors(false).took(1));
+    }
+}
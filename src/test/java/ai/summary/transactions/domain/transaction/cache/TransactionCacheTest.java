@@ -0,0 +1,89 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionCache Tests")
+class TransactionCacheTest {
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    private TransactionCache transactionCache;
+
+    private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private final Transaction TRANSACTION = new Transaction(UUID.fromString(TRANSACTION_ID),
+            LocalDateTime.of(2024, 1, 15, 14, 30), new BigDecimal("150.50"), "Compra no supermercado",
+            new Merchant("Supermercado ABC", "Alimentação"));
+    private final Versioned<Transaction> READ = new Versioned<>(TRANSACTION, "v1");
+    private final Versioned<Transaction> WRITTEN = new Versioned<>(TRANSACTION, "v2");
+
+    @BeforeEach
+    void setUp() {
+        when(openSearchConfig.getTransactionCacheSize()).thenReturn(100L);
+        when(openSearchConfig.getTransactionCacheTtl()).thenReturn(Duration.ofMinutes(1));
+
+        transactionCache = new TransactionCache(openSearchConfig);
+    }
+
+    @Test
+    @DisplayName("Deve servir a transação lida e contar acertos e faltas")
+    void shouldServeReadTransactionAndCountHitsAndMisses() {
+        // Given
+        assertThat(transactionCache.get(TRANSACTION_ID)).isEmpty();
+
+        // When
+        transactionCache.putRead(TRANSACTION_ID, READ, transactionCache.generation());
+
+        // Then
+        assertThat(transactionCache.get(TRANSACTION_ID)).contains(Optional.of(READ));
+        assertThat(transactionCache.stats().hitCount()).isEqualTo(1);
+        assertThat(transactionCache.stats().missCount()).isEqualTo(1);
+        assertThat(transactionCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter o valor escrito quando uma leitura iniciada antes termina depois")
+    void shouldKeepWrittenValueWhenEarlierReadFinishesLater() {
+        // Given
+        var generation = transactionCache.generation();
+
+        // When
+        transactionCache.putWritten(TRANSACTION_ID, WRITTEN);
+        transactionCache.putRead(TRANSACTION_ID, READ, generation);
+
+        // Then
+        assertThat(transactionCache.get(TRANSACTION_ID)).contains(Optional.of(WRITTEN));
+    }
+
+    @Test
+    @DisplayName("Deve lembrar a remoção para a busca não devolver o documento ainda visível")
+    void shouldRememberDeletionSoSearchDoesNotReturnStillVisibleDocument() {
+        // Given
+        transactionCache.putRead(TRANSACTION_ID, READ, transactionCache.generation());
+
+        // When
+        transactionCache.putDeleted(TRANSACTION_ID);
+
+        // Then
+        assertThat(transactionCache.get(TRANSACTION_ID)).contains(Optional.empty());
+    }
+}
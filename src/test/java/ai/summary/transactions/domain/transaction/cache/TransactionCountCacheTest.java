@@ -0,0 +1,89 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionCountCache Tests")
+class TransactionCountCacheTest {
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    private TransactionCountCache transactionCountCache;
+
+    private final TransactionFilter JANUARY = TransactionFilter.period(LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 1, 31));
+    private final TransactionFilter FEBRUARY = TransactionFilter.period(LocalDate.of(2024, 2, 1),
+            LocalDate.of(2024, 2, 29));
+    private final TransactionFilter ALL = TransactionFilter.period(null, null);
+
+    @BeforeEach
+    void setUp() {
+        when(openSearchConfig.getCountCacheSize()).thenReturn(100L);
+        when(openSearchConfig.getCountCacheTtl()).thenReturn(Duration.ofMinutes(5));
+
+        transactionCountCache = new TransactionCountCache(openSearchConfig);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar só os intervalos que contêm a data escrita")
+    void shouldInvalidateOnlyRangesContainingWrittenDate() {
+        // Given
+        var generation = transactionCountCache.generation();
+        transactionCountCache.put(JANUARY, 10L, generation);
+        transactionCountCache.put(FEBRUARY, 20L, generation);
+        transactionCountCache.put(ALL, 30L, generation);
+
+        // When
+        transactionCountCache.invalidate(LocalDateTime.of(2024, 1, 15, 14, 30));
+
+        // Then
+        assertThat(transactionCountCache.get(JANUARY)).isEmpty();
+        assertThat(transactionCountCache.get(ALL)).isEmpty();
+        assertThat(transactionCountCache.get(FEBRUARY)).hasValue(20L);
+    }
+
+    @Test
+    @DisplayName("Deve tratar o mesmo valor escrito com outra escala como o mesmo filtro")
+    void shouldTreatSameAmountWithOtherScaleAsSameFilter() {
+        // Given
+        var generation = transactionCountCache.generation();
+        var ten = new TransactionFilter(null, null, null, null, new BigDecimal("10"), null, null);
+        var tenWithCents = new TransactionFilter(null, null, null, null, new BigDecimal("10.00"), null, null);
+
+        // When
+        transactionCountCache.put(ten, 10L, generation);
+
+        // Then
+        assertThat(transactionCountCache.get(tenWithCents)).hasValue(10L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar contagem iniciada antes de uma escrita")
+    void shouldDiscardCountStartedBeforeWrite() {
+        // Given
+        var generation = transactionCountCache.generation();
+
+        // When
+        transactionCountCache.invalidateAll();
+        transactionCountCache.put(JANUARY, 10L, generation);
+
+        // Then
+        assertThat(transactionCountCache.get(JANUARY)).isEmpty();
+    }
+}
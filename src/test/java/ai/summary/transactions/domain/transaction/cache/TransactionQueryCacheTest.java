@@ -0,0 +1,135 @@
+package ai.summary.transactions.domain.transaction.cache;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionQueryCache Tests")
+class TransactionQueryCacheTest {
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    private final TransactionFilter JANUARY = TransactionFilter.period(LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 1, 31));
+    private final TransactionFilter FEBRUARY = TransactionFilter.period(LocalDate.of(2024, 2, 1),
+            LocalDate.of(2024, 2, 29));
+    private final TransactionFilter CURRENT = TransactionFilter.period(LocalDate.now().withDayOfMonth(1), null);
+    private final TransactionSort SORT = TransactionSort.DATE_DESC;
+    private final List<Transaction> TRANSACTIONS = List.of(new Transaction(UUID.randomUUID(),
+            LocalDateTime.of(2024, 1, 15, 14, 30), new BigDecimal("150.50"), "Compra no supermercado",
+            new Merchant("Supermercado ABC", "Alimentação")));
+
+    @Test
+    @DisplayName("Deve manter período fechado e expirar na hora o período em aberto quando o TTL curto é zero")
+    void shouldKeepClosedPeriodAndExpireOpenPeriodWhenShortTtlIsZero() {
+        // Given
+        var transactionQueryCache = transactionQueryCache(Duration.ZERO);
+        var generation = transactionQueryCache.generation();
+
+        // When
+        transactionQueryCache.put(JANUARY, SORT, 10, 0, TRANSACTIONS, generation);
+        transactionQueryCache.put(CURRENT, SORT, 10, 0, TRANSACTIONS, generation);
+
+        // Then
+        assertThat(transactionQueryCache.get(JANUARY, SORT, 10, 0)).contains(TRANSACTIONS);
+        assertThat(transactionQueryCache.get(JANUARY, SORT, 20, 0)).isEmpty();
+        assertThat(transactionQueryCache.get(CURRENT, SORT, 10, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar só as consultas cujo período contém a data escrita")
+    void shouldInvalidateOnlyQueriesWhosePeriodContainsWrittenDate() {
+        // Given
+        var transactionQueryCache = transactionQueryCache(Duration.ofSeconds(30));
+        var generation = transactionQueryCache.generation();
+        transactionQueryCache.put(JANUARY, SORT, 10, 0, TRANSACTIONS, generation);
+        transactionQueryCache.put(FEBRUARY, SORT, 10, 0, List.of(), generation);
+
+        // When
+        transactionQueryCache.invalidate(LocalDateTime.of(2024, 1, 20, 9, 0));
+
+        // Then
+        assertThat(transactionQueryCache.get(JANUARY, SORT, 10, 0)).isEmpty();
+        assertThat(transactionQueryCache.get(FEBRUARY, SORT, 10, 0)).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar as consultas cujo período se sobrepõe ao período informado")
+    void shouldInvalidateQueriesWhosePeriodOverlapsGivenPeriod() {
+        // Given
+        var transactionQueryCache = transactionQueryCache(Duration.ofSeconds(30));
+        var generation = transactionQueryCache.generation();
+        transactionQueryCache.put(JANUARY, SORT, 10, 0, TRANSACTIONS, generation);
+        transactionQueryCache.put(FEBRUARY, SORT, 10, 0, List.of(), generation);
+
+        // When
+        transactionQueryCache.invalidate(LocalDate.of(2023, 12, 15), LocalDate.of(2024, 1, 5));
+
+        // Then
+        assertThat(transactionQueryCache.get(JANUARY, SORT, 10, 0)).isEmpty();
+        assertThat(transactionQueryCache.get(FEBRUARY, SORT, 10, 0)).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("Deve descartar consulta iniciada antes de uma escrita")
+    void shouldDiscardQueryStartedBeforeWrite() {
+        // Given
+        var transactionQueryCache = transactionQueryCache(Duration.ofSeconds(30));
+        var generation = transactionQueryCache.generation();
+
+        // When
+        transactionQueryCache.invalidate(LocalDateTime.of(2024, 1, 20, 9, 0));
+        transactionQueryCache.put(FEBRUARY, SORT, 10, 0, TRANSACTIONS, generation);
+
+        // Then
+        assertThat(transactionQueryCache.get(FEBRUARY, SORT, 10, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar as consultas do período só quando a marca dos índices muda")
+    void shouldInvalidatePeriodQueriesOnlyWhenIndexMarkerChanges() {
+        // Given
+        var transactionQueryCache = transactionQueryCache(Duration.ofSeconds(30));
+        transactionQueryCache.validate(JANUARY.startDate(), JANUARY.endDate(), "transactions-2024-01/1");
+        var generation = transactionQueryCache.generation();
+        transactionQueryCache.put(JANUARY, SORT, 10, 0, TRANSACTIONS, generation);
+        transactionQueryCache.put(FEBRUARY, SORT, 10, 0, List.of(), generation);
+
+        // When
+        transactionQueryCache.validate(JANUARY.startDate(), JANUARY.endDate(), "transactions-2024-01/1");
+        var unchanged = transactionQueryCache.get(JANUARY, SORT, 10, 0);
+        transactionQueryCache.validate(JANUARY.startDate(), JANUARY.endDate(), "transactions-2024-01/2");
+
+        // Then
+        assertThat(unchanged).contains(TRANSACTIONS);
+        assertThat(transactionQueryCache.get(JANUARY, SORT, 10, 0)).isEmpty();
+        assertThat(transactionQueryCache.get(FEBRUARY, SORT, 10, 0)).contains(List.of());
+    }
+
+    private TransactionQueryCache transactionQueryCache(Duration openTtl) {
+        when(openSearchConfig.getQueryCacheSize()).thenReturn(100L);
+        when(openSearchConfig.getQueryCacheClosedTtl()).thenReturn(Duration.ofHours(24));
+        when(openSearchConfig.getQueryCacheOpenTtl()).thenReturn(openTtl);
+
+        return new TransactionQueryCache(openSearchConfig);
+    }
+}
@@ -0,0 +1,104 @@
+package ai.summary.transactions.domain.transaction.exporter;
+
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.mapper.TransactionMapper;
+import ai.summary.transactions.domain.transaction.model.ExportFormat;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.model.MerchantApiResponse;
+import ai.summary.transactions.model.TransactionApiResponse;
+import io.micronaut.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionExporter Tests")
+class TransactionExporterTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private JsonMapper jsonMapper;
+
+    @InjectMocks
+    private TransactionExporter transactionExporter;
+
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+
+    private final Transaction transaction = new Transaction(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"),
+            LocalDateTime.of(2024, 1, 15, 14, 30),
+            new BigDecimal("150.50"),
+            "Compra no supermercado",
+            new Merchant("Supermercado ABC", "Alimentação"));
+
+    @Test
+    @DisplayName("Deve exportar CSV no layout do importador e escapar campos com vírgula e aspas")
+    void shouldExportCsvInImporterLayoutEscapingFields() throws Exception {
+        // Given
+        var quoted = new Transaction(null, LocalDateTime.of(2024, 1, 16, 9, 0), new BigDecimal("10.00"),
+                "Mercado, mensal", new Merchant("Padaria \"Pão Quente\"", "Padarias"));
+        when(transactionService.streamByFilters(START_DATE, END_DATE)).thenReturn(Stream.of(transaction, quoted));
+
+        // When
+        String csv;
+        try (var export = transactionExporter.export(START_DATE, END_DATE, ExportFormat.CSV)) {
+            csv = new String(export.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Then
+        assertThat(csv).isEqualTo("""
+                date,amount,description,merchant_name,merchant_category
+                2024-01-15T14:30:00,150.50,Compra no supermercado,Supermercado ABC,Alimentação
+                2024-01-16T09:00:00,10.00,"Mercado, mensal","Padaria ""Pão Quente\""",Padarias
+                """);
+    }
+
+    @Test
+    @DisplayName("Deve exportar uma transação da API por linha em NDJSON e fechar o stream de origem")
+    void shouldExportOneApiTransactionPerNdjsonLineAndCloseSource() throws Exception {
+        // Given
+        var closed = new AtomicBoolean();
+        var apiTransaction = new TransactionApiResponse(transaction.id().toString(),
+                ZonedDateTime.of(transaction.date(), ZoneOffset.UTC), transaction.amount(), transaction.description(),
+                new MerchantApiResponse("Supermercado ABC", "Alimentação"));
+
+        when(transactionService.streamByFilters(START_DATE, END_DATE))
+                .thenReturn(Stream.of(transaction, transaction).onClose(() -> closed.set(true)));
+        when(transactionMapper.toApi(transaction)).thenReturn(apiTransaction);
+        when(jsonMapper.writeValueAsBytes(apiTransaction))
+                .thenReturn("{\"amount\":150.50}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        String ndjson;
+        try (var export = transactionExporter.export(START_DATE, END_DATE, ExportFormat.NDJSON)) {
+            ndjson = new String(export.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Then
+        assertThat(ndjson).isEqualTo("{\"amount\":150.50}\n{\"amount\":150.50}\n");
+        assertThat(closed).isTrue();
+    }
+}
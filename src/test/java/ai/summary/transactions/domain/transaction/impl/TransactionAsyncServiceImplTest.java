@@ -0,0 +1,748 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.IdempotencyKeyReusedException;
+import ai.summary.transactions.domain.transaction.TransactionConflictException;
+import ai.summary.transactions.domain.transaction.bulk.TransactionWriteBuffer;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import ai.summary.transactions.domain.transaction.model.Versioned;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.InlineGet;
+import org.opensearch.client.opensearch._types.OpType;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.Result;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.*;
+import org.opensearch.client.opensearch.core.search.CompletionSuggestOption;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.HitsMetadata;
+import org.opensearch.client.opensearch.core.search.Suggest;
+import org.opensearch.client.opensearch.core.search.TotalHits;
+import org.opensearch.client.opensearch.core.search.TotalHitsRelation;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionAsyncServiceImpl Tests")
+class TransactionAsyncServiceImplTest {
+
+    @Mock
+    private OpenSearchAsyncClient openSearchAsyncClient;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private TransactionIndices transactionIndices;
+
+    @Mock
+    private TransactionCountCache transactionCountCache;
+
+    @Mock
+    private TransactionCache transactionCache;
+
+    @Mock
+    private TransactionQueryCache transactionQueryCache;
+
+    @Mock
+    private TransactionWriteBuffer transactionWriteBuffer;
+
+    @InjectMocks
+    private TransactionAsyncServiceImpl transactionAsyncService;
+
+    private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private final String INDEX_NAME = "transactions";
+    private final String MONTH_INDEX = "transactions-2024-01";
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final TransactionFilter FILTER = TransactionFilter.period(START_DATE, END_DATE);
+    private final TransactionSort SORT = TransactionSort.DATE_DESC;
+    private final String IDEMPOTENCY_KEY = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    private final String PIT_ID = "o463QQEPbWVyY2hhbnRzXzAwMQ";
+    private final TransactionVersion VERSION = new TransactionVersion(MONTH_INDEX, 7L, 1L);
+    private final List<FieldValue> SORT_VALUES = List.of(FieldValue.of(1705329000000L), FieldValue.of(TRANSACTION_ID));
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        var merchant = new Merchant("Supermercado ABC", "Alimentação");
+        transaction = new Transaction(UUID.fromString(TRANSACTION_ID), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("150.50"), "Compra no supermercado", merchant);
+    }
+
+    @Test
+    @DisplayName("Deve buscar transação por ID pelo alias de leitura com a versão do documento")
+    void shouldGetTransactionByIdThroughReadAliasWithDocumentVersion() throws IOException {
+        // Given
+        var hit = versionedHit();
+        var searchResponse = searchResponse(List.of(hit));
+
+        when(hit.source()).thenReturn(transaction);
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.getById(TRANSACTION_ID).join();
+
+        // Then
+        assertThat(result).contains(new Versioned<>(transaction, VERSION.encode()));
+        verify(transactionCache).putRead(TRANSACTION_ID, new Versioned<>(transaction, VERSION.encode()), 0L);
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient).search(searchCaptor.capture(), eq(Transaction.class));
+        assertThat(searchCaptor.getValue().index()).containsExactly(INDEX_NAME);
+        assertThat(searchCaptor.getValue().seqNoPrimaryTerm()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve servir transação em cache sem consultar o OpenSearch")
+    void shouldServeCachedTransactionWithoutQueryingOpenSearch() {
+        // Given
+        var cached = Optional.of(new Versioned<>(transaction, VERSION.encode()));
+
+        when(transactionCache.get(TRANSACTION_ID)).thenReturn(Optional.of(cached));
+
+        // When
+        var result = transactionAsyncService.getById(TRANSACTION_ID).join();
+
+        // Then
+        assertThat(result).isEqualTo(cached);
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Não deve abrir PIT quando a primeira página vem cheia")
+    void shouldNotOpenPitWhenFirstPageIsFull() throws IOException {
+        // Given
+        var searchResponse = searchResponse(List.of(hit(SORT_VALUES)));
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.findPage(FILTER, SORT, 1, 0, null).join();
+
+        // Then
+        assertThat(result.transactions()).containsExactly(transaction);
+
+        var cursor = TransactionCursor.decode(result.cursor(), FILTER, SORT);
+        assertThat(cursor.pitId()).isNull();
+        assertThat(cursor.searchAfter()).extracting(FieldValue::_get)
+                .containsExactly(1705329000000L, TRANSACTION_ID);
+        verify(openSearchAsyncClient, never()).createPit(any(CreatePitRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve abrir o PIT ao seguir um cursor sem PIT e devolvê-lo no próximo cursor")
+    void shouldOpenPitWhenFollowingCursorWithoutPit() throws IOException {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, SORT, SORT_VALUES).encode();
+        var searchResponse = searchResponse(List.of(hit(SORT_VALUES)));
+        var createPitResponse = mock(CreatePitResponse.class);
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchConfig.getPaginationPitKeepAlive()).thenReturn("5m");
+        when(openSearchAsyncClient.createPit(any(CreatePitRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(createPitResponse));
+        when(createPitResponse.pitId()).thenReturn(PIT_ID);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.findPage(FILTER, SORT, 1, 0, cursor).join();
+
+        // Then
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient).search(searchCaptor.capture(), eq(Transaction.class));
+        assertThat(searchCaptor.getValue().pit().id()).isEqualTo(PIT_ID);
+        assertThat(searchCaptor.getValue().index()).isEmpty();
+
+        assertThat(TransactionCursor.decode(result.cursor()).pitId()).isEqualTo(PIT_ID);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor de uma listagem com outra ordenação antes de chamar o OpenSearch")
+    void shouldRejectCursorFromAnotherSortBeforeCallingOpenSearch() {
+        // Given
+        var cursor = new TransactionCursor(PIT_ID, FILTER, TransactionSort.AMOUNT_ASC, SORT_VALUES).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.findPage(FILTER, SORT, 10, 0, cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve continuar com search_after sem PIT quando o PIT expirou")
+    void shouldContinueWithoutPitWhenPitExpired() throws IOException {
+        // Given
+        var cursor = new TransactionCursor(PIT_ID, FILTER, SORT, SORT_VALUES).encode();
+        var expired = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(404)
+                .error(cause -> cause.type("search_phase_execution_exception")
+                        .reason("No search context found"))));
+        var searchResponse = searchResponse(List.of(hit(null)));
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchConfig.getPaginationPitKeepAlive()).thenReturn("5m");
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(expired))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.findPage(FILTER, SORT, 10, 0, cursor).join();
+
+        // Then
+        assertThat(result.transactions()).containsExactly(transaction);
+        assertThat(result.cursor()).isNull();
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient, times(2)).search(searchCaptor.capture(), eq(Transaction.class));
+
+        var fallback = searchCaptor.getAllValues().get(1);
+        assertThat(fallback.pit()).isNull();
+        assertThat(fallback.index()).containsExactly(MONTH_INDEX);
+        assertThat(fallback.searchAfter()).hasSize(2);
+        verify(openSearchAsyncClient, never()).deletePit(any(DeletePitRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido antes de chamar o OpenSearch")
+    void shouldRejectInvalidCursorBeforeCallingOpenSearch() {
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.findPage(FILTER, SORT, 10, 0, "não é um cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve enviar os filtros em contexto de filtro e ordenar pelo valor")
+    void shouldSendFiltersInFilterContextAndSortByAmount() throws IOException {
+        // Given
+        var filter = new TransactionFilter(START_DATE, END_DATE, "Supermercado", "Alimentação",
+                new BigDecimal("10.00"), new BigDecimal("200.00"), "compra mensal");
+        var searchResponse = searchResponse(List.of(hit(null)));
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.findPage(filter, TransactionSort.AMOUNT_DESC, 10, 0, null).join();
+
+        // Then
+        assertThat(result.transactions()).containsExactly(transaction);
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient).search(searchCaptor.capture(), eq(Transaction.class));
+
+        var bool = searchCaptor.getValue().query().bool();
+        assertThat(bool.filter()).hasSize(5);
+        assertThat(bool.must()).isEmpty();
+        assertThat(bool.filter().get(1).term().field()).isEqualTo("merchant.name");
+        assertThat(bool.filter().get(2).term().field()).isEqualTo("merchant.category");
+        assertThat(searchCaptor.getValue().sort().get(0).field().field()).isEqualTo("amount");
+        assertThat(searchCaptor.getValue().sort().get(0).field().order()).isEqualTo(SortOrder.Desc);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valor mínimo maior que o máximo antes de chamar o OpenSearch")
+    void shouldRejectMinAmountGreaterThanMaxAmountBeforeCallingOpenSearch() {
+        // Given
+        var filter = new TransactionFilter(START_DATE, END_DATE, null, null, new BigDecimal("200.00"),
+                new BigDecimal("10.00"), null);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.findPage(filter, SORT, 10, 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve sugerir comerciantes e descrições distintos pelo completion suggester")
+    @SuppressWarnings("unchecked")
+    void shouldSuggestDistinctMerchantsAndDescriptions() throws IOException {
+        // Given
+        var searchResponse = (SearchResponse<Transaction>) mock(SearchResponse.class);
+
+        when(transactionIndices.readIndices(null, null)).thenReturn(List.of(INDEX_NAME));
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+        when(searchResponse.suggest()).thenReturn(Map.of(
+                TransactionQueries.MERCHANT_SUGGESTION, List.of(completion("Mercado Livre", "Mercadinho")),
+                TransactionQueries.DESCRIPTION_SUGGESTION, List.of(completion("Mercado do mês", "Mercado do mês"))));
+
+        // When
+        var result = transactionAsyncService.suggest("merc", 5).join();
+
+        // Then
+        assertThat(result.merchants()).containsExactly("Mercado Livre", "Mercadinho");
+        assertThat(result.descriptions()).containsExactly("Mercado do mês");
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient).search(searchCaptor.capture(), eq(Transaction.class));
+
+        var request = searchCaptor.getValue();
+        var merchant = request.suggest().suggesters().get(TransactionQueries.MERCHANT_SUGGESTION);
+        assertThat(request.size()).isZero();
+        assertThat(request.source().filter().includes()).containsExactly("id");
+        assertThat(merchant.prefix()).isEqualTo("merc");
+        assertThat(merchant.completion().field()).isEqualTo("merchant.name.suggest");
+        assertThat(merchant.completion().skipDuplicates()).isTrue();
+        assertThat(request.suggest().suggesters().get(TransactionQueries.DESCRIPTION_SUGGESTION).completion().field())
+                .isEqualTo("description.suggest");
+    }
+
+    @Test
+    @DisplayName("Deve contar com track_total_hits e guardar o total quando não está em cache")
+    @SuppressWarnings("unchecked")
+    void shouldCountWithTrackTotalHitsAndCacheTotalWhenNotCached() throws IOException {
+        // Given
+        var searchResponse = (SearchResponse<Transaction>) mock(SearchResponse.class);
+        var hitsMetadata = (HitsMetadata<Transaction>) mock(HitsMetadata.class);
+
+        when(transactionCountCache.get(FILTER)).thenReturn(OptionalLong.empty());
+        when(transactionCountCache.generation()).thenReturn(3L);
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+        when(searchResponse.hits()).thenReturn(hitsMetadata);
+        when(hitsMetadata.total()).thenReturn(TotalHits.of(total -> total
+                .value(25_000L)
+                .relation(TotalHitsRelation.Eq)));
+
+        // When
+        var result = transactionAsyncService.count(FILTER).join();
+
+        // Then
+        assertThat(result).isEqualTo(25_000L);
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchAsyncClient).search(searchCaptor.capture(), eq(Transaction.class));
+        assertThat(searchCaptor.getValue().size()).isZero();
+        assertThat(searchCaptor.getValue().trackTotalHits().enabled()).isTrue();
+        verify(transactionCountCache).put(FILTER, 25_000L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o total em cache sem chamar o OpenSearch")
+    void shouldReturnCachedTotalWithoutCallingOpenSearch() {
+        // Given
+        when(transactionCountCache.get(FILTER)).thenReturn(OptionalLong.of(42L));
+
+        // When
+        var result = transactionAsyncService.count(FILTER).join();
+
+        // Then
+        assertThat(result).isEqualTo(42L);
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar só os campos informados com if_seq_no sem buscar o documento antes")
+    @SuppressWarnings("unchecked")
+    void shouldUpdateInformedFieldsWithIfSeqNoWithoutSearchingFirst() throws IOException {
+        // Given
+        var changes = new Transaction(null, null, new BigDecimal("99.90"), null, null);
+        var updated = new Transaction(transaction.id(), transaction.date(), changes.amount(),
+                transaction.description(), transaction.merchant());
+        var updateResponse = updateResponse(updated, MONTH_INDEX, 8L);
+
+        when(transactionIndices.writeIndex(updated.date())).thenReturn(MONTH_INDEX);
+        when(openSearchAsyncClient.update(any(UpdateRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(updateResponse));
+
+        // When
+        var result = transactionAsyncService.update(TRANSACTION_ID, changes, VERSION.encode()).join();
+
+        // Then
+        assertThat(result).contains(new Versioned<>(updated, new TransactionVersion(MONTH_INDEX, 8L, 1L).encode()));
+
+        var updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(openSearchAsyncClient).update(updateCaptor.capture(), eq(Transaction.class));
+
+        var request = (UpdateRequest<Transaction, Map<String, Object>>) updateCaptor.getValue();
+        assertThat(request.index()).isEqualTo(MONTH_INDEX);
+        assertThat(request.ifSeqNo()).isEqualTo(7L);
+        assertThat(request.ifPrimaryTerm()).isEqualTo(1L);
+        assertThat(request.doc()).containsOnlyKeys("amount");
+
+        verify(openSearchAsyncClient, never()).search(any(SearchRequest.class), eq(Transaction.class));
+        verify(openSearchAsyncClient, never()).index(any(IndexRequest.class));
+        verify(transactionCache).putWritten(TRANSACTION_ID, result.get());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar conflito quando a transação mudou desde a versão informada")
+    void shouldSignalConflictWhenTransactionChangedSinceExpectedVersion() throws IOException {
+        // Given
+        var changes = new Transaction(null, null, new BigDecimal("99.90"), null, null);
+        var conflict = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(409)
+                .error(cause -> cause.type("version_conflict_engine_exception")
+                        .reason("version conflict, required seqNo [7], primary term [1]"))));
+
+        when(openSearchAsyncClient.update(any(UpdateRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(conflict));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.update(TRANSACTION_ID, changes, VERSION.encode()).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(TransactionConflictException.class)
+                .hasCause(conflict);
+        verify(transactionCache).invalidate(TRANSACTION_ID);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar versão inválida antes de chamar o OpenSearch")
+    void shouldRejectInvalidVersionBeforeCallingOpenSearch() {
+        // Given
+        var changes = new Transaction(null, null, new BigDecimal("99.90"), null, null);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.update(TRANSACTION_ID, changes, "não é uma versão"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve mover a transação para o índice do novo mês quando a atualização muda a data")
+    @SuppressWarnings("unchecked")
+    void shouldMoveTransactionToNewMonthIndexWhenUpdateChangesDate() throws IOException {
+        // Given
+        var searchResponse = searchResponse(List.of(versionedHit()));
+        var changes = new Transaction(null, LocalDateTime.of(2024, 2, 1, 9, 0), null, null, null);
+        var moved = new Transaction(transaction.id(), changes.date(), transaction.amount(),
+                transaction.description(), transaction.merchant());
+        var updateResponse = updateResponse(moved, MONTH_INDEX, 8L);
+        var indexResponse = mock(IndexResponse.class);
+        var deleteResponse = mock(DeleteResponse.class);
+
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(transactionIndices.writeIndex(changes.date())).thenReturn("transactions-2024-02");
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+        when(openSearchAsyncClient.update(any(UpdateRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(updateResponse));
+        when(openSearchAsyncClient.index(any(IndexRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(indexResponse));
+        when(indexResponse.seqNo()).thenReturn(0L);
+        when(indexResponse.primaryTerm()).thenReturn(1L);
+        when(openSearchAsyncClient.delete(any(DeleteRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(deleteResponse));
+
+        // When
+        var result = transactionAsyncService.update(TRANSACTION_ID, changes, null).join();
+
+        // Then
+        assertThat(result).contains(new Versioned<>(moved,
+                new TransactionVersion("transactions-2024-02", 0L, 1L).encode()));
+
+        var updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(openSearchAsyncClient).update(updateCaptor.capture(), eq(Transaction.class));
+        assertThat(updateCaptor.getValue().ifSeqNo()).isNull();
+        assertThat(updateCaptor.getValue().retryOnConflict()).isEqualTo(3);
+
+        var deleteCaptor = ArgumentCaptor.forClass(DeleteRequest.class);
+        verify(openSearchAsyncClient).delete(deleteCaptor.capture());
+        assertThat(deleteCaptor.getValue().index()).isEqualTo(MONTH_INDEX);
+        assertThat(deleteCaptor.getValue().id()).isEqualTo(TRANSACTION_ID);
+        assertThat(deleteCaptor.getValue().ifSeqNo()).isEqualTo(8L);
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve remover a cópia nova e sinalizar conflito quando a cópia antiga mudou durante a troca de mês")
+    void shouldRemoveNewCopyAndSignalConflictWhenOldCopyChangedDuringMove() throws IOException {
+        // Given
+        var changes = new Transaction(null, LocalDateTime.of(2024, 2, 1, 9, 0), null, null, null);
+        var moved = new Transaction(transaction.id(), changes.date(), transaction.amount(),
+                transaction.description(), transaction.merchant());
+        var updateResponse = updateResponse(moved, MONTH_INDEX, 8L);
+        var indexResponse = mock(IndexResponse.class);
+        var conflict = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(409)
+                .error(cause -> cause.type("version_conflict_engine_exception")
+                        .reason("version conflict, required seqNo [8], primary term [1]"))));
+
+        when(transactionIndices.writeIndex(changes.date())).thenReturn("transactions-2024-02");
+        when(openSearchAsyncClient.update(any(UpdateRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(updateResponse));
+        when(openSearchAsyncClient.index(any(IndexRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(indexResponse));
+        when(indexResponse.seqNo()).thenReturn(0L);
+        when(indexResponse.primaryTerm()).thenReturn(1L);
+        when(openSearchAsyncClient.delete(any(DeleteRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(conflict))
+                .thenReturn(CompletableFuture.completedFuture(mock(DeleteResponse.class)));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.update(TRANSACTION_ID, changes, VERSION.encode()).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(TransactionConflictException.class)
+                .hasCause(conflict);
+
+        var deleteCaptor = ArgumentCaptor.forClass(DeleteRequest.class);
+        verify(openSearchAsyncClient, times(2)).delete(deleteCaptor.capture());
+
+        var undo = deleteCaptor.getAllValues().get(1);
+        assertThat(undo.index()).isEqualTo("transactions-2024-02");
+        assertThat(undo.id()).isEqualTo(TRANSACTION_ID);
+        assertThat(undo.ifSeqNo()).isEqualTo(0L);
+        assertThat(undo.ifPrimaryTerm()).isEqualTo(1L);
+        verify(transactionCache).invalidate(TRANSACTION_ID);
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve criar com op_type create e o mesmo ID para a mesma chave de idempotência")
+    void shouldCreateWithOpTypeCreateAndSameIdForSameIdempotencyKey() throws IOException {
+        // Given
+        var newTransaction = new Transaction(null, transaction.date(), transaction.amount(),
+                transaction.description(), transaction.merchant());
+        var indexResponse = mock(IndexResponse.class);
+        var searchResponse = searchResponse(List.of());
+
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(transactionIndices.writeIndex(newTransaction.date())).thenReturn(MONTH_INDEX);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+        when(openSearchAsyncClient.index(any(IndexRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(indexResponse));
+        when(indexResponse.result()).thenReturn(Result.Created);
+        when(indexResponse.index()).thenReturn(MONTH_INDEX);
+        when(indexResponse.seqNo()).thenReturn(VERSION.seqNo());
+        when(indexResponse.primaryTerm()).thenReturn(VERSION.primaryTerm());
+
+        // When
+        var first = transactionAsyncService.create(newTransaction, IDEMPOTENCY_KEY).join();
+        var second = transactionAsyncService.create(newTransaction, IDEMPOTENCY_KEY).join();
+
+        // Then
+        assertThat(first.id()).isEqualTo(second.id());
+
+        var indexCaptor = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(openSearchAsyncClient, times(2)).index(indexCaptor.capture());
+        assertThat(indexCaptor.getValue().id()).isEqualTo(first.id().toString());
+        assertThat(indexCaptor.getValue().opType()).isEqualTo(OpType.Create);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a transação já gravada quando a criação com chave de idempotência é repetida")
+    @SuppressWarnings("unchecked")
+    void shouldReturnStoredTransactionWhenIdempotentCreateIsRetried() throws IOException {
+        // Given
+        var newTransaction = new Transaction(null, transaction.date(), transaction.amount(),
+                transaction.description(), transaction.merchant());
+        var conflict = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(409)
+                .error(cause -> cause.type("version_conflict_engine_exception")
+                        .reason("document already exists"))));
+        var getResponse = (GetResponse<Transaction>) mock(GetResponse.class);
+        var searchResponse = searchResponse(List.of());
+
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(transactionIndices.writeIndex(newTransaction.date())).thenReturn(MONTH_INDEX);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+        when(openSearchAsyncClient.index(any(IndexRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(conflict));
+        when(openSearchAsyncClient.get(any(GetRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(getResponse));
+        when(getResponse.found()).thenReturn(true);
+        when(getResponse.source()).thenReturn(transaction);
+        when(getResponse.index()).thenReturn(MONTH_INDEX);
+        when(getResponse.seqNo()).thenReturn(VERSION.seqNo());
+        when(getResponse.primaryTerm()).thenReturn(VERSION.primaryTerm());
+
+        // When
+        var result = transactionAsyncService.create(newTransaction, IDEMPOTENCY_KEY).join();
+
+        // Then
+        assertThat(result).isEqualTo(transaction);
+        verify(transactionCache).putWritten(any(), eq(new Versioned<>(transaction, VERSION.encode())));
+        verify(transactionCountCache, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("Deve achar pelo alias a transação criada em outro mês por uma tentativa anterior")
+    void shouldFindTransactionCreatedInAnotherMonthByPreviousAttemptThroughAlias() throws IOException {
+        // Given
+        var newTransaction = new Transaction(null, transaction.date(), transaction.amount(),
+                transaction.description(), transaction.merchant());
+        var hit = versionedHit();
+        var searchResponse = searchResponse(List.of(hit));
+
+        when(hit.source()).thenReturn(withIdempotentId(newTransaction));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(transactionIndices.writeIndex(newTransaction.date())).thenReturn("transactions-2024-02");
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When
+        var result = transactionAsyncService.create(newTransaction, IDEMPOTENCY_KEY).join();
+
+        // Then
+        assertThat(result).isEqualTo(withIdempotentId(newTransaction));
+        verify(openSearchAsyncClient, never()).index(any(IndexRequest.class));
+        verify(transactionCache).putWritten(result.id().toString(), new Versioned<>(result, VERSION.encode()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chave de idempotência repetida com outra transação")
+    void shouldRejectIdempotencyKeyRetriedWithDifferentTransaction() throws IOException {
+        // Given
+        var newTransaction = new Transaction(null, transaction.date(), new BigDecimal("120.00"),
+                transaction.description(), transaction.merchant());
+        var hit = versionedHit();
+        var searchResponse = searchResponse(List.of(hit));
+
+        when(hit.source()).thenReturn(withIdempotentId(transaction));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(transactionIndices.writeIndex(newTransaction.date())).thenReturn(MONTH_INDEX);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(searchResponse));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.create(newTransaction, IDEMPOTENCY_KEY).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verify(openSearchAsyncClient, never()).index(any(IndexRequest.class));
+        verifyNoInteractions(transactionCache);
+    }
+
+    @Test
+    @DisplayName("Deve completar com RuntimeException quando o OpenSearch falha")
+    void shouldCompleteExceptionallyWhenOpenSearchFails() throws IOException {
+        // Given
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchAsyncClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenThrow(new IOException("Erro de conexão com OpenSearch"));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionAsyncService.delete(TRANSACTION_ID).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .hasMessage("Failed to delete transaction")
+                .hasCauseInstanceOf(IOException.class);
+
+        verify(openSearchAsyncClient, never()).delete(any(DeleteRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchResponse<Transaction> searchResponse(List<Hit<Transaction>> hits) {
+        var searchResponse = (SearchResponse<Transaction>) mock(SearchResponse.class);
+        var hitsMetadata = (HitsMetadata<Transaction>) mock(HitsMetadata.class);
+
+        when(searchResponse.hits()).thenReturn(hitsMetadata);
+        when(hitsMetadata.hits()).thenReturn(hits);
+
+        return searchResponse;
+    }
+
+    private Transaction withIdempotentId(Transaction source) {
+        var id = UUID.nameUUIDFromBytes(("transaction:" + IDEMPOTENCY_KEY).getBytes(StandardCharsets.UTF_8));
+        return new Transaction(id, source.date(), source.amount(), source.description(), source.merchant());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Hit<Transaction> versionedHit() {
+        var hit = (Hit<Transaction>) mock(Hit.class);
+
+        when(hit.index()).thenReturn(VERSION.index());
+        when(hit.seqNo()).thenReturn(VERSION.seqNo());
+        when(hit.primaryTerm()).thenReturn(VERSION.primaryTerm());
+
+        return hit;
+    }
+
+    @SuppressWarnings("unchecked")
+    private UpdateResponse<Transaction> updateResponse(Transaction source, String index, long seqNo) {
+        var updateResponse = (UpdateResponse<Transaction>) mock(UpdateResponse.class);
+        var inlineGet = (InlineGet<Transaction>) mock(InlineGet.class);
+
+        when(updateResponse.get()).thenReturn(inlineGet);
+        when(inlineGet.source()).thenReturn(source);
+        when(updateResponse.index()).thenReturn(index);
+        when(updateResponse.seqNo()).thenReturn(seqNo);
+        when(updateResponse.primaryTerm()).thenReturn(1L);
+
+        return updateResponse;
+    }
+
+    private Suggest<Transaction> completion(String... texts) {
+        var options = Arrays.stream(texts)
+                .map(text -> CompletionSuggestOption.<Transaction>of(option -> option
+                        .id(TRANSACTION_ID)
+                        .index(INDEX_NAME)
+                        .source(transaction)
+                        .text(text)
+                        .score(1.0)))
+                .toList();
+
+        return Suggest.of(suggest -> suggest.completion(completion -> completion
+                .text("merc")
+                .offset(0)
+                .length(4)
+                .options(options)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Hit<Transaction> hit(List<FieldValue> sort) {
+        var hit = (Hit<Transaction>) mock(Hit.class);
+
+        when(hit.source()).thenReturn(transaction);
+
+        if (sort != null) {
+            when(hit.sort()).thenReturn(sort);
+        }
+
+        return hit;
+    }
+}
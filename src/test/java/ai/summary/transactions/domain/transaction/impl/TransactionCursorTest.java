@@ -0,0 +1,121 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch._types.FieldValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TransactionCursor Tests")
+class TransactionCursorTest {
+
+    private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private final TransactionFilter FILTER = new TransactionFilter(LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 1, 31),
+            "Supermercado", null, new BigDecimal("10.00"), null, null);
+
+    @Test
+    @DisplayName("Deve decodificar o cursor gerado com o PIT e os valores de ordenação")
+    void shouldDecodeEncodedCursor() {
+        // Given
+        var cursor = new TransactionCursor("pit==", FILTER, TransactionSort.DATE_DESC,
+                List.of(FieldValue.of(1705329000000L), FieldValue.of(1.5), FieldValue.of(TRANSACTION_ID)));
+
+        // When
+        var result = TransactionCursor.decode(cursor.encode(), FILTER, TransactionSort.DATE_DESC);
+
+        // Then
+        assertThat(result.pitId()).isEqualTo("pit==");
+        assertThat(result.searchAfter()).extracting(FieldValue::_get)
+                .containsExactly(1705329000000L, 1.5, TRANSACTION_ID);
+    }
+
+    @Test
+    @DisplayName("Deve decodificar valores de ordenação nulos, de documentos sem o campo ordenado")
+    void shouldDecodeNullSortValues() {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, TransactionSort.AMOUNT_DESC,
+                List.of(FieldValue.NULL, FieldValue.of(true), FieldValue.of(TRANSACTION_ID)));
+
+        // When
+        var result = TransactionCursor.decode(cursor.encode(), FILTER, TransactionSort.AMOUNT_DESC);
+
+        // Then
+        assertThat(result.searchAfter().get(0).isNull()).isTrue();
+        assertThat(result.searchAfter().get(1).booleanValue()).isTrue();
+        assertThat(result.searchAfter().get(2).stringValue()).isEqualTo(TRANSACTION_ID);
+    }
+
+    @Test
+    @DisplayName("Deve decodificar cursor sem PIT")
+    void shouldDecodeCursorWithoutPit() {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, TransactionSort.DATE_DESC,
+                List.of(FieldValue.of(1705329000000L)));
+
+        // When
+        var result = TransactionCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(result.pitId()).isNull();
+        assertThat(result.searchAfter()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor adulterado")
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> TransactionCursor.decode("não é um cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor gerado com outra ordenação")
+    void shouldRejectCursorFromAnotherSort() {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, TransactionSort.DATE_DESC,
+                List.of(FieldValue.of(1705329000000L))).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> TransactionCursor.decode(cursor, FILTER, TransactionSort.AMOUNT_DESC))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor belongs to a listing with other filters or sort");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor gerado com outros filtros")
+    void shouldRejectCursorFromOtherFilters() {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, TransactionSort.DATE_DESC,
+                List.of(FieldValue.of(1705329000000L))).encode();
+        var otherFilter = new TransactionFilter(FILTER.startDate(), FILTER.endDate(), "Padaria", null,
+                FILTER.minAmount(), null, null);
+
+        // When & Then
+        assertThatThrownBy(() -> TransactionCursor.decode(cursor, otherFilter, TransactionSort.DATE_DESC))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o mesmo valor escrito com outra escala")
+    void shouldAcceptSameAmountWithAnotherScale() {
+        // Given
+        var cursor = new TransactionCursor(null, FILTER, TransactionSort.DATE_DESC,
+                List.of(FieldValue.of(1705329000000L))).encode();
+        var sameFilter = new TransactionFilter(FILTER.startDate(), FILTER.endDate(), FILTER.merchant(), null,
+                new BigDecimal("10"), null, null);
+
+        // When
+        var result = TransactionCursor.decode(cursor, sameFilter, TransactionSort.DATE_DESC);
+
+        // Then
+        assertThat(result.searchAfter()).hasSize(1);
+    }
+}
@@ -1,35 +1,57 @@
 package ai.summary.transactions.domain.transaction.impl;
 
 import ai.summary.transactions.core.config.OpenSearchConfig;
-import ai.summary.transactions.domain.transaction.mapper.OpenSearchTransactionMapper;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.AggregationInterval;
 import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.SpendingBucket;
 import ai.summary.transactions.domain.transaction.model.Transaction;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.client.opensearch.OpenSearchClient;
-import org.opensearch.client.opensearch._types.Result;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.RefreshStats;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
+import org.opensearch.client.opensearch._types.aggregations.CalendarInterval;
+import org.opensearch.client.opensearch._types.aggregations.DateHistogramBucket;
+import org.opensearch.client.opensearch._types.aggregations.StringTermsBucket;
 import org.opensearch.client.opensearch.core.*;
 import org.opensearch.client.opensearch.core.search.Hit;
 import org.opensearch.client.opensearch.core.search.HitsMetadata;
+import org.opensearch.client.opensearch.indices.IndicesStatsRequest;
+import org.opensearch.client.opensearch.indices.IndicesStatsResponse;
+import org.opensearch.client.opensearch.indices.OpenSearchIndicesClient;
+import org.opensearch.client.opensearch.indices.stats.IndexShardStats;
+import org.opensearch.client.opensearch.indices.stats.IndicesStats;
+import org.opensearch.client.opensearch.indices.stats.ShardSequenceNumber;
+import org.opensearch.client.util.ObjectBuilder;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,19 +65,26 @@ class TransactionServiceImplTest {
     private OpenSearchConfig openSearchConfig;
 
     @Mock
-    private OpenSearchTransactionMapper openSearchTransactionMapper;
+    private TransactionIndices transactionIndices;
+
+    @Mock
+    private TransactionQueryCache transactionQueryCache;
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
     private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
     private final String INDEX_NAME = "transactions";
+    private final String MONTH_INDEX = "transactions-2024-01";
     private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
     private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private final TransactionFilter FILTER = TransactionFilter.period(START_DATE, END_DATE);
+    private final TransactionSort SORT = TransactionSort.DATE_DESC;
+    private final String PIT_ID = "o463QQEPbWVyY2hhbnRzXzAwMQ";
+    private final List<FieldValue> SORT_VALUES = List.of(FieldValue.of(1705329000000L), FieldValue.of(TRANSACTION_ID));
 
     private Transaction transaction;
     private Merchant merchant;
-    private Map<String, Object> openSearchObject;
 
     @BeforeEach
     void setUp() {
@@ -65,19 +94,6 @@ class TransactionServiceImplTest {
 
         merchant = new Merchant("Supermercado ABC", "Alimentação");
         transaction = new Transaction(uuid, dateTime, amount, "Compra no supermercado", merchant);
-
-        openSearchObject = new HashMap<>();
-        openSearchObject.put("id", TRANSACTION_ID);
-        openSearchObject.put("date", dateTime.toString());
-        openSearchObject.put("amount", amount.toString());
-        openSearchObject.put("description", "Compra no supermercado");
-
-        Map<String, Object> merchantMap = new HashMap<>();
-        merchantMap.put("name", "Supermercado ABC");
-        merchantMap.put("category", "Alimentação");
-        openSearchObject.put("merchant", merchantMap);
-
-        when(openSearchConfig.getTransactionsIndex()).thenReturn(INDEX_NAME);
     }
 
     @Test
@@ -88,24 +104,49 @@ class TransactionServiceImplTest {
         var hitsMetadata = mock(HitsMetadata.class);
         var hit = mock(Hit.class);
 
-        when(openSearchClient.search(any(SearchRequest.class), eq(Object.class)))
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
                 .thenReturn(searchResponse);
         when(searchResponse.hits()).thenReturn(hitsMetadata);
         when(hitsMetadata.hits()).thenReturn(List.of(hit));
-        when(hit.source()).thenReturn(openSearchObject);
-        when(openSearchTransactionMapper.fromOpenSearchObject(openSearchObject))
-                .thenReturn(transaction);
+        when(hit.source()).thenReturn(transaction);
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        stubIndicesStats(Map.of());
 
         // When
-        var result = transactionService.findByFilters(START_DATE, END_DATE, 10, 0);
+        var result = transactionService.findByFilters(FILTER, SORT, 10, 0);
 
         // Then
         assertThat(result).isPresent();
         assertThat(result.get()).hasSize(1);
         assertThat(result.get().get(0)).isEqualTo(transaction);
 
-        verify(openSearchClient).search(any(SearchRequest.class), eq(Object.class));
-        verify(openSearchTransactionMapper).fromOpenSearchObject(openSearchObject);
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchClient).search(searchCaptor.capture(), eq(Transaction.class));
+        assertThat(searchCaptor.getValue().index()).containsExactly(MONTH_INDEX);
+        assertThat(searchCaptor.getValue().ignoreUnavailable()).isTrue();
+        verify(transactionQueryCache).put(FILTER, SORT, 10, 0, List.of(transaction), 0L);
+    }
+
+    @Test
+    @DisplayName("Deve validar o cache com a marca do período e devolver a consulta guardada sem buscar")
+    void shouldValidateCacheWithPeriodMarkerAndReturnCachedQueryWithoutSearching() throws IOException {
+        // Given
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        stubIndicesStats(Map.of(MONTH_INDEX, indexStats(5)));
+        when(transactionQueryCache.get(FILTER, SORT, 10, 0)).thenReturn(Optional.of(List.of(transaction)));
+
+        // When
+        var result = transactionService.findByFilters(FILTER, SORT, 10, 0);
+
+        // Then
+        assertThat(result).contains(List.of(transaction));
+
+        var inOrder = inOrder(transactionQueryCache);
+        inOrder.verify(transactionQueryCache).validate(eq(START_DATE), eq(END_DATE), startsWith(MONTH_INDEX + "/"));
+        inOrder.verify(transactionQueryCache).get(FILTER, SORT, 10, 0);
+        verify(openSearchClient, never()).search(any(SearchRequest.class), eq(Transaction.class));
     }
 
     @Test
@@ -116,263 +157,280 @@ class TransactionServiceImplTest {
         var hitsMetadata = mock(HitsMetadata.class);
         var hit = mock(Hit.class);
 
-        when(openSearchClient.search(any(SearchRequest.class), eq(Object.class)))
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
                 .thenReturn(searchResponse);
         when(searchResponse.hits()).thenReturn(hitsMetadata);
         when(hitsMetadata.hits()).thenReturn(List.of(hit));
-        when(hit.source()).thenReturn(openSearchObject);
-        when(openSearchTransactionMapper.fromOpenSearchObject(openSearchObject))
-                .thenReturn(transaction);
+        when(hit.source()).thenReturn(transaction);
+        stubIndicesStats(Map.of());
 
         // When
-        var result = transactionService.findByFilters(null, null, 10, 0);
+        var result = transactionService.findByFilters(TransactionFilter.period(null, null), SORT, 10, 0);
 
         // Then
         assertThat(result).isPresent();
         assertThat(result.get()).hasSize(1);
 
-        verify(openSearchClient).search(any(SearchRequest.class), eq(Object.class));
-        verify(openSearchTransactionMapper).fromOpenSearchObject(openSearchObject);
+        verify(openSearchClient).search(any(SearchRequest.class), eq(Transaction.class));
     }
 
     @Test
     @DisplayName("Deve lançar RuntimeException quando busca por filtros falha")
     void shouldThrowRuntimeExceptionWhenFindByFiltersFails() throws IOException {
         // Given
-        when(openSearchClient.search(any(SearchRequest.class), eq(Object.class)))
+        stubIndicesStats(Map.of());
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
                 .thenThrow(new IOException("Erro de conexão com OpenSearch"));
 
         // When & Then
-        assertThatThrownBy(() -> transactionService.findByFilters(START_DATE, END_DATE, 10, 0))
+        assertThatThrownBy(() -> transactionService.findByFilters(FILTER, SORT, 10, 0))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Failed to retrieve transactions")
                 .hasCauseInstanceOf(IOException.class);
 
-        verify(openSearchClient).search(any(SearchRequest.class), eq(Object.class));
+        verify(openSearchClient).search(any(SearchRequest.class), eq(Transaction.class));
     }
 
     @Test
-    @DisplayName("Deve buscar transação por ID com sucesso")
-    void shouldGetTransactionByIdSuccessfully() throws IOException {
+    @DisplayName("Deve abrir o point-in-time só ao seguir o cursor e fechá-lo na última página")
+    void shouldOpenPointInTimeAndFollowCursorUntilLastPage() throws IOException {
         // Given
-        var getResponse = mock(GetResponse.class);
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenReturn(getResponse);
-        when(getResponse.found()).thenReturn(true);
-        when(getResponse.source()).thenReturn(openSearchObject);
-        when(openSearchTransactionMapper.fromOpenSearchObject(openSearchObject))
-                .thenReturn(transaction);
+        var firstResponse = searchResponse(List.of(hit(null), hit(SORT_VALUES)));
+        var lastResponse = searchResponse(List.of(hit(null)));
+        var createPitResponse = mock(CreatePitResponse.class);
+
+        when(openSearchConfig.getPaginationPitKeepAlive()).thenReturn("5m");
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(firstResponse, lastResponse);
+        when(openSearchClient.createPit(any(CreatePitRequest.class))).thenReturn(createPitResponse);
+        when(createPitResponse.pitId()).thenReturn(PIT_ID);
+        when(lastResponse.pitId()).thenReturn(PIT_ID);
 
         // When
-        var result = transactionService.getById(TRANSACTION_ID);
+        var firstPage = transactionService.findPage(FILTER, SORT, 2, 0, null);
+        var lastPage = transactionService.findPage(FILTER, SORT, 2, 0, firstPage.cursor());
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(transaction);
-
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
-        verify(openSearchTransactionMapper).fromOpenSearchObject(openSearchObject);
+        assertThat(firstPage.transactions()).hasSize(2);
+        assertThat(TransactionCursor.decode(firstPage.cursor()).pitId()).isNull();
+        assertThat(lastPage.transactions()).hasSize(1);
+        assertThat(lastPage.cursor()).isNull();
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchClient, times(2)).search(searchCaptor.capture(), eq(Transaction.class));
+
+        var cursorRequest = searchCaptor.getAllValues().get(1);
+        assertThat(cursorRequest.index()).isEmpty();
+        assertThat(cursorRequest.pit().id()).isEqualTo(PIT_ID);
+        assertThat(cursorRequest.searchAfter()).extracting(FieldValue::_get)
+                .containsExactly(1705329000000L, TRANSACTION_ID);
+
+        var deleteCaptor = ArgumentCaptor.forClass(DeletePitRequest.class);
+        verify(openSearchClient).deletePit(deleteCaptor.capture());
+        assertThat(deleteCaptor.getValue().pitId()).containsExactly(PIT_ID);
     }
 
     @Test
-    @DisplayName("Deve retornar Optional vazio quando transação não existe")
-    void shouldReturnEmptyOptionalWhenTransactionNotFound() throws IOException {
+    @DisplayName("Deve continuar a paginação sem point-in-time quando ele expirou")
+    void shouldContinuePaginationWithoutPointInTimeWhenItExpired() throws IOException {
         // Given
-        var getResponse = mock(GetResponse.class);
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenReturn(getResponse);
-        when(getResponse.found()).thenReturn(false);
+        var cursor = new TransactionCursor(PIT_ID, FILTER, SORT, SORT_VALUES).encode();
+        var response = searchResponse(List.of(hit(null)));
+        var expired = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(404)
+                .error(cause -> cause.type("search_phase_execution_exception")
+                        .reason("No search context found"))));
+
+        when(openSearchConfig.getPaginationPitKeepAlive()).thenReturn("5m");
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenThrow(expired)
+                .thenReturn(response);
 
         // When
-        var result = transactionService.getById(TRANSACTION_ID);
+        var page = transactionService.findPage(FILTER, SORT, 10, 0, cursor);
 
         // Then
-        assertThat(result).isEmpty();
+        assertThat(page.transactions()).containsExactly(transaction);
+        assertThat(page.cursor()).isNull();
 
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
-        verify(openSearchTransactionMapper, never()).fromOpenSearchObject(any());
-    }
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchClient, times(2)).search(searchCaptor.capture(), eq(Transaction.class));
 
-    @Test
-    @DisplayName("Deve lançar RuntimeException quando busca por ID falha")
-    void shouldThrowRuntimeExceptionWhenGetByIdFails() throws IOException {
-        // Given
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenThrow(new IOException("Erro de conexão com OpenSearch"));
+        var fallbackRequest = searchCaptor.getAllValues().get(1);
+        assertThat(fallbackRequest.index()).containsExactly(MONTH_INDEX);
+        assertThat(fallbackRequest.pit()).isNull();
+        assertThat(fallbackRequest.searchAfter()).hasSize(2);
 
-        // When & Then
-        assertThatThrownBy(() -> transactionService.getById(TRANSACTION_ID))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to retrieve transaction")
-                .hasCauseInstanceOf(IOException.class);
-
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
+        verify(openSearchClient, never()).deletePit(any(DeletePitRequest.class));
     }
 
     @Test
-    @DisplayName("Deve criar transação com sucesso")
-    void shouldCreateTransactionSuccessfully() throws IOException {
+    @DisplayName("Deve percorrer todas as páginas ao exportar transações")
+    void shouldWalkThroughAllPagesWhenStreamingTransactions() throws IOException {
         // Given
-        var indexResponse = mock(IndexResponse.class);
-        when(openSearchClient.index(any(IndexRequest.class)))
-                .thenReturn(indexResponse);
-        when(indexResponse.result()).thenReturn(Result.Created);
+        var firstResponse = searchResponse(List.of(hit(null), hit(SORT_VALUES)));
+        var lastResponse = searchResponse(List.of(hit(null)));
+        var createPitResponse = mock(CreatePitResponse.class);
+
+        when(openSearchConfig.getExportPageSize()).thenReturn(2);
+        when(openSearchConfig.getPaginationPitKeepAlive()).thenReturn("5m");
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(firstResponse, lastResponse);
+        when(openSearchClient.createPit(any(CreatePitRequest.class))).thenReturn(createPitResponse);
+        when(createPitResponse.pitId()).thenReturn(PIT_ID);
 
         // When
-        var result = transactionService.create(transaction);
+        List<Transaction> result;
+        try (var transactions = transactionService.streamByFilters(START_DATE, END_DATE)) {
+            result = transactions.toList();
+        }
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result.id()).isEqualTo(transaction.id());
-        assertThat(result.date()).isEqualTo(transaction.date());
-        assertThat(result.amount()).isEqualTo(transaction.amount());
-        assertThat(result.description()).isEqualTo(transaction.description());
-        assertThat(result.merchant()).isEqualTo(transaction.merchant());
-
-        verify(openSearchClient).index(any(IndexRequest.class));
-    }
-
-    @Test
-    @DisplayName("Deve lançar RuntimeException quando criação falha")
-    void shouldThrowRuntimeExceptionWhenCreateFails() throws IOException {
-        // Given
-        when(openSearchClient.index(any(IndexRequest.class)))
-                .thenThrow(new IOException("Erro ao salvar no OpenSearch"));
-
-        // When & Then
-        assertThatThrownBy(() -> transactionService.create(transaction))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to create transaction")
-                .hasCauseInstanceOf(IOException.class);
-
-        verify(openSearchClient).index(any(IndexRequest.class));
+        assertThat(result).hasSize(3);
+        verify(openSearchClient, times(2)).search(any(SearchRequest.class), eq(Transaction.class));
+        verify(openSearchClient).deletePit(any(DeletePitRequest.class));
     }
 
     @Test
-    @DisplayName("Deve atualizar transação com sucesso")
-    void shouldUpdateTransactionSuccessfully() throws IOException {
+    @DisplayName("Deve agregar gastos por categoria, estabelecimento e período sem trazer documentos")
+    @SuppressWarnings("unchecked")
+    void shouldAggregateSpendingWithoutFetchingDocuments() throws IOException {
         // Given
-        var getResponse = mock(GetResponse.class);
-        var indexResponse = mock(IndexResponse.class);
-
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenReturn(getResponse);
-        when(getResponse.found()).thenReturn(true);
-        when(getResponse.source()).thenReturn(openSearchObject);
-        when(openSearchTransactionMapper.fromOpenSearchObject(openSearchObject))
-                .thenReturn(transaction);
-        when(openSearchClient.index(any(IndexRequest.class)))
-                .thenReturn(indexResponse);
-        when(indexResponse.result()).thenReturn(Result.Updated);
-
-        var updatedTransaction = new Transaction(
-                transaction.id(),
-                transaction.date(),
-                new BigDecimal("200.00"),
-                "Descrição atualizada",
-                transaction.merchant());
+        var searchResponse = (SearchResponse<Transaction>) mock(SearchResponse.class);
+        var categoryBucket = StringTermsBucket.of(bucket -> bucket
+                .key("Alimentação").docCount(2).aggregations("amount", stats(2, 301.0, 150.5)));
+        var merchantBucket = StringTermsBucket.of(bucket -> bucket
+                .key("Supermercado ABC").docCount(2).aggregations("amount", stats(2, 301.0, 150.5)));
+        var monthBucket = DateHistogramBucket.of(bucket -> bucket
+                .key(1704067200000L).keyAsString("2024-01-01").docCount(2)
+                .aggregations("amount", stats(2, 301.0, 150.5)));
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchClient.search(any(SearchRequest.class), eq(Transaction.class)))
+                .thenReturn(searchResponse);
+        when(searchResponse.aggregations()).thenReturn(Map.of(
+                "amount", stats(2, 301.0, 150.5),
+                "by_category", Aggregate.of(a -> a.sterms(t -> t.sumOtherDocCount(0L)
+                        .buckets(b -> b.array(List.of(categoryBucket))))),
+                "by_merchant", Aggregate.of(a -> a.sterms(t -> t.sumOtherDocCount(0L)
+                        .buckets(b -> b.array(List.of(merchantBucket))))),
+                "over_time", Aggregate.of(a -> a.dateHistogram(h -> h
+                        .buckets(b -> b.array(List.of(monthBucket)))))));
 
         // When
-        var result = transactionService.update(TRANSACTION_ID, updatedTransaction);
+        var result = transactionService.aggregate(START_DATE, END_DATE, AggregationInterval.MONTH, 5);
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get().id()).isEqualTo(transaction.id());
-        assertThat(result.get().amount()).isEqualTo(new BigDecimal("200.00"));
-        assertThat(result.get().description()).isEqualTo("Descrição atualizada");
-
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
-        verify(openSearchClient).index(any(IndexRequest.class));
+        assertThat(result.count()).isEqualTo(2);
+        assertThat(result.total()).isEqualByComparingTo("301.00");
+        assertThat(result.average()).isEqualByComparingTo("150.50");
+        assertThat(result.byCategory()).containsExactly(
+                new SpendingBucket("Alimentação", 2, new BigDecimal("301.00"), new BigDecimal("150.50")));
+        assertThat(result.byMerchant()).extracting(SpendingBucket::key).containsExactly("Supermercado ABC");
+        assertThat(result.overTime()).extracting(SpendingBucket::key).containsExactly("2024-01-01");
+
+        var searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(openSearchClient).search(searchCaptor.capture(), eq(Transaction.class));
+
+        var request = searchCaptor.getValue();
+        assertThat(request.size()).isZero();
+        assertThat(request.index()).containsExactly(MONTH_INDEX);
+        assertThat(request.aggregations().get("by_category").terms().field()).isEqualTo("merchant.category");
+        assertThat(request.aggregations().get("by_category").terms().size()).isEqualTo(5);
+        assertThat(request.aggregations().get("over_time").dateHistogram().calendarInterval())
+                .isEqualTo(CalendarInterval.Month);
     }
 
+    @SuppressWarnings("unchecked")
     @Test
-    @DisplayName("Deve retornar Optional vazio quando transação para atualização não existe")
-    void shouldReturnEmptyOptionalWhenTransactionToUpdateNotFound() throws IOException {
+    @DisplayName("Deve ler o stats só dos meses do período e calcular a impressão digital sem mexer no cache")
+    void shouldReadStatsOfPeriodMonthsWithoutTouchingQueryCache() throws IOException {
         // Given
-        var getResponse = mock(GetResponse.class);
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenReturn(getResponse);
-        when(getResponse.found()).thenReturn(false);
+        var indicesClient = mock(OpenSearchIndicesClient.class);
+        var countResponse = mock(CountResponse.class);
+        var statsResponse = mock(IndicesStatsResponse.class);
+        var before = indexStats(5);
+        var after = indexStats(6);
+
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(transactionIndices.readAlias()).thenReturn(INDEX_NAME);
+        when(openSearchClient.count(any(CountRequest.class))).thenReturn(countResponse);
+        when(countResponse.count()).thenReturn(10L);
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.stats(any(Function.class))).thenReturn(statsResponse);
+        when(statsResponse.indices()).thenReturn(Map.of(MONTH_INDEX, before), Map.of(MONTH_INDEX, before),
+                Map.of(MONTH_INDEX, after));
 
         // When
-        var result = transactionService.update(TRANSACTION_ID, transaction);
+        var first = transactionService.fingerprint(START_DATE, END_DATE);
+        var unchanged = transactionService.fingerprint(START_DATE, END_DATE);
+        var changed = transactionService.fingerprint(START_DATE, END_DATE);
 
         // Then
-        assertThat(result).isEmpty();
-
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
-        verify(openSearchClient, never()).index(any(IndexRequest.class));
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+        verifyNoInteractions(transactionQueryCache);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Function<IndicesStatsRequest.Builder, ObjectBuilder<IndicesStatsRequest>>> statsCaptor =
+                ArgumentCaptor.forClass(Function.class);
+        verify(indicesClient, times(3)).stats(statsCaptor.capture());
+        assertThat(statsCaptor.getValue().apply(new IndicesStatsRequest.Builder()).build().index())
+                .containsExactly(MONTH_INDEX + "*");
     }
 
-    @Test
-    @DisplayName("Deve lançar RuntimeException quando atualização falha")
-    void shouldThrowRuntimeExceptionWhenUpdateFails() throws IOException {
-        // Given
-        var getResponse = mock(GetResponse.class);
-        when(openSearchClient.get(any(GetRequest.class), eq(Object.class)))
-                .thenReturn(getResponse);
-        when(getResponse.found()).thenReturn(true);
-        when(getResponse.source()).thenReturn(openSearchObject);
-        when(openSearchTransactionMapper.fromOpenSearchObject(openSearchObject))
-                .thenReturn(transaction);
-        when(openSearchClient.index(any(IndexRequest.class)))
-                .thenThrow(new IOException("Erro ao atualizar no OpenSearch"));
+    @SuppressWarnings("unchecked")
+    private void stubIndicesStats(Map<String, IndicesStats> indices) throws IOException {
+        var indicesClient = mock(OpenSearchIndicesClient.class);
+        var statsResponse = mock(IndicesStatsResponse.class);
 
-        // When & Then
-        assertThatThrownBy(() -> transactionService.update(TRANSACTION_ID, transaction))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to update transaction")
-                .hasCauseInstanceOf(IOException.class);
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.stats(any(Function.class))).thenReturn(statsResponse);
+        when(statsResponse.indices()).thenReturn(indices);
+    }
 
-        verify(openSearchClient).get(any(GetRequest.class), eq(Object.class));
-        verify(openSearchClient).index(any(IndexRequest.class));
+    private IndicesStats indexStats(long maxSeqNo) {
+        var indexStats = mock(IndicesStats.class);
+        var copy = mock(IndexShardStats.class);
+        var seqNo = mock(ShardSequenceNumber.class);
+        var refresh = mock(RefreshStats.class);
+
+        when(indexStats.uuid()).thenReturn("u1");
+        when(indexStats.shards()).thenReturn(Map.of("0", List.of(copy)));
+        when(copy.seqNo()).thenReturn(seqNo);
+        when(seqNo.maxSeqNo()).thenReturn(maxSeqNo);
+        when(copy.refresh()).thenReturn(refresh);
+        when(refresh.externalTotal()).thenReturn(3L);
+        return indexStats;
     }
 
-    @Test
-    @DisplayName("Deve deletar transação com sucesso")
-    void shouldDeleteTransactionSuccessfully() throws IOException {
-        // Given
-        var deleteResponse = mock(DeleteResponse.class);
-        when(openSearchClient.delete(any(DeleteRequest.class)))
-                .thenReturn(deleteResponse);
-        when(deleteResponse.result()).thenReturn(Result.Deleted);
+    private SearchResponse<Transaction> searchResponse(List<Hit<Transaction>> hits) {
+        var searchResponse = (SearchResponse<Transaction>) mock(SearchResponse.class);
+        var hitsMetadata = (HitsMetadata<Transaction>) mock(HitsMetadata.class);
 
-        // When
-        transactionService.delete(TRANSACTION_ID);
+        when(searchResponse.hits()).thenReturn(hitsMetadata);
+        when(hitsMetadata.hits()).thenReturn(hits);
 
-        // Then
-        verify(openSearchClient).delete(any(DeleteRequest.class));
+        return searchResponse;
     }
 
-    @Test
-    @DisplayName("Deve lidar com transação não encontrada na deleção")
-    void shouldHandleTransactionNotFoundInDeletion() throws IOException {
-        // Given
-        var deleteResponse = mock(DeleteResponse.class);
-        when(openSearchClient.delete(any(DeleteRequest.class)))
-                .thenReturn(deleteResponse);
-        when(deleteResponse.result()).thenReturn(Result.NotFound);
+    @SuppressWarnings("unchecked")
+    private Hit<Transaction> hit(List<FieldValue> sort) {
+        var hit = (Hit<Transaction>) mock(Hit.class);
 
-        // When
-        transactionService.delete(TRANSACTION_ID);
+        when(hit.source()).thenReturn(transaction);
 
-        // Then
-        verify(openSearchClient).delete(any(DeleteRequest.class));
-    }
+        if (sort != null) {
+            when(hit.sort()).thenReturn(sort);
+        }
 
-    @Test
-    @DisplayName("Deve lançar RuntimeException quando deleção falha")
-    void shouldThrowRuntimeExceptionWhenDeleteFails() throws IOException {
-        // Given
-        when(openSearchClient.delete(any(DeleteRequest.class)))
-                .thenThrow(new IOException("Erro ao deletar do OpenSearch"));
-
-        // When & Then
-        assertThatThrownBy(() -> transactionService.delete(TRANSACTION_ID))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to delete transaction")
-                .hasCauseInstanceOf(IOException.class);
+        return hit;
+    }
 
-        verify(openSearchClient).delete(any(DeleteRequest.class));
+    private Aggregate stats(long count, double sum, double avg) {
+        return Aggregate.of(aggregate -> aggregate.stats(stats -> stats.count(count).sum(sum).avg(avg)));
     }
 }
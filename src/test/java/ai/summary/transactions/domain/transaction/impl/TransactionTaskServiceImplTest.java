@@ -0,0 +1,311 @@
+package ai.summary.transactions.domain.transaction.impl;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import ai.summary.transactions.domain.transaction.cache.TransactionCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionCountCache;
+import ai.summary.transactions.domain.transaction.cache.TransactionQueryCache;
+import ai.summary.transactions.domain.transaction.index.TransactionIndices;
+import ai.summary.transactions.domain.transaction.model.TransactionFilter;
+import ai.summary.transactions.domain.transaction.model.TransactionTaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._types.BulkByScrollFailure;
+import org.opensearch.client.opensearch._types.Conflicts;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.SlicesCalculation;
+import org.opensearch.client.opensearch.core.DeleteByQueryRequest;
+import org.opensearch.client.opensearch.core.DeleteByQueryResponse;
+import org.opensearch.client.opensearch.core.UpdateByQueryRequest;
+import org.opensearch.client.opensearch.core.UpdateByQueryResponse;
+import org.opensearch.client.opensearch.tasks.GetTasksRequest;
+import org.opensearch.client.opensearch.tasks.GetTasksResponse;
+import org.opensearch.client.opensearch.tasks.OpenSearchTasksAsyncClient;
+import org.opensearch.client.opensearch.tasks.Status;
+import org.opensearch.client.opensearch.tasks.TaskInfo;
+import org.opensearch.client.opensearch.tasks.TaskResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionTaskServiceImpl Tests")
+class TransactionTaskServiceImplTest {
+
+    @Mock
+    private OpenSearchAsyncClient openSearchAsyncClient;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private TransactionIndices transactionIndices;
+
+    @Mock
+    private TransactionCountCache transactionCountCache;
+
+    @Mock
+    private TransactionCache transactionCache;
+
+    @Mock
+    private TransactionQueryCache transactionQueryCache;
+
+    @InjectMocks
+    private TransactionTaskServiceImpl transactionTaskService;
+
+    private final String TASK_ID = "oTUltX4IQMOUUVeiohTt8A:12345";
+    private final String MONTH_INDEX = "transactions-2024-01";
+    private final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+
+    @Test
+    @DisplayName("Deve iniciar delete_by_query em segundo plano fatiado e limitado")
+    void shouldStartSlicedAndThrottledDeleteByQueryInBackground() throws IOException {
+        // Given
+        var filter = new TransactionFilter(START_DATE, END_DATE, "Supermercado ABC", null, null, null, null);
+        var response = mock(DeleteByQueryResponse.class);
+
+        when(response.task()).thenReturn(TASK_ID);
+        when(openSearchConfig.getTaskSlices()).thenReturn("auto");
+        when(openSearchConfig.getTaskRequestsPerSecond()).thenReturn(1000f);
+        when(openSearchConfig.getTaskPollInterval()).thenReturn(Duration.ofHours(1));
+        when(transactionIndices.readIndices(START_DATE, END_DATE)).thenReturn(List.of(MONTH_INDEX));
+        when(openSearchAsyncClient.deleteByQuery(any(DeleteByQueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        // When
+        var taskId = transactionTaskService.deleteByFilter(filter, null).join();
+
+        // Then
+        assertThat(taskId).isEqualTo(TASK_ID);
+
+        var requestCaptor = ArgumentCaptor.forClass(DeleteByQueryRequest.class);
+        verify(openSearchAsyncClient).deleteByQuery(requestCaptor.capture());
+        var request = requestCaptor.getValue();
+        assertThat(request.index()).containsExactly(MONTH_INDEX);
+        assertThat(request.waitForCompletion()).isFalse();
+        assertThat(request.conflicts()).isEqualTo(Conflicts.Proceed);
+        assertThat(request.slices().calculation()).isEqualTo(SlicesCalculation.Auto);
+        assertThat(request.requestsPerSecond()).isEqualTo(1000f);
+        assertThat(request.query().bool().filter())
+                .filteredOn(clause -> clause.isTerm())
+                .extracting(clause -> clause.term().field())
+                .containsExactly("merchant.name");
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve recusar delete sem nenhum filtro")
+    void shouldRejectDeleteWithoutFilters() {
+        // Given
+        var filter = new TransactionFilter(null, null, " ", null, null, null, null);
+
+        // When / Then
+        assertThatThrownBy(() -> transactionTaskService.deleteByFilter(filter, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one filter is required");
+        verifyNoInteractions(openSearchAsyncClient, transactionCountCache);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar update_by_query que troca a categoria do comerciante")
+    void shouldStartUpdateByQueryThatChangesMerchantCategory() throws IOException {
+        // Given
+        var filter = new TransactionFilter(null, null, "Supermercado ABC", null, null, null, null);
+        var response = mock(UpdateByQueryResponse.class);
+
+        when(response.task()).thenReturn(TASK_ID);
+        when(openSearchConfig.getTaskSlices()).thenReturn("4");
+        when(openSearchConfig.getTaskPollInterval()).thenReturn(Duration.ofHours(1));
+        when(transactionIndices.readIndices(null, null)).thenReturn(List.of("transactions"));
+        when(openSearchAsyncClient.updateByQuery(any(UpdateByQueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        // When
+        var taskId = transactionTaskService.recategorize(filter, "Mercado", 250f).join();
+
+        // Then
+        assertThat(taskId).isEqualTo(TASK_ID);
+
+        var requestCaptor = ArgumentCaptor.forClass(UpdateByQueryRequest.class);
+        verify(openSearchAsyncClient).updateByQuery(requestCaptor.capture());
+        var request = requestCaptor.getValue();
+        assertThat(request.waitForCompletion()).isFalse();
+        assertThat(request.slices().count()).isEqualTo(4);
+        assertThat(request.requestsPerSecond()).isEqualTo(250f);
+        assertThat(request.script().inline().source()).isEqualTo("ctx._source.merchant.category = params.category");
+        assertThat(request.script().inline().params().get("category").to(String.class)).isEqualTo("Mercado");
+        verify(transactionCountCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Deve limpar os caches quando a tarefa termina mesmo sem consulta de status")
+    void shouldClearCachesWhenTaskCompletesWithoutStatusRequest() throws IOException {
+        // Given
+        var filter = new TransactionFilter(null, null, "Supermercado ABC", null, null, null, null);
+        var response = mock(UpdateByQueryResponse.class);
+        var tasksClient = mock(OpenSearchTasksAsyncClient.class);
+        var running = mock(GetTasksResponse.class);
+        var completed = mock(GetTasksResponse.class);
+
+        when(response.task()).thenReturn(TASK_ID);
+        when(openSearchConfig.getTaskSlices()).thenReturn("auto");
+        when(openSearchConfig.getTaskRequestsPerSecond()).thenReturn(1000f);
+        when(openSearchConfig.getTaskPollInterval()).thenReturn(Duration.ZERO);
+        when(transactionIndices.readIndices(null, null)).thenReturn(List.of("transactions"));
+        when(openSearchAsyncClient.updateByQuery(any(UpdateByQueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+        when(openSearchAsyncClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(running))
+                .thenReturn(CompletableFuture.completedFuture(completed));
+        when(running.completed()).thenReturn(false);
+        when(completed.completed()).thenReturn(true);
+
+        // When
+        transactionTaskService.recategorize(filter, "Mercado", null).join();
+
+        // Then
+        verify(transactionQueryCache, timeout(5000).times(2)).invalidateAll();
+        verify(transactionCountCache, times(2)).invalidateAll();
+        verify(transactionCache, times(2)).invalidateAll();
+
+        var requestCaptor = ArgumentCaptor.forClass(GetTasksRequest.class);
+        verify(tasksClient, times(2)).get(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().taskId()).isEqualTo(TASK_ID);
+    }
+
+    @Test
+    @DisplayName("Deve desistir de acompanhar a tarefa e limpar os caches depois de falhas seguidas")
+    void shouldGiveUpAndClearCachesAfterConsecutiveFailures() throws IOException {
+        // Given
+        var filter = new TransactionFilter(null, null, "Supermercado ABC", null, null, null, null);
+        var response = mock(UpdateByQueryResponse.class);
+        var tasksClient = mock(OpenSearchTasksAsyncClient.class);
+
+        when(response.task()).thenReturn(TASK_ID);
+        when(openSearchConfig.getTaskSlices()).thenReturn("auto");
+        when(openSearchConfig.getTaskRequestsPerSecond()).thenReturn(1000f);
+        when(openSearchConfig.getTaskPollInterval()).thenReturn(Duration.ZERO);
+        when(openSearchConfig.getTaskPollMaxFailures()).thenReturn(3);
+        when(transactionIndices.readIndices(null, null)).thenReturn(List.of("transactions"));
+        when(openSearchAsyncClient.updateByQuery(any(UpdateByQueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+        when(openSearchAsyncClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("Connection refused")));
+
+        // When
+        transactionTaskService.recategorize(filter, "Mercado", null).join();
+
+        // Then
+        verify(transactionQueryCache, timeout(5000).times(2)).invalidateAll();
+        verify(transactionCountCache, times(2)).invalidateAll();
+        verify(transactionCache, times(2)).invalidateAll();
+        verify(tasksClient, times(3)).get(any(GetTasksRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o progresso de uma tarefa em andamento")
+    void shouldReturnProgressOfRunningTask() throws IOException {
+        // Given
+        var tasksClient = mock(OpenSearchTasksAsyncClient.class);
+        var response = mock(GetTasksResponse.class);
+        var task = mock(TaskInfo.class);
+        var status = mock(Status.class);
+
+        when(openSearchAsyncClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+        when(response.completed()).thenReturn(false);
+        when(response.task()).thenReturn(task);
+        when(task.runningTimeInNanos()).thenReturn(TimeUnit.SECONDS.toNanos(3));
+        when(task.status()).thenReturn(status);
+        when(status.total()).thenReturn(1000L);
+        when(status.updated()).thenReturn(400L);
+        when(status.deleted()).thenReturn(null);
+        when(status.versionConflicts()).thenReturn(2L);
+
+        // When
+        var result = transactionTaskService.status(TASK_ID).join();
+
+        // Then
+        assertThat(result).contains(new TransactionTaskStatus(TASK_ID, false, 1000, 400, 0, 2, 0, 3000, null));
+        verifyNoInteractions(transactionCountCache);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado de uma tarefa concluída sem limpar os caches de novo")
+    void shouldReturnResultOfCompletedTaskWithoutClearingCachesAgain() throws IOException {
+        // Given
+        var tasksClient = mock(OpenSearchTasksAsyncClient.class);
+        var response = mock(GetTasksResponse.class);
+        var task = mock(TaskInfo.class);
+        var result = mock(TaskResponse.class);
+
+        when(openSearchAsyncClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+        when(response.completed()).thenReturn(true);
+        when(response.task()).thenReturn(task);
+        when(response.response()).thenReturn(result);
+        when(task.runningTimeInNanos()).thenReturn(TimeUnit.SECONDS.toNanos(10));
+        when(result.total()).thenReturn(1000L);
+        when(result.updated()).thenReturn(null);
+        when(result.deleted()).thenReturn(990L);
+        when(result.versionConflicts()).thenReturn(9L);
+        when(result.failures()).thenReturn(List.of(mock(BulkByScrollFailure.class)));
+
+        // When
+        var status = transactionTaskService.status(TASK_ID).join();
+
+        // Then
+        assertThat(status).contains(new TransactionTaskStatus(TASK_ID, true, 1000, 0, 990, 9, 1, 10000, null));
+        // O acompanhamento em segundo plano já limpou os caches quando a tarefa terminou
+        verifyNoInteractions(transactionCountCache, transactionCache, transactionQueryCache);
+    }
+
+    @Test
+    @DisplayName("Deve devolver vazio quando a tarefa não existe")
+    void shouldReturnEmptyWhenTaskDoesNotExist() throws IOException {
+        // Given
+        var tasksClient = mock(OpenSearchTasksAsyncClient.class);
+        var notFound = new OpenSearchException(ErrorResponse.of(error -> error
+                .status(404)
+                .error(cause -> cause.type("resource_not_found_exception")
+                        .reason("task [" + TASK_ID + "] isn't running and hasn't stored its results"))));
+
+        when(openSearchAsyncClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(CompletableFuture.failedFuture(notFound));
+
+        // When
+        var result = transactionTaskService.status(TASK_ID).join();
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve devolver vazio sem consultar o OpenSearch quando o ID da tarefa é inválido")
+    void shouldReturnEmptyWithoutQueryingWhenTaskIdIsInvalid() {
+        // When
+        var result = transactionTaskService.status("not-a-task").join();
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(openSearchAsyncClient);
+    }
+}
@@ -0,0 +1,127 @@
+package ai.summary.transactions.domain.transaction.importer;
+
+import ai.summary.transactions.domain.transaction.TransactionService;
+import ai.summary.transactions.domain.transaction.model.BulkItem;
+import ai.summary.transactions.domain.transaction.model.BulkResult;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionCsvImporter Tests")
+class TransactionCsvImporterTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private TransactionCsvImporter transactionCsvImporter;
+
+    private final List<Transaction> received = new ArrayList<>();
+    private final List<Long> positions = new ArrayList<>();
+
+    @Test
+    @DisplayName("Deve importar todas as linhas do arquivo de teste")
+    void shouldImportAllRowsFromTestData() throws Exception {
+        // Given
+        mockBulkCreate();
+
+        try (var csv = getClass().getResourceAsStream("/transactions_test_data.csv")) {
+            // When
+            var result = transactionCsvImporter.importCsv(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+            // Then
+            assertThat(result.rows()).isEqualTo(1000);
+            assertThat(result.imported()).isEqualTo(1000);
+            assertThat(result.rejected()).isZero();
+            assertThat(result.failed()).isZero();
+        }
+
+        var first = received.get(0);
+        assertThat(first.id()).isNull();
+        assertThat(first.date()).isEqualTo(LocalDateTime.of(2025, 1, 1, 1, 42, 47));
+        assertThat(first.amount()).isEqualTo(new BigDecimal("213.61"));
+        assertThat(first.description()).isEqualTo("Café da manhã");
+        assertThat(first.merchant().name()).isEqualTo("Padaria São José");
+        assertThat(first.merchant().category()).isEqualTo("Padarias");
+    }
+
+    @Test
+    @DisplayName("Deve contar linhas inválidas como rejeitadas e aceitar campos entre aspas")
+    void shouldCountInvalidLinesAsRejectedAndAcceptQuotedFields() {
+        // Given
+        mockBulkCreate();
+        var csv = """
+                date,amount,description,merchant_name,merchant_category
+                2025-01-02T09:46:19Z,2784.82,"Mercado, mensal",Walmart,Supermercados
+                data-invalida,10.00,Compra,Loja,Varejo
+                2025-01-03T10:00:00Z,abc,Compra,Loja,Varejo
+                2025-01-04T10:00:00Z,10.00,Compra,Loja
+
+                2025-01-05T10:00:00,15.50,Padaria,"Padaria ""Pão Quente""\",Padarias
+                """;
+
+        // When
+        var result = transactionCsvImporter.importCsv(new StringReader(csv));
+
+        // Then
+        assertThat(result.rows()).isEqualTo(5);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+
+        assertThat(received).extracting(Transaction::description)
+                .containsExactly("Mercado, mensal", "Padaria");
+        assertThat(received.get(1).merchant().name()).isEqualTo("Padaria \"Pão Quente\"");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar quebra de linha em campo entre aspas e usar a linha do registro como posição")
+    void shouldAcceptLineBreakInQuotedFieldAndUseRecordLineAsPosition() {
+        // Given
+        mockBulkCreate();
+        var csv = "date,amount,description,merchant_name,merchant_category\r\n"
+                + "2025-01-02T09:46:19Z,10.00,\"Compra\r\nparcelada\",Loja,Varejo\r\n"
+                + "data-invalida,10.00,Compra,Loja,Varejo\r\n"
+                + "2025-01-03T10:00:00Z,20.00,Compra,Loja,Varejo\r\n"
+                + "2025-01-04T10:00:00Z,30.00,\"sem fim,Loja,Varejo\n";
+
+        // When
+        var result = transactionCsvImporter.importCsv(new StringReader(csv));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(received).extracting(Transaction::description)
+                .containsExactly("Compra\r\nparcelada", "Compra");
+        assertThat(positions).containsExactly(2L, 5L);
+    }
+
+    private void mockBulkCreate() {
+        when(transactionService.bulkCreate(any()))
+                .thenAnswer(invocation -> {
+                    Stream<BulkItem> items = invocation.getArgument(0);
+                    items.forEach(item -> {
+                        received.add(item.transaction());
+                        positions.add(item.position());
+                    });
+                    return new BulkResult(received.size(), received.size(), 0, 1, List.of());
+                });
+    }
+}
@@ -0,0 +1,241 @@
+package ai.summary.transactions.domain.transaction.index;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpType;
+import org.opensearch.client.opensearch.core.ReindexRequest;
+import org.opensearch.client.opensearch.core.ReindexResponse;
+import org.opensearch.client.opensearch.indices.DeleteIndexRequest;
+import org.opensearch.client.opensearch.indices.ForcemergeRequest;
+import org.opensearch.client.opensearch.indices.GetIndexRequest;
+import org.opensearch.client.opensearch.indices.GetIndexResponse;
+import org.opensearch.client.opensearch.indices.IndexState;
+import org.opensearch.client.opensearch.indices.OpenSearchIndicesClient;
+import org.opensearch.client.opensearch.indices.PutIndexTemplateRequest;
+import org.opensearch.client.opensearch.indices.PutIndicesSettingsRequest;
+import org.opensearch.client.opensearch.indices.PutMappingRequest;
+import org.opensearch.client.opensearch.indices.UpdateAliasesRequest;
+import org.opensearch.client.opensearch.tasks.GetTasksRequest;
+import org.opensearch.client.opensearch.tasks.GetTasksResponse;
+import org.opensearch.client.opensearch.tasks.OpenSearchTasksClient;
+import org.opensearch.client.opensearch.tasks.TaskResponse;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionIndexManager Tests")
+class TransactionIndexManagerTest {
+
+    @Mock
+    private OpenSearchClient openSearchClient;
+
+    @Mock
+    private OpenSearchIndicesClient indicesClient;
+
+    @Mock
+    private OpenSearchTasksClient tasksClient;
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @Mock
+    private TransactionIndices transactionIndices;
+
+    @InjectMocks
+    private TransactionIndexManager transactionIndexManager;
+
+    @Test
+    @DisplayName("Deve instalar o template com mapeamento explícito e alias de leitura")
+    void shouldInstallTemplateWithExplicitMappingAndReadAlias() throws IOException {
+        // Given
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(transactionIndices.readAlias()).thenReturn("transactions");
+        when(transactionIndices.pattern()).thenReturn("transactions-*");
+        when(openSearchConfig.getIndexShards()).thenReturn(1);
+        when(openSearchConfig.getIndexReplicas()).thenReturn(1);
+
+        // When
+        transactionIndexManager.installTemplate();
+
+        // Then
+        var captor = ArgumentCaptor.forClass(PutIndexTemplateRequest.class);
+        verify(indicesClient).putIndexTemplate(captor.capture());
+
+        var request = captor.getValue();
+        var properties = request.template().mappings().properties();
+
+        assertThat(request.indexPatterns()).containsExactly("transactions-*");
+        assertThat(request.template().aliases()).containsKey("transactions");
+        assertThat(properties.get("id").isKeyword()).isTrue();
+        assertThat(properties.get("date").isDate()).isTrue();
+        assertThat(properties.get("amount").scaledFloat().scalingFactor()).isEqualTo(100.0);
+        assertThat(properties.get("merchant").object().properties().get("category").isKeyword()).isTrue();
+        assertThat(properties.get("merchant").object().properties().get("name").keyword().fields().get("suggest")
+                .isCompletion()).isTrue();
+        assertThat(properties.get("description").text().fields().get("suggest").isCompletion()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve levar os campos do mapeamento para os índices já existentes")
+    void shouldUpdateMappingsOfExistingIndices() throws IOException {
+        // Given
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(transactionIndices.pattern()).thenReturn("transactions-*");
+
+        // When
+        transactionIndexManager.updateExistingMappings();
+
+        // Then
+        var captor = ArgumentCaptor.forClass(PutMappingRequest.class);
+        verify(indicesClient).putMapping(captor.capture());
+
+        var request = captor.getValue();
+        assertThat(request.index()).containsExactly("transactions-*");
+        assertThat(request.allowNoIndices()).isTrue();
+        assertThat(request.properties().get("description").text().fields()).containsKey("suggest");
+    }
+
+    @Test
+    @DisplayName("Deve compactar apenas o índice do mês informado")
+    void shouldForceMergeOnlyGivenMonthIndex() throws IOException {
+        // Given
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(transactionIndices.monthIndex(YearMonth.of(2024, 1))).thenReturn("transactions-2024-01");
+
+        // When
+        transactionIndexManager.forceMerge(YearMonth.of(2024, 1));
+
+        // Then
+        var captor = ArgumentCaptor.forClass(ForcemergeRequest.class);
+        verify(indicesClient).forcemerge(captor.capture());
+        assertThat(captor.getValue().index()).containsExactly("transactions-2024-01");
+        assertThat(captor.getValue().maxNumSegments()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve copiar o índice único antigo para os meses e criar o alias no lugar dele")
+    void shouldMoveLegacyIndexIntoMonthlyIndicesAndCreateAlias() throws Exception {
+        // Given
+        var taskResponse = mock(GetTasksResponse.class);
+        var result = mock(TaskResponse.class);
+
+        givenLegacyIndex();
+        when(openSearchClient.reindex(any(ReindexRequest.class)))
+                .thenReturn(ReindexResponse.of(reindex -> reindex.task("node:1")));
+        when(openSearchClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(taskResponse);
+        when(taskResponse.completed()).thenReturn(true);
+        when(taskResponse.response()).thenReturn(result);
+        when(result.total()).thenReturn(3L);
+        when(result.created()).thenReturn(3L);
+        when(result.failures()).thenReturn(List.of());
+
+        // When
+        transactionIndexManager.migrateLegacyIndex();
+
+        // Then
+        var settingsCaptor = ArgumentCaptor.forClass(PutIndicesSettingsRequest.class);
+        verify(indicesClient).putSettings(settingsCaptor.capture());
+        assertThat(settingsCaptor.getValue().settings().blocks().write()).isTrue();
+
+        var templateCaptor = ArgumentCaptor.forClass(PutIndexTemplateRequest.class);
+        verify(indicesClient).putIndexTemplate(templateCaptor.capture());
+        assertThat(templateCaptor.getValue().template().aliases()).isEmpty();
+
+        var reindexCaptor = ArgumentCaptor.forClass(ReindexRequest.class);
+        verify(openSearchClient).reindex(reindexCaptor.capture());
+        assertThat(reindexCaptor.getValue().source().index()).containsExactly("transactions");
+        assertThat(reindexCaptor.getValue().dest().opType()).isEqualTo(OpType.Create);
+        assertThat(reindexCaptor.getValue().script().inline().params().get("prefix").to(String.class))
+                .isEqualTo("transactions-");
+        assertThat(reindexCaptor.getValue().waitForCompletion()).isFalse();
+
+        var deleteCaptor = ArgumentCaptor.forClass(DeleteIndexRequest.class);
+        verify(indicesClient).delete(deleteCaptor.capture());
+        assertThat(deleteCaptor.getValue().index()).containsExactly("transactions");
+
+        var aliasCaptor = ArgumentCaptor.forClass(UpdateAliasesRequest.class);
+        verify(indicesClient).updateAliases(aliasCaptor.capture());
+        var add = aliasCaptor.getValue().actions().get(0).add();
+        assertThat(add.index()).isEqualTo("transactions-*");
+        assertThat(add.alias()).isEqualTo("transactions");
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice antigo e liberar as escritas quando a cópia falha")
+    void shouldKeepLegacyIndexWhenCopyFails() throws Exception {
+        // Given
+        var taskResponse = mock(GetTasksResponse.class);
+        var result = mock(TaskResponse.class);
+
+        givenLegacyIndex();
+        when(openSearchClient.reindex(any(ReindexRequest.class)))
+                .thenReturn(ReindexResponse.of(reindex -> reindex.task("node:1")));
+        when(openSearchClient.tasks()).thenReturn(tasksClient);
+        when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(taskResponse);
+        when(taskResponse.completed()).thenReturn(true);
+        when(taskResponse.response()).thenReturn(result);
+        when(result.total()).thenReturn(3L);
+        when(result.created()).thenReturn(2L);
+        when(result.failures()).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionIndexManager.migrateLegacyIndex())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("the index was kept");
+
+        var settingsCaptor = ArgumentCaptor.forClass(PutIndicesSettingsRequest.class);
+        verify(indicesClient, times(2)).putSettings(settingsCaptor.capture());
+        assertThat(settingsCaptor.getAllValues().get(1).settings().blocks().write()).isFalse();
+        verify(indicesClient, never()).delete(any(DeleteIndexRequest.class));
+        verify(indicesClient, never()).updateAliases(any(UpdateAliasesRequest.class));
+    }
+
+    @Test
+    @DisplayName("Não deve migrar nada quando o nome já é o alias dos índices mensais")
+    void shouldNotMigrateWhenNameIsAlreadyTheAlias() throws Exception {
+        // Given
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(transactionIndices.readAlias()).thenReturn("transactions");
+        when(indicesClient.get(any(GetIndexRequest.class))).thenReturn(GetIndexResponse.of(response -> response
+                .result(Map.of("transactions-2024-01", IndexState.of(index -> index)))));
+
+        // When
+        transactionIndexManager.migrateLegacyIndex();
+
+        // Then
+        verify(openSearchClient, never()).reindex(any(ReindexRequest.class));
+        verify(indicesClient, never()).putSettings(any(PutIndicesSettingsRequest.class));
+        verify(indicesClient, never()).delete(any(DeleteIndexRequest.class));
+    }
+
+    private void givenLegacyIndex() throws IOException {
+        when(openSearchClient.indices()).thenReturn(indicesClient);
+        when(transactionIndices.readAlias()).thenReturn("transactions");
+        when(transactionIndices.pattern()).thenReturn("transactions-*");
+        when(transactionIndices.monthIndex(any(YearMonth.class))).thenReturn("transactions-2025-06");
+        when(openSearchConfig.getIndexShards()).thenReturn(1);
+        when(openSearchConfig.getIndexReplicas()).thenReturn(1);
+        when(indicesClient.get(any(GetIndexRequest.class))).thenReturn(GetIndexResponse.of(response -> response
+                .result(Map.of("transactions", IndexState.of(index -> index)))));
+    }
+}
@@ -0,0 +1,55 @@
+package ai.summary.transactions.domain.transaction.index;
+
+import ai.summary.transactions.core.config.OpenSearchConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionIndices Tests")
+class TransactionIndicesTest {
+
+    @Mock
+    private OpenSearchConfig openSearchConfig;
+
+    @InjectMocks
+    private TransactionIndices transactionIndices;
+
+    @BeforeEach
+    void setUp() {
+        when(openSearchConfig.getTransactionsIndex()).thenReturn("transactions");
+    }
+
+    @Test
+    @DisplayName("Deve gravar no índice do mês da transação")
+    void shouldWriteToTransactionMonthIndex() {
+        assertThat(transactionIndices.writeIndex(LocalDateTime.of(2024, 1, 31, 23, 59)))
+                .isEqualTo("transactions-2024-01");
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas os meses que cruzam o intervalo, inclusive na virada do ano")
+    void shouldReadOnlyMonthsOverlappingRange() {
+        var indices = transactionIndices.readIndices(LocalDate.of(2024, 11, 20), LocalDate.of(2025, 2, 1));
+
+        assertThat(indices).containsExactly("transactions-2024-11", "transactions-2024-12",
+                "transactions-2025-01", "transactions-2025-02");
+    }
+
+    @Test
+    @DisplayName("Deve usar o alias quando o intervalo é aberto")
+    void shouldUseAliasWhenRangeIsOpen() {
+        assertThat(transactionIndices.readIndices(LocalDate.of(2024, 1, 1), null)).containsExactly("transactions");
+        assertThat(transactionIndices.readIndices(null, null)).containsExactly("transactions");
+    }
+}
@@ -0,0 +1,83 @@
+package ai.summary.transactions.domain.transaction.mapper;
+
+import ai.summary.transactions.domain.transaction.model.Merchant;
+import ai.summary.transactions.domain.transaction.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionDocumentDeserializer Tests")
+class TransactionDocumentDeserializerTest {
+
+    private final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(Transaction.class, new TransactionDocumentDeserializer()));
+    }
+
+    @Test
+    @DisplayName("Deve ler o documento gravado pelo próprio serviço")
+    void shouldReadDocumentWrittenByService() throws Exception {
+        // Given
+        var transaction = new Transaction(UUID.fromString(TRANSACTION_ID), LocalDateTime.of(2024, 1, 15, 14, 30),
+                new BigDecimal("150.50"), "Compra no supermercado", new Merchant("Supermercado ABC", "Alimentação"));
+        var json = objectMapper.writeValueAsString(transaction);
+
+        // When
+        var result = objectMapper.readValue(json, Transaction.class);
+
+        // Then
+        assertThat(result).isEqualTo(transaction);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar valor como texto, campos nulos e campos desconhecidos")
+    void shouldAcceptAmountAsTextNullsAndUnknownFields() throws Exception {
+        // Given
+        var json = """
+                {"id":"%s","date":"2024-01-15T14:30:00","amount":"150.50","description":null,
+                 "tags":["a",{"b":1}],"merchant":{"name":"Supermercado ABC","extra":{"x":1},"category":"Alimentação"}}
+                """.formatted(TRANSACTION_ID);
+
+        // When
+        var result = objectMapper.readValue(json, Transaction.class);
+
+        // Then
+        assertThat(result.id()).isEqualTo(UUID.fromString(TRANSACTION_ID));
+        assertThat(result.date()).isEqualTo(LocalDateTime.of(2024, 1, 15, 14, 30));
+        assertThat(result.amount()).isEqualTo(new BigDecimal("150.50"));
+        assertThat(result.description()).isNull();
+        assertThat(result.merchant()).isEqualTo(new Merchant("Supermercado ABC", "Alimentação"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a precisão do valor numérico")
+    void shouldKeepNumericAmountPrecision() throws Exception {
+        // Given
+        var json = "{\"amount\":3362.60,\"merchant\":null}";
+
+        // When
+        var result = objectMapper.readValue(json, Transaction.class);
+
+        // Then
+        assertThat(result.amount()).isEqualTo(new BigDecimal("3362.60"));
+        assertThat(result.merchant()).isNull();
+    }
+}